@@ -0,0 +1,58 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.II_Result;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * An entity moving between two opposite corners of its cell while being queried.
+ * <p>
+ * r1 counts the entity found near one of the other corners, only reachable by reading a torn position.
+ * r2 counts the entity found in the whole cell.
+ */
+@JCStressTest
+@Outcome(id = "0, 1", expect = ACCEPTABLE, desc = "Position read before or after the move")
+@Outcome(expect = FORBIDDEN, desc = "Torn position or entity lost")
+@State
+public class GridEntityTrackerMoveTest {
+    // The tracker does not modify the entity, it can be shared between the states
+    private static final Entity ENTITY = new Entity(EntityType.ZOMBIE);
+    private static final EntityTracker.Update<Entity> UPDATER = new EntityTracker.Update<>() {
+        @Override
+        public void add(@NotNull Entity entity) {
+            // Empty
+        }
+
+        @Override
+        public void remove(@NotNull Entity entity) {
+            // Empty
+        }
+    };
+
+    private final EntityTracker tracker = EntityTracker.newGridTracker();
+
+    public GridEntityTrackerMoveTest() {
+        tracker.register(ENTITY, new Vec(1, 0, 1), EntityTracker.Target.ENTITIES, UPDATER);
+    }
+
+    @Actor
+    public void actor1() {
+        tracker.move(ENTITY, new Vec(15, 0, 15), EntityTracker.Target.ENTITIES, UPDATER);
+    }
+
+    @Actor
+    public void actor2(II_Result r) {
+        int[] torn = new int[1], found = new int[1];
+        tracker.nearbyEntities(new Vec(1, 0, 15), 1, EntityTracker.Target.ENTITIES, entity -> torn[0]++);
+        tracker.nearbyEntities(new Vec(15, 0, 1), 1, EntityTracker.Target.ENTITIES, entity -> torn[0]++);
+        tracker.nearbyEntities(new Vec(8, 0, 8), 11, EntityTracker.Target.ENTITIES, entity -> found[0]++);
+        r.r1 = torn[0];
+        r.r2 = found[0];
+    }
+}
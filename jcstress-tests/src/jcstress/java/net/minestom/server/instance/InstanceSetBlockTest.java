@@ -0,0 +1,77 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jcstress.annotations.*;
+import org.openjdk.jcstress.infra.results.III_Result;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.openjdk.jcstress.annotations.Expect.ACCEPTABLE;
+import static org.openjdk.jcstress.annotations.Expect.FORBIDDEN;
+
+/**
+ * Two threads setting blocks on both sides of a chunk boundary, each on its own block and both on the same one.
+ * <p>
+ * r1 and r2 are 1 when the block of each actor is present, r3 is the actor whose shared block is present.
+ */
+@JCStressTest
+@Outcome(id = "1, 1, 1", expect = ACCEPTABLE, desc = "Actor 2 set the shared block first")
+@Outcome(id = "1, 1, 2", expect = ACCEPTABLE, desc = "Actor 1 set the shared block first")
+@Outcome(expect = FORBIDDEN, desc = "Block change lost")
+@State
+public class InstanceSetBlockTest {
+    private static final int CHUNKS_Z = 8;
+    private static final int MIN_Y = -64, HEIGHT = 384;
+    private static final InstanceContainer INSTANCE;
+    private static final AtomicInteger SLOTS = new AtomicInteger();
+
+    // Blocks alternate between uses of a position, setting the same block twice in a tick is ignored
+    private static final Block[][] BLOCKS = {
+            {Block.STONE, Block.DIRT, Block.GOLD_BLOCK, Block.IRON_BLOCK},
+            {Block.GLASS, Block.SAND, Block.DIAMOND_BLOCK, Block.EMERALD_BLOCK}
+    };
+
+    static {
+        MinecraftServer.init();
+        INSTANCE = MinecraftServer.getInstanceManager().createInstanceContainer();
+        for (int x = 0; x < 2; x++) {
+            for (int z = 0; z < CHUNKS_Z; z++) {
+                INSTANCE.loadChunk(x, z).join();
+            }
+        }
+    }
+
+    private final int y, z;
+    private final Block[] blocks;
+
+    public InstanceSetBlockTest() {
+        final int slot = SLOTS.getAndIncrement();
+        final int slots = CHUNKS_Z * 16 * HEIGHT;
+        this.y = MIN_Y + slot % HEIGHT;
+        this.z = slot / HEIGHT % (CHUNKS_Z * 16);
+        this.blocks = BLOCKS[slot / slots & 1];
+    }
+
+    @Actor
+    public void actor1() {
+        // Last block of chunk 0
+        INSTANCE.setBlock(15, y, z, blocks[0]);
+        INSTANCE.setBlock(16, y, z, blocks[2]);
+    }
+
+    @Actor
+    public void actor2() {
+        // Chunk 1
+        INSTANCE.setBlock(17, y, z, blocks[1]);
+        INSTANCE.setBlock(16, y, z, blocks[3]);
+    }
+
+    @Arbiter
+    public void arbiter(III_Result r) {
+        r.r1 = blocks[0].compare(INSTANCE.getBlock(15, y, z)) ? 1 : 0;
+        r.r2 = blocks[1].compare(INSTANCE.getBlock(17, y, z)) ? 1 : 0;
+        final Block shared = INSTANCE.getBlock(16, y, z);
+        r.r3 = blocks[2].compare(shared) ? 1 : blocks[3].compare(shared) ? 2 : 0;
+    }
+}
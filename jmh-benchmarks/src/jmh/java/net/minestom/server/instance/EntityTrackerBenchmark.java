@@ -0,0 +1,104 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the chunk list tracker with the grid tracker on a crowded instance.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class EntityTrackerBenchmark {
+    private static final int AREA = 256;
+
+    @Param({"chunk", "grid"})
+    public String tracker;
+
+    @Param({"3000"})
+    public int entityCount;
+
+    private EntityTracker entityTracker;
+    private Entity[] entities;
+    private Vec[] positions;
+    private int index;
+
+    @Setup
+    public void setup() {
+        this.entityTracker = tracker.equals("grid") ? EntityTracker.newGridTracker() : EntityTracker.newTracker();
+        this.entities = new Entity[entityCount];
+        this.positions = new Vec[entityCount];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < entityCount; i++) {
+            final Entity entity = new Entity(EntityType.ZOMBIE);
+            final Vec position = new Vec(random.nextDouble(AREA), 40, random.nextDouble(AREA));
+            entityTracker.register(entity, position, EntityTracker.Target.ENTITIES, null);
+            this.entities[i] = entity;
+            this.positions[i] = position;
+        }
+    }
+
+    @Benchmark
+    public void moveSameChunk() {
+        final int i = nextIndex();
+        final Vec position = positions[i];
+        // Stay inside the chunk
+        final Vec newPosition = position.withY(position.y() == 40 ? 41 : 40);
+        this.positions[i] = newPosition;
+        entityTracker.move(entities[i], newPosition, EntityTracker.Target.ENTITIES, null);
+    }
+
+    @Benchmark
+    public void moveChunkCrossing() {
+        final int i = nextIndex();
+        final Vec position = positions[i];
+        final Vec newPosition = position.withX((position.x() + 16) % AREA);
+        this.positions[i] = newPosition;
+        entityTracker.move(entities[i], newPosition, EntityTracker.Target.ENTITIES, null);
+    }
+
+    @Benchmark
+    public void difference(Blackhole blackhole) {
+        final int i = nextIndex();
+        final Vec position = positions[i];
+        final Vec newPosition = position.withX((position.x() + 16) % AREA);
+        this.positions[i] = newPosition;
+        entityTracker.move(entities[i], newPosition, EntityTracker.Target.ENTITIES, new EntityTracker.Update<>() {
+            @Override
+            public void add(@NotNull Entity entity) {
+                blackhole.consume(entity);
+            }
+
+            @Override
+            public void remove(@NotNull Entity entity) {
+                blackhole.consume(entity);
+            }
+        });
+    }
+
+    @Benchmark
+    public void nearby(Blackhole blackhole) {
+        entityTracker.nearbyEntities(positions[nextIndex()], 8, EntityTracker.Target.ENTITIES, blackhole::consume);
+    }
+
+    @Benchmark
+    public void nearbyIds(Blackhole blackhole) {
+        entityTracker.nearbyEntityIds(positions[nextIndex()], 8, EntityTracker.Target.ENTITIES, blackhole::consume);
+    }
+
+    private int nextIndex() {
+        final int i = index;
+        this.index = i + 1 == entityCount ? 0 : i + 1;
+        return i;
+    }
+}
@@ -0,0 +1,80 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates copies of a template map, as done for every arena of a minigame server.
+ * <p>
+ * Run with {@code -prof gc}, {@code gc.alloc.rate.norm} is the memory needed by the copies
+ * since everything allocated by a copy stays referenced.
+ */
+@Warmup(iterations = 3, time = 2000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 2000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class InstanceCopyBenchmark {
+    private static final int RADIUS = 6;
+
+    @Param({"1", "50", "200"})
+    public int copies;
+
+    // Blocks changed in each chunk of each copy
+    @Param({"0", "16"})
+    public int edits;
+
+    private InstanceContainer template;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.template = MinecraftServer.getInstanceManager().createInstanceContainer();
+        template.setGenerator(unit -> {
+            final Random random = new Random(unit.absoluteStart().hashCode());
+            unit.modifier().fillHeight(-64, 0, Block.STONE);
+            unit.modifier().fillHeight(0, 3, Block.DIRT);
+            unit.modifier().fillHeight(3, 4, Block.GRASS_BLOCK);
+            // Vary the underground so that sections need a real palette
+            for (int i = 0; i < 64; i++) {
+                unit.modifier().setRelative(random.nextInt(16), random.nextInt(64), random.nextInt(16),
+                        random.nextBoolean() ? Block.COAL_ORE : Block.IRON_ORE);
+            }
+        });
+        List<CompletableFuture<Chunk>> futures = new ArrayList<>();
+        for (int x = -RADIUS; x < RADIUS; x++) {
+            for (int z = -RADIUS; z < RADIUS; z++) {
+                futures.add(template.loadChunk(x, z));
+            }
+        }
+        futures.forEach(CompletableFuture::join);
+    }
+
+    @Benchmark
+    public List<InstanceContainer> copy() {
+        List<InstanceContainer> result = new ArrayList<>(copies);
+        for (int i = 0; i < copies; i++) {
+            final InstanceContainer copy = template.copy();
+            for (Chunk chunk : copy.getChunks()) {
+                for (int j = 0; j < edits; j++) {
+                    chunk.setBlock(j, 10, j, Block.GOLD_BLOCK);
+                }
+            }
+            result.add(copy);
+        }
+        return result;
+    }
+
+    @TearDown
+    public void tearDown() {
+        MinecraftServer.getInstanceManager().unregisterInstance(template);
+    }
+}
@@ -0,0 +1,66 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sets blocks of an instance from 8 threads, as done by the tick threads when each of them owns a part of the chunks.
+ * <p>
+ * With {@code spread}, every thread changes its own chunk, otherwise all the threads change the same chunk.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class InstanceSetBlockBenchmark {
+    private static final Block[] BLOCKS = {Block.STONE, Block.DIRT, Block.GLASS, Block.OAK_PLANKS};
+
+    @Param({"true", "false"})
+    public boolean spread;
+
+    private InstanceContainer instance;
+    private final AtomicInteger threadIds = new AtomicInteger();
+
+    @State(Scope.Thread)
+    public static class ThreadState {
+        int chunkX;
+        int index;
+
+        @Setup
+        public void setup(InstanceSetBlockBenchmark benchmark) {
+            this.chunkX = benchmark.spread ? benchmark.threadIds.getAndIncrement() * 2 : 0;
+        }
+    }
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        List<CompletableFuture<Chunk>> futures = new ArrayList<>();
+        for (int x = 0; x < 16; x++) futures.add(instance.loadChunk(x, 0));
+        futures.forEach(CompletableFuture::join);
+    }
+
+    @Benchmark
+    public void setBlock(ThreadState state) {
+        final int index = state.index++;
+        // A different block every time a position is set again, setting the same block twice in a tick is ignored
+        instance.setBlock(state.chunkX * 16 + (index & 15), 40 + (index >> 8 & 15), index >> 4 & 15,
+                BLOCKS[index >> 12 & 3]);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MinecraftServer.getInstanceManager().unregisterInstance(instance);
+    }
+}
@@ -0,0 +1,91 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.block.Block;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the light update after placing or breaking a single light source,
+ * and a full relight of the loaded chunks.
+ */
+@Warmup(iterations = 3, time = 2000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 2000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LightingBenchmark {
+    private static final int RADIUS = 4;
+
+    @State(Scope.Benchmark)
+    public static class World {
+        InstanceContainer instance;
+        LightingChunk chunk;
+
+        @Setup
+        public void setup() {
+            MinecraftServer.init();
+            this.instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+            instance.setChunkSupplier(LightingChunk::new);
+            instance.setGenerator(unit -> {
+                unit.modifier().fillHeight(-64, 32, Block.STONE);
+                // Roof, so that the sky light also spreads horizontally
+                unit.modifier().fillHeight(60, 61, Block.STONE);
+            });
+            List<CompletableFuture<Chunk>> futures = new ArrayList<>();
+            for (int x = -RADIUS; x <= RADIUS; x++) {
+                for (int z = -RADIUS; z <= RADIUS; z++) {
+                    futures.add(instance.loadChunk(x, z));
+                }
+            }
+            futures.forEach(CompletableFuture::join);
+            LightingChunk.relight(instance, instance.getChunks());
+            for (Chunk chunk : instance.getChunks()) ((LightingChunk) chunk).createLightData(true);
+            this.chunk = (LightingChunk) instance.getChunk(0, 0);
+        }
+
+        @TearDown
+        public void tearDown() {
+            MinecraftServer.getInstanceManager().unregisterInstance(instance);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class BlockChange {
+        @Param({"place", "break"})
+        public String operation;
+
+        int x, y, z;
+        Block block;
+        private int counter;
+
+        @Setup(Level.Invocation)
+        public void prepare(World world) {
+            // Spread the changes over the chunk, near its borders too
+            final int i = counter++;
+            this.x = (i * 7) & 15;
+            this.y = 36 + (i % 20);
+            this.z = (i * 11) & 15;
+            final boolean place = operation.equals("place");
+            world.instance.setBlock(x, y, z, place ? Block.AIR : Block.GLOWSTONE);
+            world.chunk.applyLightUpdates();
+            this.block = place ? Block.GLOWSTONE : Block.AIR;
+        }
+    }
+
+    @Benchmark
+    public void blockChange(World world, BlockChange change) {
+        world.instance.setBlock(change.x, change.y, change.z, change.block);
+        world.chunk.applyLightUpdates();
+    }
+
+    @Benchmark
+    public void bulkRelight(World world, Blackhole blackhole) {
+        blackhole.consume(LightingChunk.relight(world.instance, world.instance.getChunks()));
+    }
+}
@@ -0,0 +1,70 @@
+package net.minestom.server.instance.anvil;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the number of chunks per second loaded from a world folder,
+ * with the asynchronous pipeline and in the caller thread.
+ * <p>
+ * Defaults to the vanilla sample used by the tests, another world can be used with {@code -p world=<path>}.
+ */
+@Warmup(iterations = 3, time = 2000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 2000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class AnvilLoaderBenchmark {
+    private static final int RADIUS = 8;
+    private static final int CHUNK_COUNT = (RADIUS * 2) * (RADIUS * 2);
+
+    @Param({"../src/test/resources/net/minestom/server/instance/anvil_vanilla_sample"})
+    public String world;
+
+    @Param({"true", "false"})
+    public boolean parallel;
+
+    private Instance instance;
+    private AnvilLoader loader;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        final boolean parallel = this.parallel;
+        this.loader = new AnvilLoader(Path.of(world)) {
+            @Override
+            public boolean supportsParallelLoading() {
+                return parallel;
+            }
+        };
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_COUNT)
+    public int loadChunks() {
+        @SuppressWarnings("unchecked") CompletableFuture<Chunk>[] futures = new CompletableFuture[CHUNK_COUNT];
+        int i = 0;
+        // Region -1 on the X axis, present in the sample
+        for (int x = -RADIUS * 2; x < 0; x++) {
+            for (int z = -RADIUS; z < RADIUS; z++) {
+                futures[i++] = loader.loadChunk(instance, x, z);
+            }
+        }
+        int loaded = 0;
+        for (CompletableFuture<Chunk> future : futures) {
+            final Chunk chunk = future.join();
+            if (chunk == null) continue;
+            loader.unloadChunk(chunk);
+            loaded++;
+        }
+        return loaded;
+    }
+}
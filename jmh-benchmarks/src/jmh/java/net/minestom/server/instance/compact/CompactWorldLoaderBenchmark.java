@@ -0,0 +1,84 @@
+package net.minestom.server.instance.compact;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.anvil.AnvilLoader;
+import net.minestom.server.world.DimensionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the number of chunks per second loaded from an Anvil world and from the same world converted
+ * with {@link CompactWorldWriter}.
+ * <p>
+ * Each invocation uses a new loader, as when a map is loaded for a new game,
+ * except for {@code compact-shared} which reuses the chunks decoded by a single loader.
+ */
+@Warmup(iterations = 3, time = 2000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 5, time = 2000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(1)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CompactWorldLoaderBenchmark {
+    private static final int RADIUS = 8;
+    private static final int CHUNK_COUNT = (RADIUS * 2) * (RADIUS * 2);
+
+    @Param({"../src/test/resources/net/minestom/server/instance/anvil_vanilla_sample"})
+    public String world;
+
+    @Param({"anvil", "compact", "compact-shared"})
+    public String format;
+
+    private Instance instance;
+    private Path compactFile;
+    private CompactWorldLoader sharedLoader;
+
+    @Setup
+    public void setup() throws IOException {
+        MinecraftServer.init();
+        this.instance = MinecraftServer.getInstanceManager().createInstanceContainer();
+        this.compactFile = Files.createTempFile("minestom-compact-world", ".msw");
+        CompactWorldWriter.convertAnvil(Path.of(world), compactFile, DimensionType.OVERWORLD);
+        this.sharedLoader = new CompactWorldLoader(compactFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(compactFile);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK_COUNT)
+    public int loadChunks() throws IOException {
+        final IChunkLoader loader = switch (format) {
+            case "anvil" -> new AnvilLoader(Path.of(world));
+            case "compact" -> new CompactWorldLoader(compactFile);
+            case "compact-shared" -> sharedLoader;
+            default -> throw new IllegalArgumentException(format);
+        };
+        @SuppressWarnings("unchecked") CompletableFuture<Chunk>[] futures = new CompletableFuture[CHUNK_COUNT];
+        int i = 0;
+        // Region -1 on the X axis, present in the sample
+        for (int x = -RADIUS * 2; x < 0; x++) {
+            for (int z = -RADIUS; z < RADIUS; z++) {
+                futures[i++] = loader.loadChunk(instance, x, z);
+            }
+        }
+        int loaded = 0;
+        for (CompletableFuture<Chunk> future : futures) {
+            final Chunk chunk = future.join();
+            if (chunk == null) continue;
+            loader.unloadChunk(chunk);
+            loaded++;
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,64 @@
+package net.minestom.server.instance.light;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the light computation of a single section, from its own light sources (block light)
+ * and from light entering through its top face (sky light).
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class LightComputeBenchmark {
+    private static final Block[] MIXED_BLOCKS = {Block.STONE, Block.GLASS, Block.OAK_SLAB, Block.OAK_STAIRS, Block.TORCH};
+
+    @Param({"air", "stone", "mixed"})
+    public String section;
+
+    private Palette palette;
+
+    @Setup
+    public void setup() {
+        palette = Palette.blocks();
+        switch (section) {
+            case "stone" -> palette.fill(Block.STONE.stateId());
+            case "mixed" -> {
+                var random = new Random(18932365);
+                for (int y = 0; y < 16; y++)
+                    for (int z = 0; z < 16; z++)
+                        for (int x = 0; x < 16; x++)
+                            if (random.nextDouble() < 0.3)
+                                palette.set(x, y, z, MIXED_BLOCKS[random.nextInt(MIXED_BLOCKS.length)].stateId());
+            }
+        }
+        if (!section.equals("stone")) {
+            // Block light sources, the stone section stays uniform
+            palette.set(3, 4, 5, Block.GLOWSTONE.stateId());
+            palette.set(12, 10, 9, Block.GLOWSTONE.stateId());
+        }
+    }
+
+    @Benchmark
+    public byte[] blockLight() {
+        return LightCompute.compute(palette).light();
+    }
+
+    @Benchmark
+    public byte[] skyLight() {
+        LightQueue queue = LightCompute.sourceQueue();
+        for (int z = 0; z < 16; z++) {
+            for (int x = 0; x < 16; x++) {
+                queue.enqueue(x | (z << 4) | (15 << 8) | (15 << 12));
+            }
+        }
+        return LightCompute.compute(palette, queue).light();
+    }
+}
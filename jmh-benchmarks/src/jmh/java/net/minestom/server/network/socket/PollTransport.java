@@ -0,0 +1,40 @@
+package net.minestom.server.network.socket;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.channels.spi.SelectorProvider;
+
+/**
+ * {@link Transport} using the JDK poll(2) selector instead of epoll/kqueue, compared to {@link Transport#nio()}
+ * by {@link TransportLoopbackBenchmark}.
+ * <p>
+ * The provider is internal to the JDK, {@code --add-exports java.base/sun.nio.ch=ALL-UNNAMED} is required.
+ */
+public final class PollTransport implements Transport {
+    private static final SelectorProvider PROVIDER = createProvider();
+
+    @Override
+    public @NotNull String name() {
+        return "poll";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return PROVIDER != null;
+    }
+
+    @Override
+    public @NotNull SelectorProvider selectorProvider() {
+        if (PROVIDER == null) throw new IllegalStateException("The poll selector provider is not available");
+        return PROVIDER;
+    }
+
+    private static SelectorProvider createProvider() {
+        try {
+            return (SelectorProvider) Class.forName("sun.nio.ch.PollSelectorProvider").getConstructor().newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // Windows, or the package is not exported
+            return null;
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package net.minestom.server.network.socket;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends payloads over a loopback connection opened with a {@link Transport},
+ * following the worker write path (non-blocking write, wait for writability on partial writes).
+ * <p>
+ * Compares the default epoll/kqueue transport with {@link PollTransport}.
+ * Run with {@code Mode.SampleTime} to get the p99 send latency.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(value = 3, jvmArgsAppend = "--add-exports=java.base/sun.nio.ch=ALL-UNNAMED")
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class TransportLoopbackBenchmark {
+
+    @Param({"nio", "poll"})
+    public String transportName;
+
+    @Param({"64", "4096", "262144"})
+    public int payloadSize;
+
+    private ServerSocketChannel serverSocket;
+    private SocketChannel serverSide;
+    private SocketChannel clientSide;
+    private Selector selector;
+    private SelectionKey key;
+
+    private ByteBuffer payload;
+    private ByteBuffer readBuffer;
+
+    @Setup
+    public void setup() throws IOException {
+        final Transport transport = Transport.load(transportName);
+        if (!transport.name().equals(transportName)) {
+            // Do not measure the fallback under the wrong name
+            throw new IllegalStateException("Transport " + transportName + " is not available");
+        }
+        this.serverSocket = transport.selectorProvider().openServerSocketChannel();
+        this.serverSocket.bind(new InetSocketAddress("localhost", 0));
+        this.clientSide = SocketChannel.open(serverSocket.getLocalAddress());
+        this.serverSide = serverSocket.accept();
+        this.serverSide.configureBlocking(false);
+        this.serverSide.socket().setTcpNoDelay(Server.NO_DELAY);
+        this.clientSide.socket().setTcpNoDelay(Server.NO_DELAY);
+
+        this.selector = transport.selectorProvider().openSelector();
+        this.key = serverSide.register(selector, 0);
+
+        this.payload = ByteBuffer.allocateDirect(payloadSize);
+        this.readBuffer = ByteBuffer.allocateDirect(payloadSize);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        this.selector.close();
+        this.clientSide.close();
+        this.serverSide.close();
+        this.serverSocket.close();
+    }
+
+    @Benchmark
+    public int send() throws IOException {
+        final ByteBuffer payload = this.payload.clear();
+        final ByteBuffer readBuffer = this.readBuffer.clear();
+        int read = 0;
+        while (payload.hasRemaining()) {
+            serverSide.write(payload);
+            if (payload.hasRemaining()) {
+                // Drain the client side before waiting for write readiness
+                read += clientSide.read(readBuffer);
+                key.interestOps(SelectionKey.OP_WRITE);
+                selector.selectNow();
+                key.interestOps(0);
+            }
+        }
+        while (read < payloadSize) read += clientSide.read(readBuffer);
+        return read;
+    }
+}
@@ -0,0 +1,55 @@
+package net.minestom.server.thread;
+
+import net.minestom.server.Tickable;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ticks partitions with skewed costs (every fourth partition is heavy, which the counter provider
+ * puts on the same thread) to compare the tick time of the counter and balanced providers.
+ * <p>
+ * Run with {@code Mode.SampleTime} to compare the tick time variance.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode({Mode.AverageTime, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ThreadDispatcherBalanceBenchmark {
+    private static final int THREAD_COUNT = 4;
+
+    @Param({"counter", "balanced"})
+    public String provider;
+
+    @Param({"64", "512"})
+    public int partitionCount;
+
+    private ThreadDispatcher<Object> dispatcher;
+
+    @Setup
+    public void setup() {
+        this.dispatcher = ThreadDispatcher.of(provider.equals("balanced") ?
+                ThreadProvider.balanced() : ThreadProvider.counter(), THREAD_COUNT);
+        for (int i = 0; i < partitionCount; i++) {
+            final Object partition = new Object();
+            final int work = i % THREAD_COUNT == 0 ? 2_000 : 50;
+            dispatcher.createPartition(partition);
+            dispatcher.updateElement((Tickable) time -> Blackhole.consumeCPU(work), partition);
+        }
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.dispatcher.shutdown();
+    }
+
+    @Benchmark
+    public void tick() {
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        dispatcher.refreshThreads();
+    }
+}
@@ -15,6 +15,10 @@ public class SchedulerTickBenchmark {
     @Param({"0", "1", "5"})
     public int tickTasks;
 
+    // Tasks waiting in the scheduler, repeating with delays up to one minute
+    @Param({"0", "100000"})
+    public int delayedTasks;
+
     Scheduler scheduler;
 
     @Setup
@@ -24,6 +28,11 @@ public class SchedulerTickBenchmark {
             this.scheduler.scheduleTask(() -> {
             }, TaskSchedule.nextTick(), TaskSchedule.nextTick());
         }
+        for (int i = 0; i < this.delayedTasks; i++) {
+            final TaskSchedule delay = TaskSchedule.tick(1 + i % 1200);
+            this.scheduler.scheduleTask(() -> {
+            }, delay, delay);
+        }
     }
 
     @Benchmark
@@ -0,0 +1,97 @@
+package net.minestom.server.utils;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.Viewable;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.play.EntityHeadLookPacket;
+import net.minestom.server.network.packet.server.play.EntityPositionPacket;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Appends the packets of a tick for 1000 entities seen by 50 players each, then flushes them.
+ * <p>
+ * The flushed regions go to a blackhole, test players have no socket to copy them to.
+ */
+@Warmup(iterations = 5, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Measurement(iterations = 10, time = 1000, timeUnit = TimeUnit.MILLISECONDS)
+@Fork(3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ViewableStorageBenchmark {
+    @Param({"1000"})
+    public int entityCount;
+
+    @Param({"50"})
+    public int viewerCount;
+
+    private Player[] players;
+    private TestViewable[] viewables;
+    private ViewableStorage[] storages;
+    private ServerPacket[] positionPackets;
+    private ServerPacket[] headPackets;
+
+    @Setup
+    public void setup() {
+        MinecraftServer.init();
+        this.players = new Player[viewerCount];
+        Set<Player> viewers = new HashSet<>();
+        for (int i = 0; i < viewerCount; i++) {
+            final Player player = new Player(UUID.randomUUID(), "viewer" + i, null);
+            this.players[i] = player;
+            viewers.add(player);
+        }
+        this.viewables = new TestViewable[entityCount];
+        this.storages = new ViewableStorage[entityCount];
+        this.positionPackets = new ServerPacket[entityCount];
+        this.headPackets = new ServerPacket[entityCount];
+        for (int i = 0; i < entityCount; i++) {
+            this.viewables[i] = new TestViewable(viewers);
+            this.storages[i] = new ViewableStorage();
+            this.positionPackets[i] = new EntityPositionPacket(i, (short) 1, (short) 0, (short) 1, true);
+            this.headPackets[i] = new EntityHeadLookPacket(i, i);
+        }
+    }
+
+    @Benchmark
+    public void tick(Blackhole blackhole) {
+        final ViewableStorage.Target target = (viewer, buffer, index, length, written) -> {
+            blackhole.consume(length);
+            written.run();
+        };
+        for (int i = 0; i < entityCount; i++) {
+            final ViewableStorage storage = storages[i];
+            storage.append(positionPackets[i], null);
+            // Sent by a viewer, excluded from its own packet
+            storage.append(headPackets[i], players[i % viewerCount]);
+        }
+        for (int i = 0; i < entityCount; i++) {
+            storages[i].flush(viewables[i], target);
+        }
+    }
+
+    private record TestViewable(Set<Player> viewers) implements Viewable {
+        @Override
+        public boolean addViewer(@NotNull Player player) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean removeViewer(@NotNull Player player) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @NotNull Set<@NotNull Player> getViewers() {
+            return viewers;
+        }
+    }
+}
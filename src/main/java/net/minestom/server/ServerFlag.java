@@ -21,9 +21,15 @@ public final class ServerFlag {
     public static final int SERVER_MAX_TICK_CATCH_UP = intProperty("minestom.max-tick-catch-up", 5);
     public static final int CHUNK_VIEW_DISTANCE = intProperty("minestom.chunk-view-distance", 8);
     public static final int ENTITY_VIEW_DISTANCE = intProperty("minestom.entity-view-distance", 5);
+    public static final @NotNull String ENTITY_TRACKER = stringProperty("minestom.entity-tracker", "chunk");
     public static final int ENTITY_SYNCHRONIZATION_TICKS = intProperty("minestom.entity-synchronization-ticks", 20);
+    public static final @NotNull String ENTITY_SYNCHRONIZATION_TIERS = stringProperty("minestom.entity-synchronization-tiers", ""); // "distance:interval" pairs, e.g. "32:2,64:4"
     public static final int WORKER_COUNT = intProperty("minestom.workers", Runtime.getRuntime().availableProcessors());
+    public static final @NotNull String SOCKET_TRANSPORT = stringProperty("minestom.transport", "nio");
     public static final int DISPATCHER_THREADS = intProperty("minestom.dispatcher-threads", 1);
+    public static final boolean DISPATCHER_BALANCED = booleanProperty("minestom.dispatcher.balanced", false);
+    public static final int DISPATCHER_BALANCE_INTERVAL = intProperty("minestom.dispatcher.balance-interval", 20);
+    public static final int TICK_PROFILER_INTERVAL = intProperty("minestom.tick-profiler.interval", 0);
     public static final int MAX_PACKET_SIZE = intProperty("minestom.max-packet-size", 2_097_151); // 3 bytes var-int
     public static final int SOCKET_SEND_BUFFER_SIZE = intProperty("minestom.send-buffer-size", 262_143);
     public static final int SOCKET_RECEIVE_BUFFER_SIZE = intProperty("minestom.receive-buffer-size", 32_767);
@@ -42,10 +48,22 @@ public final class ServerFlag {
     public static final float MAX_CHUNKS_PER_TICK = floatProperty("minestom.chunk-queue.max-per-tick", 64.0f);
     public static final float CHUNKS_PER_TICK_MULTIPLIER = floatProperty("minestom.chunk-queue.multiplier", 1f);
 
+    // Outbound buffer (per connection)
+    public static final long OUTBOUND_BUFFER_HIGH_WATERMARK = longProperty("minestom.outbound-buffer.high-watermark", 8_388_608);
+    public static final long OUTBOUND_BUFFER_LOW_WATERMARK = longProperty("minestom.outbound-buffer.low-watermark", 2_097_152);
+    public static final long OUTBOUND_BUFFER_MAX_SIZE = longProperty("minestom.outbound-buffer.max-size", 33_554_432);
+    public static final @NotNull String OUTBOUND_BUFFER_OVERFLOW_POLICY = stringProperty("minestom.outbound-buffer.overflow-policy", "kick"); // kick or drop
+
+    // Compression
+    public static final int COMPRESSION_LEVEL = intProperty("minestom.compression.level", -1); // Deflater default
+    public static final int COMPRESSION_CACHED_LEVEL = intProperty("minestom.compression.cached-level", COMPRESSION_LEVEL);
+
     // Packet sending optimizations
     public static final boolean GROUPED_PACKET = booleanProperty("minestom.grouped-packet", true);
     public static final boolean CACHED_PACKET = booleanProperty("minestom.cached-packet", true);
     public static final boolean VIEWABLE_PACKET = booleanProperty("minestom.viewable-packet", true);
+    public static final int VIEWABLE_PACKET_FLUSH_THREADS = intProperty("minestom.viewable-packet.flush-threads",
+            Runtime.getRuntime().availableProcessors());
 
     // Tags
     public static final boolean TAG_HANDLER_CACHE_ENABLED = booleanProperty("minestom.tag-handler-cache", true);
@@ -58,6 +76,11 @@ public final class ServerFlag {
 
     // World
     public static final int WORLD_BORDER_SIZE = intProperty("minestom.world-border-size", 29999984);
+    public static final int ANVIL_IO_THREADS = intProperty("minestom.anvil.io-threads", 4);
+    public static final int ANVIL_MAX_IN_FLIGHT = intProperty("minestom.anvil.max-in-flight", 256);
+    public static final int CHUNK_SAVE_RATE = intProperty("minestom.chunk-save.rate", 200); // chunks per second
+    public static final int CHUNK_AUTOSAVE_INTERVAL = intProperty("minestom.chunk-save.autosave-interval", 0); // ticks, 0 to disable
+    public static final int BLOCK_CHANGE_RESEND_THRESHOLD = intProperty("minestom.block-change.resend-threshold", 512); // changes per section in a tick
 
     // Terminal
     public static final boolean TERMINAL_ENABLED = System.getProperty("minestom.terminal.disabled") == null;
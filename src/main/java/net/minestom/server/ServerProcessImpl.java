@@ -16,6 +16,7 @@ import net.minestom.server.extensions.ExtensionManager;
 import net.minestom.server.gamedata.tags.TagManager;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.InstanceContainer;
 import net.minestom.server.instance.InstanceManager;
 import net.minestom.server.instance.block.BlockManager;
 import net.minestom.server.instance.block.banner.BannerPattern;
@@ -27,6 +28,7 @@ import net.minestom.server.listener.manager.PacketListenerManager;
 import net.minestom.server.message.ChatType;
 import net.minestom.server.monitoring.BenchmarkManager;
 import net.minestom.server.monitoring.TickMonitor;
+import net.minestom.server.monitoring.TickProfiler;
 import net.minestom.server.network.ConnectionManager;
 import net.minestom.server.network.PacketProcessor;
 import net.minestom.server.network.socket.Server;
@@ -137,7 +139,8 @@ final class ServerProcessImpl implements ServerProcess {
 
         this.server = new Server(packetProcessor);
 
-        this.dispatcher = ThreadDispatcher.of(ThreadProvider.counter(), ServerFlag.DISPATCHER_THREADS);
+        this.dispatcher = ThreadDispatcher.of(ServerFlag.DISPATCHER_BALANCED ? ThreadProvider.balanced() : ThreadProvider.counter(),
+                ServerFlag.DISPATCHER_THREADS);
         this.ticker = new TickerImpl();
     }
 
@@ -394,7 +397,12 @@ final class ServerProcessImpl implements ServerProcess {
         public void tick(long nanoTime) {
             final long msTime = System.currentTimeMillis();
 
+            TickProfiler.startTick();
+            final boolean profile = TickProfiler.isSampling();
+
+            long start = profile ? System.nanoTime() : 0;
             scheduler().processTick();
+            if (profile) TickProfiler.recordScheduler(System.nanoTime() - start);
 
             // Connection tick (let waiting clients in, send keep alives, handle configuration players packets)
             connection().tick(msTime);
@@ -402,7 +410,9 @@ final class ServerProcessImpl implements ServerProcess {
             // Server tick (chunks/entities)
             serverTick(msTime);
 
+            start = profile ? System.nanoTime() : 0;
             scheduler().processTickEnd();
+            if (profile) TickProfiler.recordScheduler(System.nanoTime() - start);
 
             // Flush all waiting packets
             PacketUtils.flush();
@@ -414,23 +424,36 @@ final class ServerProcessImpl implements ServerProcess {
             {
                 final double acquisitionTimeMs = Acquirable.resetAcquiringTime() / 1e6D;
                 final double tickTimeMs = (System.nanoTime() - nanoTime) / 1e6D;
-                final TickMonitor tickMonitor = new TickMonitor(tickTimeMs, acquisitionTimeMs);
+                final TickMonitor tickMonitor = new TickMonitor(tickTimeMs, acquisitionTimeMs, TickProfiler.endTick());
                 EventDispatcher.call(new ServerTickMonitorEvent(tickMonitor));
             }
         }
 
         private void serverTick(long tickStart) {
             // Tick all instances
+            final boolean profile = TickProfiler.isSampling();
             for (Instance instance : instance().getInstances()) {
+                final long start = profile ? System.nanoTime() : 0;
                 try {
                     instance.tick(tickStart);
                 } catch (Exception e) {
                     exception().handleException(e);
                 }
+                if (profile) TickProfiler.recordInstance(instance, System.nanoTime() - start);
             }
             // Tick all chunks (and entities inside)
             dispatcher().updateAndAwait(tickStart);
 
+            // Send the block changes and entity movements of the tick
+            for (Instance instance : instance().getInstances()) {
+                try {
+                    if (instance instanceof InstanceContainer instanceContainer) instanceContainer.flushBlockChanges();
+                    instance.flushEntityMovements();
+                } catch (Exception e) {
+                    exception().handleException(e);
+                }
+            }
+
             // Clear removed entities & update threads
             final long tickTime = System.currentTimeMillis() - tickStart;
             dispatcher().refreshThreads(tickTime);
@@ -7,6 +7,7 @@ import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.registry.Registry;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Unmodifiable;
 
@@ -167,6 +168,26 @@ public final class ShapeImpl implements Shape {
         return (((fullFaces >> face.ordinal()) & 1) == 1);
     }
 
+    /**
+     * Gets the faces fully covered by the occlusion shape, one bit per {@link BlockFace} ordinal.
+     *
+     * @return the fully occluding faces
+     */
+    @ApiStatus.Internal
+    public byte blockOcclusion() {
+        return blockOcclusion;
+    }
+
+    /**
+     * Gets the faces not covered at all by the occlusion shape, one bit per {@link BlockFace} ordinal.
+     *
+     * @return the non-occluding faces
+     */
+    @ApiStatus.Internal
+    public byte airOcclusion() {
+        return airOcclusion;
+    }
+
     @Override
     public boolean intersectBox(@NotNull Point position, @NotNull BoundingBox boundingBox) {
         for (BoundingBox blockSection : collisionBoundingBoxes) {
@@ -7,13 +7,17 @@ import net.minestom.server.command.builder.ParsedCommand;
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.EventDispatcher;
 import net.minestom.server.event.player.PlayerCommandEvent;
+import net.minestom.server.network.packet.server.CachedPacket;
+import net.minestom.server.network.packet.server.SendablePacket;
 import net.minestom.server.network.packet.server.play.DeclareCommandsPacket;
 import net.minestom.server.utils.callback.CommandCallback;
 import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Manager used to register {@link Command commands}.
@@ -23,6 +27,7 @@ import java.util.*;
 public final class CommandManager {
 
     public static final String COMMAND_PREFIX = "/";
+    private static final int MAX_CACHED_PACKETS = 64;
 
     private final ServerSender serverSender = new ServerSender();
     private final ConsoleSender consoleSender = new ConsoleSender();
@@ -30,6 +35,8 @@ public final class CommandManager {
     private final CommandDispatcher dispatcher = new CommandDispatcher(this);
     private final Map<String, Command> commandMap = new HashMap<>();
     private final Set<Command> commands = new HashSet<>();
+    // Merged graph of the registered commands, null when they changed since it was built
+    private volatile CachedGraph cachedGraph;
 
     private CommandCallback unknownCommandCallback;
 
@@ -55,6 +62,7 @@ public final class CommandManager {
         for (String name : command.getNames()) {
             commandMap.put(name, command);
         }
+        this.cachedGraph = null;
     }
 
     /**
@@ -63,11 +71,12 @@ public final class CommandManager {
      *
      * @param command the command to remove
      */
-    public void unregister(@NotNull Command command) {
+    public synchronized void unregister(@NotNull Command command) {
         commands.remove(command);
         for (String name : command.getNames()) {
             commandMap.remove(name);
         }
+        this.cachedGraph = null;
     }
 
     /**
@@ -168,12 +177,26 @@ public final class CommandManager {
      * Can be used to update a player auto-completion list.
      *
      * @param player the player to get the commands packet
-     * @return the {@link DeclareCommandsPacket} for {@code player}
+     * @return a new {@link DeclareCommandsPacket} for {@code player}
      */
     public @NotNull DeclareCommandsPacket createDeclareCommandsPacket(@NotNull Player player) {
         return GraphConverter.createPacket(getGraph(), player);
     }
 
+    /**
+     * Gets the {@link DeclareCommandsPacket} for a specific player, serialized once for all the players sharing it.
+     * <p>
+     * The packet is shared by the players for which all the command conditions give the same result.
+     *
+     * @param player the player to get the commands packet
+     * @return the commands packet of {@code player}
+     * @see #createDeclareCommandsPacket(Player)
+     */
+    @ApiStatus.Internal
+    public @NotNull SendablePacket getDeclareCommandsPacket(@NotNull Player player) {
+        return declareCommandsPacket(player);
+    }
+
     public @NotNull Set<@NotNull Command> getCommands() {
         return Collections.unmodifiableSet(commands);
     }
@@ -189,8 +212,40 @@ public final class CommandManager {
     }
 
     private Graph getGraph() {
-        //todo cache
-        return Graph.merge(commands);
+        return cachedGraph().graph();
+    }
+
+    private CachedGraph cachedGraph() {
+        CachedGraph cachedGraph = this.cachedGraph;
+        if (cachedGraph != null && cachedGraph.version() == Command.version()) return cachedGraph;
+        synchronized (this) {
+            // Read before building, a command changed meanwhile invalidates the new graph
+            final long version = Command.version();
+            cachedGraph = this.cachedGraph;
+            if (cachedGraph == null || cachedGraph.version() != version) {
+                cachedGraph = new CachedGraph(Graph.merge(commands), version, new ConcurrentHashMap<>());
+                this.cachedGraph = cachedGraph;
+            }
+            return cachedGraph;
+        }
+    }
+
+    private CachedPacket declareCommandsPacket(Player player) {
+        final CachedGraph cachedGraph = cachedGraph();
+        final Graph graph = cachedGraph.graph();
+        final Map<BitSet, CachedPacket> packets = cachedGraph.packets();
+        final BitSet conditions = GraphConverter.conditions(graph, player);
+        CachedPacket packet = packets.get(conditions);
+        if (packet == null) {
+            // Never exposed, its nodes are mutable
+            packet = new CachedPacket(GraphConverter.createPacket(graph, player));
+            // Conditions depending on the player itself would create a packet per player
+            if (packets.size() < MAX_CACHED_PACKETS) packets.putIfAbsent(conditions, packet);
+        }
+        return packet;
+    }
+
+    private record CachedGraph(Graph graph, long version, Map<BitSet, CachedPacket> packets) {
     }
 
     private static CommandResult resultConverter(ExecutableCommand executable,
@@ -168,7 +168,13 @@ final class CommandParserImpl implements CommandParser {
         if (!reader.hasRemaining()) start--; // This is needed otherwise the reader throws an AssertionError
 
         NodeResult error = null;
-        for (Node child : node.next()) {
+        final List<Node> children = node.next();
+        // Skip the literals which cannot match the next word
+        final int[] candidates = reader.hasRemaining() && children instanceof GraphImpl.Children compiled ?
+                compiled.literalCandidates(reader.peekWord()) : null;
+        final int count = candidates != null ? candidates.length : children.size();
+        for (int i = 0; i < count; i++) {
+            final Node child = children.get(candidates != null ? candidates[i] : i);
             NodeResult childResult = parseNode(sender, child, chain, reader);
             if (childResult.argumentResult instanceof ArgumentResult.Success<Object>) {
                 // Assume that there is only one successful node for a given chain of arguments
@@ -395,6 +401,13 @@ final class CommandParserImpl implements CommandParser {
             return read;
         }
 
+        String peekWord() {
+            final int cursor = this.cursor;
+            final String word = readWord();
+            this.cursor = cursor;
+            return word;
+        }
+
         String readRemaining() {
             final String input = this.input;
             final String result = input.substring(cursor);
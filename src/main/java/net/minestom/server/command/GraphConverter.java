@@ -29,6 +29,32 @@ final class GraphConverter {
         return new DeclareCommandsPacket(nodes, rootId);
     }
 
+    /**
+     * Evaluates the conditions deciding which nodes are sent to a player, in the order used by {@link #createPacket(Graph, Player)}.
+     * <p>
+     * Players with the same results receive the same packet.
+     *
+     * @param graph  the command graph
+     * @param player the player receiving the packet
+     * @return the result of each condition evaluated for the player
+     */
+    static BitSet conditions(Graph graph, Player player) {
+        BitSet result = new BitSet();
+        conditions(graph.root(), player, result, new AtomicInteger());
+        return result;
+    }
+
+    private static void conditions(Graph.Node graphNode, Player player, BitSet result, AtomicInteger index) {
+        final Graph.Execution execution = graphNode.execution();
+        if (execution != null) {
+            final boolean allowed = execution.test(player);
+            result.set(index.getAndIncrement(), allowed);
+            // Children are skipped by the packet
+            if (!allowed) return;
+        }
+        for (Graph.Node child : graphNode.next()) conditions(child, player, result, index);
+    }
+
     private static int[] append(Graph.Node graphNode, List<DeclareCommandsPacket.Node> to,
                                 List<BiConsumer<Graph, Integer>> redirects, AtomicInteger id, @Nullable AtomicInteger redirect,
                                 @Nullable Player player, Map<Argument<?>, Integer> argToPacketId) {
@@ -6,6 +6,7 @@ import net.minestom.server.command.builder.CommandSyntax;
 import net.minestom.server.command.builder.arguments.Argument;
 import net.minestom.server.command.builder.arguments.ArgumentCommand;
 import net.minestom.server.command.builder.arguments.ArgumentLiteral;
+import net.minestom.server.command.builder.arguments.ArgumentWord;
 import net.minestom.server.command.builder.condition.CommandCondition;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -13,6 +14,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
+import java.util.stream.IntStream;
 
 import static net.minestom.server.command.builder.arguments.ArgumentType.Literal;
 import static net.minestom.server.command.builder.arguments.ArgumentType.Word;
@@ -67,7 +69,7 @@ record GraphImpl(NodeImpl root) implements Graph {
         NodeImpl(Argument<?> argument, ExecutionImpl execution, List<Graph.Node> next) {
             this.argument = argument;
             this.execution = execution;
-            this.next = next.stream().sorted(nodePriority).toList();
+            this.next = Children.of(next.stream().sorted(nodePriority).toList());
         }
 
         static NodeImpl fromBuilder(BuilderImpl builder) {
@@ -97,6 +99,87 @@ record GraphImpl(NodeImpl root) implements Graph {
         }
     }
 
+    /**
+     * Children of a node, sorted by priority.
+     * <p>
+     * When all the children are literals, they are indexed by the words they accept so that
+     * parsing does not need to try each of them.
+     */
+    static final class Children extends AbstractList<Node> implements RandomAccess {
+        private static final Children EMPTY = new Children(new Node[0], null);
+        // Only the first mismatching literal can be the reported error, see CommandParserImpl#parseNode
+        private static final int[] NO_MATCH = {0};
+
+        private final Node[] nodes;
+        private final Map<String, int[]> literals;
+
+        private Children(Node[] nodes, Map<String, int[]> literals) {
+            this.nodes = nodes;
+            this.literals = literals;
+        }
+
+        static Children of(List<Node> nodes) {
+            if (nodes.isEmpty()) return EMPTY;
+            final Node[] array = nodes.toArray(Node[]::new);
+            return new Children(array, literalIndex(array));
+        }
+
+        /**
+         * Gets the children to try when the next word of the input is {@code word}.
+         *
+         * @param word the next word
+         * @return the indexes of the children accepting the word followed by the first one not accepting it,
+         * null if the children are not indexed
+         */
+        int @Nullable [] literalCandidates(String word) {
+            final Map<String, int[]> literals = this.literals;
+            if (literals == null) return null;
+            return literals.getOrDefault(word, NO_MATCH);
+        }
+
+        @Override
+        public Node get(int index) {
+            return nodes[index];
+        }
+
+        @Override
+        public int size() {
+            return nodes.length;
+        }
+
+        private static @Nullable Map<String, int[]> literalIndex(Node[] nodes) {
+            if (nodes.length < 2) return null;
+            Map<String, List<Integer>> positions = new HashMap<>();
+            for (int i = 0; i < nodes.length; i++) {
+                final String[] words = literalWords(nodes[i].argument());
+                if (words == null) return null;
+                for (String word : words) {
+                    final List<Integer> list = positions.computeIfAbsent(word, w -> new ArrayList<>());
+                    if (list.isEmpty() || list.get(list.size() - 1) != i) list.add(i);
+                }
+            }
+            Map<String, int[]> literals = new HashMap<>(positions.size());
+            for (Map.Entry<String, List<Integer>> entry : positions.entrySet()) {
+                final List<Integer> matching = entry.getValue();
+                int firstMismatch = 0;
+                while (firstMismatch < matching.size() && matching.get(firstMismatch) == firstMismatch) firstMismatch++;
+                final IntStream candidates = matching.stream().mapToInt(Integer::intValue);
+                literals.put(entry.getKey(), (firstMismatch < nodes.length ?
+                        IntStream.concat(candidates, IntStream.of(firstMismatch)) : candidates).sorted().toArray());
+            }
+            return Map.copyOf(literals);
+        }
+
+        private static String @Nullable [] literalWords(Argument<?> argument) {
+            // Exact types, subclasses may parse differently
+            if (argument.getClass() == ArgumentLiteral.class) return new String[]{argument.getId()};
+            if (argument.getClass() == ArgumentWord.class && ((ArgumentWord) argument).hasRestrictions()) {
+                return ((ArgumentWord) argument).getRestrictions();
+            }
+            return null;
+        }
+    }
+
     record ExecutionImpl(Predicate<CommandSender> predicate,
                          CommandExecutor defaultExecutor, CommandExecutor globalListener,
                          CommandExecutor executor, CommandCondition condition) implements Execution {
@@ -16,6 +16,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.*;
 import java.util.stream.Stream;
 
@@ -42,6 +43,8 @@ import java.util.stream.Stream;
 public class Command {
 
     private final static Logger LOGGER = LoggerFactory.getLogger(Command.class);
+    // Incremented when any command or syntax changes, invalidates the cached command graphs
+    private static final AtomicLong VERSION = new AtomicLong();
 
     private final String name;
     private final String[] aliases;
@@ -102,6 +105,7 @@ public class Command {
      */
     public void setCondition(@Nullable CommandCondition commandCondition) {
         this.condition = commandCondition;
+        invalidate();
     }
 
     /**
@@ -118,6 +122,7 @@ public class Command {
 
     public void addSubcommand(@NotNull Command command) {
         this.subcommands.add(command);
+        invalidate();
     }
 
     @NotNull
@@ -158,6 +163,7 @@ public class Command {
         if (!hasOptional) {
             final CommandSyntax syntax = new CommandSyntax(commandCondition, executor, args);
             this.syntaxes.add(syntax);
+            invalidate();
             return List.of(syntax);
         } else {
             List<CommandSyntax> optionalSyntaxes = new ArrayList<>();
@@ -196,6 +202,7 @@ public class Command {
             }
 
             this.syntaxes.addAll(optionalSyntaxes);
+            invalidate();
             return optionalSyntaxes;
         }
     }
@@ -272,6 +279,7 @@ public class Command {
      */
     public void setDefaultExecutor(@Nullable CommandExecutor executor) {
         this.defaultExecutor = executor;
+        invalidate();
     }
 
     /**
@@ -284,6 +292,26 @@ public class Command {
         return syntaxes;
     }
 
+    /**
+     * Gets the number of changes made to all the commands and their syntaxes.
+     * <p>
+     * Used to know when the command graphs built from registered commands are outdated.
+     *
+     * @return the current version of the commands
+     */
+    @ApiStatus.Internal
+    public static long version() {
+        return VERSION.get();
+    }
+
+    /**
+     * Marks the cached command graphs as outdated, called when a registered command may have changed.
+     */
+    @ApiStatus.Internal
+    public static void invalidate() {
+        VERSION.incrementAndGet();
+    }
+
     /**
      * Called when a {@link CommandSender} executes this command before any syntax callback.
      * <p>
@@ -205,12 +205,14 @@ public abstract class Argument<T> {
     @NotNull
     public Argument<T> setDefaultValue(@Nullable Supplier<T> defaultValue) {
         this.defaultValue = unused -> defaultValue.get();
+        Command.invalidate();
         return this;
     }
 
     @NotNull
     public Argument<T> setDefaultValue(@Nullable Function<CommandSender, T> defaultValue) {
         this.defaultValue = defaultValue;
+        Command.invalidate();
         return this;
     }
 
@@ -223,6 +225,7 @@ public abstract class Argument<T> {
     @NotNull
     public Argument<T> setDefaultValue(@NotNull T defaultValue) {
         this.defaultValue = unused -> defaultValue;
+        Command.invalidate();
         return this;
     }
 
@@ -248,6 +251,7 @@ public abstract class Argument<T> {
     public Argument<T> setSuggestionCallback(@NotNull SuggestionCallback suggestionCallback) {
         this.suggestionCallback = suggestionCallback;
         this.suggestionType = SuggestionType.ASK_SERVER;
+        Command.invalidate();
         return this;
     }
 
@@ -2,6 +2,7 @@ package net.minestom.server.command.builder.arguments;
 
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.command.CommandSender;
+import net.minestom.server.command.builder.Command;
 import net.minestom.server.command.builder.CommandDispatcher;
 import net.minestom.server.command.builder.CommandResult;
 import net.minestom.server.command.builder.exception.ArgumentSyntaxException;
@@ -57,6 +58,7 @@ public class ArgumentCommand extends Argument<CommandResult> {
     @ApiStatus.Experimental
     public ArgumentCommand setShortcut(@NotNull String shortcut) {
         this.shortcut = shortcut;
+        Command.invalidate();
         return this;
     }
 
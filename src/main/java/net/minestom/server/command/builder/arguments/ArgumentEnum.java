@@ -1,6 +1,7 @@
 package net.minestom.server.command.builder.arguments;
 
 import net.minestom.server.command.CommandSender;
+import net.minestom.server.command.builder.Command;
 import net.minestom.server.command.builder.exception.ArgumentSyntaxException;
 import org.jetbrains.annotations.NotNull;
 
@@ -26,6 +27,7 @@ public class ArgumentEnum<E extends Enum> extends Argument<E> {
 
     public ArgumentEnum<E> setFormat(@NotNull Format format) {
         this.format = format;
+        Command.invalidate();
         return this;
     }
 
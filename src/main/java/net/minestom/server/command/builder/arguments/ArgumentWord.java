@@ -1,6 +1,7 @@
 package net.minestom.server.command.builder.arguments;
 
 import net.minestom.server.command.CommandSender;
+import net.minestom.server.command.builder.Command;
 import net.minestom.server.command.builder.exception.ArgumentSyntaxException;
 import net.minestom.server.utils.StringUtils;
 import net.minestom.server.utils.binary.BinaryWriter;
@@ -47,6 +48,7 @@ public class ArgumentWord extends Argument<String> {
         }
 
         this.restrictions = restrictions;
+        Command.invalidate();
         return this;
     }
 
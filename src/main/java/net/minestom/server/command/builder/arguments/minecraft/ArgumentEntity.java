@@ -1,6 +1,7 @@
 package net.minestom.server.command.builder.arguments.minecraft;
 
 import net.minestom.server.command.CommandSender;
+import net.minestom.server.command.builder.Command;
 import net.minestom.server.command.builder.arguments.Argument;
 import net.minestom.server.command.builder.exception.ArgumentSyntaxException;
 import net.minestom.server.entity.EntityType;
@@ -57,11 +58,13 @@ public class ArgumentEntity extends Argument<EntityFinder> {
 
     public ArgumentEntity singleEntity(boolean singleEntity) {
         this.onlySingleEntity = singleEntity;
+        Command.invalidate();
         return this;
     }
 
     public ArgumentEntity onlyPlayers(boolean onlyPlayers) {
         this.onlyPlayers = onlyPlayers;
+        Command.invalidate();
         return this;
     }
 
@@ -3,6 +3,7 @@ package net.minestom.server.command.builder.arguments.minecraft;
 import it.unimi.dsi.fastutil.chars.CharArrayList;
 import it.unimi.dsi.fastutil.chars.CharList;
 import net.minestom.server.command.CommandSender;
+import net.minestom.server.command.builder.Command;
 import net.minestom.server.command.builder.arguments.Argument;
 import net.minestom.server.command.builder.exception.ArgumentSyntaxException;
 import net.minestom.server.utils.binary.BinaryWriter;
@@ -33,6 +34,7 @@ public class ArgumentTime extends Argument<Duration> {
 
     public @NotNull ArgumentTime min(int min) {
         this.min = min;
+        Command.invalidate();
         return this;
     }
 
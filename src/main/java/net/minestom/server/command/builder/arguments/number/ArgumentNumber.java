@@ -1,6 +1,7 @@
 package net.minestom.server.command.builder.arguments.number;
 
 import net.minestom.server.command.CommandSender;
+import net.minestom.server.command.builder.Command;
 import net.minestom.server.command.builder.arguments.Argument;
 import net.minestom.server.command.builder.exception.ArgumentSyntaxException;
 import net.minestom.server.utils.binary.BinaryWriter;
@@ -85,6 +86,7 @@ public class ArgumentNumber<T extends Number> extends Argument<T> {
     public ArgumentNumber<T> min(@NotNull T value) {
         this.min = value;
         this.hasMin = true;
+        Command.invalidate();
         return this;
     }
 
@@ -92,7 +94,7 @@ public class ArgumentNumber<T extends Number> extends Argument<T> {
     public ArgumentNumber<T> max(@NotNull T value) {
         this.max = value;
         this.hasMax = true;
-
+        Command.invalidate();
         return this;
     }
 
@@ -102,6 +104,7 @@ public class ArgumentNumber<T extends Number> extends Argument<T> {
         this.max = max;
         this.hasMin = true;
         this.hasMax = true;
+        Command.invalidate();
         return this;
     }
 
@@ -1,5 +1,10 @@
 package net.minestom.server.entity;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntOpenHashSet;
+import it.unimi.dsi.fastutil.ints.IntSet;
 import net.kyori.adventure.sound.Sound;
 import net.kyori.adventure.text.Component;
 import net.kyori.adventure.text.event.HoverEvent;
@@ -28,6 +33,7 @@ import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.packet.server.CachedPacket;
+import net.minestom.server.network.packet.server.ServerPacket;
 import net.minestom.server.network.packet.server.play.*;
 import net.minestom.server.permission.Permission;
 import net.minestom.server.permission.PermissionHandler;
@@ -61,6 +67,8 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.jetbrains.annotations.UnknownNullability;
 
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 import java.time.Duration;
 import java.time.temporal.TemporalUnit;
 import java.util.*;
@@ -80,6 +88,15 @@ import java.util.function.UnaryOperator;
 public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, EventHandler<EntityEvent>, Taggable,
         PermissionHandler, HoverEventSource<ShowEntity>, Sound.Emitter, Shape, AcquirableSource<Entity> {
     private static final AtomicInteger LAST_ENTITY_ID = new AtomicInteger();
+    private static final VarHandle MOVEMENT_QUEUED;
+
+    static {
+        try {
+            MOVEMENT_QUEUED = MethodHandles.lookup().findVarHandle(Entity.class, "movementQueued", boolean.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 
     // Certain entities should only have their position packets sent during synchronization
     private static final Set<EntityType> SYNCHRONIZE_ONLY_ENTITIES = Set.of(EntityType.ITEM, EntityType.FALLING_BLOCK,
@@ -157,6 +174,12 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
     // Network synchronization, send the absolute position of the entity every n ticks
     private long synchronizationTicks = ServerFlag.ENTITY_SYNCHRONIZATION_TICKS;
     private long nextSynchronizationTick = synchronizationTicks;
+    // Movement waiting for the end of the tick to be sent, only used with synchronization tiers
+    private volatile boolean movementQueued;
+    private SynchronizationTiers synchronizationTiers = SynchronizationTiers.DEFAULT;
+    // Viewers which skipped movements because of their distance, mapped to the last position they received
+    // Entries are removed when the viewer is added or removed, possibly from another thread
+    private volatile Int2ObjectMap<Pos> staleMovementViewers;
 
     protected MetadataHolder metadata = new MetadataHolder(this);
     protected EntityMeta entityMeta;
@@ -165,6 +188,8 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
 
     // Tick related
     private long ticks;
+    // Same instance for every tick, created when first listened
+    private EntityTickEvent tickEvent;
 
     private final Acquirable<Entity> acquirable = Acquirable.of(this);
 
@@ -438,6 +463,7 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
      */
     @ApiStatus.Internal
     public void updateNewViewer(@NotNull Player player) {
+        forgetStaleViewer(player);
         player.sendPacket(getEntityType().registry().spawnType().getSpawnPacket(this));
         if (hasVelocity()) player.sendPacket(getVelocityPacket());
         player.sendPacket(this.getMetadataPacket());
@@ -470,6 +496,7 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
      */
     @ApiStatus.Internal
     public void updateOldViewer(@NotNull Player player) {
+        forgetStaleViewer(player);
         final Set<Entity> passengers = this.passengers;
         if (!passengers.isEmpty()) {
             for (Entity passenger : passengers) {
@@ -549,7 +576,11 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
             update(time);
 
             ticks++;
-            EventDispatcher.call(new EntityTickEvent(this));
+            if (EventDispatcher.hasListener(EntityTickEvent.class)) {
+                EntityTickEvent tickEvent = this.tickEvent;
+                if (tickEvent == null) this.tickEvent = tickEvent = new EntityTickEvent(this);
+                EventDispatcher.call(tickEvent);
+            }
 
             // remove expired effects
             effectTick();
@@ -1225,6 +1256,12 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
             // not returning here will duplicate position packets
             return;
         }
+        final Instance instance = this.instance;
+        if (!synchronizationTiers.isEmpty() && instance != null) {
+            // Sent at the end of the tick depending on the distance of each viewer
+            if (MOVEMENT_QUEUED.compareAndSet(this, false, true)) instance.queueEntityMovement(this);
+            return;
+        }
         // Update viewers
         final boolean viewChange = !position.sameView(lastSyncedPosition);
         final double distanceX = Math.abs(position.x() - lastSyncedPosition.x());
@@ -1255,6 +1292,103 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         this.lastSyncedPosition = position;
     }
 
+    /**
+     * Sends the movement queued during the tick to the viewers, a viewer only receives it
+     * every few ticks depending on its distance with this entity.
+     *
+     * @see ServerFlag#ENTITY_SYNCHRONIZATION_TIERS
+     */
+    @ApiStatus.Internal
+    public void synchronizeMovement() {
+        this.movementQueued = false;
+        final Instance instance = this.instance;
+        final Pos position = this.position;
+        final Pos lastSyncedPosition = this.lastSyncedPosition;
+        Int2ObjectMap<Pos> staleViewers = this.staleMovementViewers;
+        if (instance == null || isRemoved()) {
+            if (staleViewers != null) staleViewers.clear();
+            return;
+        }
+        final boolean moved = !position.equals(lastSyncedPosition);
+        if (!moved && (staleViewers == null || staleViewers.isEmpty())) return;
+        final SynchronizationTiers tiers = this.synchronizationTiers;
+        List<Player> updatedViewers = new ArrayList<>();
+        int staleCount = 0;
+        for (Player viewer : getViewers()) {
+            final int viewerId = viewer.getEntityId();
+            final Pos viewerPosition = staleViewers != null ? staleViewers.get(viewerId) : null;
+            final boolean updateTick = ticks % tiers.interval(viewer.getPosition().distanceSquared(position)) == 0;
+            if (viewerPosition != null) {
+                if (!updateTick) {
+                    staleCount++;
+                    continue;
+                }
+                // Move from the last position received by the viewer, even if the entity stopped since
+                staleViewers.remove(viewerId);
+                if (!position.equals(viewerPosition)) viewer.sendPackets(movementPackets(position, viewerPosition));
+            } else if (moved && !updateTick) {
+                if (staleViewers == null) {
+                    this.staleMovementViewers = staleViewers = Int2ObjectMaps.synchronize(new Int2ObjectOpenHashMap<>());
+                }
+                staleViewers.put(viewerId, lastSyncedPosition);
+                staleCount++;
+            } else if (moved) {
+                updatedViewers.add(viewer);
+            }
+        }
+        if (moved) {
+            for (ServerPacket packet : movementPackets(position, lastSyncedPosition)) {
+                PacketUtils.sendGroupedPacket(updatedViewers, packet);
+            }
+            if (!isCloseTo(position, lastSyncedPosition)) nextSynchronizationTick = synchronizationTicks + 1;
+            this.lastSyncedPosition = position;
+        }
+        if (staleViewers != null && staleViewers.size() > staleCount) {
+            // A viewer has been removed while its entry was being added
+            IntSet viewerIds = new IntOpenHashSet();
+            for (Player viewer : getViewers()) viewerIds.add(viewer.getEntityId());
+            synchronized (staleViewers) {
+                staleViewers.keySet().removeIf((int id) -> !viewerIds.contains(id));
+            }
+        }
+        // Stale viewers must still receive the last position on their next update tick
+        if (staleCount > 0 && MOVEMENT_QUEUED.compareAndSet(this, false, true)) instance.queueEntityMovement(this);
+    }
+
+    private void forgetStaleViewer(Player viewer) {
+        final Int2ObjectMap<Pos> staleViewers = this.staleMovementViewers;
+        if (staleViewers != null) staleViewers.remove(viewer.getEntityId());
+    }
+
+    /**
+     * Replaces the synchronization tiers of this entity, used by tests.
+     */
+    void setSynchronizationTiers(@NotNull SynchronizationTiers synchronizationTiers) {
+        this.synchronizationTiers = synchronizationTiers;
+    }
+
+    private ServerPacket[] movementPackets(Pos position, Pos from) {
+        final boolean viewChange = !position.sameView(from);
+        final boolean positionChange = !position.samePoint(from);
+        if (!isCloseTo(position, from)) {
+            return new ServerPacket[]{new EntityTeleportPacket(getEntityId(), position, isOnGround())};
+        } else if (positionChange && viewChange) {
+            return new ServerPacket[]{EntityPositionAndRotationPacket.getPacket(getEntityId(), position, from, isOnGround()),
+                    new EntityHeadLookPacket(getEntityId(), position.yaw())};
+        } else if (positionChange) {
+            return new ServerPacket[]{EntityPositionAndRotationPacket.getPacket(getEntityId(), position, from, onGround)};
+        } else {
+            return new ServerPacket[]{new EntityHeadLookPacket(getEntityId(), position.yaw()),
+                    EntityPositionAndRotationPacket.getPacket(getEntityId(), position, from, isOnGround())};
+        }
+    }
+
+    private static boolean isCloseTo(Pos position, Pos from) {
+        // Relative moves are limited to 8 blocks on each axis
+        return Math.abs(position.x() - from.x()) <= 8 && Math.abs(position.y() - from.y()) <= 8 &&
+                Math.abs(position.z() - from.z()) <= 8;
+    }
+
     @ApiStatus.Internal
     public void refreshPosition(@NotNull final Pos newPosition, boolean ignoreView) {
         refreshPosition(newPosition, ignoreView, true);
@@ -1531,6 +1665,9 @@ public class Entity implements Viewable, Tickable, Schedulable, Snapshotable, Ev
         }
         nextSynchronizationTick = ticks + synchronizationTicks;
         this.lastSyncedPosition = posCache;
+        // Every viewer received the absolute position
+        final Int2ObjectMap<Pos> staleViewers = this.staleMovementViewers;
+        if (staleViewers != null) staleViewers.clear();
     }
 
     private void synchronizeView() {
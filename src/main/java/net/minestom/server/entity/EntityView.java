@@ -31,11 +31,19 @@ final class EntityView {
 
     private volatile TrackedLocation trackedLocation;
 
+    // Entities waiting to be shown to this player until its connection is writable
+    private Set<Entity> deferred;
+
     public EntityView(Entity entity) {
         this.entity = entity;
         this.viewableOption = new Option<>(EntityTracker.Target.PLAYERS, Entity::autoViewEntities,
                 player -> {
                     // Add viewable
+                    if (!player.getPlayerConnection().isWritable()) {
+                        // Outbound buffer over budget, spawn once the connection drained
+                        player.viewEngine.defer(entity);
+                        return;
+                    }
                     var lock1 = player.getEntityId() < entity.getEntityId() ? player : entity;
                     var lock2 = lock1 == entity ? player : entity;
                     synchronized (lock1.viewEngine.mutex) {
@@ -52,6 +60,7 @@ final class EntityView {
                 },
                 player -> {
                     // Remove viewable
+                    player.viewEngine.undefer(entity);
                     var lock1 = player.getEntityId() < entity.getEntityId() ? player : entity;
                     var lock2 = lock1 == entity ? player : entity;
                     synchronized (lock1.viewEngine.mutex) {
@@ -74,6 +83,45 @@ final class EntityView {
     record TrackedLocation(Instance instance, Point point) {
     }
 
+    void defer(@NotNull Entity viewable) {
+        synchronized (mutex) {
+            Set<Entity> deferred = this.deferred;
+            if (deferred == null) this.deferred = deferred = new HashSet<>();
+            deferred.add(viewable);
+        }
+    }
+
+    void undefer(@NotNull Entity viewable) {
+        synchronized (mutex) {
+            final Set<Entity> deferred = this.deferred;
+            if (deferred != null) deferred.remove(viewable);
+        }
+    }
+
+    void processDeferred() {
+        if (!(entity instanceof Player player)) return;
+        if (deferred == null || !player.getPlayerConnection().isWritable()) return;
+        final List<Entity> entities;
+        synchronized (mutex) {
+            final Set<Entity> deferred = this.deferred;
+            if (deferred == null || deferred.isEmpty()) return;
+            entities = List.copyOf(deferred);
+            deferred.clear();
+        }
+        final Instance instance = player.getInstance();
+        final Point point = player.getPosition();
+        for (Entity viewable : entities) {
+            // Range could have changed while waiting
+            if (viewable.isRemoved() || viewable.getInstance() != instance) continue;
+            final Point viewablePoint = viewable.getPosition();
+            if (Math.abs(viewablePoint.chunkX() - point.chunkX()) > RANGE ||
+                    Math.abs(viewablePoint.chunkZ() - point.chunkZ()) > RANGE) continue;
+            if (viewerOption.isAuto() && viewable.isAutoViewable()) {
+                viewable.viewEngine.viewableOption.addition.accept(player);
+            }
+        }
+    }
+
     public boolean manualAdd(@NotNull Player player) {
         if (player == this.entity) return false;
         synchronized (mutex) {
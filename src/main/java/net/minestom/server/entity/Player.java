@@ -1,5 +1,8 @@
 package net.minestom.server.entity;
 
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import it.unimi.dsi.fastutil.longs.LongArrayPriorityQueue;
 import it.unimi.dsi.fastutil.longs.LongPriorityQueue;
 import net.kyori.adventure.audience.MessageType;
@@ -162,14 +165,27 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
     private int maxChunkBatchLead = 1; // Maximum number of batches to send before waiting for a reply
     private int chunkBatchLead = 0; // Number of batches sent without a reply
 
+    // Chunks still being loaded for the player, cancelled when leaving their range
+    private final Long2ObjectMap<CompletableFuture<Chunk>> pendingChunkLoads = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
+
     final IntegerBiConsumer chunkAdder = (chunkX, chunkZ) -> {
         // Load new chunks
-        this.instance.loadOptionalChunk(chunkX, chunkZ).thenAccept(this::sendChunk);
+        final CompletableFuture<Chunk> future = this.instance.loadOptionalChunk(chunkX, chunkZ);
+        if (!future.isDone()) {
+            final long index = ChunkUtils.getChunkIndex(chunkX, chunkZ);
+            this.pendingChunkLoads.put(index, future);
+            future.whenComplete((chunk, throwable) -> this.pendingChunkLoads.remove(index, future));
+        }
+        future.thenAccept(this::sendChunk);
     };
     final IntegerBiConsumer chunkRemover = (chunkX, chunkZ) -> {
         // Unload old chunks
+        final CompletableFuture<Chunk> pendingLoad = this.pendingChunkLoads.remove(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        if (pendingLoad != null) pendingLoad.cancel(false);
         sendPacket(new UnloadChunkPacket(chunkX, chunkZ));
-        EventDispatcher.call(new PlayerChunkUnloadEvent(this, chunkX, chunkZ));
+        if (EventDispatcher.hasListener(PlayerChunkUnloadEvent.class)) {
+            EventDispatcher.call(new PlayerChunkUnloadEvent(this, chunkX, chunkZ));
+        }
     };
 
     private final AtomicInteger teleportId = new AtomicInteger();
@@ -194,6 +210,9 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
     private int food;
     private float foodSaturation;
 
+    // Same instance for every tick, created when first listened
+    private PlayerTickEvent tickEvent;
+
     private long startItemUseTime;
     private long itemUseTime;
     private Hand itemUseHand;
@@ -416,6 +435,8 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
 
         // Send any available queued chunks
         sendPendingChunks();
+        // Spawn the entities postponed while the connection was over its outbound budget
+        viewEngine.processDeferred();
 
         super.update(time); // Super update (item pickup/fire management)
 
@@ -462,7 +483,11 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
         updatePose();
 
         // Tick event
-        EventDispatcher.call(new PlayerTickEvent(this));
+        if (EventDispatcher.hasListener(PlayerTickEvent.class)) {
+            PlayerTickEvent tickEvent = this.tickEvent;
+            if (tickEvent == null) this.tickEvent = tickEvent = new PlayerTickEvent(this);
+            EventDispatcher.call(tickEvent);
+        }
     }
 
     @Override
@@ -569,7 +594,7 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
      * again, and any changes will be visible to the player.
      */
     public void refreshCommands() {
-        sendPacket(MinecraftServer.getCommandManager().createDeclareCommandsPacket(this));
+        sendPacket(MinecraftServer.getCommandManager().getDeclareCommandsPacket(this));
     }
 
     @Override
@@ -801,6 +826,8 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
     private void sendPendingChunks() {
         // If we have nothing to send or have sent the max # of batches without reply, do nothing
         if (chunkQueue.isEmpty() || chunkBatchLead >= maxChunkBatchLead) return;
+        // Wait for the client to catch up if too much data is still buffered
+        if (!playerConnection.isWritable()) return;
 
         // Increment the pending chunk count by the target chunks per tick
         pendingChunkCount = Math.min(pendingChunkCount + targetChunksPerTick, ServerFlag.MAX_CHUNKS_PER_TICK);
@@ -817,7 +844,9 @@ public class Player extends LivingEntity implements CommandSender, Localizable,
                 if (chunk == null || !chunk.isLoaded()) continue;
 
                 sendPacket(chunk.getFullDataPacket());
-                EventDispatcher.call(new PlayerChunkLoadEvent(this, chunkX, chunkZ));
+                if (EventDispatcher.hasListener(PlayerChunkLoadEvent.class)) {
+                    EventDispatcher.call(new PlayerChunkLoadEvent(this, chunkX, chunkZ));
+                }
 
                 pendingChunkCount -= 1f;
                 batchSize += 1;
@@ -0,0 +1,71 @@
+package net.minestom.server.entity;
+
+import net.minestom.server.ServerFlag;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Intervals between the movement updates of an entity depending on its distance to the viewer.
+ * <p>
+ * Parsed from a list of {@code distance:interval} pairs separated by commas, {@code "32:2,64:4"} means that
+ * viewers further than 32 blocks receive the movements every 2 ticks, and every 4 ticks after 64 blocks.
+ * Closer viewers receive every movement.
+ *
+ * @see ServerFlag#ENTITY_SYNCHRONIZATION_TIERS
+ */
+final class SynchronizationTiers {
+    static final SynchronizationTiers DEFAULT = parse(ServerFlag.ENTITY_SYNCHRONIZATION_TIERS);
+
+    // Sorted by distance
+    private final double[] distancesSquared;
+    private final int[] intervals;
+
+    private SynchronizationTiers(double[] distancesSquared, int[] intervals) {
+        this.distancesSquared = distancesSquared;
+        this.intervals = intervals;
+    }
+
+    static @NotNull SynchronizationTiers parse(@NotNull String value) {
+        if (value.isBlank()) return new SynchronizationTiers(new double[0], new int[0]);
+        final String[] entries = value.split(",");
+        double[][] tiers = new double[entries.length][];
+        for (int i = 0; i < entries.length; i++) {
+            final String entry = entries[i].trim();
+            final int separator = entry.indexOf(':');
+            if (separator == -1) throw new IllegalArgumentException("Invalid synchronization tier: " + entry);
+            final double distance = Double.parseDouble(entry.substring(0, separator).trim());
+            final int interval = Integer.parseInt(entry.substring(separator + 1).trim());
+            if (distance < 0 || interval < 1)
+                throw new IllegalArgumentException("Invalid synchronization tier: " + entry);
+            tiers[i] = new double[]{distance, interval};
+        }
+        Arrays.sort(tiers, Comparator.comparingDouble(tier -> tier[0]));
+        double[] distancesSquared = new double[tiers.length];
+        int[] intervals = new int[tiers.length];
+        for (int i = 0; i < tiers.length; i++) {
+            distancesSquared[i] = tiers[i][0] * tiers[i][0];
+            intervals[i] = (int) tiers[i][1];
+        }
+        return new SynchronizationTiers(distancesSquared, intervals);
+    }
+
+    boolean isEmpty() {
+        return intervals.length == 0;
+    }
+
+    /**
+     * Gets the number of ticks between two movement updates.
+     *
+     * @param distanceSquared the squared distance between the entity and the viewer
+     * @return the update interval, 1 to receive every movement
+     */
+    int interval(double distanceSquared) {
+        int interval = 1;
+        for (int i = 0; i < intervals.length && distanceSquared > distancesSquared[i]; i++) {
+            interval = intervals[i];
+        }
+        return interval;
+    }
+}
@@ -14,6 +14,19 @@ public final class EventDispatcher {
         return MinecraftServer.getGlobalEventHandler().getHandle(handleType);
     }
 
+    /**
+     * Gets if an event type has listeners anywhere in the global event tree.
+     * <p>
+     * Used to skip the creation of events called at a high frequency (e.g. every tick) when nothing listens to them.
+     *
+     * @param eventType the exact type of the event
+     * @return true if the event would be received by a listener
+     * @see ListenerHandle#hasListener()
+     */
+    public static boolean hasListener(@NotNull Class<? extends Event> eventType) {
+        return getHandle(eventType).hasListener();
+    }
+
     public static void callCancellable(@NotNull CancellableEvent event, @NotNull Runnable successCallback) {
         MinecraftServer.getGlobalEventHandler().callCancellable(event, successCallback);
     }
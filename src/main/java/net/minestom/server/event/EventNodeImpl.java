@@ -49,6 +49,9 @@ non-sealed class EventNodeImpl<T extends Event> implements EventNode<T> {
     @Override
     @SuppressWarnings("unchecked")
     public <E extends T> @NotNull ListenerHandle<E> getHandle(@NotNull Class<E> handleType) {
+        // Retrieved for every call, only lock the map when the handle does not exist yet
+        final Handle<T> handle = handleMap.get(handleType);
+        if (handle != null) return (ListenerHandle<E>) handle;
         return (ListenerHandle<E>) handleMap.computeIfAbsent(handleType,
                 aClass -> new Handle<>((Class<T>) aClass));
     }
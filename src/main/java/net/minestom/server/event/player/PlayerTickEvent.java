@@ -6,6 +6,7 @@ import org.jetbrains.annotations.NotNull;
 
 /**
  * Called at each player tick.
+ * Same event instance used for all tick events for the same player.
  */
 public class PlayerTickEvent implements PlayerInstanceEvent {
 
@@ -2,7 +2,10 @@ package net.minestom.server.event.server;
 
 import net.minestom.server.event.Event;
 import net.minestom.server.monitoring.TickMonitor;
+import net.minestom.server.monitoring.TickProfile;
+import net.minestom.server.monitoring.TickProfiler;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 public final class ServerTickMonitorEvent implements Event {
     private final TickMonitor tickMonitor;
@@ -14,4 +17,13 @@ public final class ServerTickMonitorEvent implements Event {
     public @NotNull TickMonitor getTickMonitor() {
         return tickMonitor;
     }
+
+    /**
+     * Gets the breakdown of the tick, only present for the ticks sampled by {@link TickProfiler}.
+     *
+     * @return the tick profile, null if the tick was not profiled
+     */
+    public @Nullable TickProfile getTickProfile() {
+        return tickMonitor.getProfile();
+    }
 }
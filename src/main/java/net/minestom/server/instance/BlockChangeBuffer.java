@@ -0,0 +1,145 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.shorts.ShortArrayList;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.minestom.server.ServerFlag;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.network.packet.server.play.BlockChangePacket;
+import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
+import net.minestom.server.utils.block.BlockUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Block changes of a chunk waiting to be sent to its viewers.
+ * <p>
+ * Only the changed positions are kept, the blocks are read from the chunk when flushing so that
+ * a position changed multiple times is sent once with its latest block.
+ * Sections with a single change are sent with a {@link BlockChangePacket}, the others with a {@link MultiBlockChangePacket}.
+ * When a section exceeds {@link ServerFlag#BLOCK_CHANGE_RESEND_THRESHOLD} changes, the whole chunk is resent instead.
+ */
+final class BlockChangeBuffer {
+    private final Chunk chunk;
+
+    private Int2ObjectMap<SectionChanges> sections = new Int2ObjectOpenHashMap<>();
+    private boolean resendChunk;
+
+    BlockChangeBuffer(@NotNull Chunk chunk) {
+        this.chunk = chunk;
+    }
+
+    /**
+     * Records the change of a block.
+     *
+     * @param x the block X
+     * @param y the block Y
+     * @param z the block Z
+     * @return true if the buffer was empty
+     */
+    synchronized boolean record(int x, int y, int z) {
+        final boolean wasEmpty = isEmpty();
+        if (resendChunk) return wasEmpty;
+        final int sectionY = y >> 4;
+        SectionChanges section = sections.get(sectionY);
+        if (section == null) {
+            section = new SectionChanges();
+            sections.put(sectionY, section);
+        }
+        if (section.add((x & 15) << 8 | (z & 15) << 4 | (y & 15)) &&
+                section.positions.size() > ServerFlag.BLOCK_CHANGE_RESEND_THRESHOLD) {
+            resendChunk();
+        }
+        return wasEmpty;
+    }
+
+    /**
+     * Records a change which requires the whole chunk to be sent again.
+     *
+     * @return true if the buffer was empty
+     */
+    synchronized boolean resendChunk() {
+        final boolean wasEmpty = isEmpty();
+        this.resendChunk = true;
+        this.sections = new Int2ObjectOpenHashMap<>();
+        return wasEmpty;
+    }
+
+    /**
+     * Sends the recorded changes to the chunk viewers and clears them.
+     */
+    void flush() {
+        final Int2ObjectMap<SectionChanges> sections;
+        final boolean resendChunk;
+        synchronized (this) {
+            if (isEmpty()) return;
+            sections = this.sections;
+            resendChunk = this.resendChunk;
+            this.sections = new Int2ObjectOpenHashMap<>();
+            this.resendChunk = false;
+        }
+        if (!chunk.isLoaded()) return;
+        if (resendChunk) {
+            chunk.sendChunk();
+            return;
+        }
+
+        final int chunkX = chunk.getChunkX(), chunkZ = chunk.getChunkZ();
+        List<BlockEntityDataPacket> blockEntities = new ArrayList<>();
+        for (Int2ObjectMap.Entry<SectionChanges> entry : sections.int2ObjectEntrySet()) {
+            final int sectionY = entry.getIntKey();
+            final ShortArrayList positions = entry.getValue().positions;
+            final long[] blocks = new long[positions.size()];
+            for (int i = 0; i < blocks.length; i++) {
+                final int position = positions.getShort(i);
+                final Vec blockPosition = blockPosition(chunkX, sectionY, chunkZ, position);
+                final Block block = chunk.getBlock(blockPosition);
+                blocks[i] = (long) block.stateId() << 12 | position;
+                final var registry = block.registry();
+                if (registry.isBlockEntity()) {
+                    final CompoundBinaryTag data = BlockUtils.extractClientNbt(block);
+                    blockEntities.add(new BlockEntityDataPacket(blockPosition, registry.blockEntityId(), data));
+                }
+            }
+            if (blocks.length == 1) {
+                final Vec blockPosition = blockPosition(chunkX, sectionY, chunkZ, positions.getShort(0));
+                chunk.sendPacketToViewers(new BlockChangePacket(blockPosition, (int) (blocks[0] >>> 12)));
+            } else {
+                chunk.sendPacketToViewers(new MultiBlockChangePacket(chunkX, sectionY, chunkZ, blocks));
+            }
+        }
+        // Block entities need their block to be present on the client
+        for (BlockEntityDataPacket packet : blockEntities) chunk.sendPacketToViewers(packet);
+    }
+
+    private static @NotNull Vec blockPosition(int chunkX, int sectionY, int chunkZ, int position) {
+        return new Vec(chunkX * Chunk.CHUNK_SIZE_X + (position >> 8 & 15),
+                sectionY * Chunk.CHUNK_SECTION_SIZE + (position & 15),
+                chunkZ * Chunk.CHUNK_SIZE_Z + (position >> 4 & 15));
+    }
+
+    private boolean isEmpty() {
+        return !resendChunk && sections.isEmpty();
+    }
+
+    private static final class SectionChanges {
+        // Set of the recorded positions, one bit per block
+        final long[] recorded = new long[16 * 16 * 16 / Long.SIZE];
+        // Positions in the format [4bit x][4bit z][4bit y]
+        final ShortArrayList positions = new ShortArrayList();
+
+        boolean add(int position) {
+            final long mask = 1L << position;
+            final int index = position >>> 6;
+            if ((recorded[index] & mask) != 0) return false;
+            recorded[index] |= mask;
+            positions.add((short) position);
+            return true;
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package net.minestom.server.instance;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import net.kyori.adventure.nbt.CompoundBinaryTag;
 import net.minestom.server.Tickable;
 import net.minestom.server.Viewable;
@@ -13,6 +14,7 @@ import net.minestom.server.instance.heightmap.Heightmap;
 import net.minestom.server.network.packet.server.SendablePacket;
 import net.minestom.server.network.packet.server.play.ChunkDataPacket;
 import net.minestom.server.snapshot.Snapshotable;
+import net.minestom.server.tag.Tag;
 import net.minestom.server.tag.TagHandler;
 import net.minestom.server.tag.Taggable;
 import net.minestom.server.utils.chunk.ChunkSupplier;
@@ -22,10 +24,12 @@ import net.minestom.server.world.biome.Biome;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnknownNullability;
 
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.UnaryOperator;
 
 // TODO light data & API
 
@@ -56,10 +60,17 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
     private boolean readOnly;
 
     protected volatile boolean loaded = true;
-    private final Viewable viewable;
+    // Changed since the last save, chunks which have never been saved are dirty
+    private volatile boolean dirty = true;
+    final Viewable viewable;
+    // Sent at the end of the tick
+    final BlockChangeBuffer blockChanges = new BlockChangeBuffer(this);
+    // Blocks set by the instance during its tick of index changedBlocksTick, guarded by the chunk lock
+    Int2ObjectMap<Block> changedBlocks;
+    long changedBlocksTick;
 
     // Data
-    private final TagHandler tagHandler = TagHandler.newHandler();
+    protected TagHandler tagHandler = TagHandler.newHandler();
 
     public Chunk(@NotNull Instance instance, int chunkX, int chunkZ, boolean shouldGenerate) {
         this.identifier = UUID.randomUUID();
@@ -146,6 +157,16 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
         getViewers().forEach(this::sendChunk);
     }
 
+    /**
+     * Sends the block changes of this chunk waiting for the end of the tick to its viewers now.
+     * <p>
+     * Used when the changes must reach the clients before another packet, like a block change acknowledgement.
+     */
+    @ApiStatus.Internal
+    public void flushBlockChanges() {
+        blockChanges.flush();
+    }
+
     @ApiStatus.Internal
     public abstract @NotNull SendablePacket getFullDataPacket();
 
@@ -310,6 +331,67 @@ public abstract class Chunk implements Block.Getter, Block.Setter, Biome.Getter,
         return tagHandler;
     }
 
+    @Override
+    public <T> void setTag(@NotNull Tag<T> tag, @Nullable T value) {
+        markDirty();
+        Taggable.super.setTag(tag, value);
+    }
+
+    @Override
+    public void removeTag(@NotNull Tag<?> tag) {
+        markDirty();
+        Taggable.super.removeTag(tag);
+    }
+
+    @Override
+    public <T> @Nullable T getAndSetTag(@NotNull Tag<T> tag, @Nullable T value) {
+        markDirty();
+        return Taggable.super.getAndSetTag(tag, value);
+    }
+
+    @Override
+    public <T> void updateTag(@NotNull Tag<T> tag, @NotNull UnaryOperator<@UnknownNullability T> value) {
+        markDirty();
+        Taggable.super.updateTag(tag, value);
+    }
+
+    @Override
+    public <T> @UnknownNullability T updateAndGetTag(@NotNull Tag<T> tag, @NotNull UnaryOperator<@UnknownNullability T> value) {
+        markDirty();
+        return Taggable.super.updateAndGetTag(tag, value);
+    }
+
+    @Override
+    public <T> @UnknownNullability T getAndUpdateTag(@NotNull Tag<T> tag, @NotNull UnaryOperator<@UnknownNullability T> value) {
+        markDirty();
+        return Taggable.super.getAndUpdateTag(tag, value);
+    }
+
+    /**
+     * Gets if the chunk changed since it was last saved.
+     * <p>
+     * Block, biome and tag changes are tracked, changes made through {@link #tagHandler()} directly are not.
+     *
+     * @return true if the chunk needs to be saved
+     */
+    public boolean isDirty() {
+        return dirty;
+    }
+
+    /**
+     * Marks the chunk as changed, to be saved again.
+     */
+    public void markDirty() {
+        this.dirty = true;
+    }
+
+    /**
+     * Marks the chunk as saved, called by the savers before reading the chunk.
+     */
+    public void markClean() {
+        this.dirty = false;
+    }
+
     /**
      * Sets the chunk as "unloaded".
      */
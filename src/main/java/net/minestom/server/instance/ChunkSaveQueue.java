@@ -0,0 +1,259 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectLinkedOpenHashMap;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.ServerFlag;
+import net.minestom.server.timer.Task;
+import net.minestom.server.timer.TaskSchedule;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Write-behind queue saving the dirty chunks of an {@link InstanceContainer} in the background.
+ * <p>
+ * Chunks are copied when submitted, the copies are then encoded and written by the {@link IChunkLoader}
+ * outside the tick threads, at most {@link #getRate()} chunks per second.
+ * A chunk submitted again before being written only keeps its latest copy.
+ * <p>
+ * Autosave is disabled by default, see {@link #setAutosaveInterval(int)} or the {@code minestom.chunk-save.autosave-interval} property.
+ */
+public final class ChunkSaveQueue {
+    private static final long PERIOD_MILLIS = MinecraftServer.TICK_MS;
+    private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "Ms-ChunkSaver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final InstanceContainer instance;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Chunk index -> copy to save, in submission order
+    private final Long2ObjectLinkedOpenHashMap<PendingSave> pending = new Long2ObjectLinkedOpenHashMap<>();
+    private ScheduledFuture<?> writer;
+    private Task autosaveTask;
+
+    private volatile int rate = Math.max(1, ServerFlag.CHUNK_SAVE_RATE);
+    // Only accessed by the writer thread
+    private double budget;
+    private long sampleTime, sampleChunks, sampleBytes;
+
+    private final LongAdder savedChunks = new LongAdder();
+    private volatile double chunksPerSecond, bytesPerSecond;
+
+    ChunkSaveQueue(@NotNull InstanceContainer instance) {
+        this.instance = instance;
+        if (ServerFlag.CHUNK_AUTOSAVE_INTERVAL > 0) setAutosaveInterval(ServerFlag.CHUNK_AUTOSAVE_INTERVAL);
+    }
+
+    /**
+     * Queues a chunk to be saved if it changed since its last save.
+     * <p>
+     * The chunk is copied in the current thread, the copy is saved later.
+     *
+     * @param chunk the chunk to save
+     * @return true if the chunk was dirty and has been queued
+     */
+    public boolean submit(@NotNull Chunk chunk) {
+        final Chunk copy;
+        synchronized (chunk) {
+            if (!chunk.isDirty()) return false;
+            chunk.markClean();
+            copy = chunk.copy(chunk.getInstance(), chunk.getChunkX(), chunk.getChunkZ());
+        }
+        final long index = ChunkUtils.getChunkIndex(chunk.getChunkX(), chunk.getChunkZ());
+        lock.lock();
+        try {
+            pending.put(index, new PendingSave(chunk, copy));
+            if (writer == null) {
+                this.writer = EXECUTOR.scheduleAtFixedRate(this::write, PERIOD_MILLIS, PERIOD_MILLIS, TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Queues every dirty chunk of the instance.
+     *
+     * @return the number of queued chunks
+     */
+    public int submitDirty() {
+        int count = 0;
+        for (Chunk chunk : instance.getChunks()) {
+            if (submit(chunk)) count++;
+        }
+        return count;
+    }
+
+    /**
+     * Writes all the queued chunks now, ignoring the rate.
+     *
+     * @return a future completed once the chunks queued before the call are written
+     */
+    public @NotNull CompletableFuture<Void> flush() {
+        return CompletableFuture.runAsync(() -> {
+            List<PendingSave> saves;
+            while (!(saves = poll(Integer.MAX_VALUE)).isEmpty()) save(saves);
+        }, EXECUTOR);
+    }
+
+    /**
+     * Changes the number of ticks between two autosaves, each autosave queues the dirty chunks of the instance.
+     *
+     * @param ticks the autosave interval, 0 to disable autosave
+     */
+    public synchronized void setAutosaveInterval(int ticks) {
+        if (ticks < 0) throw new IllegalArgumentException("Interval cannot be negative: " + ticks);
+        if (autosaveTask != null) autosaveTask.cancel();
+        this.autosaveTask = ticks > 0 ?
+                instance.scheduler().scheduleTask(this::submitDirty, TaskSchedule.tick(ticks), TaskSchedule.tick(ticks)) :
+                null;
+    }
+
+    /**
+     * Gets the maximum number of chunks written per second.
+     *
+     * @return the save rate
+     */
+    public int getRate() {
+        return rate;
+    }
+
+    /**
+     * Changes the maximum number of chunks written per second.
+     *
+     * @param rate the new save rate
+     */
+    public void setRate(int rate) {
+        if (rate <= 0) throw new IllegalArgumentException("Rate must be positive: " + rate);
+        this.rate = rate;
+    }
+
+    /**
+     * Gets the number of chunks waiting to be written.
+     *
+     * @return the queue depth
+     */
+    public int getQueueSize() {
+        lock.lock();
+        try {
+            return pending.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of chunks written by this queue.
+     *
+     * @return the total number of saved chunks
+     */
+    public long getSavedChunks() {
+        return savedChunks.sum();
+    }
+
+    /**
+     * Gets the number of chunks written during the last second.
+     *
+     * @return the chunks written per second
+     */
+    public double getChunksPerSecond() {
+        return chunksPerSecond;
+    }
+
+    /**
+     * Gets the number of bytes written by the chunk loader during the last second.
+     *
+     * @return the bytes written per second, -1 if the loader does not report it
+     * @see IChunkLoader#getBytesWritten()
+     */
+    public double getBytesPerSecond() {
+        return bytesPerSecond;
+    }
+
+    private void write() {
+        final int rate = this.rate;
+        // Allow bursts of at most one second
+        this.budget = Math.min(budget + rate * (PERIOD_MILLIS / 1000d), rate);
+        final int count = (int) budget;
+        if (count > 0) {
+            final List<PendingSave> saves = poll(count);
+            this.budget -= saves.size();
+            if (!saves.isEmpty()) save(saves);
+        }
+        if (updateMetrics() && chunksPerSecond == 0) stopIfEmpty();
+    }
+
+    private void stopIfEmpty() {
+        lock.lock();
+        try {
+            if (!pending.isEmpty()) return;
+            // Idle for a whole second, restarted by the next submission
+            this.writer.cancel(false);
+            this.writer = null;
+            this.budget = 0;
+            this.sampleTime = 0;
+            this.bytesPerSecond = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<PendingSave> poll(int count) {
+        lock.lock();
+        try {
+            final int size = Math.min(count, pending.size());
+            List<PendingSave> saves = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) saves.add(pending.removeFirst());
+            return saves;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void save(List<PendingSave> saves) {
+        List<Chunk> copies = new ArrayList<>(saves.size());
+        for (PendingSave save : saves) copies.add(save.copy());
+        try {
+            instance.getChunkLoader().saveChunks(copies).join();
+            savedChunks.add(copies.size());
+        } catch (Throwable e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            // Retry with the next save
+            for (PendingSave save : saves) save.chunk().markDirty();
+        }
+    }
+
+    /**
+     * Samples the rates once per second.
+     *
+     * @return true if the rates have been updated
+     */
+    private boolean updateMetrics() {
+        final long time = System.nanoTime();
+        final long previousTime = this.sampleTime;
+        if (previousTime != 0 && time - previousTime < TimeUnit.SECONDS.toNanos(1)) return false;
+        final long chunks = savedChunks.sum();
+        final long bytes = instance.getChunkLoader().getBytesWritten();
+        if (previousTime != 0) {
+            final double seconds = (time - previousTime) / 1e9;
+            this.chunksPerSecond = (chunks - sampleChunks) / seconds;
+            this.bytesPerSecond = bytes >= 0 ? Math.max(0, bytes - sampleBytes) / seconds : -1;
+        }
+        this.sampleTime = time;
+        this.sampleChunks = chunks;
+        this.sampleBytes = bytes;
+        return previousTime != 0;
+    }
+
+    private record PendingSave(@NotNull Chunk chunk, @NotNull Chunk copy) {
+    }
+}
@@ -0,0 +1,235 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.ServerFlag;
+import net.minestom.server.Viewable;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Player;
+import org.jetbrains.annotations.NotNull;
+import space.vectrix.flare.fastutil.Long2ObjectSyncMap;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+import static net.minestom.server.instance.Chunk.CHUNK_SIZE_X;
+import static net.minestom.server.instance.Chunk.CHUNK_SIZE_Z;
+import static net.minestom.server.utils.chunk.ChunkUtils.getChunkIndex;
+
+/**
+ * Players viewing a chunk, within {@link ServerFlag#CHUNK_VIEW_DISTANCE} of the chunk
+ * in its instance or any of the {@link SharedInstance}s.
+ * <p>
+ * The viewer set is maintained incrementally by the {@link Index} of each tracker
+ * when players are registered, unregistered or cross a chunk boundary.
+ * Views are removed from the indexes when their chunk is unloaded, see {@link #remove(Viewable)}.
+ */
+final class ChunkView implements Viewable {
+    private static final Index[] EMPTY_INDEXES = new Index[0];
+
+    private final EntityTracker tracker;
+    private final Key key;
+    private final Point point;
+    private final Set<Player> viewers = ConcurrentHashMap.newKeySet();
+    private final Set<Player> viewersView = Collections.unmodifiableSet(viewers);
+
+    // Indexes this view is subscribed to, the first one being the tracker's own index
+    private volatile Index[] subscriptions = EMPTY_INDEXES;
+    // Shared instances the subscriptions have been computed for
+    private volatile SharedInstance[] sharedInstances;
+    // Set once the chunk is unloaded, the view is then never updated again
+    private volatile boolean removed;
+
+    private ChunkView(EntityTracker tracker, Key key) {
+        this.tracker = tracker;
+        this.key = key;
+        this.point = new Vec(CHUNK_SIZE_X * key.chunkX, 0, CHUNK_SIZE_Z * key.chunkZ);
+    }
+
+    @Override
+    public boolean addViewer(@NotNull Player player) {
+        throw new UnsupportedOperationException("Chunk does not support manual viewers");
+    }
+
+    @Override
+    public boolean removeViewer(@NotNull Player player) {
+        throw new UnsupportedOperationException("Chunk does not support manual viewers");
+    }
+
+    @Override
+    public @NotNull Set<@NotNull Player> getViewers() {
+        if (!removed && !isSubscribed()) subscribe();
+        return viewersView;
+    }
+
+    /**
+     * Stops tracking the viewers of an unloaded chunk, so that the indexes only hold the loaded chunks.
+     *
+     * @param viewable the viewable of the unloaded chunk
+     */
+    static void remove(@NotNull Viewable viewable) {
+        if (viewable instanceof ChunkView view) view.remove();
+    }
+
+    private synchronized void remove() {
+        this.removed = true;
+        Index.of(tracker).views.remove(key, this);
+        for (Index index : subscriptions) index.unsubscribe(this);
+        this.subscriptions = EMPTY_INDEXES;
+        this.viewers.clear();
+    }
+
+    private boolean isSubscribed() {
+        final SharedInstance[] sharedInstances = this.sharedInstances;
+        if (sharedInstances == null) return false;
+        final List<SharedInstance> current = key.sharedInstances;
+        final int size = current.size();
+        if (size != sharedInstances.length) return false;
+        for (int i = 0; i < size; i++) {
+            if (current.get(i) != sharedInstances[i]) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Subscribes to the index of the tracker and of every shared instance, then collects the current viewers.
+     * <p>
+     * Called lazily, and again when the shared instances changed.
+     */
+    private synchronized void subscribe() {
+        if (removed || isSubscribed()) return;
+        for (Index index : subscriptions) index.unsubscribe(this);
+        this.viewers.clear();
+
+        final SharedInstance[] sharedInstances = key.sharedInstances.toArray(SharedInstance[]::new);
+        Index[] subscriptions = new Index[sharedInstances.length + 1];
+        subscriptions[0] = Index.of(tracker);
+        for (int i = 0; i < sharedInstances.length; i++) {
+            subscriptions[i + 1] = Index.of(sharedInstances[i].getEntityTracker());
+        }
+        // Subscribe before collecting to not miss concurrent moves
+        for (Index index : subscriptions) index.subscribe(this);
+        this.subscriptions = subscriptions;
+
+        collectPlayers(tracker);
+        for (SharedInstance instance : sharedInstances) collectPlayers(instance.getEntityTracker());
+        this.sharedInstances = sharedInstances;
+    }
+
+    private void collectPlayers(EntityTracker tracker) {
+        tracker.nearbyEntitiesByChunkRange(point, ServerFlag.CHUNK_VIEW_DISTANCE,
+                EntityTracker.Target.PLAYERS, viewers::add);
+    }
+
+    record Key(List<SharedInstance> sharedInstances, int chunkX, int chunkZ) {
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key key)) return false;
+            return sharedInstances == key.sharedInstances &&
+                    chunkX == key.chunkX &&
+                    chunkZ == key.chunkZ;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * System.identityHashCode(sharedInstances) + chunkX) + chunkZ;
+        }
+    }
+
+    /**
+     * Chunk views of a tracker, and the views of other trackers following its players (through shared instances).
+     */
+    static final class Index {
+        private final Map<Key, ChunkView> views = new ConcurrentHashMap<>();
+        // Chunk index -> views subscribed to the players of this tracker
+        private final Long2ObjectSyncMap<List<ChunkView>> subscriptions = Long2ObjectSyncMap.hashmap();
+
+        static Index of(EntityTracker tracker) {
+            return switch (tracker) {
+                case EntityTrackerImpl impl -> impl.chunkViews;
+                case GridEntityTracker grid -> grid.chunkViews;
+            };
+        }
+
+        @NotNull Viewable view(EntityTracker tracker, List<SharedInstance> sharedInstances, int chunkX, int chunkZ) {
+            return views.computeIfAbsent(new Key(sharedInstances, chunkX, chunkZ), key -> new ChunkView(tracker, key));
+        }
+
+        void playerAdded(Player player, Point point) {
+            if (subscriptions.isEmpty()) return;
+            final Consumer<ChunkView> action = view -> view.viewers.add(player);
+            final int range = ServerFlag.CHUNK_VIEW_DISTANCE;
+            final int chunkX = point.chunkX(), chunkZ = point.chunkZ();
+            for (int x = chunkX - range; x <= chunkX + range; x++) {
+                for (int z = chunkZ - range; z <= chunkZ + range; z++) {
+                    final List<ChunkView> views = subscriptions.get(getChunkIndex(x, z));
+                    if (views != null) views.forEach(action);
+                }
+            }
+        }
+
+        void playerRemoved(Player player, Point point) {
+            if (subscriptions.isEmpty()) return;
+            final Consumer<ChunkView> action = view -> view.viewers.remove(player);
+            final int range = ServerFlag.CHUNK_VIEW_DISTANCE;
+            final int chunkX = point.chunkX(), chunkZ = point.chunkZ();
+            for (int x = chunkX - range; x <= chunkX + range; x++) {
+                for (int z = chunkZ - range; z <= chunkZ + range; z++) {
+                    final List<ChunkView> views = subscriptions.get(getChunkIndex(x, z));
+                    if (views != null) views.forEach(action);
+                }
+            }
+        }
+
+        void playerMoved(Player player, Point oldPoint, Point newPoint) {
+            if (subscriptions.isEmpty()) return;
+            final int range = ServerFlag.CHUNK_VIEW_DISTANCE;
+            final int oldChunkX = oldPoint.chunkX(), oldChunkZ = oldPoint.chunkZ();
+            final int newChunkX = newPoint.chunkX(), newChunkZ = newPoint.chunkZ();
+            final Consumer<ChunkView> remove = view -> view.viewers.remove(player);
+            final Consumer<ChunkView> add = view -> view.viewers.add(player);
+            // Views only in the old range
+            for (int x = oldChunkX - range; x <= oldChunkX + range; x++) {
+                for (int z = oldChunkZ - range; z <= oldChunkZ + range; z++) {
+                    if (Math.abs(x - newChunkX) <= range && Math.abs(z - newChunkZ) <= range) continue;
+                    final List<ChunkView> views = subscriptions.get(getChunkIndex(x, z));
+                    if (views != null) views.forEach(remove);
+                }
+            }
+            // Views only in the new range
+            for (int x = newChunkX - range; x <= newChunkX + range; x++) {
+                for (int z = newChunkZ - range; z <= newChunkZ + range; z++) {
+                    if (Math.abs(x - oldChunkX) <= range && Math.abs(z - oldChunkZ) <= range) continue;
+                    final List<ChunkView> views = subscriptions.get(getChunkIndex(x, z));
+                    if (views != null) views.forEach(add);
+                }
+            }
+        }
+
+        int viewCount() {
+            return views.size();
+        }
+
+        int subscribedChunkCount() {
+            return subscriptions.size();
+        }
+
+        private void subscribe(ChunkView view) {
+            this.subscriptions.compute(getChunkIndex(view.key.chunkX, view.key.chunkZ), (index, views) -> {
+                if (views == null) views = new CopyOnWriteArrayList<>();
+                views.add(view);
+                return views;
+            });
+        }
+
+        private void unsubscribe(ChunkView view) {
+            // Drop the chunk once it has no view left
+            this.subscriptions.computeIfPresent(getChunkIndex(view.key.chunkX, view.key.chunkZ), (index, views) -> {
+                views.remove(view);
+                return views.isEmpty() ? null : views;
+            });
+        }
+    }
+}
@@ -81,6 +81,7 @@ public class DynamicChunk extends Chunk {
 
         this.lastChange = System.currentTimeMillis();
         this.chunkCache.invalidate();
+        markDirty();
 
         Section section = getSectionAt(y);
 
@@ -134,6 +135,7 @@ public class DynamicChunk extends Chunk {
     public void setBiome(int x, int y, int z, @NotNull DynamicRegistry.Key<Biome> biome) {
         assertLock();
         this.chunkCache.invalidate();
+        markDirty();
         Section section = getSectionAt(y);
 
         var id = BIOME_REGISTRY.getId(biome.namespace());
@@ -237,6 +239,7 @@ public class DynamicChunk extends Chunk {
         DynamicChunk dynamicChunk = new DynamicChunk(instance, chunkX, chunkZ);
         dynamicChunk.sections = sections.stream().map(Section::clone).toList();
         dynamicChunk.entries.putAll(entries);
+        dynamicChunk.tagHandler = this.tagHandler.copy();
         return dynamicChunk;
     }
 
@@ -244,6 +247,7 @@ public class DynamicChunk extends Chunk {
     public void reset() {
         for (Section section : sections) section.clear();
         this.entries.clear();
+        markDirty();
     }
 
     @Override
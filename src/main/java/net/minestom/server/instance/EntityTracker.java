@@ -1,5 +1,6 @@
 package net.minestom.server.instance;
 
+import net.minestom.server.ServerFlag;
 import net.minestom.server.Viewable;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.entity.Entity;
@@ -16,6 +17,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.UUID;
 import java.util.function.Consumer;
+import java.util.function.IntConsumer;
 
 /**
  * Defines how {@link Entity entities} are tracked within an {@link Instance instance}.
@@ -23,11 +25,32 @@ import java.util.function.Consumer;
  * Implementations are expected to be thread-safe.
  */
 @ApiStatus.Experimental
-public sealed interface EntityTracker permits EntityTrackerImpl {
+public sealed interface EntityTracker permits EntityTrackerImpl, GridEntityTracker {
     static @NotNull EntityTracker newTracker() {
         return new EntityTrackerImpl();
     }
 
+    /**
+     * Creates a tracker keeping the entity positions in primitive arrays alongside a grid of chunk-sized cells.
+     * <p>
+     * Moving does not copy any list and range queries do not allocate,
+     * better suited for instances with thousands of moving entities.
+     *
+     * @return a new grid tracker
+     */
+    static @NotNull EntityTracker newGridTracker() {
+        return new GridEntityTracker();
+    }
+
+    /**
+     * Creates the tracker selected by the {@code minestom.entity-tracker} property, either {@code chunk} or {@code grid}.
+     *
+     * @return a new tracker
+     */
+    static @NotNull EntityTracker newDefaultTracker() {
+        return ServerFlag.ENTITY_TRACKER.equalsIgnoreCase("grid") ? newGridTracker() : newTracker();
+    }
+
     /**
      * Register an entity to be tracked.
      */
@@ -81,6 +104,16 @@ public sealed interface EntityTracker permits EntityTrackerImpl {
     <T extends Entity> void nearbyEntities(@NotNull Point point, double range,
                                            @NotNull Target<T> target, @NotNull Consumer<T> query);
 
+    /**
+     * Gets the ids of the entities within a range.
+     * <p>
+     * Can be implemented without allocating any object, unlike {@link #nearbyEntities(Point, double, Target, Consumer)}.
+     */
+    default <T extends Entity> void nearbyEntityIds(@NotNull Point point, double range,
+                                                    @NotNull Target<T> target, @NotNull IntConsumer query) {
+        nearbyEntities(point, range, target, entity -> query.accept(entity.getEntityId()));
+    }
+
     /**
      * Gets all the entities tracked by this class.
      */
@@ -1,10 +1,8 @@
 package net.minestom.server.instance;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minestom.server.ServerFlag;
 import net.minestom.server.Viewable;
 import net.minestom.server.coordinate.Point;
-import net.minestom.server.coordinate.Vec;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.Player;
 import net.minestom.server.utils.chunk.ChunkUtils;
@@ -25,8 +23,6 @@ import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
-import static net.minestom.server.instance.Chunk.CHUNK_SIZE_X;
-import static net.minestom.server.instance.Chunk.CHUNK_SIZE_Z;
 import static net.minestom.server.utils.chunk.ChunkUtils.*;
 
 final class EntityTrackerImpl implements EntityTracker {
@@ -40,6 +36,7 @@ final class EntityTrackerImpl implements EntityTracker {
 
     private final Int2ObjectSyncMap<EntityTrackerEntry> entriesByEntityId = Int2ObjectSyncMap.hashmap();
     private final Map<UUID, EntityTrackerEntry> entriesByEntityUuid = new ConcurrentHashMap<>();
+    final ChunkView.Index chunkViews = new ChunkView.Index();
 
     @Override
     public <T extends Entity> void register(@NotNull Entity entity, @NotNull Point point,
@@ -58,6 +55,7 @@ final class EntityTrackerImpl implements EntityTracker {
                 targetEntry.addToChunk(index, entity);
             }
         }
+        if (entity instanceof Player player) chunkViews.playerAdded(player, point);
         if (update != null) {
             update.referenceUpdate(point, this);
             nearbyEntitiesByChunkRange(point, ServerFlag.ENTITY_VIEW_DISTANCE, target, newEntity -> {
@@ -82,6 +80,7 @@ final class EntityTrackerImpl implements EntityTracker {
                 targetEntry.removeFromChunk(index, entity);
             }
         }
+        if (entity instanceof Player player) chunkViews.playerRemoved(player, point);
         if (update != null) {
             update.referenceUpdate(point, null);
             nearbyEntitiesByChunkRange(point, ServerFlag.ENTITY_VIEW_DISTANCE, target, newEntity -> {
@@ -122,6 +121,7 @@ final class EntityTrackerImpl implements EntityTracker {
                 targetEntry.removeFromChunk(oldIndex, entity);
             }
         }
+        if (entity instanceof Player player) chunkViews.playerMoved(player, oldPoint, newPoint);
         if (update != null) {
             difference(oldPoint, newPoint, target, new Update<>() {
                 @Override
@@ -206,8 +206,7 @@ final class EntityTrackerImpl implements EntityTracker {
 
     @Override
     public @NotNull Viewable viewable(@NotNull List<@NotNull SharedInstance> sharedInstances, int chunkX, int chunkZ) {
-        var entry = targetEntries[Target.PLAYERS.ordinal()];
-        return entry.viewers.computeIfAbsent(new ChunkViewKey(sharedInstances, chunkX, chunkZ), ChunkView::new);
+        return chunkViews.view(this, sharedInstances, chunkX, chunkZ);
     }
 
     private static class EntityTrackerEntry {
@@ -250,24 +249,12 @@ final class EntityTrackerImpl implements EntityTracker {
                 });
     }
 
-    record ChunkViewKey(List<SharedInstance> sharedInstances, int chunkX, int chunkZ) {
-        @Override
-        public boolean equals(Object obj) {
-            if (this == obj) return true;
-            if (!(obj instanceof ChunkViewKey key)) return false;
-            return sharedInstances == key.sharedInstances &&
-                    chunkX == key.chunkX &&
-                    chunkZ == key.chunkZ;
-        }
-    }
-
     static final class TargetEntry<T extends Entity> {
         private final EntityTracker.Target<T> target;
         private final Set<T> entities = ConcurrentHashMap.newKeySet(); // Thread-safe since exposed
         private final Set<T> entitiesView = Collections.unmodifiableSet(entities);
         // Chunk index -> entities inside it
         final Long2ObjectSyncMap<List<T>> chunkEntities = Long2ObjectSyncMap.hashmap();
-        final Map<ChunkViewKey, ChunkView> viewers = new ConcurrentHashMap<>();
 
         TargetEntry(Target<T> target) {
             this.target = target;
@@ -286,70 +273,4 @@ final class EntityTrackerImpl implements EntityTracker {
             if (entities != null) entities.remove(entity);
         }
     }
-
-    private final class ChunkView implements Viewable {
-        private final ChunkViewKey key;
-        private final int chunkX, chunkZ;
-        private final Point point;
-        final Set<Player> set = new SetImpl();
-        private int lastReferenceCount;
-
-        private ChunkView(ChunkViewKey key) {
-            this.key = key;
-
-            this.chunkX = key.chunkX;
-            this.chunkZ = key.chunkZ;
-
-            this.point = new Vec(CHUNK_SIZE_X * chunkX, 0, CHUNK_SIZE_Z * chunkZ);
-        }
-
-        @Override
-        public boolean addViewer(@NotNull Player player) {
-            throw new UnsupportedOperationException("Chunk does not support manual viewers");
-        }
-
-        @Override
-        public boolean removeViewer(@NotNull Player player) {
-            throw new UnsupportedOperationException("Chunk does not support manual viewers");
-        }
-
-        @Override
-        public @NotNull Set<@NotNull Player> getViewers() {
-            return set;
-        }
-
-        private Collection<Player> references() {
-            Int2ObjectOpenHashMap<Player> entityMap = new Int2ObjectOpenHashMap<>(lastReferenceCount);
-            collectPlayers(EntityTrackerImpl.this, entityMap);
-            if (!key.sharedInstances.isEmpty()) {
-                for (SharedInstance instance : key.sharedInstances) {
-                    collectPlayers(instance.getEntityTracker(), entityMap);
-                }
-            }
-            this.lastReferenceCount = entityMap.size();
-            return entityMap.values();
-        }
-
-        private void collectPlayers(EntityTracker tracker, Int2ObjectOpenHashMap<Player> map) {
-            tracker.nearbyEntitiesByChunkRange(point, ServerFlag.CHUNK_VIEW_DISTANCE,
-                    EntityTracker.Target.PLAYERS, (player) -> map.putIfAbsent(player.getEntityId(), player));
-        }
-
-        final class SetImpl extends AbstractSet<Player> {
-            @Override
-            public @NotNull Iterator<Player> iterator() {
-                return references().iterator();
-            }
-
-            @Override
-            public int size() {
-                return references().size();
-            }
-
-            @Override
-            public void forEach(Consumer<? super Player> action) {
-                references().forEach(action);
-            }
-        }
-    }
 }
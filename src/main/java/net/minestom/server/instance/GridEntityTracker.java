@@ -0,0 +1,575 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minestom.server.ServerFlag;
+import net.minestom.server.Viewable;
+import net.minestom.server.coordinate.Point;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.Player;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.utils.validate.Check;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jetbrains.annotations.UnmodifiableView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.IntConsumer;
+
+import static net.minestom.server.utils.chunk.ChunkUtils.getChunkIndex;
+
+/**
+ * {@link EntityTracker} storing the entity positions in primitive arrays, indexed by a slot,
+ * alongside a grid of chunk-sized cells containing the slots of the entities inside.
+ * <p>
+ * Moving inside a cell only updates the position arrays under the shared read lock, publishing the position
+ * through a per-slot sequence validated by the readers. Crossing a cell boundary takes the write lock
+ * and swaps the slot between two cells instead of copying a list.
+ * Queries collect the matching entities in a thread-local buffer under the read lock,
+ * the consumers are called once the lock is released, so they can safely modify the tracker.
+ */
+final class GridEntityTracker implements EntityTracker {
+    private static final Logger LOGGER = LoggerFactory.getLogger(GridEntityTracker.class);
+    private static final int TARGET_COUNT = Target.TARGETS.size();
+    private static final ThreadLocal<QueryBuffer> QUERY_BUFFER = ThreadLocal.withInitial(QueryBuffer::new);
+    private static final VarHandle VERSIONS = MethodHandles.arrayElementVarHandle(int[].class);
+
+    private final StampedLock lock = new StampedLock();
+
+    // Slot storage, guarded by the lock
+    private Entity[] entities = new Entity[64];
+    private Point[] points = new Point[64];
+    private double[] xs = new double[64], ys = new double[64], zs = new double[64];
+    // Odd while the position of the slot is written by a move inside its cell, see #publishPosition
+    private int[] versions = new int[64];
+    private long[] chunkIndexes = new long[64];
+    private int[] targetMasks = new int[64];
+    // Position of the slot in its cell, index is slot * TARGET_COUNT + target ordinal
+    private int[] cellPositions = new int[64 * TARGET_COUNT];
+    private int slotCount;
+    private final IntArrayList freeSlots = new IntArrayList();
+    private final Int2IntOpenHashMap slotsById = new Int2IntOpenHashMap();
+    private final Long2ObjectOpenHashMap<Cell> cells = new Long2ObjectOpenHashMap<>();
+
+    private final Map<UUID, Entity> entitiesByUuid = new ConcurrentHashMap<>();
+    private final TargetEntry[] targetEntries = new TargetEntry[TARGET_COUNT];
+    final ChunkView.Index chunkViews = new ChunkView.Index();
+
+    GridEntityTracker() {
+        this.slotsById.defaultReturnValue(-1);
+        for (int i = 0; i < TARGET_COUNT; i++) targetEntries[i] = new TargetEntry();
+    }
+
+    @Override
+    public <T extends Entity> void register(@NotNull Entity entity, @NotNull Point point,
+                                            @NotNull Target<T> target, @Nullable Update<T> update) {
+        final Entity prevEntityWithUuid = entitiesByUuid.putIfAbsent(entity.getUuid(), entity);
+        Check.isTrue(prevEntityWithUuid == null, "There is already an entity registered with uuid {0}", entity.getUuid());
+
+        final int mask = targetMask(entity);
+        final long stamp = lock.writeLock();
+        try {
+            final boolean duplicateId = slotsById.containsKey(entity.getEntityId());
+            if (duplicateId) entitiesByUuid.remove(entity.getUuid());
+            Check.isTrue(!duplicateId, "There is already an entity registered with id {0}", entity.getEntityId());
+            final int slot = allocateSlot();
+            slotsById.put(entity.getEntityId(), slot);
+            this.entities[slot] = entity;
+            this.targetMasks[slot] = mask;
+            updatePosition(slot, point);
+            final long index = getChunkIndex(point);
+            this.chunkIndexes[slot] = index;
+            addToCell(index, slot, mask);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        for (int i = 0; i < TARGET_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) targetEntries[i].entities.add(entity);
+        }
+        if (entity instanceof Player player) chunkViews.playerAdded(player, point);
+
+        if (update != null) {
+            update.referenceUpdate(point, this);
+            nearbyEntitiesByChunkRange(point, ServerFlag.ENTITY_VIEW_DISTANCE, target, newEntity -> {
+                if (newEntity == entity) return;
+                update.add(newEntity);
+            });
+        }
+    }
+
+    @Override
+    public <T extends Entity> void unregister(@NotNull Entity entity,
+                                              @NotNull Target<T> target, @Nullable Update<T> update) {
+        final Point point;
+        final int mask;
+        final long stamp = lock.writeLock();
+        try {
+            final int slot = slotsById.remove(entity.getEntityId());
+            if (slot == -1) {
+                entitiesByUuid.remove(entity.getUuid());
+                return;
+            }
+            point = points[slot];
+            mask = targetMasks[slot];
+            removeFromCell(chunkIndexes[slot], slot, mask);
+            this.entities[slot] = null;
+            this.points[slot] = null;
+            this.freeSlots.add(slot);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        entitiesByUuid.remove(entity.getUuid());
+        for (int i = 0; i < TARGET_COUNT; i++) {
+            if ((mask & (1 << i)) != 0) targetEntries[i].entities.remove(entity);
+        }
+        if (entity instanceof Player player) chunkViews.playerRemoved(player, point);
+
+        if (update != null) {
+            update.referenceUpdate(point, null);
+            nearbyEntitiesByChunkRange(point, ServerFlag.ENTITY_VIEW_DISTANCE, target, newEntity -> {
+                if (newEntity == entity) return;
+                update.remove(newEntity);
+            });
+        }
+    }
+
+    @Override
+    public @Nullable Entity getEntityById(int id) {
+        final long stamp = lock.readLock();
+        try {
+            final int slot = slotsById.get(id);
+            return slot == -1 ? null : entities[slot];
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public @Nullable Entity getEntityByUuid(UUID uuid) {
+        return entitiesByUuid.get(uuid);
+    }
+
+    @Override
+    public <T extends Entity> void move(@NotNull Entity entity, @NotNull Point newPoint,
+                                        @NotNull Target<T> target, @Nullable Update<T> update) {
+        final long newIndex = getChunkIndex(newPoint);
+        long stamp = lock.readLock();
+        try {
+            final int slot = slotsById.get(entity.getEntityId());
+            if (slot == -1) {
+                LOGGER.warn("Attempted to move unregistered entity {} in the entity tracker", entity.getEntityId());
+                return;
+            }
+            if (chunkIndexes[slot] == newIndex) {
+                // Same cell, other moves and queries can run concurrently
+                publishPosition(slot, newPoint);
+                return;
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+
+        final Point oldPoint;
+        stamp = lock.writeLock();
+        try {
+            // Moved by another thread in the meantime
+            final int slot = slotsById.get(entity.getEntityId());
+            if (slot == -1) {
+                LOGGER.warn("Attempted to move unregistered entity {} in the entity tracker", entity.getEntityId());
+                return;
+            }
+            oldPoint = points[slot];
+            updatePosition(slot, newPoint);
+            if (oldPoint.sameChunk(newPoint)) return;
+            final int mask = targetMasks[slot];
+            removeFromCell(chunkIndexes[slot], slot, mask);
+            addToCell(newIndex, slot, mask);
+            this.chunkIndexes[slot] = newIndex;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        if (entity instanceof Player player) chunkViews.playerMoved(player, oldPoint, newPoint);
+
+        if (update != null) {
+            difference(oldPoint, newPoint, target, new Update<>() {
+                @Override
+                public void add(@NotNull T added) {
+                    if (entity != added) update.add(added);
+                }
+
+                @Override
+                public void remove(@NotNull T removed) {
+                    if (entity != removed) update.remove(removed);
+                }
+            });
+            update.referenceUpdate(newPoint, this);
+        }
+    }
+
+    @Override
+    public @UnmodifiableView <T extends Entity> Collection<T> chunkEntities(int chunkX, int chunkZ, @NotNull Target<T> target) {
+        return new ChunkEntities<>(getChunkIndex(chunkX, chunkZ), target.ordinal());
+    }
+
+    @Override
+    public <T extends Entity> void nearbyEntitiesByChunkRange(@NotNull Point point, int chunkRange,
+                                                              @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        final QueryBuffer buffer = QUERY_BUFFER.get();
+        final int frame = buffer.push();
+        try {
+            final int chunkX = point.chunkX(), chunkZ = point.chunkZ();
+            collect(buffer, frame, target.ordinal(), chunkX - chunkRange, chunkZ - chunkRange,
+                    chunkX + chunkRange, chunkZ + chunkRange, null, 0);
+            final Entity[] result = buffer.frames[frame];
+            final int size = buffer.sizes[frame];
+            //noinspection unchecked
+            for (int i = 0; i < size; i++) query.accept((T) result[i]);
+        } finally {
+            buffer.pop(frame);
+        }
+    }
+
+    @Override
+    public <T extends Entity> void nearbyEntities(@NotNull Point point, double range,
+                                                  @NotNull Target<T> target, @NotNull Consumer<T> query) {
+        final QueryBuffer buffer = QUERY_BUFFER.get();
+        final int frame = buffer.push();
+        try {
+            collectInRange(buffer, frame, point, range, target);
+            final Entity[] result = buffer.frames[frame];
+            final int size = buffer.sizes[frame];
+            //noinspection unchecked
+            for (int i = 0; i < size; i++) query.accept((T) result[i]);
+        } finally {
+            buffer.pop(frame);
+        }
+    }
+
+    @Override
+    public <T extends Entity> void nearbyEntityIds(@NotNull Point point, double range,
+                                                   @NotNull Target<T> target, @NotNull IntConsumer query) {
+        final QueryBuffer buffer = QUERY_BUFFER.get();
+        final int frame = buffer.push();
+        try {
+            collectInRange(buffer, frame, point, range, target);
+            final Entity[] result = buffer.frames[frame];
+            final int size = buffer.sizes[frame];
+            for (int i = 0; i < size; i++) query.accept(result[i].getEntityId());
+        } finally {
+            buffer.pop(frame);
+        }
+    }
+
+    @Override
+    public @UnmodifiableView @NotNull <T extends Entity> Set<@NotNull T> entities(@NotNull Target<T> target) {
+        //noinspection unchecked
+        return (Set<T>) targetEntries[target.ordinal()].entitiesView;
+    }
+
+    @Override
+    public @NotNull Viewable viewable(@NotNull List<@NotNull SharedInstance> sharedInstances, int chunkX, int chunkZ) {
+        return chunkViews.view(this, sharedInstances, chunkX, chunkZ);
+    }
+
+    private <T extends Entity> void difference(Point oldPoint, Point newPoint,
+                                               @NotNull Target<T> target, @NotNull Update<T> update) {
+        final int range = ServerFlag.ENTITY_VIEW_DISTANCE;
+        final int newChunkX = newPoint.chunkX(), newChunkZ = newPoint.chunkZ();
+        final int oldChunkX = oldPoint.chunkX(), oldChunkZ = oldPoint.chunkZ();
+        final QueryBuffer buffer = QUERY_BUFFER.get();
+        final int addFrame = buffer.push();
+        final int removeFrame = buffer.push();
+        try {
+            final int ordinal = target.ordinal();
+            final long stamp = lock.readLock();
+            try {
+                // Chunks only in the new range, then chunks only in the old range
+                collectDifference(buffer, addFrame, ordinal, newChunkX, newChunkZ, oldChunkX, oldChunkZ, range);
+                collectDifference(buffer, removeFrame, ordinal, oldChunkX, oldChunkZ, newChunkX, newChunkZ, range);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+            //noinspection unchecked
+            for (int i = 0; i < buffer.sizes[addFrame]; i++) update.add((T) buffer.frames[addFrame][i]);
+            //noinspection unchecked
+            for (int i = 0; i < buffer.sizes[removeFrame]; i++) update.remove((T) buffer.frames[removeFrame][i]);
+        } finally {
+            buffer.pop(removeFrame);
+            buffer.pop(addFrame);
+        }
+    }
+
+    private void collectDifference(QueryBuffer buffer, int frame, int ordinal,
+                                   int chunkX, int chunkZ, int otherChunkX, int otherChunkZ, int range) {
+        for (int x = chunkX - range; x <= chunkX + range; x++) {
+            for (int z = chunkZ - range; z <= chunkZ + range; z++) {
+                if (Math.abs(x - otherChunkX) <= range && Math.abs(z - otherChunkZ) <= range) continue;
+                final Cell cell = cells.get(getChunkIndex(x, z));
+                if (cell != null) collectCell(buffer, frame, cell, ordinal, null, 0);
+            }
+        }
+    }
+
+    private void collectInRange(QueryBuffer buffer, int frame, Point point, double range, Target<?> target) {
+        collect(buffer, frame, target.ordinal(),
+                ChunkUtils.getChunkCoordinate(point.x() - range), ChunkUtils.getChunkCoordinate(point.z() - range),
+                ChunkUtils.getChunkCoordinate(point.x() + range), ChunkUtils.getChunkCoordinate(point.z() + range),
+                point, range * range);
+    }
+
+    private void collect(QueryBuffer buffer, int frame, int ordinal,
+                         int minChunkX, int minChunkZ, int maxChunkX, int maxChunkZ,
+                         @Nullable Point center, double squaredRange) {
+        final long stamp = lock.readLock();
+        try {
+            if (cells.isEmpty()) return;
+            for (int x = minChunkX; x <= maxChunkX; x++) {
+                for (int z = minChunkZ; z <= maxChunkZ; z++) {
+                    final Cell cell = cells.get(getChunkIndex(x, z));
+                    if (cell != null) collectCell(buffer, frame, cell, ordinal, center, squaredRange);
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void collectCell(QueryBuffer buffer, int frame, Cell cell, int ordinal,
+                             @Nullable Point center, double squaredRange) {
+        final int size = cell.sizes[ordinal];
+        if (size == 0) return;
+        final int[] slots = cell.slots[ordinal];
+        if (center == null) {
+            for (int i = 0; i < size; i++) buffer.add(frame, entities[slots[i]]);
+            return;
+        }
+        final double x = center.x(), y = center.y(), z = center.z();
+        final double[] xs = this.xs, ys = this.ys, zs = this.zs;
+        final int[] versions = this.versions;
+        for (int i = 0; i < size; i++) {
+            final int slot = slots[i];
+            double dx, dy, dz;
+            int version;
+            // Retry if the position changed while being read
+            do {
+                version = (int) VERSIONS.getAcquire(versions, slot);
+                dx = xs[slot] - x;
+                dy = ys[slot] - y;
+                dz = zs[slot] - z;
+                VarHandle.loadLoadFence();
+            } while ((version & 1) != 0 || version != (int) VERSIONS.getOpaque(versions, slot));
+            if (dx * dx + dy * dy + dz * dz <= squaredRange) buffer.add(frame, entities[slot]);
+        }
+    }
+
+    private int allocateSlot() {
+        if (!freeSlots.isEmpty()) return freeSlots.popInt();
+        final int slot = slotCount++;
+        if (slot == entities.length) {
+            final int length = entities.length * 2;
+            this.entities = Arrays.copyOf(entities, length);
+            this.points = Arrays.copyOf(points, length);
+            this.xs = Arrays.copyOf(xs, length);
+            this.ys = Arrays.copyOf(ys, length);
+            this.zs = Arrays.copyOf(zs, length);
+            this.versions = Arrays.copyOf(versions, length);
+            this.chunkIndexes = Arrays.copyOf(chunkIndexes, length);
+            this.targetMasks = Arrays.copyOf(targetMasks, length);
+            this.cellPositions = Arrays.copyOf(cellPositions, length * TARGET_COUNT);
+        }
+        return slot;
+    }
+
+    /**
+     * Updates the position of a slot while holding the read lock, the slot cannot be reused
+     * or moved to another cell meanwhile.
+     */
+    private void publishPosition(int slot, Point point) {
+        final int[] versions = this.versions;
+        int version;
+        // The same entity may be moved from multiple threads
+        while (((version = (int) VERSIONS.getVolatile(versions, slot)) & 1) != 0 ||
+                !VERSIONS.compareAndSet(versions, slot, version, version + 1)) {
+            Thread.onSpinWait();
+        }
+        updatePosition(slot, point);
+        VERSIONS.setRelease(versions, slot, version + 2);
+    }
+
+    private void updatePosition(int slot, Point point) {
+        this.points[slot] = point;
+        this.xs[slot] = point.x();
+        this.ys[slot] = point.y();
+        this.zs[slot] = point.z();
+    }
+
+    private void addToCell(long index, int slot, int mask) {
+        Cell cell = cells.get(index);
+        if (cell == null) {
+            cell = new Cell();
+            cells.put(index, cell);
+        }
+        for (int i = 0; i < TARGET_COUNT; i++) {
+            if ((mask & (1 << i)) == 0) continue;
+            cellPositions[slot * TARGET_COUNT + i] = cell.add(i, slot);
+        }
+    }
+
+    private void removeFromCell(long index, int slot, int mask) {
+        final Cell cell = cells.get(index);
+        if (cell == null) return;
+        for (int i = 0; i < TARGET_COUNT; i++) {
+            if ((mask & (1 << i)) == 0) continue;
+            final int position = cellPositions[slot * TARGET_COUNT + i];
+            final int movedSlot = cell.remove(i, position);
+            if (movedSlot != -1) cellPositions[movedSlot * TARGET_COUNT + i] = position;
+        }
+        if (cell.isEmpty()) cells.remove(index);
+    }
+
+    private static int targetMask(Entity entity) {
+        int mask = 0;
+        for (Target<?> target : Target.TARGETS) {
+            if (target.type().isInstance(entity)) mask |= 1 << target.ordinal();
+        }
+        return mask;
+    }
+
+    private static final class Cell {
+        private final int[][] slots = new int[TARGET_COUNT][];
+        private final int[] sizes = new int[TARGET_COUNT];
+
+        int add(int ordinal, int slot) {
+            int[] slots = this.slots[ordinal];
+            final int size = sizes[ordinal];
+            if (slots == null) {
+                slots = this.slots[ordinal] = new int[8];
+            } else if (size == slots.length) {
+                slots = this.slots[ordinal] = Arrays.copyOf(slots, size * 2);
+            }
+            slots[size] = slot;
+            this.sizes[ordinal] = size + 1;
+            return size;
+        }
+
+        /**
+         * Removes the slot at the given position by swapping it with the last one.
+         *
+         * @return the slot moved to the position, -1 if the last slot has been removed
+         */
+        int remove(int ordinal, int position) {
+            final int[] slots = this.slots[ordinal];
+            final int last = --sizes[ordinal];
+            if (position == last) return -1;
+            final int movedSlot = slots[last];
+            slots[position] = movedSlot;
+            return movedSlot;
+        }
+
+        boolean isEmpty() {
+            for (int size : sizes) {
+                if (size != 0) return false;
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Live view of the entities in a cell, iteration is done over a snapshot.
+     */
+    private final class ChunkEntities<T extends Entity> extends AbstractCollection<T> {
+        private final long index;
+        private final int ordinal;
+
+        ChunkEntities(long index, int ordinal) {
+            this.index = index;
+            this.ordinal = ordinal;
+        }
+
+        @Override
+        public int size() {
+            final long stamp = lock.readLock();
+            try {
+                final Cell cell = cells.get(index);
+                return cell != null ? cell.sizes[ordinal] : 0;
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+
+        @Override
+        public @NotNull Iterator<T> iterator() {
+            return snapshot().iterator();
+        }
+
+        @Override
+        public void forEach(Consumer<? super T> action) {
+            snapshot().forEach(action);
+        }
+
+        private List<T> snapshot() {
+            final long stamp = lock.readLock();
+            try {
+                final Cell cell = cells.get(index);
+                if (cell == null || cell.sizes[ordinal] == 0) return List.of();
+                final int size = cell.sizes[ordinal];
+                final int[] slots = cell.slots[ordinal];
+                List<T> result = new ArrayList<>(size);
+                //noinspection unchecked
+                for (int i = 0; i < size; i++) result.add((T) entities[slots[i]]);
+                return Collections.unmodifiableList(result);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+    }
+
+    private static final class TargetEntry {
+        private final Set<Entity> entities = ConcurrentHashMap.newKeySet(); // Thread-safe since exposed
+        private final Set<Entity> entitiesView = Collections.unmodifiableSet(entities);
+    }
+
+    /**
+     * Per-thread stack of result arrays, a new frame is used for each nested query.
+     */
+    private static final class QueryBuffer {
+        private Entity[][] frames = new Entity[4][];
+        private int[] sizes = new int[4];
+        private int depth;
+
+        int push() {
+            final int frame = depth++;
+            if (frame == frames.length) {
+                this.frames = Arrays.copyOf(frames, frame * 2);
+                this.sizes = Arrays.copyOf(sizes, frame * 2);
+            }
+            if (frames[frame] == null) frames[frame] = new Entity[64];
+            this.sizes[frame] = 0;
+            return frame;
+        }
+
+        void add(int frame, Entity entity) {
+            Entity[] entities = frames[frame];
+            final int size = sizes[frame];
+            if (size == entities.length) entities = frames[frame] = Arrays.copyOf(entities, size * 2);
+            entities[size] = entity;
+            this.sizes[frame] = size + 1;
+        }
+
+        void pop(int frame) {
+            assert frame == depth - 1;
+            // Do not retain the entities
+            Arrays.fill(frames[frame], 0, sizes[frame], null);
+            this.sizes[frame] = 0;
+            this.depth = frame;
+        }
+    }
+}
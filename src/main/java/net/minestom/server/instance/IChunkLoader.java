@@ -11,6 +11,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Interface implemented to change the way chunks are loaded/saved.
@@ -64,6 +65,7 @@ public interface IChunkLoader {
      * should be called even if the saving failed (you can throw an exception).
      */
     default @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        if (chunks.isEmpty()) return AsyncUtils.VOID_FUTURE;
         if (supportsParallelSaving()) {
             ExecutorService parallelSavingThreadPool = ForkJoinPool.commonPool();
             chunks.forEach(c -> parallelSavingThreadPool.execute(() -> saveChunk(c)));
@@ -77,11 +79,16 @@ public interface IChunkLoader {
         } else {
             CompletableFuture<Void> completableFuture = new CompletableFuture<>();
             AtomicInteger counter = new AtomicInteger();
+            AtomicReference<Throwable> failure = new AtomicReference<>();
             for (Chunk chunk : chunks) {
                 saveChunk(chunk).whenComplete((unused, throwable) -> {
+                    if (throwable != null) failure.compareAndSet(null, throwable);
                     final boolean isLast = counter.incrementAndGet() == chunks.size();
                     if (isLast) {
-                        completableFuture.complete(null);
+                        // Report the failure so that the chunks are saved again
+                        final Throwable firstFailure = failure.get();
+                        if (firstFailure != null) completableFuture.completeExceptionally(firstFailure);
+                        else completableFuture.complete(null);
                     }
                 });
             }
@@ -89,6 +96,15 @@ public interface IChunkLoader {
         }
     }
 
+    /**
+     * Gets the number of bytes written to the storage by this loader, used to monitor saving.
+     *
+     * @return the total number of bytes written, -1 if the loader does not track it
+     */
+    default long getBytesWritten() {
+        return -1;
+    }
+
     /**
      * Does this {@link IChunkLoader} allow for multi-threaded saving of {@link Chunk}?
      *
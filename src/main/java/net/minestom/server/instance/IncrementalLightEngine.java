@@ -0,0 +1,255 @@
+package net.minestom.server.instance;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongArrayFIFOQueue;
+import net.minestom.server.instance.light.Light;
+import net.minestom.server.instance.light.LightCompute;
+import net.minestom.server.instance.light.OcclusionTable;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.utils.Direction;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Updates the light of one type around changed blocks, without recomputing whole sections.
+ * <p>
+ * The light which may come from the changed positions is cleared first, then the cleared area is lit again
+ * from its border and from the light sources inside it. Light never travels more than 15 blocks,
+ * so only the sections of the 3x3 chunks around the center chunk can be modified.
+ * <p>
+ * The section light arrays are copied before being modified, then replaced with {@link Light#update(byte[])}
+ * when they changed. The caller has to prevent concurrent updates of the same chunks.
+ */
+final class IncrementalLightEngine {
+    private static final Direction[] DIRECTIONS = Direction.values();
+    private static final int LIGHT_LENGTH = 16 * 16 * 16 / 2;
+    private static final int SOURCE_FLAG = 1 << 4;
+
+    private final LightingChunk center;
+    // Ordered by chunk X then chunk Z, null if the chunk is not loaded
+    private final LightingChunk[] neighbors;
+    private final LightingChunk.LightType type;
+    private final int originX, originZ;
+    private final int minSection, maxSection;
+
+    private final Long2ObjectOpenHashMap<SectionLight> sections = new Long2ObjectOpenHashMap<>();
+    private final LongArrayFIFOQueue decreaseQueue = new LongArrayFIFOQueue();
+    private final LongArrayFIFOQueue increaseQueue = new LongArrayFIFOQueue();
+    private SectionLight lastSection;
+
+    IncrementalLightEngine(@NotNull LightingChunk center, @Nullable LightingChunk @NotNull [] neighbors,
+                           @NotNull LightingChunk.LightType type) {
+        this.center = center;
+        this.neighbors = neighbors;
+        this.type = type;
+        this.originX = center.getChunkX() * Chunk.CHUNK_SIZE_X;
+        this.originZ = center.getChunkZ() * Chunk.CHUNK_SIZE_Z;
+        this.minSection = center.getMinSection();
+        this.maxSection = center.getMaxSection();
+    }
+
+    /**
+     * Registers a position whose block or light source changed.
+     *
+     * @param x the block X
+     * @param y the block Y
+     * @param z the block Z
+     */
+    void change(int x, int y, int z) {
+        final SectionLight section = section(x, y, z);
+        if (section == null) return;
+        final int index = index(x, y, z);
+        final int level = getLight(section.working, index);
+        if (level > 0) {
+            section.set(index, 0);
+            decreaseQueue.enqueue(pack(x, y, z, level, false));
+        }
+        final int source = source(section, x, y, z);
+        if (source > 0) increaseQueue.enqueue(pack(x, y, z, source, true));
+        // The block may now let the light of its neighbors through
+        for (Direction direction : DIRECTIONS) {
+            final int nx = x + direction.normalX(), ny = y + direction.normalY(), nz = z + direction.normalZ();
+            final SectionLight neighbor = section(nx, ny, nz);
+            if (neighbor == null) continue;
+            final int neighborLevel = getLight(neighbor.working, index(nx, ny, nz));
+            if (neighborLevel > 0) increaseQueue.enqueue(pack(nx, ny, nz, neighborLevel, false));
+        }
+    }
+
+    /**
+     * Propagates the registered changes and replaces the light of the modified sections.
+     *
+     * @return the chunks with at least one modified section
+     */
+    @NotNull Set<LightingChunk> propagate() {
+        propagateDecrease();
+        propagateIncrease();
+
+        Set<LightingChunk> changed = new HashSet<>();
+        for (SectionLight section : sections.values()) {
+            if (section == null || !section.modified) continue;
+            final byte[] original = section.original.length == LIGHT_LENGTH ? section.original : LightCompute.emptyContent;
+            if (Arrays.equals(original, section.working)) continue;
+            final byte[] result = Arrays.equals(section.working, LightCompute.emptyContent) ?
+                    LightCompute.emptyContent : section.working;
+            section.light.update(result);
+            changed.add(section.chunk);
+        }
+        return changed;
+    }
+
+    private void propagateDecrease() {
+        final LongArrayFIFOQueue queue = this.decreaseQueue;
+        while (!queue.isEmpty()) {
+            final long entry = queue.dequeueLong();
+            final int x = unpackX(entry), y = unpackY(entry), z = unpackZ(entry);
+            final int level = (int) (entry & 15);
+            for (Direction direction : DIRECTIONS) {
+                final int nx = x + direction.normalX(), ny = y + direction.normalY(), nz = z + direction.normalZ();
+                final SectionLight neighbor = section(nx, ny, nz);
+                if (neighbor == null) continue;
+                final int index = index(nx, ny, nz);
+                final int neighborLevel = getLight(neighbor.working, index);
+                if (neighborLevel == 0) continue;
+                if (neighborLevel < level) {
+                    // May have been lit through the cleared position
+                    neighbor.set(index, 0);
+                    queue.enqueue(pack(nx, ny, nz, neighborLevel, false));
+                    final int source = source(neighbor, nx, ny, nz);
+                    if (source > 0) increaseQueue.enqueue(pack(nx, ny, nz, source, true));
+                } else {
+                    // Lit by another path, spreads back into the cleared area
+                    increaseQueue.enqueue(pack(nx, ny, nz, neighborLevel, false));
+                }
+            }
+        }
+    }
+
+    private void propagateIncrease() {
+        final LongArrayFIFOQueue queue = this.increaseQueue;
+        while (!queue.isEmpty()) {
+            final long entry = queue.dequeueLong();
+            final int x = unpackX(entry), y = unpackY(entry), z = unpackZ(entry);
+            final int level = (int) (entry & 15);
+            final SectionLight section = section(x, y, z);
+            if (section == null) continue;
+            final int index = index(x, y, z);
+            final int current = getLight(section.working, index);
+            if ((entry & SOURCE_FLAG) != 0) {
+                if (current > level) continue;
+                if (current < level) section.set(index, level);
+            } else if (current != level) {
+                // Outdated entry
+                continue;
+            }
+
+            final int newLevel = level - 1;
+            if (newLevel <= 0) continue;
+            final int state = section.state(x, y, z);
+            for (Direction direction : DIRECTIONS) {
+                final int nx = x + direction.normalX(), ny = y + direction.normalY(), nz = z + direction.normalZ();
+                final SectionLight neighbor = section(nx, ny, nz);
+                if (neighbor == null) continue;
+                final int neighborIndex = index(nx, ny, nz);
+                if (getLight(neighbor.working, neighborIndex) >= newLevel) continue;
+                // Directions and block faces share the same order
+                if (OcclusionTable.isOccluded(state, neighbor.state(nx, ny, nz), direction.ordinal())) continue;
+                neighbor.set(neighborIndex, newLevel);
+                queue.enqueue(pack(nx, ny, nz, newLevel, false));
+            }
+        }
+    }
+
+    private int source(SectionLight section, int x, int y, int z) {
+        return switch (type) {
+            case BLOCK -> OcclusionTable.lightEmission(section.state(x, y, z));
+            case SKY -> y >= section.chunk.getOcclusionMap()[(z & 15) << 4 | (x & 15)] ? 15 : 0;
+        };
+    }
+
+    private @Nullable SectionLight section(int x, int y, int z) {
+        final int chunkX = x >> 4, sectionY = y >> 4, chunkZ = z >> 4;
+        final SectionLight last = this.lastSection;
+        if (last != null && last.chunkX == chunkX && last.sectionY == sectionY && last.chunkZ == chunkZ) return last;
+        if (sectionY < minSection || sectionY >= maxSection) return null;
+        final int offsetX = chunkX - center.getChunkX(), offsetZ = chunkZ - center.getChunkZ();
+        if (offsetX < -1 || offsetX > 1 || offsetZ < -1 || offsetZ > 1) return null;
+
+        final long key = (long) sectionY << 32 | (offsetX + 1) * 3L + (offsetZ + 1);
+        SectionLight section = sections.get(key);
+        if (section == null) {
+            if (sections.containsKey(key)) return null;
+            final LightingChunk chunk = neighbors[(offsetX + 1) * 3 + (offsetZ + 1)];
+            if (chunk != null) section = new SectionLight(chunk, chunk.getSection(sectionY), sectionY, type);
+            sections.put(key, section);
+            if (section == null) return null;
+        }
+        this.lastSection = section;
+        return section;
+    }
+
+    private long pack(int x, int y, int z, int level, boolean source) {
+        return ((long) (x - originX) & 0xFFFF) << 48 | ((long) (z - originZ) & 0xFFFF) << 32 |
+                ((long) y & 0xFFFF) << 16 | (source ? SOURCE_FLAG : 0) | level;
+    }
+
+    private int unpackX(long entry) {
+        return originX + (short) (entry >>> 48);
+    }
+
+    private int unpackZ(long entry) {
+        return originZ + (short) (entry >>> 32);
+    }
+
+    private static int unpackY(long entry) {
+        return (short) (entry >>> 16);
+    }
+
+    private static int index(int x, int y, int z) {
+        return (x & 15) | (z & 15) << 4 | (y & 15) << 8;
+    }
+
+    private static int getLight(byte[] light, int index) {
+        return (light[index >>> 1] >>> ((index & 1) << 2)) & 0xF;
+    }
+
+    private static final class SectionLight {
+        final LightingChunk chunk;
+        final int chunkX, sectionY, chunkZ;
+        final Light light;
+        final Palette blockPalette;
+        final byte[] original;
+        final byte[] working;
+        boolean modified;
+
+        SectionLight(LightingChunk chunk, Section section, int sectionY, LightingChunk.LightType type) {
+            this.chunk = chunk;
+            this.chunkX = chunk.getChunkX();
+            this.sectionY = sectionY;
+            this.chunkZ = chunk.getChunkZ();
+            this.light = switch (type) {
+                case BLOCK -> section.blockLight();
+                case SKY -> section.skyLight();
+            };
+            this.blockPalette = section.blockPalette();
+            // Light arrays may be shared, never modify them
+            this.original = light.array();
+            this.working = original.length == LIGHT_LENGTH ? original.clone() : new byte[LIGHT_LENGTH];
+        }
+
+        int state(int x, int y, int z) {
+            return blockPalette.get(x & 15, y & 15, z & 15);
+        }
+
+        void set(int index, int level) {
+            final int shift = (index & 1) << 2;
+            final int i = index >>> 1;
+            working[i] = (byte) ((working[i] & (0xF0 >>> shift)) | (level << shift));
+            this.modified = true;
+        }
+    }
+}
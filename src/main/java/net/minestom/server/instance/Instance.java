@@ -43,6 +43,7 @@ import net.minestom.server.utils.chunk.ChunkSupplier;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.utils.validate.Check;
 import net.minestom.server.world.DimensionType;
+import org.jctools.queues.MpscUnboundedXaddArrayQueue;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -50,6 +51,7 @@ import org.jetbrains.annotations.Nullable;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
@@ -94,10 +96,16 @@ public abstract class Instance implements Block.Getter, Block.Setter,
     // Field for tick events
     private long lastTickAge = System.currentTimeMillis();
 
-    private final EntityTracker entityTracker = new EntityTrackerImpl();
+    private EntityTracker entityTracker = EntityTracker.newDefaultTracker();
 
     private final ChunkCache blockRetriever = new ChunkCache(this, null, null);
 
+    // Shared by incremental light updates, exclusive for full relights, see LightingChunk
+    final ReentrantReadWriteLock lightingLock = new ReentrantReadWriteLock();
+
+    // Entities which moved during the tick, synchronized with their viewers at the end of the tick
+    private final MpscUnboundedXaddArrayQueue<Entity> movedEntities = new MpscUnboundedXaddArrayQueue<>(64);
+
     // the uuid of this instance
     protected UUID uniqueId;
 
@@ -170,6 +178,15 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         this.scheduler.scheduleNextTick(() -> callback.accept(this));
     }
 
+    /**
+     * Sets a block and updates its neighbours.
+     * <p>
+     * The change is visible to {@link #getBlock(int, int, int)} immediately, but is only sent
+     * to the chunk viewers at the end of the tick, batched with the other changes of the chunk.
+     * Packets sent during the same tick, even after this call, can reach the clients before the block change.
+     *
+     * @see #setBlock(int, int, int, Block, boolean)
+     */
     @Override
     public void setBlock(int x, int y, int z, @NotNull Block block) {
         setBlock(x, y, z, block, true);
@@ -179,6 +196,18 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         setBlock(blockPosition.blockX(), blockPosition.blockY(), blockPosition.blockZ(), block, doBlockUpdates);
     }
 
+    /**
+     * Sets a block.
+     * <p>
+     * Like {@link #setBlock(int, int, int, Block)}, the block change is sent to the viewers at the end of the tick,
+     * possibly after packets sent later during the same tick.
+     *
+     * @param x              the block X
+     * @param y              the block Y
+     * @param z              the block Z
+     * @param block          the new block
+     * @param doBlockUpdates true to update the neighbour blocks
+     */
     public abstract void setBlock(int x, int y, int z, @NotNull Block block, boolean doBlockUpdates);
 
     @ApiStatus.Internal
@@ -735,6 +764,21 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         return entityTracker;
     }
 
+    /**
+     * Changes the tracker used by this instance, e.g. {@link EntityTracker#newGridTracker()} for crowded instances.
+     * <p>
+     * Can only be called before any chunk is loaded or entity added.
+     *
+     * @param entityTracker the new entity tracker
+     * @throws IllegalStateException if a chunk is loaded or an entity is tracked
+     */
+    @ApiStatus.Experimental
+    public void setEntityTracker(@NotNull EntityTracker entityTracker) {
+        Check.stateCondition(!getChunks().isEmpty(), "Cannot change the entity tracker after chunks have been loaded");
+        Check.stateCondition(!this.entityTracker.entities().isEmpty(), "Cannot change the entity tracker after entities have been added");
+        this.entityTracker = entityTracker;
+    }
+
     /**
      * Gets the instance unique id.
      *
@@ -776,7 +820,9 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         // Tick event
         {
             // Process tick events
-            EventDispatcher.call(new InstanceTickEvent(this, time, lastTickAge));
+            if (EventDispatcher.hasListener(InstanceTickEvent.class)) {
+                EventDispatcher.call(new InstanceTickEvent(this, time, lastTickAge));
+            }
             // Set last tick age
             this.lastTickAge = time;
         }
@@ -790,6 +836,28 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         this.scheduler.processTickEnd();
     }
 
+    /**
+     * Queues the movement of an entity to be sent to its viewers at the end of the tick.
+     *
+     * @param entity the moved entity, must not be already queued
+     * @see #flushEntityMovements()
+     */
+    @ApiStatus.Internal
+    public void queueEntityMovement(@NotNull Entity entity) {
+        movedEntities.offer(entity);
+    }
+
+    /**
+     * Sends the movements of the entities queued during the tick to their viewers.
+     */
+    @ApiStatus.Internal
+    public void flushEntityMovements() {
+        if (movedEntities.isEmpty()) return;
+        List<Entity> entities = new ArrayList<>();
+        movedEntities.drain(entities::add);
+        entities.parallelStream().forEach(Entity::synchronizeMovement);
+    }
+
     /**
      * Gets the weather of this instance
      *
@@ -929,6 +997,7 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         int coordY = ChunkUtils.toSectionRelativeCoordinate(blockY);
         int coordZ = ChunkUtils.toSectionRelativeCoordinate(blockZ);
 
+        if (chunk instanceof LightingChunk lighting) lighting.applyNearbyLightUpdates();
         if (light.requiresUpdate()) LightingChunk.relightSection(chunk.getInstance(), chunk.chunkX, sectionCoordinate, chunk.chunkZ);
         return light.getLevel(coordX, coordY, coordZ);
     }
@@ -944,6 +1013,7 @@ public abstract class Instance implements Block.Getter, Block.Setter,
         int coordY = ChunkUtils.toSectionRelativeCoordinate(blockY);
         int coordZ = ChunkUtils.toSectionRelativeCoordinate(blockZ);
 
+        if (chunk instanceof LightingChunk lighting) lighting.applyNearbyLightUpdates();
         if (light.requiresUpdate()) LightingChunk.relightSection(chunk.getInstance(), chunk.chunkX, sectionCoordinate, chunk.chunkZ);
         return light.getLevel(coordX, coordY, coordZ);
     }
@@ -1,7 +1,8 @@
 package net.minestom.server.instance;
 
+import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectMaps;
-import net.kyori.adventure.nbt.CompoundBinaryTag;
+import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.coordinate.BlockVec;
 import net.minestom.server.coordinate.Point;
@@ -19,20 +20,19 @@ import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.instance.generator.Generator;
 import net.minestom.server.instance.palette.Palette;
-import net.minestom.server.network.packet.server.play.BlockChangePacket;
-import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
 import net.minestom.server.network.packet.server.play.EffectPacket;
 import net.minestom.server.network.packet.server.play.UnloadChunkPacket;
 import net.minestom.server.registry.DynamicRegistry;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.PacketUtils;
 import net.minestom.server.utils.async.AsyncUtils;
-import net.minestom.server.utils.block.BlockUtils;
 import net.minestom.server.utils.chunk.ChunkCache;
 import net.minestom.server.utils.chunk.ChunkSupplier;
 import net.minestom.server.utils.chunk.ChunkUtils;
 import net.minestom.server.utils.validate.Check;
 import net.minestom.server.world.DimensionType;
+import org.jctools.queues.MpscUnboundedXaddArrayQueue;
+import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.slf4j.Logger;
@@ -44,8 +44,6 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.ForkJoinPool;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 
 import static net.minestom.server.utils.chunk.ChunkUtils.*;
@@ -64,19 +62,25 @@ public class InstanceContainer extends Instance {
 
     // the shared instances assigned to this instance
     private final List<SharedInstance> sharedInstances = new CopyOnWriteArrayList<>();
+    private final List<SharedInstance> sharedInstancesView = Collections.unmodifiableList(sharedInstances);
 
     // the chunk generator used, can be null
     private volatile Generator generator;
     // (chunk index -> chunk) map, contains all the chunks in the instance
     // used as a monitor when access is required
     private final Long2ObjectSyncMap<Chunk> chunks = Long2ObjectSyncMap.hashmap();
-    private final Map<Long, CompletableFuture<Chunk>> loadingChunks = new ConcurrentHashMap<>();
+    private final Map<Long, ChunkLoad> loadingChunks = new ConcurrentHashMap<>();
 
-    private final Lock changingBlockLock = new ReentrantLock();
-    private final Map<Point, Block> currentlyChangingBlocks = new HashMap<>();
+    // Held by the block changes running block handlers, which may lock the chunks of the blocks they change
+    private final Object blockHandlerLock = new Object();
+    // Incremented every tick to forget the blocks changed by the previous one, see Chunk#changedBlocks
+    private volatile long blockChangeTick;
 
     // the chunk loader, used when trying to load/save a chunk from another source
     private IChunkLoader chunkLoader;
+    private final ChunkSaveQueue chunkSaveQueue = new ChunkSaveQueue(this);
+    // Chunks with block changes waiting for the end of the tick
+    private final MpscUnboundedXaddArrayQueue<Chunk> blockChangeChunks = new MpscUnboundedXaddArrayQueue<>(64);
 
     // used to automatically enable the chunk loading or not
     private boolean autoChunkLoad = true;
@@ -86,7 +90,7 @@ public class InstanceContainer extends Instance {
 
     // Fields for instance copy
     protected InstanceContainer srcInstance; // only present if this instance has been created using a copy
-    private long lastBlockChangeTime; // Time at which the last block change happened (#setBlock)
+    private volatile long lastBlockChangeTime; // Time at which the last block change happened (#setBlock)
 
     public InstanceContainer(@NotNull UUID uniqueId, @NotNull DynamicRegistry.Key<DimensionType> dimensionType) {
         this(uniqueId, dimensionType, null, dimensionType.namespace());
@@ -131,7 +135,14 @@ public class InstanceContainer extends Instance {
     /**
      * Sets a block at the specified position.
      * <p>
-     * Unsafe because the method is not synchronized and it does not verify if the chunk is loaded or not.
+     * Unsafe because it does not verify if the chunk is loaded or not.
+     * <p>
+     * Only the chunk of the block is locked, block changes of different chunks can happen in parallel.
+     * The placement rule is run before locking the chunk, and neighbours are updated once it is released.
+     * <p>
+     * Changes running a {@link BlockHandler} are serialized by an instance-wide lock taken before the chunk lock.
+     * A handler can then change the blocks of other chunks right away, no other thread holding a chunk lock
+     * waits for another one.
      *
      * @param chunk the {@link Chunk} which should be loaded
      * @param x     the block X
@@ -139,9 +150,9 @@ public class InstanceContainer extends Instance {
      * @param z     the block Z
      * @param block the block to place
      */
-    private synchronized void UNSAFE_setBlock(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block,
-                                              @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy,
-                                              boolean doBlockUpdates, int updateDistance) {
+    private void UNSAFE_setBlock(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block,
+                                 @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy,
+                                 boolean doBlockUpdates, int updateDistance) {
         if (chunk.isReadOnly()) return;
         final DimensionType dim = getCachedDimensionType();
         if (y >= dim.maxY() || y < dim.minY()) {
@@ -149,61 +160,105 @@ public class InstanceContainer extends Instance {
             return;
         }
 
+        // Refresh the last block change time
+        this.lastBlockChangeTime = System.currentTimeMillis();
+        final Vec blockPosition = new Vec(x, y, z);
+        final Block requestedBlock = block;
+
+        // Change id based on neighbors
+        final BlockPlacementRule blockPlacementRule = MinecraftServer.getBlockManager().getBlockPlacementRule(block);
+        if (placement != null && blockPlacementRule != null && doBlockUpdates) {
+            BlockPlacementRule.PlacementState rulePlacement;
+            if (placement instanceof BlockHandler.PlayerPlacement pp) {
+                rulePlacement = new BlockPlacementRule.PlacementState(
+                        this, block, pp.getBlockFace(), blockPosition,
+                        new Vec(pp.getCursorX(), pp.getCursorY(), pp.getCursorZ()),
+                        pp.getPlayer().getPosition(),
+                        pp.getPlayer().getItemInHand(pp.getHand()),
+                        pp.getPlayer().isSneaking()
+                );
+            } else {
+                rulePlacement = new BlockPlacementRule.PlacementState(
+                        this, block, null, blockPosition,
+                        null, null, null,
+                        false
+                );
+            }
+
+            block = blockPlacementRule.blockPlace(rulePlacement);
+            if (block == null) block = Block.AIR;
+        }
+
+        BlockChange change = changeBlock(chunk, x, y, z, block, requestedBlock, placement, destroy,
+                Thread.holdsLock(blockHandlerLock));
+        if (change == BlockChange.HANDLER_LOCK_REQUIRED) {
+            // Never waited for while holding a chunk lock
+            synchronized (blockHandlerLock) {
+                change = changeBlock(chunk, x, y, z, block, requestedBlock, placement, destroy, true);
+            }
+        }
+        if (change == BlockChange.ALREADY_CHANGED) return;
+
+        // Refresh neighbors since a new block has been placed
+        if (doBlockUpdates) {
+            executeNeighboursBlockPlacementRule(blockPosition, updateDistance);
+        }
+    }
+
+    private BlockChange changeBlock(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block, @NotNull Block requestedBlock,
+                                    @Nullable BlockHandler.Placement placement, @Nullable BlockHandler.Destroy destroy,
+                                    boolean handlerLocked) {
         synchronized (chunk) {
-            // Refresh the last block change time
-            this.lastBlockChangeTime = System.currentTimeMillis();
-            final Vec blockPosition = new Vec(x, y, z);
-            if (isAlreadyChanged(blockPosition, block)) { // do NOT change the block again.
+            if (!handlerLocked && hasHandler(chunk, x, y, z, block)) {
+                return BlockChange.HANDLER_LOCK_REQUIRED;
+            }
+            if (isAlreadyChanged(chunk, x, y, z, requestedBlock)) { // do NOT change the block again.
                 // Avoids StackOverflowExceptions when onDestroy tries to destroy the block itself
                 // This can happen with nether portals which break the entire frame when a portal block is broken
-                return;
-            }
-            this.currentlyChangingBlocks.put(blockPosition, block);
-
-            // Change id based on neighbors
-            final BlockPlacementRule blockPlacementRule = MinecraftServer.getBlockManager().getBlockPlacementRule(block);
-            if (placement != null && blockPlacementRule != null && doBlockUpdates) {
-                BlockPlacementRule.PlacementState rulePlacement;
-                if (placement instanceof BlockHandler.PlayerPlacement pp) {
-                    rulePlacement = new BlockPlacementRule.PlacementState(
-                            this, block, pp.getBlockFace(), blockPosition,
-                            new Vec(pp.getCursorX(), pp.getCursorY(), pp.getCursorZ()),
-                            pp.getPlayer().getPosition(),
-                            pp.getPlayer().getItemInHand(pp.getHand()),
-                            pp.getPlayer().isSneaking()
-                    );
-                } else {
-                    rulePlacement = new BlockPlacementRule.PlacementState(
-                            this, block, null, blockPosition,
-                            null, null, null,
-                            false
-                    );
-                }
-
-                block = blockPlacementRule.blockPlace(rulePlacement);
-                if (block == null) block = Block.AIR;
+                return BlockChange.ALREADY_CHANGED;
             }
 
             // Set the block
             chunk.setBlock(x, y, z, block, placement, destroy);
 
-            // Refresh neighbors since a new block has been placed
-            if (doBlockUpdates) {
-                executeNeighboursBlockPlacementRule(blockPosition, updateDistance);
-            }
-
             // Refresh player chunk block
-            {
-                chunk.sendPacketToViewers(new BlockChangePacket(blockPosition, block.stateId()));
-                var registry = block.registry();
-                if (registry.isBlockEntity()) {
-                    final CompoundBinaryTag data = BlockUtils.extractClientNbt(block);
-                    chunk.sendPacketToViewers(new BlockEntityDataPacket(blockPosition, registry.blockEntityId(), data));
-                }
-            }
+            sendBlockChange(chunk, x, y, z);
+            return BlockChange.CHANGED;
         }
     }
 
+    private static boolean hasHandler(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block) {
+        if (block.handler() != null) return true;
+        final Block previousBlock = chunk.getBlock(x, y, z, Block.Getter.Condition.CACHED);
+        return previousBlock != null && previousBlock.handler() != null;
+    }
+
+    /**
+     * Sends a block change to the chunk viewers at the end of the tick.
+     * <p>
+     * The changes of a tick are grouped by section, the block sent is the one present when flushing.
+     *
+     * @param chunk the chunk containing the block
+     * @param x     the block X
+     * @param y     the block Y
+     * @param z     the block Z
+     * @see #flushBlockChanges()
+     */
+    @ApiStatus.Internal
+    public void sendBlockChange(@NotNull Chunk chunk, int x, int y, int z) {
+        if (chunk.blockChanges.record(x, y, z)) blockChangeChunks.offer(chunk);
+    }
+
+    /**
+     * Sends the block changes buffered during the tick to the viewers of their chunk.
+     * <p>
+     * Called by the server at the end of every tick, from a single thread.
+     */
+    @ApiStatus.Internal
+    public void flushBlockChanges() {
+        blockChangeChunks.drain(Chunk::flushBlockChanges);
+    }
+
     @Override
     public boolean placeBlock(@NotNull BlockHandler.Placement placement, boolean doBlockUpdates) {
         final Point blockPosition = placement.getBlockPosition();
@@ -268,6 +323,7 @@ public class InstanceContainer extends Instance {
         getEntityTracker().chunkEntities(chunkX, chunkZ, EntityTracker.Target.ENTITIES).forEach(Entity::remove);
         // Clear cache
         this.chunks.remove(getChunkIndex(chunkX, chunkZ));
+        ChunkView.remove(chunk.viewable);
         chunk.unload();
         chunkLoader.unloadChunk(chunk);
         var dispatcher = MinecraftServer.process().dispatcher();
@@ -286,51 +342,122 @@ public class InstanceContainer extends Instance {
 
     @Override
     public @NotNull CompletableFuture<Void> saveChunkToStorage(@NotNull Chunk chunk) {
-        return chunkLoader.saveChunk(chunk);
+        chunk.markClean();
+        return markDirtyOnFailure(List.of(chunk), () -> chunkLoader.saveChunk(chunk));
     }
 
     @Override
     public @NotNull CompletableFuture<Void> saveChunksToStorage() {
-        return chunkLoader.saveChunks(getChunks());
+        // Only the chunks changed since their last save
+        List<Chunk> chunks = new ArrayList<>();
+        for (Chunk chunk : getChunks()) {
+            if (!chunk.isDirty()) continue;
+            chunk.markClean();
+            chunks.add(chunk);
+        }
+        return markDirtyOnFailure(chunks, () -> chunkLoader.saveChunks(chunks));
+    }
+
+    /**
+     * Runs a save of chunks already marked clean, they are marked dirty again if it fails
+     * so that the next save retries them.
+     */
+    private static @NotNull CompletableFuture<Void> markDirtyOnFailure(@NotNull List<Chunk> chunks,
+                                                                       @NotNull Supplier<CompletableFuture<Void>> save) {
+        final CompletableFuture<Void> future;
+        try {
+            future = save.get();
+        } catch (Throwable e) {
+            chunks.forEach(Chunk::markDirty);
+            throw e;
+        }
+        return future.whenComplete((unused, throwable) -> {
+            if (throwable != null) chunks.forEach(Chunk::markDirty);
+        });
+    }
+
+    /**
+     * Gets the queue saving the dirty chunks of this instance in the background.
+     *
+     * @return the chunk save queue
+     */
+    public @NotNull ChunkSaveQueue getChunkSaveQueue() {
+        return chunkSaveQueue;
     }
 
+    /**
+     * Loads or generates a chunk, concurrent calls for the same chunk share the same load.
+     * <p>
+     * Every caller gets its own future, cancelling it only stops the load once all the callers waiting for the chunk
+     * have cancelled theirs.
+     */
     protected @NotNull CompletableFuture<@NotNull Chunk> retrieveChunk(int chunkX, int chunkZ) {
-        CompletableFuture<Chunk> completableFuture = new CompletableFuture<>();
         final long index = getChunkIndex(chunkX, chunkZ);
-        final CompletableFuture<Chunk> prev = loadingChunks.putIfAbsent(index, completableFuture);
-        if (prev != null) return prev;
+        final boolean[] created = new boolean[1];
+        final ChunkLoad load = loadingChunks.compute(index, (i, current) -> {
+            if (current != null && current.join()) return current;
+            // Absent, or cancelled by all of its callers
+            ChunkLoad newLoad = new ChunkLoad();
+            newLoad.join();
+            created[0] = true;
+            return newLoad;
+        });
+        if (created[0]) startLoad(load, index, chunkX, chunkZ);
+
+        CompletableFuture<Chunk> completableFuture = new CompletableFuture<>();
+        load.future.thenAccept(completableFuture::complete);
+        completableFuture.whenComplete((chunk, throwable) -> {
+            if (completableFuture.isCancelled() && load.leave()) {
+                // Last caller waiting for the chunk
+                this.loadingChunks.remove(index, load);
+            }
+        });
+        return completableFuture;
+    }
+
+    private void startLoad(@NotNull ChunkLoad load, long index, int chunkX, int chunkZ) {
         final IChunkLoader loader = chunkLoader;
-        final Runnable retriever = () -> loader.loadChunk(this, chunkX, chunkZ)
-                .thenCompose(chunk -> {
-                    if (chunk != null) {
-                        // Chunk has been loaded from storage
-                        return CompletableFuture.completedFuture(chunk);
-                    } else {
-                        // Loader couldn't load the chunk, generate it
-                        return createChunk(chunkX, chunkZ).whenComplete((c, a) -> c.onGenerate());
-                    }
-                })
-                // cache the retrieved chunk
-                .thenAccept(chunk -> {
-                    // TODO run in the instance thread?
-                    cacheChunk(chunk);
-                    chunk.onLoad();
-
-                    EventDispatcher.call(new InstanceChunkLoadEvent(this, chunk));
-                    final CompletableFuture<Chunk> future = this.loadingChunks.remove(index);
-                    assert future == completableFuture : "Invalid future: " + future;
-                    completableFuture.complete(chunk);
-                })
-                .exceptionally(throwable -> {
-                    MinecraftServer.getExceptionManager().handleException(throwable);
-                    return null;
-                });
+        final Runnable retriever = () -> {
+            final CompletableFuture<Chunk> loaderFuture = loader.loadChunk(this, chunkX, chunkZ);
+            load.setLoaderFuture(loaderFuture);
+            loaderFuture.thenCompose(chunk -> {
+                        if (chunk != null) {
+                            // Chunk has been loaded from storage
+                            chunk.markClean();
+                            return CompletableFuture.completedFuture(chunk);
+                        } else {
+                            // Loader couldn't load the chunk, generate it
+                            return createChunk(chunkX, chunkZ).whenComplete((c, a) -> c.onGenerate());
+                        }
+                    })
+                    // cache the retrieved chunk
+                    .thenAccept(chunk -> {
+                        if (!load.complete()) {
+                            // Cancelled by all the callers, the chunk is never cached
+                            loader.unloadChunk(chunk);
+                            return;
+                        }
+                        // TODO run in the instance thread?
+                        cacheChunk(chunk);
+                        chunk.onLoad();
+
+                        EventDispatcher.call(new InstanceChunkLoadEvent(this, chunk));
+                        final boolean removed = this.loadingChunks.remove(index, load);
+                        assert removed : "Invalid load: " + this.loadingChunks.get(index);
+                        load.future.complete(chunk);
+                    })
+                    .exceptionally(throwable -> {
+                        if (!load.isCancelled()) {
+                            MinecraftServer.getExceptionManager().handleException(throwable);
+                        }
+                        return null;
+                    });
+        };
         if (loader.supportsParallelLoading()) {
             CompletableFuture.runAsync(retriever);
         } else {
             retriever.run();
         }
-        return completableFuture;
     }
 
     Map<Long, List<GeneratorImpl.SectionModifierImpl>> generationForks = new ConcurrentHashMap<>();
@@ -485,7 +612,7 @@ public class InstanceContainer extends Instance {
      * @return an unmodifiable {@link List} containing all the {@link SharedInstance} linked to this container
      */
     public List<SharedInstance> getSharedInstances() {
-        return Collections.unmodifiableList(sharedInstances);
+        return sharedInstancesView;
     }
 
     /**
@@ -605,23 +732,32 @@ public class InstanceContainer extends Instance {
     public void tick(long time) {
         // Time/world border
         super.tick(time);
-        // Clear block change map
-        Lock wrlock = this.changingBlockLock;
-        wrlock.lock();
-        this.currentlyChangingBlocks.clear();
-        wrlock.unlock();
+        // Forget the blocks changed during the previous tick, chunks clear them on their next change
+        this.blockChangeTick++;
     }
 
     /**
      * Has this block already changed since last update?
      * Prevents StackOverflow with blocks trying to modify their position in onDestroy or onPlace.
+     * <p>
+     * Marks the block as changed otherwise, the chunk must be locked.
      *
-     * @param blockPosition the block position
-     * @param block         the block
+     * @param chunk the chunk containing the block
+     * @param x     the block X
+     * @param y     the block Y
+     * @param z     the block Z
+     * @param block the block
      * @return true if the block changed since the last update
      */
-    private boolean isAlreadyChanged(@NotNull Point blockPosition, @NotNull Block block) {
-        final Block changedBlock = currentlyChangingBlocks.get(blockPosition);
+    private boolean isAlreadyChanged(@NotNull Chunk chunk, int x, int y, int z, @NotNull Block block) {
+        Int2ObjectMap<Block> changedBlocks = chunk.changedBlocks;
+        if (changedBlocks == null) {
+            chunk.changedBlocks = changedBlocks = new Int2ObjectOpenHashMap<>();
+        } else if (chunk.changedBlocksTick != blockChangeTick) {
+            changedBlocks.clear();
+        }
+        chunk.changedBlocksTick = blockChangeTick;
+        final Block changedBlock = changedBlocks.put(ChunkUtils.getBlockIndex(x, y, z), block);
         return Objects.equals(changedBlock, block);
     }
 
@@ -677,4 +813,63 @@ public class InstanceContainer extends Instance {
         var dispatcher = MinecraftServer.process().dispatcher();
         dispatcher.createPartition(chunk);
     }
+
+    /**
+     * Load of a chunk shared by the callers of {@link #retrieveChunk(int, int)}, cancelled once none of them wait for it.
+     */
+    private static final class ChunkLoad {
+        final CompletableFuture<Chunk> future = new CompletableFuture<>();
+        private int waiting;
+        private boolean cancelled, completed;
+        private CompletableFuture<Chunk> loaderFuture;
+
+        /**
+         * Registers a caller waiting for the chunk.
+         *
+         * @return false if the load has been cancelled and cannot be joined anymore
+         */
+        synchronized boolean join() {
+            if (cancelled) return false;
+            this.waiting++;
+            return true;
+        }
+
+        /**
+         * Unregisters a caller which cancelled its future, cancels the load if it was the last one.
+         *
+         * @return true if the load has been cancelled
+         */
+        synchronized boolean leave() {
+            if (--waiting > 0 || completed) return false;
+            this.cancelled = true;
+            if (loaderFuture != null) loaderFuture.cancel(false);
+            return true;
+        }
+
+        synchronized void setLoaderFuture(CompletableFuture<Chunk> loaderFuture) {
+            this.loaderFuture = loaderFuture;
+            if (cancelled) loaderFuture.cancel(false);
+        }
+
+        /**
+         * Marks the chunk as loaded, it cannot be cancelled anymore.
+         *
+         * @return false if the load has been cancelled
+         */
+        synchronized boolean complete() {
+            if (cancelled) return false;
+            this.completed = true;
+            return true;
+        }
+
+        synchronized boolean isCancelled() {
+            return cancelled;
+        }
+    }
+
+    private enum BlockChange {
+        CHANGED, ALREADY_CHANGED,
+        // The block handlers of the position are run by the change
+        HANDLER_LOCK_REQUIRED
+    }
 }
@@ -1,5 +1,8 @@
 package net.minestom.server.instance;
 
+import it.unimi.dsi.fastutil.ints.Int2IntMap;
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minestom.server.ServerFlag;
 import net.minestom.server.collision.Shape;
 import net.minestom.server.coordinate.Point;
@@ -22,6 +25,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
 import static net.minestom.server.instance.light.LightCompute.emptyContent;
@@ -31,6 +35,9 @@ import static net.minestom.server.instance.light.LightCompute.emptyContent;
  * <p>
  *     This chunk is used to compute the light data for each block.
  * <p>
+ *     Block changes are applied to the light incrementally once per tick, or before the light is read or sent.
+ *     Only the light around the changed blocks is updated, see {@link IncrementalLightEngine}.
+ *     Sections whose light has never been computed are still fully computed when required.
  */
 public class LightingChunk extends DynamicChunk {
 
@@ -50,6 +57,13 @@ public class LightingChunk extends DynamicChunk {
 
     private boolean doneInit = false;
 
+    // Locked with the 3x3 chunks around a chunk whose changes are applied, in chunk X then chunk Z order
+    private final ReentrantLock lightLock = new ReentrantLock();
+    // Block indexes (see ChunkUtils#getBlockIndex) changed since the last light update, guarded by itself
+    private final IntArrayList pendingBlocks = new IntArrayList();
+    // Column (z << 4 | x) -> sky occlusion height before the pending changes, guarded by pendingBlocks
+    private final Int2IntOpenHashMap pendingHeights = new Int2IntOpenHashMap();
+
     enum LightType {
         SKY,
         BLOCK
@@ -135,6 +149,28 @@ public class LightingChunk extends DynamicChunk {
         }
     }
 
+    private void invalidateNeighborsSection(int coordinate, LightType type) {
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                Chunk neighborChunk = instance.getChunk(chunkX + i, chunkZ + j);
+                if (neighborChunk == null) continue;
+
+                if (neighborChunk instanceof LightingChunk light) {
+                    light.invalidate();
+                }
+
+                for (int k = -1; k <= 1; k++) {
+                    if (k + coordinate < neighborChunk.getMinSection() || k + coordinate >= neighborChunk.getMaxSection()) continue;
+                    final Section section = neighborChunk.getSection(k + coordinate);
+                    switch (type) {
+                        case BLOCK -> section.blockLight().invalidate();
+                        case SKY -> section.skyLight().invalidate();
+                    }
+                }
+            }
+        }
+    }
+
     public void invalidateResendDelay() {
         if (!doneInit || freezeInvalidation) {
             return;
@@ -154,16 +190,166 @@ public class LightingChunk extends DynamicChunk {
     public void setBlock(int x, int y, int z, @NotNull Block block,
                          @Nullable BlockHandler.Placement placement,
                          @Nullable BlockHandler.Destroy destroy) {
+        final boolean trackChange = doneInit && !freezeInvalidation;
+        // The occlusion before the change is required to update the sky light
+        final int[] occlusionMap = trackChange ? getOcclusionMap() : this.occlusionMap;
         super.setBlock(x, y, z, block, placement, destroy);
-        this.occlusionMap = null;
+        if (y < minSection * CHUNK_SECTION_SIZE || y >= maxSection * CHUNK_SECTION_SIZE) return;
+
+        final int column = (z & 15) << 4 | (x & 15);
+        final int oldHeight = occlusionMap != null ? occlusionMap[column] : 0;
+        if (occlusionMap != null) updateOcclusion(occlusionMap, x, y, z, block);
+
+        // The light of the neighbor chunks is updated with the change during the next tick
+        if (trackChange) {
+            synchronized (pendingBlocks) {
+                pendingBlocks.add(ChunkUtils.getBlockIndex(x, y, z));
+                if (occlusionMap[column] != oldHeight && !pendingHeights.containsKey(column)) {
+                    pendingHeights.put(column, oldHeight);
+                }
+            }
+        }
+    }
+
+    private void updateOcclusion(int[] occlusionMap, int x, int y, int z, Block block) {
+        final int column = (z & 15) << 4 | (x & 15);
+        final int height = occlusionMap[column];
+        if (block != Block.AIR) highestBlock = Math.max(highestBlock, y);
+        if (checkSkyOcclusion(block)) {
+            if (y >= height) occlusionMap[column] = y + 1;
+        } else if (y == height - 1) {
+            // The highest occluding block of the column has been removed
+            final int minY = instance.getCachedDimensionType().minY();
+            int newHeight = y - 1;
+            while (newHeight >= minY && !checkSkyOcclusion(getBlock(x, newHeight, z, Condition.TYPE))) newHeight--;
+            occlusionMap[column] = newHeight + 1;
+        }
+    }
+
+    /**
+     * Applies the block changes of this chunk to the light of the nearby sections.
+     * <p>
+     * Only the changed sections are marked to be sent. If the light around the changes has never been computed,
+     * the sections are invalidated to be fully computed when required.
+     */
+    void applyLightUpdates() {
+        final IntArrayList blocks;
+        final Int2IntMap heights;
+        synchronized (pendingBlocks) {
+            if (pendingBlocks.isEmpty()) return;
+            blocks = new IntArrayList(pendingBlocks);
+            heights = new Int2IntOpenHashMap(pendingHeights);
+            pendingBlocks.clear();
+            pendingHeights.clear();
+        }
+
+        LightingChunk[] neighbors = new LightingChunk[9];
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                if (instance.getChunk(chunkX + i, chunkZ + j) instanceof LightingChunk lighting) {
+                    neighbors[(i + 1) * 3 + (j + 1)] = lighting;
+                }
+            }
+        }
+
+        // Full relights are exclusive, updates of distant chunks can run concurrently
+        final Lock readLock = instance.lightingLock.readLock();
+        readLock.lock();
+        for (LightingChunk neighbor : neighbors) {
+            if (neighbor != null) neighbor.lightLock.lock();
+        }
+        try {
+            Set<LightingChunk> changed = new HashSet<>();
+            updateLight(neighbors, blocks, heights, LightType.BLOCK, changed);
+            if (instance.getCachedDimensionType().hasSkylight()) {
+                updateLight(neighbors, blocks, heights, LightType.SKY, changed);
+            }
+            for (LightingChunk chunk : changed) {
+                chunk.invalidate();
+                if (chunk.doneInit) chunk.resendTimer.set(resendDelay);
+            }
+        } finally {
+            for (int i = neighbors.length - 1; i >= 0; i--) {
+                if (neighbors[i] != null) neighbors[i].lightLock.unlock();
+            }
+            readLock.unlock();
+        }
+    }
+
+    void applyNearbyLightUpdates() {
+        for (int i = -1; i <= 1; i++) {
+            for (int j = -1; j <= 1; j++) {
+                if (instance.getChunk(chunkX + i, chunkZ + j) instanceof LightingChunk lighting) {
+                    lighting.applyLightUpdates();
+                }
+            }
+        }
+    }
+
+    private void updateLight(LightingChunk[] neighbors, IntArrayList blocks, Int2IntMap heights,
+                             LightType type, Set<LightingChunk> changed) {
+        int minY = Integer.MAX_VALUE, maxY = Integer.MIN_VALUE;
+        for (int i = 0; i < blocks.size(); i++) {
+            final int y = ChunkUtils.blockIndexToChunkPositionY(blocks.getInt(i));
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+        final int[] occlusionMap = type == LightType.SKY ? getOcclusionMap() : null;
+        if (occlusionMap != null) {
+            for (Int2IntMap.Entry entry : heights.int2IntEntrySet()) {
+                final int oldHeight = entry.getIntValue(), newHeight = occlusionMap[entry.getIntKey()];
+                minY = Math.min(minY, Math.min(oldHeight, newHeight));
+                maxY = Math.max(maxY, Math.max(oldHeight, newHeight) - 1);
+            }
+        }
+        final int minChangedSection = ChunkUtils.getChunkCoordinate(minY);
+        final int maxChangedSection = ChunkUtils.getChunkCoordinate(maxY);
 
-        // Invalidate neighbor chunks, since they can be updated by this block change
-        int coordinate = ChunkUtils.getChunkCoordinate(y);
-        if (doneInit && !freezeInvalidation) {
-            invalidateNeighborsSection(coordinate);
+        if (!isLightValid(neighbors, minChangedSection - 1, maxChangedSection + 1, type)) {
+            // Never computed around the changes, recompute everything when required
+            for (int section = minChangedSection; section <= maxChangedSection; section++) {
+                invalidateNeighborsSection(section, type);
+            }
             invalidateResendDelay();
-            this.partialLightCache.invalidate();
+            return;
         }
+
+        IncrementalLightEngine engine = new IncrementalLightEngine(this, neighbors, type);
+        final int blockX = chunkX * CHUNK_SIZE_X, blockZ = chunkZ * CHUNK_SIZE_Z;
+        for (int i = 0; i < blocks.size(); i++) {
+            final int index = blocks.getInt(i);
+            engine.change(blockX + ChunkUtils.blockIndexToChunkPositionX(index),
+                    ChunkUtils.blockIndexToChunkPositionY(index),
+                    blockZ + ChunkUtils.blockIndexToChunkPositionZ(index));
+        }
+        if (occlusionMap != null) {
+            // Positions which are no longer (or are now) directly exposed to the sky
+            for (Int2IntMap.Entry entry : heights.int2IntEntrySet()) {
+                final int column = entry.getIntKey();
+                final int oldHeight = entry.getIntValue(), newHeight = occlusionMap[column];
+                for (int y = Math.min(oldHeight, newHeight); y < Math.max(oldHeight, newHeight); y++) {
+                    engine.change(blockX + (column & 15), y, blockZ + (column >> 4));
+                }
+            }
+        }
+        changed.addAll(engine.propagate());
+    }
+
+    private static boolean isLightValid(LightingChunk[] chunks, int minSection, int maxSection, LightType type) {
+        for (LightingChunk chunk : chunks) {
+            if (chunk == null) continue;
+            final int min = Math.max(minSection, chunk.minSection);
+            final int max = Math.min(maxSection, chunk.maxSection - 1);
+            for (int sectionY = min; sectionY <= max; sectionY++) {
+                final Section section = chunk.getSection(sectionY);
+                final Light light = switch (type) {
+                    case BLOCK -> section.blockLight();
+                    case SKY -> section.skyLight();
+                };
+                if (light.requiresUpdate()) return false;
+            }
+        }
+        return true;
     }
 
     public void sendLighting() {
@@ -238,6 +424,7 @@ public class LightingChunk extends DynamicChunk {
 
     @Override
     protected LightData createLightData(boolean requiredFullChunk) {
+        applyNearbyLightUpdates();
         packetGenerationLock.lock();
         if (requiredFullChunk) {
             if (fullLightData != null) {
@@ -335,6 +522,7 @@ public class LightingChunk extends DynamicChunk {
     @Override
     public void tick(long time) {
         super.tick(time);
+        applyLightUpdates();
 
         if (doneInit && resendTimer.get() > 0) {
             if (resendTimer.decrementAndGet() == 0) {
@@ -392,7 +580,7 @@ public class LightingChunk extends DynamicChunk {
      * <p>
      * This method is used to force a relight of the specified chunks.
      * <p>
-     * This method is thread-safe and can be called from any thread.
+     * This method is thread-safe and can be called from any thread, incremental light updates wait for it to finish.
      *
      * @param instance the instance
      * @param chunks   the chunks to relight
@@ -401,7 +589,13 @@ public class LightingChunk extends DynamicChunk {
     public static List<Chunk> relight(Instance instance, Collection<Chunk> chunks) {
         Set<Point> sections = new HashSet<>();
 
-        synchronized (instance) {
+        for (Chunk chunk : chunks) {
+            if (chunk instanceof LightingChunk lighting) lighting.applyLightUpdates();
+        }
+
+        final Lock writeLock = instance.lightingLock.writeLock();
+        writeLock.lock();
+        try {
             for (Chunk chunk : chunks) {
                 if (chunk == null) continue;
                 if (chunk instanceof LightingChunk lighting) {
@@ -440,6 +634,8 @@ public class LightingChunk extends DynamicChunk {
             }
 
             return new ArrayList<>(chunksToRelight);
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -516,11 +712,16 @@ public class LightingChunk extends DynamicChunk {
     private static Set<Chunk> relightSection(Instance instance, int chunkX, int sectionY, int chunkZ, LightType type) {
         Chunk c = instance.getChunk(chunkX, chunkZ);
         if (c == null) return Set.of();
-        if (!(c instanceof LightingChunk)) return Set.of();
+        if (!(c instanceof LightingChunk lighting)) return Set.of();
+        lighting.applyNearbyLightUpdates();
 
-        synchronized (instance) {
+        final Lock writeLock = instance.lightingLock.writeLock();
+        writeLock.lock();
+        try {
             Set<Point> collected = collectRequiredNearby(instance, new Vec(chunkX, sectionY, chunkZ), type);
             return relight(instance, collected, type);
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -533,6 +734,7 @@ public class LightingChunk extends DynamicChunk {
         LightingChunk lightingChunk = new LightingChunk(instance, chunkX, chunkZ);
         lightingChunk.sections = sections.stream().map(Section::clone).toList();
         lightingChunk.entries.putAll(entries);
+        lightingChunk.tagHandler = this.tagHandler.copy();
         return lightingChunk;
     }
 
@@ -48,15 +48,14 @@ public final class Section implements NetworkBuffer.Writer {
         this.biomePalette.fill(0);
     }
 
+    /**
+     * Copies the section, the palettes and the light are shared until modified.
+     */
     @Override
     public @NotNull Section clone() {
-        final Light skyLight = Light.sky(blockPalette);
-        final Light blockLight = Light.block(blockPalette);
-
-        setSkyLight(this.skyLight.array());
-        setBlockLight(this.blockLight.array());
-
-        return new Section(this.blockPalette.clone(), this.biomePalette.clone(), skyLight, blockLight);
+        final Palette blockPalette = this.blockPalette.clone();
+        return new Section(blockPalette, this.biomePalette.clone(),
+                this.skyLight.copy(blockPalette), this.blockLight.copy(blockPalette));
     }
 
     @Override
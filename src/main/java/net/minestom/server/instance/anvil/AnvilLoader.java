@@ -3,19 +3,20 @@ package net.minestom.server.instance.anvil;
 import it.unimi.dsi.fastutil.ints.*;
 import net.kyori.adventure.nbt.*;
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.ServerFlag;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
 import net.minestom.server.instance.IChunkLoader;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.Section;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.palette.Palette;
 import net.minestom.server.registry.DynamicRegistry;
 import net.minestom.server.utils.ArrayUtils;
-import net.minestom.server.utils.MathUtils;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.server.utils.async.AsyncUtils;
 import net.minestom.server.utils.chunk.ChunkUtils;
-import net.minestom.server.utils.validate.Check;
 import net.minestom.server.world.biome.Biome;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -30,12 +31,18 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
 import java.util.*;
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.concurrent.locks.ReentrantLock;
 
 public class AnvilLoader implements IChunkLoader {
     private final static Logger LOGGER = LoggerFactory.getLogger(AnvilLoader.class);
+    private static final ExecutorService IO_EXECUTOR = Executors.newFixedThreadPool(ServerFlag.ANVIL_IO_THREADS, r -> {
+        Thread thread = new Thread(r, "Ms-AnvilLoader-IO");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private static final Executor DECODE_EXECUTOR = ForkJoinPool.commonPool();
     private static final DynamicRegistry<Biome> BIOME_REGISTRY = MinecraftServer.getBiomeRegistry();
     private final static int PLAINS_ID = BIOME_REGISTRY.getId(NamespaceID.from("minecraft:plains"));
 
@@ -44,6 +51,10 @@ public class AnvilLoader implements IChunkLoader {
     private final Path path;
     private final Path levelPath;
     private final Path regionPath;
+    // Bounds the chunks being read or decoded, the I/O threads wait for a permit
+    private final Semaphore inFlightLoads = new Semaphore(ServerFlag.ANVIL_MAX_IN_FLIGHT);
+    private final ChunkReader chunkReader = new ChunkReader(AnvilLoader::loadBiome);
+    private final LongAdder bytesWritten = new LongAdder();
 
     private static class RegionCache extends ConcurrentHashMap<IntIntImmutablePair, Set<IntIntImmutablePair>> {
     }
@@ -87,39 +98,97 @@ public class AnvilLoader implements IChunkLoader {
             // No world folder
             return CompletableFuture.completedFuture(null);
         }
+        if (!supportsParallelLoading()) {
+            // Load the whole chunk in the caller thread
+            try {
+                final InputStream chunkStream = readChunkStream(chunkX, chunkZ);
+                if (chunkStream == null) return CompletableFuture.completedFuture(null);
+                final ChunkReader.ChunkData chunkData;
+                try (chunkStream) {
+                    chunkData = chunkReader.read(chunkStream);
+                }
+                return CompletableFuture.completedFuture(assembleChunk(instance, chunkX, chunkZ, chunkData));
+            } catch (Exception e) {
+                MinecraftServer.getExceptionManager().handleException(e);
+                return CompletableFuture.completedFuture(null);
+            }
+        }
+        CompletableFuture<Chunk> future = new CompletableFuture<>();
+        IO_EXECUTOR.execute(() -> loadAsync(instance, chunkX, chunkZ, future));
+        return future;
+    }
+
+    /**
+     * Loads a chunk in three stages: the region file is read in the I/O executor,
+     * then the chunk is decompressed and decoded in the common pool before being assembled.
+     * <p>
+     * Every stage is skipped once the future is completed, which happens when the load gets cancelled.
+     */
+    private void loadAsync(Instance instance, int chunkX, int chunkZ, CompletableFuture<Chunk> future) {
+        if (future.isDone()) return; // Cancelled before being read
         try {
-            return loadMCA(instance, chunkX, chunkZ);
-        } catch (Exception e) {
+            inFlightLoads.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(false);
+            return;
+        }
+        future.whenComplete((chunk, throwable) -> inFlightLoads.release());
+        try {
+            if (future.isDone()) return;
+            final InputStream chunkStream = readChunkStream(chunkX, chunkZ);
+            if (chunkStream == null) {
+                future.complete(null);
+                return;
+            }
+            DECODE_EXECUTOR.execute(() -> {
+                try (chunkStream) {
+                    if (future.isDone()) return;
+                    final ChunkReader.ChunkData chunkData = chunkReader.read(chunkStream);
+                    if (future.isDone()) return;
+                    final Chunk chunk = assembleChunk(instance, chunkX, chunkZ, chunkData);
+                    if (!future.complete(chunk)) {
+                        // Cancelled during the assembly, forget the chunk so that its region can be closed
+                        unloadChunk(chunk);
+                    }
+                } catch (Throwable e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                    future.complete(null);
+                }
+            });
+        } catch (Throwable e) {
             MinecraftServer.getExceptionManager().handleException(e);
-            return CompletableFuture.completedFuture(null);
+            future.complete(null);
         }
     }
 
-    private @NotNull CompletableFuture<@Nullable Chunk> loadMCA(Instance instance, int chunkX, int chunkZ) throws IOException {
+    private @Nullable InputStream readChunkStream(int chunkX, int chunkZ) throws IOException {
         final RegionFile mcaFile = getMCAFile(chunkX, chunkZ);
-        if (mcaFile == null)
-            return CompletableFuture.completedFuture(null);
-        final CompoundBinaryTag chunkData = mcaFile.readChunkData(chunkX, chunkZ);
-        if (chunkData == null)
-            return CompletableFuture.completedFuture(null);
+        if (mcaFile == null) return null;
+        return mcaFile.readChunkStream(chunkX, chunkZ);
+    }
 
+    private static boolean isFullyGenerated(@NotNull CompoundBinaryTag chunkData) {
+        // TODO: Should we handle other statuses?
+        final String status = chunkData.getString("status");
+        return status.isEmpty() || "minecraft:full".equals(status);
+    }
+
+    private @NotNull Chunk assembleChunk(Instance instance, int chunkX, int chunkZ, @NotNull ChunkReader.ChunkData data) {
+        final CompoundBinaryTag chunkData = data.tag();
         // Load the chunk data (assuming it is fully generated)
         final Chunk chunk = instance.getChunkSupplier().createChunk(instance, chunkX, chunkZ);
         synchronized (chunk) { // todo: boo, synchronized
-            final String status = chunkData.getString("status");
-
-            // TODO: Should we handle other statuses?
-            if (status.isEmpty() || "minecraft:full".equals(status)) {
-                // TODO: Parallelize block, block entities and biome loading
+            if (isFullyGenerated(chunkData)) {
                 // Blocks + Biomes
-                loadSections(chunk, chunkData);
+                for (ChunkReader.Section section : data.sections()) loadSection(chunk, section);
 
                 // Block entities
                 loadBlockEntities(chunk, chunkData);
 
                 chunk.loadHeightmapsFromNBT(chunkData.getCompound("Heightmaps"));
             } else {
-                LOGGER.warn("Skipping partially generated chunk at {}, {} with status {}", chunkX, chunkZ, status);
+                LOGGER.warn("Skipping partially generated chunk at {}, {} with status {}", chunkX, chunkZ, chunkData.getString("status"));
             }
         }
 
@@ -133,7 +202,7 @@ public class AnvilLoader implements IChunkLoader {
         } finally {
             perRegionLoadedChunksLock.unlock();
         }
-        return CompletableFuture.completedFuture(chunk);
+        return chunk;
     }
 
     private @Nullable RegionFile getMCAFile(int chunkX, int chunkZ) {
@@ -158,127 +227,92 @@ public class AnvilLoader implements IChunkLoader {
         });
     }
 
-    private void loadSections(@NotNull Chunk chunk, @NotNull CompoundBinaryTag chunkData) {
-        for (BinaryTag sectionTag : chunkData.getList("sections", BinaryTagTypes.COMPOUND)) {
-            final CompoundBinaryTag sectionData = (CompoundBinaryTag) sectionTag;
-
-            final int sectionY = sectionData.getInt("Y", Integer.MIN_VALUE);
-            Check.stateCondition(sectionY == Integer.MIN_VALUE, "Missing section Y value");
-            final int yOffset = Chunk.CHUNK_SECTION_SIZE * sectionY;
+    private void loadSection(@NotNull Chunk chunk, @NotNull ChunkReader.Section data) {
+        final int sectionY = data.y();
+        if (sectionY < chunk.getMinSection() || sectionY >= chunk.getMaxSection()) {
+            // Vanilla stores a section below and above the world for lighting, throw it out.
+            return;
+        }
 
-            if (sectionY < chunk.getMinSection() || sectionY >= chunk.getMaxSection()) {
-                // Vanilla stores a section below and above the world for lighting, throw it out.
-                continue;
-            }
+        final Section section = chunk.getSection(sectionY);
 
-            final Section section = chunk.getSection(sectionY);
+        // Lighting
+        if (data.skyLight() != null) section.setSkyLight(data.skyLight());
+        if (data.blockLight() != null) section.setBlockLight(data.blockLight());
 
-            // Lighting
-            if (sectionData.get("SkyLight") instanceof ByteArrayBinaryTag skyLightTag && skyLightTag.size() == 2048) {
-                section.setSkyLight(skyLightTag.value());
-            }
-            if (sectionData.get("BlockLight") instanceof ByteArrayBinaryTag blockLightTag && blockLightTag.size() == 2048) {
-                section.setBlockLight(blockLightTag.value());
-            }
+        // Biomes
+        loadPalette(section.biomePalette(), data.biomePalette(), data.biomeIndices(), data.biomeBitsPerEntry());
 
-            {   // Biomes
-                final CompoundBinaryTag biomesTag = sectionData.getCompound("biomes");
-                final ListBinaryTag biomePaletteTag = biomesTag.getList("palette", BinaryTagTypes.STRING);
-                int[] convertedBiomePalette = loadBiomePalette(biomePaletteTag);
-
-                if (convertedBiomePalette.length == 1) {
-                    // One solid block, no need to check the data
-                    section.biomePalette().fill(convertedBiomePalette[0]);
-                } else if (convertedBiomePalette.length > 1) {
-                    final long[] packedIndices = biomesTag.getLongArray("data");
-                    Check.stateCondition(packedIndices.length == 0, "Missing packed biomes data");
-                    int[] biomeIndices = new int[64];
-
-                    int bitsPerEntry = packedIndices.length * 64 / biomeIndices.length;
-                    if (bitsPerEntry > 3) bitsPerEntry = MathUtils.bitsToRepresent(convertedBiomePalette.length);
-                    ArrayUtils.unpack(biomeIndices, packedIndices, bitsPerEntry);
-
-                    section.biomePalette().setAll((x, y, z) -> {
-                        final int index = x + z * 4 + y * 16;
-                        return convertedBiomePalette[biomeIndices[index]];
-                    });
+        // Blocks
+        final int[] blockPalette = data.blockPalette();
+        if (blockPalette.length == 0) return;
+        final int yOffset = Chunk.CHUNK_SECTION_SIZE * sectionY;
+        if (!(chunk instanceof DynamicChunk)) {
+            // Unknown chunk implementation, place every block
+            Palette palette = Palette.blocks();
+            loadPalette(palette, blockPalette, data.blockIndices(), data.blockBitsPerEntry());
+            palette.getAll((x, y, z, stateId) -> {
+                try {
+                    chunk.setBlock(x, y + yOffset, z, loadBlock(stateId));
+                } catch (Exception e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
                 }
-            }
+            });
+            return;
+        }
 
-            {   // Blocks
-                final CompoundBinaryTag blockStatesTag = sectionData.getCompound("block_states");
-                final ListBinaryTag blockPaletteTag = blockStatesTag.getList("palette", BinaryTagTypes.COMPOUND);
-                Block[] convertedPalette = loadBlockPalette(blockPaletteTag);
-                if (blockPaletteTag.size() == 1) {
-                    // One solid block, no need to check the data
-                    section.blockPalette().fill(convertedPalette[0].stateId());
-                } else if (blockPaletteTag.size() > 1) {
-                    final long[] packedStates = blockStatesTag.getLongArray("data");
-                    Check.stateCondition(packedStates.length == 0, "Missing packed states data");
-                    int[] blockStateIndices = new int[Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE];
-                    ArrayUtils.unpack(blockStateIndices, packedStates, packedStates.length * 64 / blockStateIndices.length);
-
-                    for (int y = 0; y < Chunk.CHUNK_SECTION_SIZE; y++) {
-                        for (int z = 0; z < Chunk.CHUNK_SECTION_SIZE; z++) {
-                            for (int x = 0; x < Chunk.CHUNK_SECTION_SIZE; x++) {
-                                try {
-                                    final int blockIndex = y * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE + z * Chunk.CHUNK_SECTION_SIZE + x;
-                                    final int paletteIndex = blockStateIndices[blockIndex];
-                                    final Block block = convertedPalette[paletteIndex];
-
-                                    chunk.setBlock(x, y + yOffset, z, block);
-                                } catch (Exception e) {
-                                    MinecraftServer.getExceptionManager().handleException(e);
-                                }
-                            }
-                        }
-                    }
-                }
+        // Write the states straight to the palette, only blocks with extra data need to go through the chunk
+        loadPalette(section.blockPalette(), blockPalette, data.blockIndices(), data.blockBitsPerEntry());
+        int[] blockEntityStates = null;
+        Block[] blockEntities = null;
+        int blockEntityCount = 0;
+        for (int stateId : blockPalette) {
+            final Block block = loadBlock(stateId);
+            if (block.handler() == null && !block.registry().isBlockEntity()) continue;
+            if (blockEntityStates == null) {
+                blockEntityStates = new int[blockPalette.length];
+                blockEntities = new Block[blockPalette.length];
             }
+            blockEntityStates[blockEntityCount] = stateId;
+            blockEntities[blockEntityCount++] = block;
         }
-    }
-
-    private Block[] loadBlockPalette(@NotNull ListBinaryTag paletteTag) {
-        Block[] convertedPalette = new Block[paletteTag.size()];
-        for (int i = 0; i < convertedPalette.length; i++) {
-            CompoundBinaryTag paletteEntry = paletteTag.getCompound(i);
-            String blockName = paletteEntry.getString("Name");
-            if (blockName.equals("minecraft:air")) {
-                convertedPalette[i] = Block.AIR;
-            } else {
-                Block block = Objects.requireNonNull(Block.fromNamespaceId(blockName), "Unknown block " + blockName);
-                // Properties
-                final Map<String, String> properties = new HashMap<>();
-                CompoundBinaryTag propertiesNBT = paletteEntry.getCompound("Properties");
-                for (var property : propertiesNBT) {
-                    if (property.getValue() instanceof StringBinaryTag propertyValue) {
-                        properties.put(property.getKey(), propertyValue.value());
-                    } else {
-                        LOGGER.warn("Fail to parse block state properties {}, expected a string for {}, but contents were {}",
-                                propertiesNBT, property.getKey(), TagStringIOExt.writeTag(property.getValue()));
-                    }
+        if (blockEntityCount == 0) return;
+        final int[] states = blockEntityStates;
+        final Block[] blocks = blockEntities;
+        final int count = blockEntityCount;
+        section.blockPalette().getAllPresent((x, y, z, stateId) -> {
+            for (int i = 0; i < count; i++) {
+                if (states[i] != stateId) continue;
+                try {
+                    chunk.setBlock(x, y + yOffset, z, blocks[i]);
+                } catch (Exception e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
                 }
-                if (!properties.isEmpty()) block = block.withProperties(properties);
-
-                // Handler
-                final BlockHandler handler = MinecraftServer.getBlockManager().getHandler(block.name());
-                if (handler != null) block = block.withHandler(handler);
-
-                convertedPalette[i] = block;
+                return;
             }
-        }
-        return convertedPalette;
+        });
     }
 
-    private int[] loadBiomePalette(@NotNull ListBinaryTag paletteTag) {
-        int[] convertedPalette = new int[paletteTag.size()];
-        for (int i = 0; i < convertedPalette.length; i++) {
-            final String name = paletteTag.getString(i);
-            int biomeId = BIOME_REGISTRY.getId(NamespaceID.from(name));
-            if (biomeId == -1) biomeId = PLAINS_ID;
-            convertedPalette[i] = biomeId;
+    private static void loadPalette(@NotNull Palette palette, int @NotNull [] values, long @Nullable [] indices, int bitsPerEntry) {
+        if (values.length == 1) {
+            // One solid value, no need to check the data
+            palette.fill(values[0]);
+        } else if (values.length > 1) {
+            assert indices != null;
+            palette.load(values, indices, bitsPerEntry);
         }
-        return convertedPalette;
+    }
+
+    private static @NotNull Block loadBlock(int stateId) {
+        Block block = Objects.requireNonNull(Block.fromStateId(stateId), "Unknown block state " + stateId);
+        // Handler
+        final BlockHandler handler = MinecraftServer.getBlockManager().getHandler(block.name());
+        return handler != null ? block.withHandler(handler) : block;
+    }
+
+    private static int loadBiome(@NotNull String name) {
+        final int biomeId = BIOME_REGISTRY.getId(NamespaceID.from(name));
+        return biomeId != -1 ? biomeId : PLAINS_ID;
     }
 
     private void loadBlockEntities(@NotNull Chunk loadedChunk, @NotNull CompoundBinaryTag chunkData) {
@@ -325,6 +359,33 @@ public class AnvilLoader implements IChunkLoader {
 
     @Override
     public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        final RegionFile mcaFile = writeChunk(chunk);
+        if (mcaFile != null) flushRegion(mcaFile);
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunks(@NotNull Collection<Chunk> chunks) {
+        // Write all the chunks, then force each region once
+        Set<RegionFile> regions = ConcurrentHashMap.newKeySet();
+        chunks.parallelStream().forEach(chunk -> {
+            final RegionFile mcaFile = writeChunk(chunk);
+            if (mcaFile != null) regions.add(mcaFile);
+        });
+        regions.forEach(this::flushRegion);
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    private void flushRegion(@NotNull RegionFile mcaFile) {
+        try {
+            mcaFile.flush();
+        } catch (IOException e) {
+            LOGGER.error("Failed to flush region file", e);
+            MinecraftServer.getExceptionManager().handleException(e);
+        }
+    }
+
+    private @Nullable RegionFile writeChunk(@NotNull Chunk chunk) {
         final int chunkX = chunk.getChunkX();
         final int chunkZ = chunk.getChunkZ();
 
@@ -349,7 +410,7 @@ public class AnvilLoader implements IChunkLoader {
                 } catch (IOException e) {
                     LOGGER.error("Failed to create region file for " + chunkX + ", " + chunkZ, e);
                     MinecraftServer.getExceptionManager().handleException(e);
-                    return AsyncUtils.VOID_FUTURE;
+                    return null;
                 }
             }
         } finally {
@@ -368,12 +429,12 @@ public class AnvilLoader implements IChunkLoader {
 
             saveSectionData(chunk, chunkData);
 
-            mcaFile.writeChunkData(chunkX, chunkZ, chunkData.build());
+            bytesWritten.add(mcaFile.writeChunkData(chunkX, chunkZ, chunkData.build()));
         } catch (IOException e) {
             LOGGER.error("Failed to save chunk " + chunkX + ", " + chunkZ, e);
             MinecraftServer.getExceptionManager().handleException(e);
         }
-        return AsyncUtils.VOID_FUTURE;
+        return mcaFile;
     }
 
     private void saveSectionData(@NotNull Chunk chunk, @NotNull CompoundBinaryTag.Builder chunkData) {
@@ -549,6 +610,11 @@ public class AnvilLoader implements IChunkLoader {
         }
     }
 
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
     @Override
     public boolean supportsParallelLoading() {
         return true;
@@ -0,0 +1,461 @@
+package net.minestom.server.instance.anvil;
+
+import net.kyori.adventure.nbt.BinaryTag;
+import net.kyori.adventure.nbt.BinaryTagType;
+import net.kyori.adventure.nbt.BinaryTagTypes;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.MathUtils;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.ToIntFunction;
+
+/**
+ * Streaming reader of the chunk NBT, decoding the sections without building their tags.
+ * <p>
+ * The uncompressed chunk is walked once, palette entries are resolved from their raw bytes using a cache
+ * and the packed indices are kept as is to be loaded directly into the section palettes.
+ * Every other root tag is parsed normally.
+ */
+final class ChunkReader {
+    private static final byte TAG_END = 0, TAG_BYTE = 1, TAG_SHORT = 2, TAG_INT = 3, TAG_LONG = 4, TAG_FLOAT = 5,
+            TAG_DOUBLE = 6, TAG_BYTE_ARRAY = 7, TAG_STRING = 8, TAG_LIST = 9, TAG_COMPOUND = 10,
+            TAG_INT_ARRAY = 11, TAG_LONG_ARRAY = 12;
+    private static final BinaryTagType<?>[] TAG_TYPES = {
+            BinaryTagTypes.END, BinaryTagTypes.BYTE, BinaryTagTypes.SHORT, BinaryTagTypes.INT, BinaryTagTypes.LONG,
+            BinaryTagTypes.FLOAT, BinaryTagTypes.DOUBLE, BinaryTagTypes.BYTE_ARRAY, BinaryTagTypes.STRING,
+            BinaryTagTypes.LIST, BinaryTagTypes.COMPOUND, BinaryTagTypes.INT_ARRAY, BinaryTagTypes.LONG_ARRAY
+    };
+
+    private static final int BLOCK_COUNT = Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE * Chunk.CHUNK_SECTION_SIZE;
+    private static final int BIOME_COUNT = 4 * 4 * 4;
+
+    private static final byte[] SECTIONS = ascii("sections");
+    private static final byte[] Y = ascii("Y");
+    private static final byte[] SKY_LIGHT = ascii("SkyLight");
+    private static final byte[] BLOCK_LIGHT = ascii("BlockLight");
+    private static final byte[] BLOCK_STATES = ascii("block_states");
+    private static final byte[] BIOMES = ascii("biomes");
+    private static final byte[] PALETTE = ascii("palette");
+    private static final byte[] DATA = ascii("data");
+    private static final byte[] NAME = ascii("Name");
+    private static final byte[] PROPERTIES = ascii("Properties");
+
+    private static final ThreadLocal<byte[]> BUFFER = ThreadLocal.withInitial(() -> new byte[64 * 1024]);
+    private static final ThreadLocal<EntryKey> LOOKUP_KEY = ThreadLocal.withInitial(EntryKey::new);
+    // Raw block palette entry -> block state id
+    private static final Map<EntryKey, Integer> BLOCK_STATE_CACHE = new ConcurrentHashMap<>();
+
+    // Raw biome name -> biome id
+    private final Map<EntryKey, Integer> biomeCache = new ConcurrentHashMap<>();
+    private final ToIntFunction<String> biomeResolver;
+
+    /**
+     * @param biomeResolver the id of a biome from its name, cached by the reader
+     */
+    ChunkReader(@NotNull ToIntFunction<String> biomeResolver) {
+        this.biomeResolver = biomeResolver;
+    }
+
+    /**
+     * A decoded section, palettes contain block state ids and biome ids.
+     *
+     * @param blockIndices the packed block palette indices, null if the palette has a single entry
+     * @param biomeIndices the packed biome palette indices, null if the palette has a single entry
+     */
+    record Section(int y, byte @Nullable [] skyLight, byte @Nullable [] blockLight,
+                   int @NotNull [] blockPalette, long @Nullable [] blockIndices, int blockBitsPerEntry,
+                   int @NotNull [] biomePalette, long @Nullable [] biomeIndices, int biomeBitsPerEntry) {
+    }
+
+    /**
+     * @param tag      the chunk NBT, without the sections
+     * @param sections the decoded sections
+     */
+    record ChunkData(@NotNull CompoundBinaryTag tag, @NotNull List<Section> sections) {
+    }
+
+    /**
+     * Reads a chunk, the stream is consumed until its end but not closed.
+     *
+     * @param input the uncompressed chunk NBT
+     * @return the chunk data
+     * @throws IOException if the stream cannot be read or is not a valid chunk
+     */
+    @NotNull ChunkData read(@NotNull InputStream input) throws IOException {
+        // Buffer the whole chunk, the buffer is reused between reads of the same thread
+        byte[] buffer = BUFFER.get();
+        int length = 0;
+        while (true) {
+            if (length == buffer.length) {
+                buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                BUFFER.set(buffer);
+            }
+            final int read = input.read(buffer, length, buffer.length - length);
+            if (read == -1) break;
+            length += read;
+        }
+        return new Cursor(buffer, length).readChunk();
+    }
+
+    private final class Cursor {
+        private final byte[] buffer;
+        private final int limit;
+        private int position;
+        // Name of the last read tag
+        private int nameStart, nameLength;
+
+        Cursor(byte[] buffer, int limit) {
+            this.buffer = buffer;
+            this.limit = limit;
+        }
+
+        ChunkData readChunk() throws IOException {
+            if (readByte() != TAG_COMPOUND) throw new IOException("Chunk root is not a compound");
+            skip(readUnsignedShort()); // Root name
+
+            CompoundBinaryTag.Builder tag = CompoundBinaryTag.builder();
+            List<Section> sections = List.of();
+            byte type;
+            while ((type = readType()) != TAG_END) {
+                readName();
+                if (type == TAG_LIST && nameEquals(SECTIONS)) {
+                    sections = readSections();
+                } else {
+                    final String name = new String(buffer, nameStart, nameLength, StandardCharsets.UTF_8);
+                    tag.put(name, readTag(type));
+                }
+            }
+            return new ChunkData(tag.build(), sections);
+        }
+
+        private List<Section> readSections() throws IOException {
+            final byte elementType = readType();
+            final int size = readInt();
+            if (elementType != TAG_COMPOUND) {
+                for (int i = 0; i < size; i++) skipPayload(elementType);
+                return List.of();
+            }
+            List<Section> sections = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) sections.add(readSection());
+            return sections;
+        }
+
+        private Section readSection() throws IOException {
+            int y = Integer.MIN_VALUE;
+            byte[] skyLight = null, blockLight = null;
+            int[] blockPalette = null, biomePalette = null;
+            long[] blockIndices = null, biomeIndices = null;
+            byte type;
+            while ((type = readType()) != TAG_END) {
+                readName();
+                if (nameEquals(Y) && type >= TAG_BYTE && type <= TAG_LONG) {
+                    y = (int) readNumber(type);
+                } else if (nameEquals(SKY_LIGHT) && type == TAG_BYTE_ARRAY) {
+                    skyLight = readLight();
+                } else if (nameEquals(BLOCK_LIGHT) && type == TAG_BYTE_ARRAY) {
+                    blockLight = readLight();
+                } else if ((nameEquals(BLOCK_STATES) || nameEquals(BIOMES)) && type == TAG_COMPOUND) {
+                    final boolean blocks = nameEquals(BLOCK_STATES);
+                    int[] palette = null;
+                    long[] indices = null;
+                    byte containerType;
+                    while ((containerType = readType()) != TAG_END) {
+                        readName();
+                        if (nameEquals(PALETTE) && containerType == TAG_LIST) {
+                            palette = blocks ? readBlockPalette() : readBiomePalette();
+                        } else if (nameEquals(DATA) && containerType == TAG_LONG_ARRAY) {
+                            indices = readLongArray();
+                        } else {
+                            skipPayload(containerType);
+                        }
+                    }
+                    if (blocks) {
+                        blockPalette = palette;
+                        blockIndices = indices;
+                    } else {
+                        biomePalette = palette;
+                        biomeIndices = indices;
+                    }
+                } else {
+                    skipPayload(type);
+                }
+            }
+            if (y == Integer.MIN_VALUE) throw new IOException("Missing section Y value");
+            if (blockPalette == null) blockPalette = new int[0];
+            if (biomePalette == null) biomePalette = new int[0];
+            if (blockPalette.length <= 1) blockIndices = null;
+            else if (blockIndices == null || blockIndices.length == 0) throw new IOException("Missing packed states data");
+            if (biomePalette.length <= 1) biomeIndices = null;
+            else if (biomeIndices == null || biomeIndices.length == 0) throw new IOException("Missing packed biomes data");
+            return new Section(y, skyLight, blockLight,
+                    blockPalette, blockIndices, bitsPerEntry(blockPalette, blockIndices, BLOCK_COUNT, 4),
+                    biomePalette, biomeIndices, bitsPerEntry(biomePalette, biomeIndices, BIOME_COUNT, 1));
+        }
+
+        private byte @Nullable [] readLight() throws IOException {
+            final int length = readInt();
+            if (length != 2048) {
+                skip(length);
+                return null;
+            }
+            final int start = position;
+            skip(length);
+            return Arrays.copyOfRange(buffer, start, start + length);
+        }
+
+        private int[] readBlockPalette() throws IOException {
+            final byte elementType = readType();
+            final int size = readInt();
+            if (elementType != TAG_COMPOUND) {
+                for (int i = 0; i < size; i++) skipPayload(elementType);
+                return new int[0];
+            }
+            int[] palette = new int[size];
+            for (int i = 0; i < size; i++) {
+                final int start = position;
+                skipPayload(TAG_COMPOUND);
+                final EntryKey key = LOOKUP_KEY.get().set(buffer, start, position - start);
+                Integer stateId = BLOCK_STATE_CACHE.get(key);
+                if (stateId == null) {
+                    final int end = position;
+                    this.position = start;
+                    stateId = parseBlockState();
+                    this.position = end;
+                    BLOCK_STATE_CACHE.put(key.copy(), stateId);
+                }
+                palette[i] = stateId;
+            }
+            return palette;
+        }
+
+        private int parseBlockState() throws IOException {
+            String name = null;
+            Map<String, String> properties = Map.of();
+            byte type;
+            while ((type = readType()) != TAG_END) {
+                readName();
+                if (nameEquals(NAME) && type == TAG_STRING) {
+                    name = readString();
+                } else if (nameEquals(PROPERTIES) && type == TAG_COMPOUND) {
+                    properties = new HashMap<>();
+                    byte propertyType;
+                    while ((propertyType = readType()) != TAG_END) {
+                        readName();
+                        final String key = new String(buffer, nameStart, nameLength, StandardCharsets.UTF_8);
+                        if (propertyType == TAG_STRING) {
+                            properties.put(key, readString());
+                        } else {
+                            skipPayload(propertyType);
+                        }
+                    }
+                } else {
+                    skipPayload(type);
+                }
+            }
+            if (name == null) throw new IOException("Missing block name in palette");
+            if (name.equals("minecraft:air")) return Block.AIR.stateId();
+            Block block = Block.fromNamespaceId(name);
+            if (block == null) throw new IOException("Unknown block " + name);
+            if (!properties.isEmpty()) block = block.withProperties(properties);
+            return block.stateId();
+        }
+
+        private int[] readBiomePalette() throws IOException {
+            final byte elementType = readType();
+            final int size = readInt();
+            if (elementType != TAG_STRING) {
+                for (int i = 0; i < size; i++) skipPayload(elementType);
+                return new int[0];
+            }
+            int[] palette = new int[size];
+            for (int i = 0; i < size; i++) {
+                final int length = readUnsignedShort();
+                final int start = position;
+                skip(length);
+                final EntryKey key = LOOKUP_KEY.get().set(buffer, start, length);
+                Integer biomeId = biomeCache.get(key);
+                if (biomeId == null) {
+                    biomeId = biomeResolver.applyAsInt(new String(buffer, start, length, StandardCharsets.UTF_8));
+                    biomeCache.put(key.copy(), biomeId);
+                }
+                palette[i] = biomeId;
+            }
+            return palette;
+        }
+
+        private long[] readLongArray() throws IOException {
+            final int length = readInt();
+            if (length < 0) throw new IOException("Negative array length");
+            require((long) length * Long.BYTES);
+            long[] array = new long[length];
+            for (int i = 0; i < length; i++) array[i] = readLong();
+            return array;
+        }
+
+        private BinaryTag readTag(byte type) throws IOException {
+            if (type < 0 || type >= TAG_TYPES.length) throw new IOException("Unknown tag type " + type);
+            ByteArrayInputStream input = new ByteArrayInputStream(buffer, position, limit - position);
+            final BinaryTag tag = TAG_TYPES[type].read(new DataInputStream(input));
+            this.position = limit - input.available();
+            return tag;
+        }
+
+        private void skipPayload(byte type) throws IOException {
+            switch (type) {
+                case TAG_BYTE -> skip(1);
+                case TAG_SHORT -> skip(2);
+                case TAG_INT, TAG_FLOAT -> skip(4);
+                case TAG_LONG, TAG_DOUBLE -> skip(8);
+                case TAG_BYTE_ARRAY -> skip(readInt());
+                case TAG_STRING -> skip(readUnsignedShort());
+                case TAG_LIST -> {
+                    final byte elementType = readType();
+                    final int size = readInt();
+                    for (int i = 0; i < size; i++) skipPayload(elementType);
+                }
+                case TAG_COMPOUND -> {
+                    byte elementType;
+                    while ((elementType = readType()) != TAG_END) {
+                        skip(readUnsignedShort());
+                        skipPayload(elementType);
+                    }
+                }
+                case TAG_INT_ARRAY -> skip((long) readInt() * Integer.BYTES);
+                case TAG_LONG_ARRAY -> skip((long) readInt() * Long.BYTES);
+                case TAG_END -> {
+                }
+                default -> throw new IOException("Unknown tag type " + type);
+            }
+        }
+
+        private long readNumber(byte type) throws IOException {
+            return switch (type) {
+                case TAG_BYTE -> readByte();
+                case TAG_SHORT -> (short) readUnsignedShort();
+                case TAG_INT -> readInt();
+                default -> readLong();
+            };
+        }
+
+        private void readName() throws IOException {
+            final int length = readUnsignedShort();
+            this.nameStart = position;
+            this.nameLength = length;
+            skip(length);
+        }
+
+        private boolean nameEquals(byte[] name) {
+            return Arrays.equals(buffer, nameStart, nameStart + nameLength, name, 0, name.length);
+        }
+
+        private String readString() throws IOException {
+            // Block and biome names are ASCII, for which modified UTF-8 is identical
+            final int length = readUnsignedShort();
+            final int start = position;
+            skip(length);
+            return new String(buffer, start, length, StandardCharsets.UTF_8);
+        }
+
+        private byte readType() throws IOException {
+            return readByte();
+        }
+
+        private byte readByte() throws IOException {
+            require(1);
+            return buffer[position++];
+        }
+
+        private int readUnsignedShort() throws IOException {
+            require(2);
+            final int value = (buffer[position] & 0xFF) << 8 | buffer[position + 1] & 0xFF;
+            this.position += 2;
+            return value;
+        }
+
+        private int readInt() throws IOException {
+            require(4);
+            final byte[] buffer = this.buffer;
+            final int p = position;
+            this.position = p + 4;
+            return (buffer[p] & 0xFF) << 24 | (buffer[p + 1] & 0xFF) << 16 |
+                    (buffer[p + 2] & 0xFF) << 8 | buffer[p + 3] & 0xFF;
+        }
+
+        private long readLong() throws IOException {
+            final long high = readInt() & 0xFFFFFFFFL;
+            return high << 32 | readInt() & 0xFFFFFFFFL;
+        }
+
+        private void skip(long length) throws IOException {
+            if (length < 0) throw new IOException("Negative length " + length);
+            require(length);
+            this.position += (int) length;
+        }
+
+        private void require(long length) throws EOFException {
+            if (position + length > limit) throw new EOFException("Unexpected end of chunk data");
+        }
+    }
+
+    /**
+     * Gets the bits per entry of packed indices, following the vanilla format unless the length does not match.
+     */
+    private static int bitsPerEntry(int[] palette, long @Nullable [] indices, int size, int minBitsPerEntry) {
+        if (indices == null) return 0;
+        final int expected = Math.max(minBitsPerEntry, MathUtils.bitsToRepresent(palette.length - 1));
+        final int expectedValuesPerLong = 64 / expected;
+        if (indices.length == (size + expectedValuesPerLong - 1) / expectedValuesPerLong) return expected;
+        // Written with a different minimum
+        final int valuesPerLong = (size + indices.length - 1) / indices.length;
+        return Math.max(1, 64 / valuesPerLong);
+    }
+
+    private static byte[] ascii(String name) {
+        return name.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Raw bytes of a palette entry, mutable to look up the caches without allocating.
+     */
+    private static final class EntryKey {
+        private byte[] bytes;
+        private int offset, length, hash;
+
+        EntryKey set(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+            int hash = 1;
+            for (int i = offset; i < offset + length; i++) hash = 31 * hash + bytes[i];
+            this.hash = hash;
+            return this;
+        }
+
+        EntryKey copy() {
+            return new EntryKey().set(Arrays.copyOfRange(bytes, offset, offset + length), 0, length);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof EntryKey key)) return false;
+            return hash == key.hash && Arrays.equals(bytes, offset, offset + length, key.bytes, key.offset, key.offset + key.length);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
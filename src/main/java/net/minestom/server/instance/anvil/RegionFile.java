@@ -1,7 +1,5 @@
 package net.minestom.server.instance.anvil;
 
-import it.unimi.dsi.fastutil.booleans.BooleanArrayList;
-import it.unimi.dsi.fastutil.booleans.BooleanList;
 import net.kyori.adventure.nbt.BinaryTagIO;
 import net.kyori.adventure.nbt.CompoundBinaryTag;
 import net.minestom.server.utils.chunk.ChunkUtils;
@@ -11,14 +9,28 @@ import org.jetbrains.annotations.Nullable;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
  * Implements a thread-safe reader and writer for Minecraft region files.
+ * <p>
+ * Chunks are read and written using positional I/O on a {@link FileChannel}, reads do not take any lock
+ * and only sector allocation is serialized between writers.
+ * The location and timestamp tables are memory-mapped, their updates are only forced to the disk in {@link #flush()},
+ * which should be called once per save batch.
  *
  * @see <a href="https://minecraft.wiki/w/Region_file_format">Region file format</a>
  * @see <a href="https://github.com/Minestom/Hephaistos/blob/master/common/src/main/kotlin/org/jglrxavpok/hephaistos/mca/RegionFile.kt">Hephaistos implementation</a>
@@ -29,6 +41,7 @@ final class RegionFile implements AutoCloseable {
     private static final int SECTOR_SIZE = 4096;
     private static final int SECTOR_1MB = 1024 * 1024 / SECTOR_SIZE;
     private static final int HEADER_LENGTH = MAX_ENTRY_COUNT * 2 * 4; // 2 4-byte fields per entry
+    private static final int HEADER_SECTORS = HEADER_LENGTH / SECTOR_SIZE;
     private static final int CHUNK_HEADER_LENGTH = 4 + 1; // Length + Compression type (todo non constant to support custom compression)
 
     private static final int COMPRESSION_ZLIB = 2;
@@ -40,56 +53,86 @@ final class RegionFile implements AutoCloseable {
         return "r." + regionX + "." + regionZ + ".mca";
     }
 
-    private final ReentrantLock lock = new ReentrantLock();
-    private final RandomAccessFile file;
+    private final FileChannel channel;
+    // Locations then timestamps, 4 bytes per entry
+    private final MappedByteBuffer header;
 
-    private final int[] locations = new int[MAX_ENTRY_COUNT];
-    private final int[] timestamps = new int[MAX_ENTRY_COUNT];
-    private final BooleanList freeSectors = new BooleanArrayList(2);
+    private final AtomicIntegerArray locations = new AtomicIntegerArray(MAX_ENTRY_COUNT);
+    // Incremented every time a chunk is moved, used by readers to detect concurrent writes
+    private final AtomicIntegerArray versions = new AtomicIntegerArray(MAX_ENTRY_COUNT);
+
+    // Guards the sector allocation and the header
+    private final ReentrantLock allocationLock = new ReentrantLock();
+    private final BitSet usedSectors = new BitSet();
+    private int sectorCount;
+    private boolean dirty;
 
     public RegionFile(@NotNull Path path) throws IOException {
-        this.file = new RandomAccessFile(path.toFile(), "rw");
+        this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE);
+        if (channel.size() < HEADER_LENGTH) {
+            // new file, fill in data
+            writeFully(ByteBuffer.allocate(HEADER_LENGTH), 0);
+        }
+        this.header = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_LENGTH);
 
         readHeader();
     }
 
     public boolean hasChunkData(int chunkX, int chunkZ) {
-        lock.lock();
-        try {
-            return locations[getChunkIndex(chunkX, chunkZ)] != 0;
-        } finally {
-            lock.unlock();
-        }
+        return locations.get(getChunkIndex(chunkX, chunkZ)) != 0;
     }
 
     public @Nullable CompoundBinaryTag readChunkData(int chunkX, int chunkZ) throws IOException {
-        lock.lock();
-        try {
-            if (!hasChunkData(chunkX, chunkZ)) return null;
-
-            int location = locations[getChunkIndex(chunkX, chunkZ)];
-            file.seek((long) (location >> 8) * SECTOR_SIZE); // Move to start of first sector
-            int length = file.readInt();
-            int compressionType = file.readByte();
-            BinaryTagIO.Compression compression = switch (compressionType) {
-                case 1 -> BinaryTagIO.Compression.GZIP;
-                case COMPRESSION_ZLIB -> BinaryTagIO.Compression.ZLIB;
-                case 3 -> BinaryTagIO.Compression.NONE;
+        final InputStream input = readChunkStream(chunkX, chunkZ);
+        if (input == null) return null;
+        try (input) {
+            // Parse it as a compound tag
+            return TAG_READER.read(input);
+        }
+    }
+
+    /**
+     * Reads the sectors of a chunk, the returned stream decompresses them lazily.
+     *
+     * @param chunkX the chunk X
+     * @param chunkZ the chunk Z
+     * @return the uncompressed NBT of the chunk, null if the chunk is not present
+     */
+    public @Nullable InputStream readChunkStream(int chunkX, int chunkZ) throws IOException {
+        final int chunkIndex = getChunkIndex(chunkX, chunkZ);
+        while (true) {
+            final int version = versions.get(chunkIndex);
+            final int location = locations.get(chunkIndex);
+            if (location == 0) return null;
+
+            // Read all the sectors at once, the sectors cannot be reused until the chunk is moved
+            final ByteBuffer buffer = ByteBuffer.allocate((location & 0xFF) * SECTOR_SIZE);
+            readFully(buffer, (long) (location >> 8) * SECTOR_SIZE);
+            if (versions.get(chunkIndex) != version) continue; // Chunk moved while reading
+
+            final int length = buffer.getInt(0);
+            final int compressionType = buffer.get(4);
+            if (length <= 0)
+                throw new IOException("Invalid chunk length " + length + " for chunk " + chunkX + ", " + chunkZ);
+            // Older files stored a length 4 bytes too long, never read past the allocated sectors
+            final int dataLength = Math.min(length - 1, buffer.capacity() - CHUNK_HEADER_LENGTH);
+
+            final InputStream input = new ByteArrayInputStream(buffer.array(), CHUNK_HEADER_LENGTH, dataLength);
+            return switch (compressionType) {
+                case 1 -> new GZIPInputStream(input);
+                case COMPRESSION_ZLIB -> new InflaterInputStream(input);
+                case 3 -> input;
                 default -> throw new IOException("Unsupported compression type: " + compressionType);
             };
-
-            // Read the raw content
-            byte[] data = new byte[length - 1];
-            file.read(data);
-
-            // Parse it as a compound tag
-            return TAG_READER.read(new ByteArrayInputStream(data), compression);
-        } finally {
-            lock.unlock();
         }
     }
 
-    public void writeChunkData(int chunkX, int chunkZ, @NotNull CompoundBinaryTag data) throws IOException {
+    /**
+     * Writes a chunk to a new location, the previous one is freed.
+     *
+     * @return the number of bytes written
+     */
+    public int writeChunkData(int chunkX, int chunkZ, @NotNull CompoundBinaryTag data) throws IOException {
         // Write the data (compressed)
         ByteArrayOutputStream out = new ByteArrayOutputStream();
         TAG_WRITER.writeNamed(Map.entry("", data), out, BinaryTagIO.Compression.ZLIB);
@@ -99,41 +142,58 @@ final class RegionFile implements AutoCloseable {
         int sectorCount = (int) Math.ceil(chunkLength / (double) SECTOR_SIZE);
         Check.stateCondition(sectorCount >= SECTOR_1MB, "Chunk data is too large to fit in a region file");
 
-        lock.lock();
+        // Pad to the sector size so that the file length stays a multiple of it
+        ByteBuffer buffer = ByteBuffer.allocate(sectorCount * SECTOR_SIZE);
+        buffer.putInt(chunkLength - 4); // The length field does not include itself
+        buffer.put((byte) COMPRESSION_ZLIB);
+        buffer.put(dataBytes);
+        buffer.clear();
+
+        // We don't attempt to reuse the current allocation, just write it to a new position and free the old one.
+        final int firstSector = allocateSectors(sectorCount);
+        writeFully(buffer, (long) firstSector * SECTOR_SIZE);
+
+        final int chunkIndex = getChunkIndex(chunkX, chunkZ);
+        final int newLocation = (firstSector << 8) | sectorCount;
+        allocationLock.lock();
         try {
-            // We don't attempt to reuse the current allocation, just write it to a new position and free the old one.
-            int chunkIndex = getChunkIndex(chunkX, chunkZ);
-            int oldLocation = locations[chunkIndex];
-
-            // Find a new location
-            int firstSector = findFreeSectors(sectorCount);
-            if (firstSector == -1) {
-                firstSector = allocSectors(sectorCount);
-            }
-            int newLocation = (firstSector << 8) | sectorCount;
-
-            // Mark the sectors as used & free the old sectors
-            markLocation(oldLocation, true);
-            markLocation(newLocation, false);
-
-            // Write the chunk data
-            file.seek((long) firstSector * SECTOR_SIZE);
-            file.writeInt(chunkLength);
-            file.writeByte(COMPRESSION_ZLIB);
-            file.write(dataBytes);
-
-            // Update the header and write it
-            locations[chunkIndex] = newLocation;
-            timestamps[chunkIndex] = (int) (System.currentTimeMillis() / 1000);
-            writeHeader();
+            final int oldLocation = locations.getAndSet(chunkIndex, newLocation);
+            versions.incrementAndGet(chunkIndex);
+            // Readers of the old location will retry, its sectors can now be reused
+            if (oldLocation != 0) markLocation(oldLocation, false);
+
+            header.putInt(chunkIndex * 4, newLocation);
+            header.putInt(HEADER_LENGTH / 2 + chunkIndex * 4, (int) (System.currentTimeMillis() / 1000));
+            this.dirty = true;
+        } finally {
+            allocationLock.unlock();
+        }
+        return buffer.capacity();
+    }
+
+    /**
+     * Forces the chunk data and the header updates since the last flush to the disk.
+     */
+    public void flush() throws IOException {
+        allocationLock.lock();
+        try {
+            if (!dirty) return;
+            this.dirty = false;
+            // Data first so that the header never points to missing data
+            channel.force(false);
+            header.force();
         } finally {
-            lock.unlock();
+            allocationLock.unlock();
         }
     }
 
     @Override
     public void close() throws IOException {
-        file.close();
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
     }
 
     private int getChunkIndex(int chunkX, int chunkZ) {
@@ -141,77 +201,71 @@ final class RegionFile implements AutoCloseable {
     }
 
     private void readHeader() throws IOException {
-        file.seek(0);
-        if (file.length() < HEADER_LENGTH) {
-            // new file, fill in data
-            file.write(new byte[HEADER_LENGTH]);
-        }
-
         //todo: addPadding()
 
-        final long totalSectors = file.length() / SECTOR_SIZE;
-        for (int i = 0; i < totalSectors; i++) freeSectors.add(true);
-        freeSectors.set(0, false); // First sector is locations
-        freeSectors.set(1, false); // Second sector is timestamps
+        this.sectorCount = (int) Math.max(HEADER_SECTORS, (channel.size() + SECTOR_SIZE - 1) / SECTOR_SIZE);
+        usedSectors.set(0, HEADER_SECTORS); // First sector is locations, second sector is timestamps
 
         // Read locations
-        file.seek(0);
         for (int i = 0; i < MAX_ENTRY_COUNT; i++) {
-            int location = locations[i] = file.readInt();
-            if (location != 0) {
-                markLocation(location, false);
+            final int location = header.getInt(i * 4);
+            if (location == 0) continue;
+            final int sectorStart = location >> 8;
+            final int sectorCount = location & 0xFF;
+            if (sectorStart < HEADER_SECTORS || sectorStart + sectorCount > this.sectorCount) {
+                throw new IOException("Invalid location " + sectorStart + "+" + sectorCount + " for chunk index " + i);
             }
-        }
-
-        // Read timestamps
-        for (int i = 0; i < MAX_ENTRY_COUNT; i++) {
-            timestamps[i] = file.readInt();
+            locations.set(i, location);
+            markLocation(location, true);
         }
     }
 
-    private void writeHeader() throws IOException {
-        file.seek(0);
-        for (int location : locations) {
-            file.writeInt(location);
-        }
-        for (int timestamp : timestamps) {
-            file.writeInt(timestamp);
+    private int allocateSectors(int length) {
+        allocationLock.lock();
+        try {
+            int start = findFreeSectors(length);
+            if (start == -1) {
+                // Append to the end of the file, the write extends it
+                start = sectorCount;
+                this.sectorCount += length;
+            }
+            usedSectors.set(start, start + length);
+            return start;
+        } finally {
+            allocationLock.unlock();
         }
     }
 
     private int findFreeSectors(int length) {
-        for (int start = 0; start < freeSectors.size() - length; start++) {
-            boolean found = true;
-            for (int i = 0; i < length; i++) {
-                if (!freeSectors.getBoolean(start++)) {
-                    found = false;
-                    break;
-                }
-            }
-            if (found) return start - length;
+        int start = usedSectors.nextClearBit(HEADER_SECTORS);
+        while (start + length <= sectorCount) {
+            final int nextUsed = usedSectors.nextSetBit(start);
+            if (nextUsed == -1 || nextUsed >= start + length) return start;
+            start = usedSectors.nextClearBit(nextUsed);
         }
         return -1;
     }
 
-    private int allocSectors(int count) throws IOException {
-        var eof = file.length();
-        file.seek(eof);
+    private void markLocation(int location, boolean used) {
+        int sectorCount = location & 0xFF;
+        int sectorStart = location >> 8;
+        Check.stateCondition(sectorStart + sectorCount > this.sectorCount, "Invalid sector count");
+        usedSectors.set(sectorStart, sectorStart + sectorCount, used);
+    }
 
-        byte[] emptySector = new byte[SECTOR_SIZE];
-        for (int i = 0; i < count; i++) {
-            freeSectors.add(true);
-            file.write(emptySector);
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position + buffer.position());
+            if (read == -1) {
+                if (buffer.position() >= CHUNK_HEADER_LENGTH) return; // Unpadded last sector
+                throw new EOFException("Unexpected end of region file at " + (position + buffer.position()));
+            }
         }
-
-        return (int) (eof / SECTOR_SIZE);
     }
 
-    private void markLocation(int location, boolean free) {
-        int sectorCount = location & 0xFF;
-        int sectorStart = location >> 8;
-        Check.stateCondition(sectorStart + sectorCount > freeSectors.size(), "Invalid sector count");
-        for (int i = sectorStart; i < sectorStart + sectorCount; i++) {
-            freeSectors.set(i, free);
+    private void writeFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer, position + buffer.position());
         }
     }
 }
@@ -2,8 +2,6 @@ package net.minestom.server.instance.batch;
 
 import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
 import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.ints.IntArraySet;
-import it.unimi.dsi.fastutil.ints.IntSet;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.InstanceContainer;
@@ -180,18 +178,16 @@ public class ChunkBatch implements Batch<ChunkCallback> {
                 return;
             }
 
-            final IntSet sections = new IntArraySet();
             synchronized (blocks) {
                 for (var entry : blocks.int2ObjectEntrySet()) {
                     final int position = entry.getIntKey();
                     final Block block = entry.getValue();
-                    final int section = apply(chunk, position, block, inverse);
-                    sections.add(section);
+                    apply(chunk, position, block, inverse);
                 }
             }
 
             if (inverse != null) inverse.readyLatch.countDown();
-            updateChunk(instance, chunk, sections, callback, safeCallback);
+            updateChunk(instance, chunk, callback, safeCallback);
         } catch (Exception e) {
             e.printStackTrace();
         }
@@ -203,9 +199,8 @@ public class ChunkBatch implements Batch<ChunkCallback> {
      * @param chunk The chunk to apply the change
      * @param index the block position computed using {@link ChunkUtils#getBlockIndex(int, int, int)}
      * @param block the block to place
-     * @return The chunk section which the block was placed
      */
-    private int apply(@NotNull Chunk chunk, int index, Block block, @Nullable ChunkBatch inverse) {
+    private void apply(@NotNull Chunk chunk, int index, Block block, @Nullable ChunkBatch inverse) {
         final int x = ChunkUtils.blockIndexToChunkPositionX(index);
         final int y = ChunkUtils.blockIndexToChunkPositionY(index);
         final int z = ChunkUtils.blockIndexToChunkPositionZ(index);
@@ -214,17 +209,29 @@ public class ChunkBatch implements Batch<ChunkCallback> {
             inverse.setBlock(x, y, z, prevBlock);
         }
         chunk.setBlock(x, y, z, block);
-        return ChunkUtils.getChunkCoordinate(y);
     }
 
     /**
      * Updates the given chunk for all of its viewers, and executes the callback.
      */
-    private void updateChunk(@NotNull Instance instance, Chunk chunk, IntSet updatedSections, @Nullable ChunkCallback callback, boolean safeCallback) {
+    private void updateChunk(@NotNull Instance instance, Chunk chunk, @Nullable ChunkCallback callback, boolean safeCallback) {
         // Refresh chunk for viewers
         if (options.shouldSendUpdate()) {
-            // TODO update all sections from `updatedSections`
-            chunk.sendChunk();
+            if (!options.isFullChunk() && instance instanceof InstanceContainer instanceContainer) {
+                // Sent at the end of the tick with the other block changes
+                final int offsetX = chunk.getChunkX() * Chunk.CHUNK_SIZE_X;
+                final int offsetZ = chunk.getChunkZ() * Chunk.CHUNK_SIZE_Z;
+                synchronized (blocks) {
+                    for (int index : blocks.keySet()) {
+                        instanceContainer.sendBlockChange(chunk,
+                                offsetX + ChunkUtils.blockIndexToChunkPositionX(index),
+                                ChunkUtils.blockIndexToChunkPositionY(index),
+                                offsetZ + ChunkUtils.blockIndexToChunkPositionZ(index));
+                    }
+                }
+            } else {
+                chunk.sendChunk();
+            }
         }
 
         if (instance instanceof InstanceContainer) {
@@ -0,0 +1,252 @@
+package net.minestom.server.instance.compact;
+
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.kyori.adventure.nbt.BinaryTagIO;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.DynamicChunk;
+import net.minestom.server.instance.IChunkLoader;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.registry.DynamicRegistry;
+import net.minestom.server.utils.NamespaceID;
+import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.server.world.biome.Biome;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-only chunk loader for worlds written by {@link CompactWorldWriter}.
+ * <p>
+ * The whole file is memory-mapped when the loader is created. Palettes are stored as raw packed longs
+ * and light as raw arrays, so decoding a chunk is mostly a copy.
+ * Each chunk is decoded once, then the decoded palettes are shared by every instance using this loader
+ * until they are modified.
+ * <p>
+ * Saving is a no-op, changes made to the chunks are lost once they are unloaded.
+ */
+public final class CompactWorldLoader implements IChunkLoader {
+    static final int MAGIC = 0x4D535743; // MSWC
+    static final int VERSION = 1;
+
+    static final int FLAG_SKY_LIGHT = 1;
+    static final int FLAG_BLOCK_LIGHT = 2;
+
+    static final int LIGHT_LENGTH = 2048;
+
+    private static final DynamicRegistry<Biome> BIOME_REGISTRY = MinecraftServer.getBiomeRegistry();
+    private static final int PLAINS_ID = BIOME_REGISTRY.getId(NamespaceID.from("minecraft:plains"));
+    private static final BinaryTagIO.Reader TAG_READER = BinaryTagIO.unlimitedReader();
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int minSection, sectionCount;
+    // Biome index in the file -> biome id in the registry
+    private final int[] biomes;
+    private final String[] handlers;
+    // Chunk index -> chunk offset in the file
+    private final Long2IntOpenHashMap offsets;
+    private final Long2ObjectMap<ChunkData> decoded = Long2ObjectMaps.synchronize(new Long2ObjectOpenHashMap<>());
+
+    public CompactWorldLoader(@NotNull Path path) throws IOException {
+        this.path = path;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) throw new IOException("World file is too large: " + path);
+            this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        final ByteBuffer header = buffer.duplicate();
+        if (header.getInt() != MAGIC) throw new IOException("Not a compact world file: " + path);
+        final int version = header.getInt();
+        if (version != VERSION) throw new IOException("Unsupported compact world version " + version + ": " + path);
+        // Block state ids change between game versions
+        final int dataVersion = header.getInt();
+        if (dataVersion != MinecraftServer.DATA_VERSION) {
+            throw new IOException("World converted for data version " + dataVersion + ", expected " + MinecraftServer.DATA_VERSION + ": " + path);
+        }
+        this.minSection = header.getInt();
+        this.sectionCount = header.getInt();
+
+        this.biomes = new int[header.getInt()];
+        for (int i = 0; i < biomes.length; i++) {
+            final int biomeId = BIOME_REGISTRY.getId(NamespaceID.from(readString(header)));
+            this.biomes[i] = biomeId != -1 ? biomeId : PLAINS_ID;
+        }
+        this.handlers = new String[header.getInt()];
+        for (int i = 0; i < handlers.length; i++) this.handlers[i] = readString(header);
+
+        final int chunkCount = header.getInt();
+        this.offsets = new Long2IntOpenHashMap(chunkCount);
+        this.offsets.defaultReturnValue(-1);
+        for (int i = 0; i < chunkCount; i++) {
+            final int chunkX = header.getInt();
+            final int chunkZ = header.getInt();
+            this.offsets.put(ChunkUtils.getChunkIndex(chunkX, chunkZ), header.getInt());
+        }
+    }
+
+    public @NotNull Path path() {
+        return path;
+    }
+
+    /**
+     * Gets the number of chunks stored in the world file.
+     *
+     * @return the chunk count
+     */
+    public int chunkCount() {
+        return offsets.size();
+    }
+
+    @Override
+    public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+        final ChunkData data;
+        try {
+            data = chunkData(chunkX, chunkZ);
+        } catch (Exception e) {
+            MinecraftServer.getExceptionManager().handleException(e);
+            return CompletableFuture.completedFuture(null);
+        }
+        if (data == null) return CompletableFuture.completedFuture(null);
+
+        final Chunk chunk = instance.getChunkSupplier().createChunk(instance, chunkX, chunkZ);
+        synchronized (chunk) {
+            final int minSection = Math.max(chunk.getMinSection(), this.minSection);
+            final int maxSection = Math.min(chunk.getMaxSection(), this.minSection + sectionCount);
+            for (int sectionY = minSection; sectionY < maxSection; sectionY++) {
+                loadSection(chunk, sectionY, data.sections()[sectionY - this.minSection]);
+            }
+            for (BlockEntity blockEntity : data.blockEntities()) {
+                if (blockEntity.y() < chunk.getMinSection() * Chunk.CHUNK_SECTION_SIZE ||
+                        blockEntity.y() >= chunk.getMaxSection() * Chunk.CHUNK_SECTION_SIZE) continue;
+                Block block = chunk.getBlock(blockEntity.x(), blockEntity.y(), blockEntity.z());
+                if (blockEntity.handler() != -1) {
+                    block = block.withHandler(MinecraftServer.getBlockManager().getHandlerOrDummy(handlers[blockEntity.handler()]));
+                }
+                if (blockEntity.nbt() != null) block = block.withNbt(blockEntity.nbt());
+                chunk.setBlock(blockEntity.x(), blockEntity.y(), blockEntity.z(), block);
+            }
+        }
+        return CompletableFuture.completedFuture(chunk);
+    }
+
+    private void loadSection(Chunk chunk, int sectionY, SectionData data) {
+        final Section section = chunk.getSection(sectionY);
+        if (data.skyLight() != null) section.setSkyLight(data.skyLight());
+        if (data.blockLight() != null) section.setBlockLight(data.blockLight());
+
+        // The palettes share the decoded storage until modified
+        section.biomePalette().copyFrom(data.biomes());
+        if (chunk instanceof DynamicChunk) {
+            section.blockPalette().copyFrom(data.blocks());
+            return;
+        }
+        // Unknown chunk implementation, place every block
+        final int yOffset = sectionY * Chunk.CHUNK_SECTION_SIZE;
+        data.blocks().getAllPresent((x, y, z, stateId) ->
+                chunk.setBlock(x, y + yOffset, z, Objects.requireNonNull(Block.fromStateId(stateId))));
+    }
+
+    private @Nullable ChunkData chunkData(int chunkX, int chunkZ) throws IOException {
+        final long index = ChunkUtils.getChunkIndex(chunkX, chunkZ);
+        final int offset = offsets.get(index);
+        if (offset == -1) return null;
+        ChunkData data = decoded.get(index);
+        if (data == null) {
+            // Decoding twice is harmless, both results are equal
+            data = readChunk(buffer.duplicate().position(offset));
+            decoded.put(index, data);
+        }
+        return data;
+    }
+
+    private ChunkData readChunk(ByteBuffer buffer) throws IOException {
+        SectionData[] sections = new SectionData[sectionCount];
+        for (int i = 0; i < sectionCount; i++) {
+            final byte flags = buffer.get();
+            final Palette blocks = readPalette(buffer, Palette.blocks(), null);
+            final Palette biomes = readPalette(buffer, Palette.biomes(), this.biomes);
+            final byte[] skyLight = (flags & FLAG_SKY_LIGHT) != 0 ? readBytes(buffer, LIGHT_LENGTH) : null;
+            final byte[] blockLight = (flags & FLAG_BLOCK_LIGHT) != 0 ? readBytes(buffer, LIGHT_LENGTH) : null;
+            sections[i] = new SectionData(blocks, biomes, skyLight, blockLight);
+        }
+
+        BlockEntity[] blockEntities = new BlockEntity[buffer.getInt()];
+        for (int i = 0; i < blockEntities.length; i++) {
+            final byte xz = buffer.get();
+            final int y = buffer.getInt();
+            final int handler = buffer.getInt();
+            final int nbtLength = buffer.getInt();
+            final CompoundBinaryTag nbt = nbtLength > 0 ?
+                    TAG_READER.read(new ByteArrayInputStream(readBytes(buffer, nbtLength))) : null;
+            blockEntities[i] = new BlockEntity(xz & 0xF, y, (xz >> 4) & 0xF, handler, nbt);
+        }
+        return new ChunkData(sections, blockEntities);
+    }
+
+    private static Palette readPalette(ByteBuffer buffer, Palette palette, int @Nullable [] mapping) {
+        final int bitsPerEntry = buffer.get();
+        int[] values = new int[buffer.getShort() & 0xFFFF];
+        for (int i = 0; i < values.length; i++) {
+            final int value = buffer.getInt();
+            values[i] = mapping != null ? mapping[value] : value;
+        }
+        if (values.length == 1) {
+            palette.fill(values[0]);
+        } else {
+            long[] indices = new long[buffer.getInt()];
+            buffer.asLongBuffer().get(indices);
+            buffer.position(buffer.position() + indices.length * Long.BYTES);
+            palette.load(values, indices, bitsPerEntry);
+        }
+        return palette;
+    }
+
+    private static byte[] readBytes(ByteBuffer buffer, int length) {
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        return new String(readBytes(buffer, buffer.getShort() & 0xFFFF), StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+        // Read-only
+        return AsyncUtils.VOID_FUTURE;
+    }
+
+    @Override
+    public boolean supportsParallelLoading() {
+        return true;
+    }
+
+    record ChunkData(SectionData[] sections, BlockEntity[] blockEntities) {
+    }
+
+    // The palettes are templates, only copied from
+    record SectionData(Palette blocks, Palette biomes, byte @Nullable [] skyLight, byte @Nullable [] blockLight) {
+    }
+
+    record BlockEntity(int x, int y, int z, int handler, @Nullable CompoundBinaryTag nbt) {
+    }
+}
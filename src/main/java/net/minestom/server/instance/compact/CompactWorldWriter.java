@@ -0,0 +1,241 @@
+package net.minestom.server.instance.compact;
+
+import it.unimi.dsi.fastutil.ints.Int2IntOpenHashMap;
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import it.unimi.dsi.fastutil.objects.Object2IntLinkedOpenHashMap;
+import net.kyori.adventure.nbt.BinaryTagIO;
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.InstanceContainer;
+import net.minestom.server.instance.Section;
+import net.minestom.server.instance.anvil.AnvilLoader;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
+import net.minestom.server.instance.palette.Palette;
+import net.minestom.server.registry.DynamicRegistry;
+import net.minestom.server.utils.ArrayUtils;
+import net.minestom.server.utils.MathUtils;
+import net.minestom.server.utils.validate.Check;
+import net.minestom.server.world.DimensionType;
+import net.minestom.server.world.biome.Biome;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.IntUnaryOperator;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Writes chunks to the file format read by {@link CompactWorldLoader}.
+ * <p>
+ * The file starts with a header containing the biome and block handler names, and the offset of every chunk.
+ * Chunks are stored one after the other, each section with its block and biome palettes (packed like the network format),
+ * then its sky and block light. Block entities follow the sections, with their NBT.
+ * <p>
+ * Block states are stored as ids, which only stay valid for the same {@link MinecraftServer#DATA_VERSION}.
+ */
+public final class CompactWorldWriter {
+    private static final Pattern REGION_FILE = Pattern.compile("r\\.(-?\\d+)\\.(-?\\d+)\\.mca");
+    private static final DynamicRegistry<Biome> BIOME_REGISTRY = MinecraftServer.getBiomeRegistry();
+    private static final BinaryTagIO.Writer TAG_WRITER = BinaryTagIO.writer();
+    private static final int BLOCK_BITS_PER_ENTRY = 4;
+    private static final int BIOME_BITS_PER_ENTRY = 1;
+
+    private CompactWorldWriter() {
+    }
+
+    /**
+     * Converts an Anvil world to the compact format, every chunk present in the region files is converted.
+     *
+     * @param anvilWorld    the world folder
+     * @param output        the file to write
+     * @param dimensionType the dimension of the world, defining its height
+     * @return the number of converted chunks
+     * @throws IOException if the world cannot be read or the file cannot be written
+     */
+    public static int convertAnvil(@NotNull Path anvilWorld, @NotNull Path output,
+                                   @NotNull DynamicRegistry.Key<DimensionType> dimensionType) throws IOException {
+        final AnvilLoader loader = new AnvilLoader(anvilWorld);
+        final InstanceContainer instance = new InstanceContainer(UUID.randomUUID(), dimensionType, loader);
+        List<CompletableFuture<Chunk>> futures = new ArrayList<>();
+        final Path regionFolder = anvilWorld.resolve("region");
+        if (Files.isDirectory(regionFolder)) {
+            try (Stream<Path> files = Files.list(regionFolder)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    final Matcher matcher = REGION_FILE.matcher(file.getFileName().toString());
+                    if (!matcher.matches()) continue;
+                    final int regionX = Integer.parseInt(matcher.group(1));
+                    final int regionZ = Integer.parseInt(matcher.group(2));
+                    for (int x = 0; x < 32; x++) {
+                        for (int z = 0; z < 32; z++) {
+                            futures.add(loader.loadChunk(instance, regionX * 32 + x, regionZ * 32 + z));
+                        }
+                    }
+                }
+            }
+        }
+        List<Chunk> chunks = new ArrayList<>();
+        for (CompletableFuture<Chunk> future : futures) {
+            final Chunk chunk = future.join();
+            if (chunk != null) chunks.add(chunk);
+        }
+        write(output, chunks);
+        chunks.forEach(loader::unloadChunk);
+        return chunks.size();
+    }
+
+    /**
+     * Writes chunks to a file, all the chunks must have the same height.
+     *
+     * @param path   the file to write
+     * @param chunks the chunks to write
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(@NotNull Path path, @NotNull Collection<? extends Chunk> chunks) throws IOException {
+        Object2IntLinkedOpenHashMap<String> biomes = new Object2IntLinkedOpenHashMap<>();
+        Object2IntLinkedOpenHashMap<String> handlers = new Object2IntLinkedOpenHashMap<>();
+        int minSection = 0, maxSection = 0;
+        boolean first = true;
+
+        // Encode the chunks first, their offsets depend on the size of the tables
+        IntArrayList positions = new IntArrayList(chunks.size() * 2);
+        List<byte[]> chunkData = new ArrayList<>(chunks.size());
+        for (Chunk chunk : chunks) {
+            if (first) {
+                minSection = chunk.getMinSection();
+                maxSection = chunk.getMaxSection();
+                first = false;
+            }
+            Check.argCondition(chunk.getMinSection() != minSection || chunk.getMaxSection() != maxSection,
+                    "All the chunks must have the same height");
+            positions.add(chunk.getChunkX());
+            positions.add(chunk.getChunkZ());
+            chunkData.add(writeChunk(chunk, biomes, handlers));
+        }
+
+        ByteArrayOutputStream headerBytes = new ByteArrayOutputStream();
+        DataOutputStream header = new DataOutputStream(headerBytes);
+        header.writeInt(CompactWorldLoader.MAGIC);
+        header.writeInt(CompactWorldLoader.VERSION);
+        header.writeInt(MinecraftServer.DATA_VERSION);
+        header.writeInt(minSection);
+        header.writeInt(maxSection - minSection);
+        header.writeInt(biomes.size());
+        for (String biome : biomes.keySet()) writeString(header, biome);
+        header.writeInt(handlers.size());
+        for (String handler : handlers.keySet()) writeString(header, handler);
+        header.writeInt(chunkData.size());
+
+        long offset = header.size() + (long) chunkData.size() * 3 * Integer.BYTES;
+        for (int i = 0; i < chunkData.size(); i++) {
+            Check.stateCondition(offset > Integer.MAX_VALUE, "World is too large");
+            header.writeInt(positions.getInt(i * 2));
+            header.writeInt(positions.getInt(i * 2 + 1));
+            header.writeInt((int) offset);
+            offset += chunkData.get(i).length;
+        }
+
+        if (path.getParent() != null) Files.createDirectories(path.getParent());
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(path))) {
+            headerBytes.writeTo(out);
+            for (byte[] data : chunkData) out.write(data);
+        }
+    }
+
+    private static byte[] writeChunk(Chunk chunk, Object2IntLinkedOpenHashMap<String> biomes,
+                                     Object2IntLinkedOpenHashMap<String> handlers) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        ByteArrayOutputStream blockEntityBytes = new ByteArrayOutputStream();
+        DataOutputStream blockEntities = new DataOutputStream(blockEntityBytes);
+        int blockEntityCount = 0;
+
+        final IntUnaryOperator biomeIndex = biomeId -> {
+            final DynamicRegistry.Key<Biome> key = Objects.requireNonNull(BIOME_REGISTRY.getKey(biomeId), "Unknown biome " + biomeId);
+            return biomes.computeIfAbsent(key.name(), name -> biomes.size());
+        };
+        synchronized (chunk) {
+            for (int sectionY = chunk.getMinSection(); sectionY < chunk.getMaxSection(); sectionY++) {
+                final Section section = chunk.getSection(sectionY);
+                final byte[] skyLight = section.skyLight().array();
+                final byte[] blockLight = section.blockLight().array();
+                final boolean hasSkyLight = skyLight != null && skyLight.length == CompactWorldLoader.LIGHT_LENGTH;
+                final boolean hasBlockLight = blockLight != null && blockLight.length == CompactWorldLoader.LIGHT_LENGTH;
+                out.writeByte((hasSkyLight ? CompactWorldLoader.FLAG_SKY_LIGHT : 0) |
+                        (hasBlockLight ? CompactWorldLoader.FLAG_BLOCK_LIGHT : 0));
+                writePalette(out, section.blockPalette(), BLOCK_BITS_PER_ENTRY, IntUnaryOperator.identity());
+                writePalette(out, section.biomePalette(), BIOME_BITS_PER_ENTRY, biomeIndex);
+                if (hasSkyLight) out.write(skyLight);
+                if (hasBlockLight) out.write(blockLight);
+
+                // Blocks with data not stored in the palette
+                final int minY = sectionY * Chunk.CHUNK_SECTION_SIZE;
+                for (int y = minY; y < minY + Chunk.CHUNK_SECTION_SIZE; y++) {
+                    for (int z = 0; z < Chunk.CHUNK_SIZE_Z; z++) {
+                        for (int x = 0; x < Chunk.CHUNK_SIZE_X; x++) {
+                            final Block block = chunk.getBlock(x, y, z);
+                            final BlockHandler handler = block.handler();
+                            final CompoundBinaryTag nbt = block.nbt();
+                            if (handler == null && nbt == null) continue;
+                            blockEntities.writeByte((z << 4) | x);
+                            blockEntities.writeInt(y);
+                            blockEntities.writeInt(handler != null ?
+                                    handlers.computeIfAbsent(handler.getNamespaceId().asString(), name -> handlers.size()) : -1);
+                            if (nbt != null) {
+                                ByteArrayOutputStream nbtBytes = new ByteArrayOutputStream();
+                                TAG_WRITER.write(nbt, nbtBytes);
+                                blockEntities.writeInt(nbtBytes.size());
+                                nbtBytes.writeTo(blockEntities);
+                            } else {
+                                blockEntities.writeInt(0);
+                            }
+                            blockEntityCount++;
+                        }
+                    }
+                }
+            }
+        }
+        out.writeInt(blockEntityCount);
+        blockEntityBytes.writeTo(out);
+        return bytes.toByteArray();
+    }
+
+    private static void writePalette(DataOutputStream out, Palette palette, int minBitsPerEntry,
+                                     IntUnaryOperator mapping) throws IOException {
+        final int dimension = palette.dimension();
+        Int2IntOpenHashMap valueIndexes = new Int2IntOpenHashMap();
+        IntArrayList values = new IntArrayList();
+        int[] indices = new int[palette.maxSize()];
+        palette.getAll((x, y, z, value) -> {
+            final int index = valueIndexes.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+            indices[(y * dimension + z) * dimension + x] = index;
+        });
+
+        final int bitsPerEntry = values.size() > 1 ?
+                Math.max(minBitsPerEntry, MathUtils.bitsToRepresent(values.size() - 1)) : 0;
+        out.writeByte(bitsPerEntry);
+        out.writeShort(values.size());
+        for (int i = 0; i < values.size(); i++) out.writeInt(mapping.applyAsInt(values.getInt(i)));
+        if (values.size() > 1) {
+            final long[] packed = ArrayUtils.pack(indices, bitsPerEntry);
+            out.writeInt(packed.length);
+            for (long value : packed) out.writeLong(value);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeShort(bytes.length);
+        out.write(bytes);
+    }
+}
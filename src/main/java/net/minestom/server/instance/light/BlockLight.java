@@ -1,15 +1,14 @@
 package net.minestom.server.instance.light;
 
-import it.unimi.dsi.fastutil.shorts.ShortArrayFIFOQueue;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.Section;
-import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.palette.Palette;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -46,28 +45,24 @@ final class BlockLight implements Light {
         return toUpdateSet;
     }
 
-    static ShortArrayFIFOQueue buildInternalQueue(Palette blockPalette) {
-        ShortArrayFIFOQueue lightSources = new ShortArrayFIFOQueue();
+    static LightQueue buildInternalQueue(Palette blockPalette) {
+        LightQueue lightSources = LightCompute.sourceQueue();
+        // Only air
+        if (blockPalette.count() == 0) return lightSources;
         // Apply section light
         blockPalette.getAllPresent((x, y, z, stateId) -> {
-            final Block block = Block.fromStateId((short) stateId);
-            assert block != null;
-            final byte lightEmission = (byte) block.registry().lightEmission();
+            final int lightEmission = OcclusionTable.lightEmission(stateId);
 
             final int index = x | (z << 4) | (y << 8);
             if (lightEmission > 0) {
-                lightSources.enqueue((short) (index | (lightEmission << 12)));
+                lightSources.enqueue(index | (lightEmission << 12));
             }
         });
         return lightSources;
     }
 
-    private static Block getBlock(Palette palette, int x, int y, int z) {
-        return Block.fromStateId((short)palette.get(x, y, z));
-    }
-
-    private ShortArrayFIFOQueue buildExternalQueue(Instance instance, Palette blockPalette, Point[] neighbors, byte[] content) {
-        ShortArrayFIFOQueue lightSources = new ShortArrayFIFOQueue();
+    private LightQueue buildExternalQueue(Instance instance, Palette blockPalette, Point[] neighbors, byte[] content) {
+        LightQueue lightSources = LightCompute.sourceQueue();
 
         for (int i = 0; i < neighbors.length; i++) {
             var face = BlockFace.values()[i];
@@ -110,32 +105,23 @@ final class BlockLight implements Light {
                         if (lightEmission <= internalEmission) continue;
                     }
 
-                    final Block blockTo = switch(face) {
-                        case NORTH, SOUTH -> getBlock(blockPalette, bx, by, k);
-                        case WEST, EAST -> getBlock(blockPalette, k, bx, by);
-                        default -> getBlock(blockPalette, bx, k, by);
+                    final int stateTo = switch(face) {
+                        case NORTH, SOUTH -> blockPalette.get(bx, by, k);
+                        case WEST, EAST -> blockPalette.get(k, bx, by);
+                        default -> blockPalette.get(bx, k, by);
                     };
 
-                    final Block blockFrom = (switch (face) {
-                        case NORTH, SOUTH -> getBlock(otherSection.blockPalette(), bx, by, 15 - k);
-                        case WEST, EAST -> getBlock(otherSection.blockPalette(), 15 - k, bx, by);
-                        default -> getBlock(otherSection.blockPalette(), bx, 15 - k, by);
-                    });
-
-                    if (blockTo == null && blockFrom != null) {
-                        if (blockFrom.registry().collisionShape().isOccluded(Block.AIR.registry().collisionShape(), face.getOppositeFace()))
-                            continue;
-                    } else if (blockTo != null && blockFrom == null) {
-                        if (Block.AIR.registry().collisionShape().isOccluded(blockTo.registry().collisionShape(), face))
-                            continue;
-                    } else if (blockTo != null && blockFrom != null) {
-                        if (blockFrom.registry().collisionShape().isOccluded(blockTo.registry().collisionShape(), face.getOppositeFace()))
-                            continue;
-                    }
+                    final int stateFrom = switch (face) {
+                        case NORTH, SOUTH -> otherSection.blockPalette().get(bx, by, 15 - k);
+                        case WEST, EAST -> otherSection.blockPalette().get(15 - k, bx, by);
+                        default -> otherSection.blockPalette().get(bx, 15 - k, by);
+                    };
+
+                    if (OcclusionTable.isOccluded(stateFrom, stateTo, face.getOppositeFace().ordinal())) continue;
 
                     if (lightEmission > 0) {
                         final int index = posTo | (lightEmission << 12);
-                        lightSources.enqueue((short) index);
+                        lightSources.enqueue(index);
                     }
                 }
             }
@@ -157,7 +143,7 @@ final class BlockLight implements Light {
         Set<Point> toUpdate = new HashSet<>();
 
         // Update single section with base lighting changes
-        ShortArrayFIFOQueue queue = buildInternalQueue(blockPalette);
+        LightQueue queue = buildInternalQueue(blockPalette);
 
         Result result = LightCompute.compute(blockPalette, queue);
         this.content = result.light();
@@ -206,6 +192,28 @@ final class BlockLight implements Light {
         this.needsSend.set(true);
     }
 
+    @Override
+    @ApiStatus.Internal
+    public void update(byte @NotNull [] light) {
+        // Already includes the light coming from the neighbors
+        this.content = light;
+        this.contentPropagation = null;
+        this.contentPropagationSwap = null;
+        this.isValidBorders.set(true);
+        this.needsSend.set(true);
+    }
+
+    @Override
+    @ApiStatus.Internal
+    public Light copy(@NotNull Palette blockPalette) {
+        BlockLight light = new BlockLight(blockPalette);
+        light.content = content;
+        light.contentPropagation = contentPropagation;
+        light.isValidBorders.set(isValidBorders.get());
+        light.needsSend.set(needsSend.get());
+        return light;
+    }
+
     @Override
     public boolean requiresSend() {
         return needsSend.getAndSet(false);
@@ -229,7 +237,7 @@ final class BlockLight implements Light {
 
         Point[] neighbors = Light.getNeighbors(chunk, sectionY);
 
-        ShortArrayFIFOQueue queue = buildExternalQueue(instance, blockPalette, neighbors, content);
+        LightQueue queue = buildExternalQueue(instance, blockPalette, neighbors, content);
         LightCompute.Result result = LightCompute.compute(blockPalette, queue);
 
         byte[] contentPropagationTemp = result.light();
@@ -45,6 +45,27 @@ public interface Light {
 
     void set(byte[] copyArray);
 
+    /**
+     * Replaces the light of this section with an array computed outside of it, without copying it.
+     * <p>
+     * The section is marked as valid and will be sent to the viewers.
+     *
+     * @param light the new light, must not be modified afterward
+     */
+    @ApiStatus.Internal
+    void update(byte @NotNull [] light);
+
+    /**
+     * Copies this light for a section using another block palette.
+     * <p>
+     * Computed light arrays are never modified, the copy shares them.
+     *
+     * @param blockPalette the block palette of the new section
+     * @return the light copy
+     */
+    @ApiStatus.Internal
+    Light copy(@NotNull Palette blockPalette);
+
     @ApiStatus.Internal
     static Point[] getNeighbors(Chunk chunk, int sectionY) {
         int chunkX = chunk.getChunkX();
@@ -1,14 +1,10 @@
 package net.minestom.server.instance.light;
 
-import it.unimi.dsi.fastutil.shorts.ShortArrayFIFOQueue;
-import net.minestom.server.instance.block.Block;
-import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.palette.Palette;
 import net.minestom.server.utils.Direction;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
-import java.util.Objects;
 
 import static net.minestom.server.instance.light.BlockLight.buildInternalQueue;
 
@@ -24,29 +20,49 @@ public final class LightCompute {
         Arrays.fill(contentFullyLit, (byte) -1);
     }
 
+    private static final ThreadLocal<Workspace> WORKSPACE = ThreadLocal.withInitial(Workspace::new);
+
     static @NotNull Result compute(Palette blockPalette) {
         return LightCompute.compute(blockPalette, buildInternalQueue(blockPalette));
     }
 
+    /**
+     * Gets an empty queue to fill with the light sources of a section.
+     * <p>
+     * The queue is owned by the current thread and is reused by the next call,
+     * it must be given to {@link #compute(Palette, LightQueue)} before computing another section.
+     *
+     * @return the empty queue
+     */
+    static @NotNull LightQueue sourceQueue() {
+        final LightQueue queue = WORKSPACE.get().pending;
+        queue.clear();
+        return queue;
+    }
+
     /**
      * Computes light in one section
      * <p>
-     * Takes queue of lights positions and spreads light from this positions in 3d using Breadth-first search
+     * Takes queue of lights positions and spreads light from this positions in 3d using Breadth-first search.
+     * The blocks are read once from the palette, sections only made of air or of a single
+     * transparent or opaque block do not need any occlusion check.
      * @param blockPalette blocks placed in section
      * @param lightPre shorts queue in format: [4bit light level][4bit y][4bit z][4bit x]
      * @return lighting wrapped in Result
      */
-    static @NotNull Result compute(Palette blockPalette, ShortArrayFIFOQueue lightPre) {
+    static @NotNull Result compute(Palette blockPalette, LightQueue lightPre) {
         if (lightPre.isEmpty()) {
             return new Result(emptyContent);
         }
 
         final byte[] lightArray = new byte[LIGHT_LENGTH];
 
-        final ShortArrayFIFOQueue lightSources = new ShortArrayFIFOQueue();
+        final Workspace workspace = WORKSPACE.get();
+        final LightQueue lightSources = workspace.sources;
+        lightSources.clear();
 
         while (!lightPre.isEmpty()) {
-            final int index = lightPre.dequeueShort();
+            final int index = lightPre.dequeue();
 
             final int newLightLevel = (index >> 12) & 15;
             final int newIndex = index & 0xFFF;
@@ -55,17 +71,30 @@ public final class LightCompute {
 
             if (oldLightLevel < newLightLevel) {
                 placeLight(lightArray, newIndex, newLightLevel);
-                lightSources.enqueue((short) index);
+                lightSources.enqueue(index);
+            }
+        }
+
+        // Only air, nothing occludes
+        int[] states = null;
+        if (blockPalette.count() != 0) {
+            states = workspace.readStates(blockPalette);
+            final int uniformState = uniformState(states);
+            if (uniformState != -1) {
+                // Light cannot leave the sources
+                if (OcclusionTable.isOpaque(uniformState)) return new Result(lightArray);
+                if (OcclusionTable.isTransparent(uniformState)) states = null;
             }
         }
 
         while (!lightSources.isEmpty()) {
-            final int index = lightSources.dequeueShort();
+            final int index = lightSources.dequeue();
             final int x = index & 15;
             final int z = (index >> 4) & 15;
             final int y = (index >> 8) & 15;
             final int lightLevel = (index >> 12) & 15;
             final byte newLightLevel = (byte) (lightLevel - 1);
+            final int currentIndex = index & 0xFFF;
 
             for (Direction direction : DIRECTIONS) {
                 final int xO = x + direction.normalX();
@@ -81,20 +110,45 @@ public final class LightCompute {
                 final int newIndex = xO | (zO << 4) | (yO << 8);
 
                 if (getLight(lightArray, newIndex) < newLightLevel) {
-                    final Block currentBlock = Objects.requireNonNullElse(Block.fromStateId((short)blockPalette.get(x, y, z)), Block.AIR);
-                    final Block propagatedBlock = Objects.requireNonNullElse(Block.fromStateId((short)blockPalette.get(xO, yO, zO)), Block.AIR);
-
-                    final boolean airAir = currentBlock.isAir() && propagatedBlock.isAir();
-                    if (!airAir && currentBlock.registry().collisionShape().isOccluded(propagatedBlock.registry().collisionShape(), BlockFace.fromDirection(direction))) continue;
+                    // Directions and block faces share the same order
+                    if (states != null && OcclusionTable.isOccluded(states[currentIndex], states[newIndex], direction.ordinal())) continue;
 
                     placeLight(lightArray, newIndex, newLightLevel);
-                    lightSources.enqueue((short) (newIndex | (newLightLevel << 12)));
+                    lightSources.enqueue(newIndex | (newLightLevel << 12));
                 }
             }
         }
         return new Result(lightArray);
     }
 
+    private static int uniformState(int[] states) {
+        final int first = states[0];
+        for (int state : states) {
+            if (state != first) return -1;
+        }
+        return first;
+    }
+
+    /**
+     * Buffers reused by the computations of a thread.
+     */
+    private static final class Workspace implements Palette.EntryConsumer {
+        final LightQueue pending = new LightQueue();
+        final LightQueue sources = new LightQueue();
+        // Block states by light index
+        final int[] states = new int[SECTION_SIZE * SECTION_SIZE * SECTION_SIZE];
+
+        int[] readStates(Palette blockPalette) {
+            blockPalette.getAll(this);
+            return states;
+        }
+
+        @Override
+        public void accept(int x, int y, int z, int value) {
+            states[x | (z << 4) | (y << 8)] = value;
+        }
+    }
+
     record Result(byte[] light) {
         Result {
             assert light.length == LIGHT_LENGTH : "Only 16x16x16 sections are supported: " + light.length;
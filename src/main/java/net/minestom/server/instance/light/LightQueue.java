@@ -0,0 +1,52 @@
+package net.minestom.server.instance.light;
+
+import java.util.Arrays;
+
+/**
+ * FIFO queue of light entries in the format [4bit light level][4bit y][4bit z][4bit x].
+ * <p>
+ * Instances are reused by {@link LightCompute} between computations, the backing array only grows
+ * when a computation needs more entries than any previous one.
+ */
+final class LightQueue {
+    private short[] elements = new short[4096];
+    private int head, tail;
+
+    void enqueue(int entry) {
+        short[] elements = this.elements;
+        elements[tail] = (short) entry;
+        tail = (tail + 1) & (elements.length - 1);
+        if (tail == head) grow();
+    }
+
+    int dequeue() {
+        assert !isEmpty();
+        final int entry = elements[head] & 0xFFFF;
+        head = (head + 1) & (elements.length - 1);
+        return entry;
+    }
+
+    boolean isEmpty() {
+        return head == tail;
+    }
+
+    int size() {
+        return (tail - head) & (elements.length - 1);
+    }
+
+    void clear() {
+        this.head = 0;
+        this.tail = 0;
+    }
+
+    private void grow() {
+        // Full, unwrap the entries in a twice larger array
+        final short[] elements = this.elements;
+        final int length = elements.length;
+        short[] grown = Arrays.copyOf(elements, length * 2);
+        System.arraycopy(elements, 0, grown, length, head);
+        // Entries are now from head to head + length
+        this.elements = grown;
+        this.tail = head + length;
+    }
+}
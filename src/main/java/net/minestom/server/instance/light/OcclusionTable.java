@@ -0,0 +1,124 @@
+package net.minestom.server.instance.light;
+
+import net.minestom.server.collision.Shape;
+import net.minestom.server.collision.ShapeImpl;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockFace;
+import org.jetbrains.annotations.ApiStatus;
+
+import java.util.Arrays;
+
+/**
+ * Light occlusion of every block state, indexed by state id.
+ * <p>
+ * Each entry packs the faces fully covered by the occlusion shape, the faces not covered at all, and the light emission.
+ * Deciding whether light passes between two blocks only requires the shapes when both touching faces are partial.
+ * Gives the same result as {@link Shape#isOccluded(Shape, BlockFace)}, unknown state ids are treated as air.
+ */
+@ApiStatus.Internal
+public final class OcclusionTable {
+    private static final int FULL_SHIFT = 0;
+    private static final int AIR_SHIFT = 6;
+    private static final int EMISSION_SHIFT = 12;
+    private static final int ALL_FACES = 0b111111;
+    private static final BlockFace[] FACES = BlockFace.values();
+
+    private OcclusionTable() {
+    }
+
+    /**
+     * Gets if light going out of a block through one of its faces is blocked by the adjacent block.
+     *
+     * @param fromState the state id of the block the light comes from
+     * @param toState   the state id of the adjacent block
+     * @param face      the {@link BlockFace} ordinal of {@code fromState} facing {@code toState}
+     * @return true if the light cannot pass
+     */
+    public static boolean isOccluded(int fromState, int toState, int face) {
+        final int from = entry(fromState), to = entry(toState);
+        final int opposite = face ^ 1;
+        // Light sources only need the other face to be open
+        if ((from >>> EMISSION_SHIFT) != 0) return (to >>> (FULL_SHIFT + opposite) & 1) != 0;
+        if (((from >>> (FULL_SHIFT + face) | to >>> (FULL_SHIFT + opposite)) & 1) != 0) return true;
+        if (((from >>> (AIR_SHIFT + face) | to >>> (AIR_SHIFT + opposite)) & 1) != 0) return false;
+        // Two partial faces
+        final Shape[] shapes = Holder.SHAPES;
+        return shapes[fromState].isOccluded(shapes[toState], FACES[face]);
+    }
+
+    /**
+     * Gets the light emitted by a block state.
+     *
+     * @param state the state id
+     * @return the light emission, between 0 and 15
+     */
+    public static int lightEmission(int state) {
+        return entry(state) >>> EMISSION_SHIFT;
+    }
+
+    /**
+     * Gets if a block state lets light go through all of its faces, meaning that a section
+     * only made of this state never occludes light.
+     *
+     * @param state the state id
+     * @return true if all the faces are open
+     */
+    public static boolean isTransparent(int state) {
+        final int entry = entry(state);
+        return (entry >>> FULL_SHIFT & ALL_FACES) == 0 && (entry >>> AIR_SHIFT & ALL_FACES) == ALL_FACES;
+    }
+
+    /**
+     * Gets if a block state blocks light on all of its faces, meaning that a section
+     * only made of this state never lets light spread.
+     *
+     * @param state the state id
+     * @return true if all the faces are full
+     */
+    public static boolean isOpaque(int state) {
+        return (entry(state) >>> FULL_SHIFT & ALL_FACES) == ALL_FACES;
+    }
+
+    private static int entry(int state) {
+        final int[] entries = Holder.ENTRIES;
+        return state >= 0 && state < entries.length ? entries[state] : Holder.AIR_ENTRY;
+    }
+
+    private static final class Holder {
+        private static final int[] ENTRIES;
+        private static final Shape[] SHAPES;
+        private static final int AIR_ENTRY;
+
+        static {
+            int maxState = 0;
+            for (Block block : Block.values()) {
+                for (Block state : block.possibleStates()) maxState = Math.max(maxState, state.stateId());
+            }
+            // Ids without a state are air
+            final Shape airShape = Block.AIR.registry().collisionShape();
+            final int airEntry = entry(airShape, 0);
+            int[] entries = new int[maxState + 1];
+            Shape[] shapes = new Shape[maxState + 1];
+            Arrays.fill(entries, airEntry);
+            Arrays.fill(shapes, airShape);
+            for (Block block : Block.values()) {
+                for (Block state : block.possibleStates()) {
+                    final Shape shape = state.registry().collisionShape();
+                    shapes[state.stateId()] = shape;
+                    entries[state.stateId()] = entry(shape, state.registry().lightEmission());
+                }
+            }
+            ENTRIES = entries;
+            SHAPES = shapes;
+            AIR_ENTRY = airEntry;
+        }
+
+        private static int entry(Shape shape, int lightEmission) {
+            // Unknown shapes always go through the shape computation
+            if (!(shape instanceof ShapeImpl shapeImpl)) return lightEmission << EMISSION_SHIFT;
+            return (shapeImpl.blockOcclusion() & ALL_FACES) << FULL_SHIFT |
+                    (shapeImpl.airOcclusion() & ALL_FACES) << AIR_SHIFT |
+                    lightEmission << EMISSION_SHIFT;
+        }
+    }
+}
@@ -1,16 +1,15 @@
 package net.minestom.server.instance.light;
 
-import it.unimi.dsi.fastutil.shorts.ShortArrayFIFOQueue;
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.Chunk;
 import net.minestom.server.instance.Instance;
 import net.minestom.server.instance.LightingChunk;
 import net.minestom.server.instance.Section;
-import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockFace;
 import net.minestom.server.instance.palette.Palette;
 import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
 import java.util.HashSet;
@@ -48,8 +47,8 @@ final class SkyLight implements Light {
         return toUpdateSet;
     }
 
-    static ShortArrayFIFOQueue buildInternalQueue(Chunk c, int sectionY) {
-        ShortArrayFIFOQueue lightSources = new ShortArrayFIFOQueue();
+    static LightQueue buildInternalQueue(Chunk c, int sectionY) {
+        LightQueue lightSources = LightCompute.sourceQueue();
 
         if (c instanceof LightingChunk lc) {
             int[] heightmap = lc.getOcclusionMap();
@@ -63,7 +62,7 @@ final class SkyLight implements Light {
 
                     for (int y = Math.min(sectionMaxY, maxY); y >= Math.max(height, sectionMinY); y--) {
                         int index = x | (z << 4) | ((y % 16) << 8);
-                        lightSources.enqueue((short) (index | (15 << 12)));
+                        lightSources.enqueue(index | (15 << 12));
                     }
                 }
             }
@@ -72,12 +71,8 @@ final class SkyLight implements Light {
         return lightSources;
     }
 
-    private static Block getBlock(Palette palette, int x, int y, int z) {
-        return Block.fromStateId((short)palette.get(x, y, z));
-    }
-
-    private ShortArrayFIFOQueue buildExternalQueue(Instance instance, Palette blockPalette, Point[] neighbors, byte[] content) {
-        ShortArrayFIFOQueue lightSources = new ShortArrayFIFOQueue();
+    private LightQueue buildExternalQueue(Instance instance, Palette blockPalette, Point[] neighbors, byte[] content) {
+        LightQueue lightSources = LightCompute.sourceQueue();
 
         for (int i = 0; i < neighbors.length; i++) {
             var face = BlockFace.values()[i];
@@ -120,33 +115,24 @@ final class SkyLight implements Light {
                         if (lightEmission <= internalEmission) continue;
                     }
 
-                    final Block blockTo = switch (face) {
-                        case NORTH, SOUTH -> getBlock(blockPalette, bx, by, k);
-                        case WEST, EAST -> getBlock(blockPalette, k, bx, by);
-                        default -> getBlock(blockPalette, bx, k, by);
+                    final int stateTo = switch (face) {
+                        case NORTH, SOUTH -> blockPalette.get(bx, by, k);
+                        case WEST, EAST -> blockPalette.get(k, bx, by);
+                        default -> blockPalette.get(bx, k, by);
                     };
 
-                    final Block blockFrom = (switch (face) {
-                        case NORTH, SOUTH -> getBlock(otherSection.blockPalette(), bx, by, 15 - k);
-                        case WEST, EAST -> getBlock(otherSection.blockPalette(), 15 - k, bx, by);
-                        default -> getBlock(otherSection.blockPalette(), bx, 15 - k, by);
-                    });
-
-                    if (blockTo == null && blockFrom != null) {
-                        if (blockFrom.registry().collisionShape().isOccluded(Block.AIR.registry().collisionShape(), face.getOppositeFace()))
-                            continue;
-                    } else if (blockTo != null && blockFrom == null) {
-                        if (Block.AIR.registry().collisionShape().isOccluded(blockTo.registry().collisionShape(), face))
-                            continue;
-                    } else if (blockTo != null && blockFrom != null) {
-                        if (blockFrom.registry().collisionShape().isOccluded(blockTo.registry().collisionShape(), face.getOppositeFace()))
-                            continue;
-                    }
+                    final int stateFrom = switch (face) {
+                        case NORTH, SOUTH -> otherSection.blockPalette().get(bx, by, 15 - k);
+                        case WEST, EAST -> otherSection.blockPalette().get(15 - k, bx, by);
+                        default -> otherSection.blockPalette().get(bx, 15 - k, by);
+                    };
+
+                    if (OcclusionTable.isOccluded(stateFrom, stateTo, face.getOppositeFace().ordinal())) continue;
 
                     final int index = posTo | (lightEmission << 12);
 
                     if (lightEmission > 0) {
-                        lightSources.enqueue((short) index);
+                        lightSources.enqueue(index);
                     }
                 }
             }
@@ -166,7 +152,7 @@ final class SkyLight implements Light {
 
         // Update single section with base lighting changes
         int queueSize = SECTION_SIZE * SECTION_SIZE * SECTION_SIZE;
-        ShortArrayFIFOQueue queue = new ShortArrayFIFOQueue(0);
+        LightQueue queue = null;
         if (!fullyLit) {
             queue = buildInternalQueue(chunk, sectionY);
             queueSize = queue.size();
@@ -228,6 +214,30 @@ final class SkyLight implements Light {
         this.needsSend.set(true);
     }
 
+    @Override
+    @ApiStatus.Internal
+    public void update(byte @NotNull [] light) {
+        // Already includes the light coming from the neighbors
+        this.content = light;
+        this.contentPropagation = null;
+        this.contentPropagationSwap = null;
+        this.fullyLit = false;
+        this.isValidBorders.set(true);
+        this.needsSend.set(true);
+    }
+
+    @Override
+    @ApiStatus.Internal
+    public Light copy(@NotNull Palette blockPalette) {
+        SkyLight light = new SkyLight(blockPalette);
+        light.content = content;
+        light.contentPropagation = contentPropagation;
+        light.fullyLit = fullyLit;
+        light.isValidBorders.set(isValidBorders.get());
+        light.needsSend.set(needsSend.get());
+        return light;
+    }
+
     @Override
     public boolean requiresSend() {
         return needsSend.getAndSet(false);
@@ -252,7 +262,7 @@ final class SkyLight implements Light {
         Point[] neighbors = Light.getNeighbors(chunk, sectionY);
         Set<Point> toUpdate = new HashSet<>();
 
-        ShortArrayFIFOQueue queue;
+        LightQueue queue;
 
         byte[] contentPropagationTemp = contentFullyLit;
 
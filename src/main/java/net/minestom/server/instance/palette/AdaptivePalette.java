@@ -10,6 +10,8 @@ import java.util.function.IntUnaryOperator;
 
 /**
  * Palette that switches between its backend based on the use case.
+ * <p>
+ * Clones share their backend, which is copied by the first palette modifying it.
  */
 final class AdaptivePalette implements Palette, Cloneable {
     final byte dimension, defaultBitsPerEntry, maxBitsPerEntry;
@@ -51,14 +53,14 @@ final class AdaptivePalette implements Palette, Cloneable {
 
     @Override
     public void fill(int value) {
-        this.palette = new FilledPalette(dimension, value);
+        replacePalette(new FilledPalette(dimension, value));
     }
 
     @Override
     public void setAll(@NotNull EntrySupplier supplier) {
         SpecializedPalette newPalette = new FlexiblePalette(this);
         newPalette.setAll(supplier);
-        this.palette = newPalette;
+        replacePalette(newPalette);
     }
 
     @Override
@@ -74,6 +76,30 @@ final class AdaptivePalette implements Palette, Cloneable {
         flexiblePalette().replaceAll(function);
     }
 
+    @Override
+    public void load(int @NotNull [] palette, long @NotNull [] indices, int bitsPerEntry) {
+        if (palette.length == 1) {
+            fill(palette[0]);
+            return;
+        }
+        FlexiblePalette newPalette = new FlexiblePalette(this);
+        newPalette.load(palette, indices, bitsPerEntry);
+        replacePalette(newPalette);
+    }
+
+    @Override
+    public void copyFrom(@NotNull Palette source) {
+        if (source == this) return;
+        if (!(source instanceof AdaptivePalette adaptivePalette) || adaptivePalette.dimension != dimension ||
+                adaptivePalette.maxBitsPerEntry != maxBitsPerEntry) {
+            setAll(source::get);
+            return;
+        }
+        final SpecializedPalette sourcePalette = adaptivePalette.palette;
+        if (sourcePalette instanceof FlexiblePalette flexiblePalette) flexiblePalette.retain();
+        replacePalette(sourcePalette);
+    }
+
     @Override
     public int count() {
         return palette.count();
@@ -98,7 +124,8 @@ final class AdaptivePalette implements Palette, Cloneable {
     public @NotNull Palette clone() {
         try {
             AdaptivePalette adaptivePalette = (AdaptivePalette) super.clone();
-            adaptivePalette.palette = palette.clone();
+            // Share the backend until either palette is modified
+            if (palette instanceof FlexiblePalette flexiblePalette) flexiblePalette.retain();
             return adaptivePalette;
         } catch (CloneNotSupportedException e) {
             throw new RuntimeException(e);
@@ -108,7 +135,7 @@ final class AdaptivePalette implements Palette, Cloneable {
     @Override
     public void write(@NotNull NetworkBuffer writer) {
         final SpecializedPalette optimized = optimizedPalette();
-        this.palette = optimized;
+        if (optimized != palette) replacePalette(optimized);
         optimized.write(writer);
     }
 
@@ -126,7 +153,7 @@ final class AdaptivePalette implements Palette, Cloneable {
                 final int bitsPerEntry;
                 if (entries.size() == 1) {
                     return new FilledPalette(dimension, entries.iterator().nextInt());
-                } else if (currentBitsPerEntry > defaultBitsPerEntry &&
+                } else if (currentBitsPerEntry > defaultBitsPerEntry && !flexiblePalette.isShared() &&
                         (bitsPerEntry = MathUtils.bitsToRepresent(entries.size() - 1)) < currentBitsPerEntry) {
                     flexiblePalette.resize((byte) bitsPerEntry);
                     return flexiblePalette;
@@ -142,10 +169,20 @@ final class AdaptivePalette implements Palette, Cloneable {
             currentPalette = new FlexiblePalette(this);
             currentPalette.fill(filledPalette.value());
             this.palette = currentPalette;
+        } else if (currentPalette instanceof FlexiblePalette flexiblePalette && flexiblePalette.isShared()) {
+            // Copy on write, the shared palette must be fully read before being released
+            currentPalette = flexiblePalette.clone();
+            flexiblePalette.release();
+            this.palette = currentPalette;
         }
         return currentPalette;
     }
 
+    private void replacePalette(SpecializedPalette newPalette) {
+        if (palette instanceof FlexiblePalette flexiblePalette) flexiblePalette.release();
+        this.palette = newPalette;
+    }
+
     private static void validateDimension(int dimension) {
         if (dimension <= 1 || (dimension & dimension - 1) != 0)
             throw new IllegalArgumentException("Dimension must be a positive power of 2");
@@ -5,6 +5,7 @@ import it.unimi.dsi.fastutil.ints.IntArrayList;
 import net.minestom.server.MinecraftServer;
 import net.minestom.server.network.NetworkBuffer;
 import net.minestom.server.utils.MathUtils;
+import net.minestom.server.utils.validate.Check;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Arrays;
@@ -15,6 +16,8 @@ import static net.minestom.server.network.NetworkBuffer.*;
 
 /**
  * Palette able to take any value anywhere. May consume more memory than required.
+ * <p>
+ * Can be shared by multiple {@link AdaptivePalette} after a clone, in which case it must not be modified.
  */
 final class FlexiblePalette implements SpecializedPalette, Cloneable {
     private static final ThreadLocal<int[]> WRITE_CACHE = ThreadLocal.withInitial(() -> new int[4096]);
@@ -29,6 +32,8 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
     IntArrayList paletteToValueList;
     // value = palette index
     private Int2IntOpenHashMap valueToPaletteMap;
+    // Number of adaptive palettes using this one
+    private AtomicInteger references = new AtomicInteger(1);
 
     FlexiblePalette(AdaptivePalette adaptivePalette, byte bitsPerEntry) {
         this.adaptivePalette = adaptivePalette;
@@ -173,6 +178,70 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         this.count = count.getPlain();
     }
 
+    @Override
+    public void load(int @NotNull [] palette, long @NotNull [] indices, int bitsPerEntry) {
+        Check.argCondition(palette.length == 0, "Palette cannot be empty");
+        Check.argCondition(bitsPerEntry <= 0 || bitsPerEntry > 31, "Invalid bits per entry");
+        final int size = maxSize();
+        final int valuesPerLong = 64 / bitsPerEntry;
+        Check.argCondition(indices.length < (size + valuesPerLong - 1) / valuesPerLong, "Missing packed indices");
+
+        // Size the palette for all the entries, and the default value if missing
+        final int entryCount = palette[0] == 0 ? palette.length : palette.length + 1;
+        byte newBitsPerEntry = (byte) Math.max(adaptivePalette.defaultBitsPerEntry, MathUtils.bitsToRepresent(entryCount - 1));
+        if (newBitsPerEntry > maxBitsPerEntry()) newBitsPerEntry = 15;
+        this.bitsPerEntry = newBitsPerEntry;
+        this.paletteToValueList = new IntArrayList(entryCount);
+        this.paletteToValueList.add(0);
+        this.valueToPaletteMap = new Int2IntOpenHashMap(entryCount);
+        this.valueToPaletteMap.put(0, 0);
+        this.valueToPaletteMap.defaultReturnValue(-1);
+
+        final int[] mapping = new int[palette.length];
+        boolean identity = hasPalette() && newBitsPerEntry == bitsPerEntry;
+        for (int i = 0; i < palette.length; i++) {
+            final int paletteIndex = getPaletteIndex(palette[i]);
+            mapping[i] = paletteIndex;
+            identity &= paletteIndex == i;
+        }
+
+        final long mask = (1L << bitsPerEntry) - 1;
+        if (identity && indices.length == (size + valuesPerLong - 1) / valuesPerLong) {
+            // Same layout, the indices are used as the values if they all point to the palette
+            int count = 0;
+            boolean valid = true;
+            for (int i = 0; i < size && valid; i++) {
+                final int paletteIndex = (int) (indices[i / valuesPerLong] >>> (i % valuesPerLong) * bitsPerEntry & mask);
+                valid = paletteIndex < palette.length;
+                if (paletteIndex != 0) count++;
+            }
+            if (valid) {
+                this.values = indices;
+                this.count = count;
+                return;
+            }
+        }
+
+        // Remap every index, out of bounds indices are read as the default value
+        int[] cache = WRITE_CACHE.get();
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            final int index = (int) (indices[i / valuesPerLong] >>> (i % valuesPerLong) * bitsPerEntry & mask);
+            final int value = index < mapping.length ? mapping[index] : 0;
+            cache[i] = value;
+            if (value != 0) count++;
+        }
+        final int newValuesPerLong = 64 / newBitsPerEntry;
+        this.values = new long[(size + newValuesPerLong - 1) / newValuesPerLong];
+        updateAll(cache);
+        this.count = count;
+    }
+
+    @Override
+    public void copyFrom(@NotNull Palette source) {
+        setAll(source::get);
+    }
+
     @Override
     public int count() {
         return count;
@@ -201,6 +270,7 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
             palette.paletteToValueList = paletteToValueList.clone();
             palette.valueToPaletteMap = valueToPaletteMap.clone();
             palette.count = count;
+            palette.references = new AtomicInteger(1);
             return palette;
         } catch (CloneNotSupportedException e) {
             MinecraftServer.getExceptionManager().handleException(e);
@@ -293,6 +363,23 @@ final class FlexiblePalette implements SpecializedPalette, Cloneable {
         return lastPaletteIndex;
     }
 
+    void retain() {
+        this.references.incrementAndGet();
+    }
+
+    void release() {
+        this.references.decrementAndGet();
+    }
+
+    /**
+     * Gets if this palette is used by other adaptive palettes, and needs to be copied before being modified.
+     * <p>
+     * Palettes are not always released, shared palettes may be copied without need.
+     */
+    boolean isShared() {
+        return references.get() > 1;
+    }
+
     boolean hasPalette() {
         return bitsPerEntry <= maxBitsPerEntry();
     }
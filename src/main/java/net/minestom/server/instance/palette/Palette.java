@@ -39,6 +39,27 @@ public interface Palette extends NetworkBuffer.Writer {
 
     void replaceAll(@NotNull EntryFunction function);
 
+    /**
+     * Replaces the whole content using packed palette indices, in the layout used by the network and the chunk format
+     * (YZX order, entries do not span across longs).
+     * <p>
+     * The indices array may be kept as the palette storage and must not be modified afterward.
+     *
+     * @param palette      the value of each palette index
+     * @param indices      the packed palette indices
+     * @param bitsPerEntry the number of bits of each packed index
+     */
+    void load(int @NotNull [] palette, long @NotNull [] indices, int bitsPerEntry);
+
+    /**
+     * Replaces the whole content with the content of another palette.
+     * <p>
+     * Palettes of the same kind share their storage until either of them is modified.
+     *
+     * @param source the palette to copy
+     */
+    void copyFrom(@NotNull Palette source);
+
     /**
      * Returns the number of entries in this palette.
      */
@@ -43,5 +43,15 @@ interface SpecializedPalette extends Palette {
         default void replaceAll(@NotNull EntryFunction function) {
             throw new UnsupportedOperationException();
         }
+
+        @Override
+        default void load(int @NotNull [] palette, long @NotNull [] indices, int bitsPerEntry) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        default void copyFrom(@NotNull Palette source) {
+            throw new UnsupportedOperationException();
+        }
     }
 }
@@ -173,6 +173,8 @@ public class BlockPlacementListener {
         Block resultBlock = playerBlockPlaceEvent.getBlock();
         instance.placeBlock(new BlockHandler.PlayerPlacement(resultBlock, instance, placementPosition, player, hand, blockFace,
                 packet.cursorPositionX(), packet.cursorPositionY(), packet.cursorPositionZ()), playerBlockPlaceEvent.shouldDoBlockUpdates());
+        // The client reverts its prediction if the acknowledgement comes before the block
+        chunk.flushBlockChanges();
         player.sendPacket(new AcknowledgeBlockChangePacket(packet.sequence()));
         // Block consuming
         if (playerBlockPlaceEvent.doesConsumeBlock()) {
@@ -0,0 +1,127 @@
+package net.minestom.server.monitoring;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Distribution of tick durations, with power-of-two nanosecond buckets.
+ * <p>
+ * Bucket {@code i} contains the samples in {@code [2^(i-1), 2^i)} nanoseconds.
+ */
+public final class TickHistogram {
+    static final int BUCKET_COUNT = 64;
+
+    private final long[] buckets;
+    private final long count;
+    private final long totalNanos;
+    private final long maxNanos;
+
+    TickHistogram(long[] buckets, long count, long totalNanos, long maxNanos) {
+        this.buckets = buckets;
+        this.count = count;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+    }
+
+    /**
+     * Gets the number of recorded samples.
+     *
+     * @return the sample count
+     */
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Gets the sum of all the recorded samples.
+     *
+     * @return the total time in nanoseconds
+     */
+    public long totalNanos() {
+        return totalNanos;
+    }
+
+    /**
+     * Gets the longest recorded sample.
+     *
+     * @return the maximum time in nanoseconds
+     */
+    public long maxNanos() {
+        return maxNanos;
+    }
+
+    /**
+     * Gets the average duration of a sample.
+     *
+     * @return the mean time in nanoseconds, 0 if empty
+     */
+    public double meanNanos() {
+        return count == 0 ? 0 : (double) totalNanos / count;
+    }
+
+    /**
+     * Gets an upper bound of the given percentile, with the precision of the bucket.
+     *
+     * @param percentile the percentile, between 0 and 1
+     * @return the percentile upper bound in nanoseconds, 0 if empty
+     */
+    public long percentileNanos(double percentile) {
+        if (percentile < 0 || percentile > 1)
+            throw new IllegalArgumentException("Percentile must be between 0 and 1: " + percentile);
+        if (count == 0) return 0;
+        final long target = Math.max(1, (long) Math.ceil(percentile * count));
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= target) return Math.min(maxNanos, i == 63 ? Long.MAX_VALUE : (1L << i) - 1);
+        }
+        return maxNanos;
+    }
+
+    /**
+     * Gets the number of samples in each bucket.
+     *
+     * @return a copy of the buckets
+     */
+    public long @NotNull [] buckets() {
+        return buckets.clone();
+    }
+
+    @Override
+    public String toString() {
+        return "TickHistogram{count=" + count + ", totalNanos=" + totalNanos + ", maxNanos=" + maxNanos +
+                ", buckets=" + Arrays.toString(buckets) + "}";
+    }
+
+    static int bucket(long nanos) {
+        return nanos <= 0 ? 0 : 64 - Long.numberOfLeadingZeros(nanos);
+    }
+
+    /**
+     * Thread-safe accumulator of samples.
+     */
+    @ApiStatus.Internal
+    static final class Recorder {
+        private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            this.buckets.getAndIncrement(Math.min(bucket(nanos), BUCKET_COUNT - 1));
+            this.count.getAndIncrement();
+            this.totalNanos.getAndAdd(nanos);
+            this.maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        @NotNull TickHistogram snapshot() {
+            long[] buckets = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) buckets[i] = this.buckets.get(i);
+            return new TickHistogram(buckets, count.get(), totalNanos.get(), maxNanos.get());
+        }
+    }
+}
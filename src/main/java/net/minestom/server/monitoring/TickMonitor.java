@@ -1,13 +1,21 @@
 package net.minestom.server.monitoring;
 
+import org.jetbrains.annotations.Nullable;
+
 public class TickMonitor {
 
     private final double tickTime;
     private final double acquisitionTime;
+    private final TickProfile profile;
 
-    public TickMonitor(double tickTime, double acquisitionTime) {
+    public TickMonitor(double tickTime, double acquisitionTime, @Nullable TickProfile profile) {
         this.tickTime = tickTime;
         this.acquisitionTime = acquisitionTime;
+        this.profile = profile;
+    }
+
+    public TickMonitor(double tickTime, double acquisitionTime) {
+        this(tickTime, acquisitionTime, null);
     }
 
     public double getTickTime() {
@@ -17,4 +25,13 @@ public class TickMonitor {
     public double getAcquisitionTime() {
         return acquisitionTime;
     }
+
+    /**
+     * Gets the breakdown of this tick, only present when the tick has been sampled by {@link TickProfiler}.
+     *
+     * @return the tick profile, null if the tick was not profiled
+     */
+    public @Nullable TickProfile getProfile() {
+        return profile;
+    }
 }
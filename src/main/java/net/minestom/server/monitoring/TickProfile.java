@@ -0,0 +1,55 @@
+package net.minestom.server.monitoring;
+
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.Instance;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Breakdown of the time spent in a profiled tick, collected by {@link TickProfiler}.
+ *
+ * @param entityTypes      the tick time of each entity, grouped by entity type
+ * @param instances        the time spent in {@link Instance#tick(long)}, grouped by instance
+ * @param chunks           the time spent ticking each chunk and the entities inside
+ * @param schedulerNanos   the time spent running the tasks of the server scheduler,
+ *                         entity and instance tasks are part of their tick time
+ * @param packetFlushNanos the time spent flushing viewable packets
+ */
+public record TickProfile(@NotNull Map<EntityType, TickHistogram> entityTypes,
+                          @NotNull Map<Instance, TickHistogram> instances,
+                          @NotNull List<ChunkTime> chunks,
+                          long schedulerNanos, long packetFlushNanos) {
+    public TickProfile {
+        entityTypes = Map.copyOf(entityTypes);
+        instances = Map.copyOf(instances);
+        chunks = List.copyOf(chunks);
+    }
+
+    /**
+     * Gets the chunks which took the longest to tick.
+     *
+     * @param limit the maximum number of chunks to return
+     * @return the hottest chunks, slowest first
+     */
+    public @NotNull List<ChunkTime> hotChunks(int limit) {
+        if (limit < 0) throw new IllegalArgumentException("Limit cannot be negative: " + limit);
+        return chunks.stream()
+                .sorted(Comparator.comparingLong(ChunkTime::nanos).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Time spent ticking a chunk, including the entities inside.
+     *
+     * @param instance the instance of the chunk
+     * @param chunkX   the chunk X
+     * @param chunkZ   the chunk Z
+     * @param nanos    the tick time in nanoseconds
+     */
+    public record ChunkTime(@NotNull Instance instance, int chunkX, int chunkZ, long nanos) {
+    }
+}
@@ -0,0 +1,124 @@
+package net.minestom.server.monitoring;
+
+import net.minestom.server.ServerFlag;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import org.jctools.queues.MpscUnboundedXaddArrayQueue;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Opt-in profiler breaking down the tick time per entity type, instance and chunk.
+ * <p>
+ * Only one tick every {@link #getInterval()} is profiled, the other ticks only pay for a field read.
+ * The result is available in {@link TickMonitor#getProfile()} for the profiled ticks.
+ * <p>
+ * Disabled by default, can be enabled using {@link #setInterval(int)} or the {@code minestom.tick-profiler.interval} property.
+ */
+public final class TickProfiler {
+    private static volatile int interval = Math.max(0, ServerFlag.TICK_PROFILER_INTERVAL);
+    private static volatile boolean sampling;
+    private static long tickCounter;
+
+    private static final Map<EntityType, TickHistogram.Recorder> ENTITY_TYPES = new ConcurrentHashMap<>();
+    private static final Map<Instance, TickHistogram.Recorder> INSTANCES = new ConcurrentHashMap<>();
+    private static final MpscUnboundedXaddArrayQueue<TickProfile.ChunkTime> CHUNKS = new MpscUnboundedXaddArrayQueue<>(1024);
+    private static final LongAdder SCHEDULER_NANOS = new LongAdder();
+    private static final LongAdder PACKET_FLUSH_NANOS = new LongAdder();
+
+    private TickProfiler() {
+    }
+
+    /**
+     * Gets the number of ticks between two profiled ticks.
+     *
+     * @return the profiling interval, 0 if disabled
+     */
+    public static int getInterval() {
+        return interval;
+    }
+
+    /**
+     * Changes the number of ticks between two profiled ticks.
+     *
+     * @param interval the new profiling interval, 0 to disable profiling
+     */
+    public static void setInterval(int interval) {
+        if (interval < 0) throw new IllegalArgumentException("Interval cannot be negative: " + interval);
+        TickProfiler.interval = interval;
+    }
+
+    /**
+     * Gets if the current tick is profiled, in which case the timers should be recorded.
+     *
+     * @return true if the current tick is profiled
+     */
+    @ApiStatus.Internal
+    public static boolean isSampling() {
+        return sampling;
+    }
+
+    /**
+     * Called by the tick scheduler before anything else is ticked.
+     */
+    @ApiStatus.Internal
+    public static void startTick() {
+        final int interval = TickProfiler.interval;
+        sampling = interval > 0 && tickCounter++ % interval == 0;
+    }
+
+    /**
+     * Called by the tick scheduler once everything has been ticked.
+     *
+     * @return the profile of the tick, null if the tick was not sampled
+     */
+    @ApiStatus.Internal
+    public static @Nullable TickProfile endTick() {
+        if (!sampling) return null;
+        sampling = false;
+        Map<EntityType, TickHistogram> entityTypes = new HashMap<>(ENTITY_TYPES.size());
+        ENTITY_TYPES.forEach((type, recorder) -> entityTypes.put(type, recorder.snapshot()));
+        ENTITY_TYPES.clear();
+        Map<Instance, TickHistogram> instances = new HashMap<>(INSTANCES.size());
+        INSTANCES.forEach((instance, recorder) -> instances.put(instance, recorder.snapshot()));
+        INSTANCES.clear();
+        List<TickProfile.ChunkTime> chunks = new ArrayList<>(CHUNKS.size());
+        CHUNKS.drain(chunks::add);
+        return new TickProfile(entityTypes, instances, chunks,
+                SCHEDULER_NANOS.sumThenReset(), PACKET_FLUSH_NANOS.sumThenReset());
+    }
+
+    @ApiStatus.Internal
+    public static void recordEntity(@NotNull EntityType entityType, long nanos) {
+        ENTITY_TYPES.computeIfAbsent(entityType, t -> new TickHistogram.Recorder()).record(nanos);
+    }
+
+    @ApiStatus.Internal
+    public static void recordInstance(@NotNull Instance instance, long nanos) {
+        INSTANCES.computeIfAbsent(instance, i -> new TickHistogram.Recorder()).record(nanos);
+    }
+
+    @ApiStatus.Internal
+    public static void recordChunk(@NotNull Chunk chunk, long nanos) {
+        CHUNKS.offer(new TickProfile.ChunkTime(chunk.getInstance(), chunk.getChunkX(), chunk.getChunkZ(), nanos));
+    }
+
+    @ApiStatus.Internal
+    public static void recordScheduler(long nanos) {
+        SCHEDULER_NANOS.add(nanos);
+    }
+
+    @ApiStatus.Internal
+    public static void recordPacketFlush(long nanos) {
+        PACKET_FLUSH_NANOS.add(nanos);
+    }
+}
@@ -94,6 +94,25 @@ public final class ConnectionManager {
         return unmodifiableConfigurationPlayers;
     }
 
+    /**
+     * Gets the connections holding the most outbound data not yet sent to their client.
+     * <p>
+     * Useful to find slow clients, see {@link PlayerConnection#getBufferedBytes()}.
+     *
+     * @param limit the maximum number of connections to return
+     * @return the connections sorted by buffered bytes, in descending order
+     */
+    public @NotNull List<@NotNull PlayerConnection> getMostBufferedConnections(int limit) {
+        // Snapshot the values first, they are updated concurrently by the workers
+        return connectionPlayerMap.keySet().stream()
+                .map(connection -> Map.entry(connection, connection.getBufferedBytes()))
+                .filter(entry -> entry.getValue() > 0)
+                .sorted(Map.Entry.<PlayerConnection, Long>comparingByValue().reversed())
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
     /**
      * Gets the {@link Player} linked to a {@link PlayerConnection}.
      *
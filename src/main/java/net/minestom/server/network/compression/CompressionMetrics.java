@@ -0,0 +1,117 @@
+package net.minestom.server.network.compression;
+
+import net.minestom.server.network.NetworkBuffer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Receives the statistics of every packet compression and decompression.
+ * <p>
+ * Called from the network and tick threads, implementations must be thread-safe and cheap.
+ *
+ * @see PacketCompression#setMetrics(CompressionMetrics)
+ */
+public interface CompressionMetrics {
+
+    /**
+     * Creates metrics accumulating the totals of all operations.
+     *
+     * @return new accumulating metrics
+     */
+    static @NotNull Accumulator accumulator() {
+        return new Accumulator();
+    }
+
+    /**
+     * Called after an outgoing packet has been compressed.
+     *
+     * @param packetType  the type of the compressed packet
+     * @param inputBytes  the uncompressed size
+     * @param outputBytes the compressed size
+     * @param nanos       the time spent compressing
+     */
+    void compressed(@NotNull Class<? extends NetworkBuffer.Writer> packetType, int inputBytes, int outputBytes, long nanos);
+
+    /**
+     * Called after an incoming packet has been decompressed.
+     *
+     * @param inputBytes  the compressed size
+     * @param outputBytes the decompressed size
+     * @param nanos       the time spent decompressing
+     */
+    void decompressed(int inputBytes, int outputBytes, long nanos);
+
+    final class Accumulator implements CompressionMetrics {
+        private final LongAdder compressedInput = new LongAdder(), compressedOutput = new LongAdder(), compressNanos = new LongAdder();
+        private final LongAdder decompressedInput = new LongAdder(), decompressedOutput = new LongAdder(), decompressNanos = new LongAdder();
+
+        Accumulator() {
+        }
+
+        @Override
+        public void compressed(@NotNull Class<? extends NetworkBuffer.Writer> packetType, int inputBytes, int outputBytes, long nanos) {
+            this.compressedInput.add(inputBytes);
+            this.compressedOutput.add(outputBytes);
+            this.compressNanos.add(nanos);
+        }
+
+        @Override
+        public void decompressed(int inputBytes, int outputBytes, long nanos) {
+            this.decompressedInput.add(inputBytes);
+            this.decompressedOutput.add(outputBytes);
+            this.decompressNanos.add(nanos);
+        }
+
+        /**
+         * Gets the ratio between the compressed and uncompressed sizes of outgoing packets.
+         *
+         * @return the compression ratio, lower is better
+         */
+        public double compressionRatio() {
+            final long input = compressedInput.sum();
+            return input == 0 ? 1 : (double) compressedOutput.sum() / input;
+        }
+
+        /**
+         * Gets the average time spent compressing each uncompressed byte.
+         *
+         * @return the nanoseconds per byte
+         */
+        public double compressionNanosPerByte() {
+            final long input = compressedInput.sum();
+            return input == 0 ? 0 : (double) compressNanos.sum() / input;
+        }
+
+        /**
+         * Gets the average time spent decompressing each decompressed byte.
+         *
+         * @return the nanoseconds per byte
+         */
+        public double decompressionNanosPerByte() {
+            final long output = decompressedOutput.sum();
+            return output == 0 ? 0 : (double) decompressNanos.sum() / output;
+        }
+
+        public long compressedBytes() {
+            return compressedOutput.sum();
+        }
+
+        public long uncompressedBytes() {
+            return compressedInput.sum();
+        }
+
+        public long decompressedBytes() {
+            return decompressedOutput.sum();
+        }
+
+        public void reset() {
+            this.compressedInput.reset();
+            this.compressedOutput.reset();
+            this.compressNanos.reset();
+            this.decompressedInput.reset();
+            this.decompressedOutput.reset();
+            this.decompressNanos.reset();
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package net.minestom.server.network.compression;
+
+import net.minestom.server.utils.validate.Check;
+
+import java.util.zip.Deflater;
+
+/**
+ * Deflate parameters used to compress a packet.
+ * <p>
+ * The output is always a standard zlib stream, only the speed/ratio trade-off changes.
+ *
+ * @param level    the deflate level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION},
+ *                 or {@link Deflater#DEFAULT_COMPRESSION}
+ * @param strategy the deflate strategy, one of {@link Deflater#DEFAULT_STRATEGY}, {@link Deflater#FILTERED}
+ *                 or {@link Deflater#HUFFMAN_ONLY}
+ */
+public record CompressionSettings(int level, int strategy) {
+    public static final CompressionSettings DEFAULT = new CompressionSettings(Deflater.DEFAULT_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+    public static final CompressionSettings FASTEST = new CompressionSettings(Deflater.BEST_SPEED, Deflater.DEFAULT_STRATEGY);
+    public static final CompressionSettings SMALLEST = new CompressionSettings(Deflater.BEST_COMPRESSION, Deflater.DEFAULT_STRATEGY);
+
+    public CompressionSettings {
+        Check.argCondition(level != Deflater.DEFAULT_COMPRESSION && (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION),
+                "Invalid compression level {0}", level);
+        Check.argCondition(strategy != Deflater.DEFAULT_STRATEGY && strategy != Deflater.FILTERED && strategy != Deflater.HUFFMAN_ONLY,
+                "Invalid compression strategy {0}", strategy);
+    }
+
+    public CompressionSettings(int level) {
+        this(level, Deflater.DEFAULT_STRATEGY);
+    }
+
+    int index() {
+        // Levels -1..9, strategies 0..2
+        return (level + 1) * 3 + strategy;
+    }
+}
@@ -0,0 +1,165 @@
+package net.minestom.server.network.compression;
+
+import net.minestom.server.ServerFlag;
+import net.minestom.server.network.NetworkBuffer;
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compresses and decompresses packets using thread-local (and therefore per worker) deflaters and inflaters.
+ * <p>
+ * The deflate parameters can be configured per packet type, for example to favor speed on chunk data.
+ * Packets which are framed once and sent many times (see {@link net.minestom.server.network.packet.server.CachedPacket})
+ * use the cached settings, as their compression cost is shared by all receivers.
+ */
+public final class PacketCompression {
+    private static final int DEFLATER_COUNT = new CompressionSettings(Deflater.BEST_COMPRESSION, Deflater.HUFFMAN_ONLY).index() + 1;
+
+    private static final ThreadLocal<Deflater[]> LOCAL_DEFLATERS = ThreadLocal.withInitial(() -> new Deflater[DEFLATER_COUNT]);
+    private static final ThreadLocal<Inflater> LOCAL_INFLATER = ThreadLocal.withInitial(Inflater::new);
+
+    private static final Map<Class<?>, CompressionSettings> TYPE_SETTINGS = new ConcurrentHashMap<>();
+    private static volatile CompressionSettings defaultSettings = new CompressionSettings(ServerFlag.COMPRESSION_LEVEL);
+    private static volatile CompressionSettings cachedSettings = new CompressionSettings(ServerFlag.COMPRESSION_CACHED_LEVEL);
+    private static volatile CompressionMetrics metrics;
+
+    private PacketCompression() {
+    }
+
+    /**
+     * Changes the settings used to compress packets without specific settings.
+     *
+     * @param settings the new default settings
+     */
+    public static void setDefaultSettings(@NotNull CompressionSettings settings) {
+        PacketCompression.defaultSettings = settings;
+    }
+
+    public static @NotNull CompressionSettings getDefaultSettings() {
+        return defaultSettings;
+    }
+
+    /**
+     * Changes the settings used to compress cached packets without specific settings.
+     *
+     * @param settings the new cached settings
+     */
+    public static void setCachedSettings(@NotNull CompressionSettings settings) {
+        PacketCompression.cachedSettings = settings;
+    }
+
+    public static @NotNull CompressionSettings getCachedSettings() {
+        return cachedSettings;
+    }
+
+    /**
+     * Sets the settings used to compress a packet type, overriding both the default and cached settings.
+     *
+     * @param packetType the packet type
+     * @param settings   the settings to use, null to use the defaults
+     */
+    public static void setSettings(@NotNull Class<? extends NetworkBuffer.Writer> packetType, @Nullable CompressionSettings settings) {
+        if (settings != null) TYPE_SETTINGS.put(packetType, settings);
+        else TYPE_SETTINGS.remove(packetType);
+    }
+
+    /**
+     * Gets the settings used to compress a packet type.
+     *
+     * @param packetType the packet type
+     * @param cached     true if the packet is framed once to be sent multiple times
+     * @return the settings to use
+     */
+    public static @NotNull CompressionSettings getSettings(@NotNull Class<? extends NetworkBuffer.Writer> packetType, boolean cached) {
+        final CompressionSettings settings = TYPE_SETTINGS.get(packetType);
+        if (settings != null) return settings;
+        return cached ? cachedSettings : defaultSettings;
+    }
+
+    /**
+     * Sets the metrics notified of every compression and decompression.
+     * <p>
+     * Timing is only measured when metrics are present.
+     *
+     * @param metrics the metrics, null to disable
+     */
+    public static void setMetrics(@Nullable CompressionMetrics metrics) {
+        PacketCompression.metrics = metrics;
+    }
+
+    public static @Nullable CompressionMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Compresses {@code input} into {@code output}, starting at its current position.
+     *
+     * @param packetType the type of the packet, used for metrics
+     * @param input      the data to compress, from its position to its limit
+     * @param output     the buffer to write to, its position is advanced
+     * @param settings   the deflate parameters
+     * @return the number of written bytes
+     */
+    @ApiStatus.Internal
+    public static int compress(@NotNull Class<? extends NetworkBuffer.Writer> packetType,
+                               @NotNull ByteBuffer input, @NotNull ByteBuffer output,
+                               @NotNull CompressionSettings settings) {
+        final CompressionMetrics metrics = PacketCompression.metrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final int inputBytes = input.remaining();
+
+        final Deflater deflater = deflater(settings);
+        deflater.setInput(input);
+        deflater.finish();
+        final int count = deflater.deflate(output);
+        deflater.reset();
+
+        if (metrics != null) metrics.compressed(packetType, inputBytes, count, System.nanoTime() - start);
+        return count;
+    }
+
+    /**
+     * Decompresses {@code input} into {@code output}.
+     *
+     * @param input  the compressed data, from its position to its limit
+     * @param output the buffer to write to
+     * @return the number of decompressed bytes
+     * @throws DataFormatException if the data is not a valid zlib stream
+     */
+    @ApiStatus.Internal
+    public static int decompress(@NotNull ByteBuffer input, @NotNull ByteBuffer output) throws DataFormatException {
+        final CompressionMetrics metrics = PacketCompression.metrics;
+        final long start = metrics != null ? System.nanoTime() : 0;
+        final int inputBytes = input.remaining();
+
+        final Inflater inflater = LOCAL_INFLATER.get();
+        try {
+            inflater.setInput(input);
+            final int count = inflater.inflate(output);
+            if (metrics != null) metrics.decompressed(inputBytes, count, System.nanoTime() - start);
+            return count;
+        } finally {
+            inflater.reset();
+        }
+    }
+
+    private static Deflater deflater(CompressionSettings settings) {
+        final Deflater[] deflaters = LOCAL_DEFLATERS.get();
+        final int index = settings.index();
+        Deflater deflater = deflaters[index];
+        if (deflater == null) {
+            deflater = new Deflater(settings.level());
+            deflater.setStrategy(settings.strategy());
+            deflaters[index] = deflater;
+        }
+        return deflater;
+    }
+}
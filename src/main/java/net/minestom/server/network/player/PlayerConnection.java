@@ -1,6 +1,7 @@
 package net.minestom.server.network.player;
 
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.ServerFlag;
 import net.minestom.server.crypto.PlayerPublicKey;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.Player;
@@ -124,6 +125,28 @@ public abstract class PlayerConnection {
         }
     }
 
+    /**
+     * Gets if the connection can accept more data without going over its outbound buffer budget.
+     * <p>
+     * Used to delay non-essential packets (e.g. chunks) for slow clients.
+     * The connection stops being writable once its buffered bytes reach {@link ServerFlag#OUTBOUND_BUFFER_HIGH_WATERMARK},
+     * and becomes writable again when they go below {@link ServerFlag#OUTBOUND_BUFFER_LOW_WATERMARK}.
+     *
+     * @return true if the connection is writable
+     */
+    public boolean isWritable() {
+        return true;
+    }
+
+    /**
+     * Gets the number of bytes waiting to be sent to the client.
+     *
+     * @return the number of buffered outbound bytes
+     */
+    public long getBufferedBytes() {
+        return 0;
+    }
+
     /**
      * Gets the player linked to this connection.
      *
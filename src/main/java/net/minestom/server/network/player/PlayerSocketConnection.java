@@ -1,6 +1,7 @@
 package net.minestom.server.network.player;
 
 import net.minestom.server.MinecraftServer;
+import net.minestom.server.ServerFlag;
 import net.minestom.server.adventure.MinestomAdventure;
 import net.minestom.server.entity.Player;
 import net.minestom.server.event.EventDispatcher;
@@ -45,8 +46,11 @@ import java.util.zip.DataFormatException;
 public class PlayerSocketConnection extends PlayerConnection {
     private final static Logger LOGGER = LoggerFactory.getLogger(PlayerSocketConnection.class);
     private static final ObjectPool<BinaryBuffer> POOL = ObjectPool.BUFFER_POOL;
+    // Minimum size of shared packets to be referenced instead of copied
+    private static final int SHARED_WRITE_THRESHOLD = 8192;
 
     private final Worker worker;
+    private final OutboundLimits outboundLimits;
     private final MessagePassingQueue<Runnable> workerQueue;
     private final SocketChannel channel;
     private SocketAddress remoteAddress;
@@ -67,12 +71,23 @@ public class PlayerSocketConnection extends PlayerConnection {
     private final List<BinaryBuffer> waitingBuffers = new ArrayList<>();
     private final AtomicReference<BinaryBuffer> tickBuffer = new AtomicReference<>(POOL.get());
     private BinaryBuffer cacheBuffer;
+    private boolean dirty; // Whether the connection is waiting to be flushed by the worker
+    private ByteBuffer[] gatherBuffers = new ByteBuffer[4];
+    private long flushCount, writeCallCount;
+    private volatile long bufferedBytes; // Only modified by the worker thread
+    private volatile boolean writable = true;
 
     private final ListenerHandle<PlayerPacketOutEvent> outgoing = EventDispatcher.getHandle(PlayerPacketOutEvent.class);
 
     public PlayerSocketConnection(@NotNull Worker worker, @NotNull SocketChannel channel, SocketAddress remoteAddress) {
+        this(worker, channel, remoteAddress, OutboundLimits.DEFAULT);
+    }
+
+    public PlayerSocketConnection(@NotNull Worker worker, @NotNull SocketChannel channel, SocketAddress remoteAddress,
+                                  @NotNull OutboundLimits outboundLimits) {
         super();
         this.worker = worker;
+        this.outboundLimits = outboundLimits;
         this.workerQueue = worker.queue();
         this.channel = channel;
         this.remoteAddress = remoteAddress;
@@ -168,6 +183,19 @@ public class PlayerSocketConnection extends PlayerConnection {
         this.workerQueue.relaxedOffer(() -> writeBufferSync(buffer, index, length));
     }
 
+    /**
+     * Writes a region of a buffer, then runs {@code written} in the worker thread.
+     * <p>
+     * The region is copied by the time {@code written} runs, the buffer can then be reused.
+     */
+    @ApiStatus.Internal
+    public void write(@NotNull ByteBuffer buffer, int index, int length, @NotNull Runnable written) {
+        this.workerQueue.relaxedOffer(() -> {
+            writeBufferSync(buffer, index, length);
+            written.run();
+        });
+    }
+
     @ApiStatus.Internal
     public void write(@NotNull ByteBuffer buffer) {
         write(buffer, buffer.position(), buffer.remaining());
@@ -197,8 +225,11 @@ public class PlayerSocketConnection extends PlayerConnection {
             this.worker.disconnect(this, channel);
             final BinaryBuffer tick = tickBuffer.getAndSet(null);
             if (tick != null) POOL.add(tick);
-            for (BinaryBuffer buffer : waitingBuffers) POOL.add(buffer);
+            for (BinaryBuffer buffer : waitingBuffers) {
+                if (!buffer.isView()) POOL.add(buffer);
+            }
             this.waitingBuffers.clear();
+            this.bufferedBytes = 0;
         });
     }
 
@@ -304,10 +335,10 @@ public class PlayerSocketConnection extends PlayerConnection {
             writeServerPacketSync(serverPacket, compressed);
         } else if (packet instanceof FramedPacket framedPacket) {
             var buffer = framedPacket.body();
-            writeBufferSync(buffer, 0, buffer.limit());
+            writeBufferSync(buffer, 0, buffer.limit(), true);
         } else if (packet instanceof CachedPacket cachedPacket) {
             var buffer = cachedPacket.body(getConnectionState());
-            if (buffer != null) writeBufferSync(buffer, buffer.position(), buffer.remaining());
+            if (buffer != null) writeBufferSync(buffer, buffer.position(), buffer.remaining(), true);
             else writeServerPacketSync(cachedPacket.packet(getConnectionState()), compressed);
         } else if (packet instanceof LazyPacket lazyPacket) {
             writeServerPacketSync(lazyPacket.packet(), compressed);
@@ -331,61 +362,180 @@ public class PlayerSocketConnection extends PlayerConnection {
     }
 
     private void writeBufferSync(@NotNull ByteBuffer buffer, int index, int length) {
-        // Encrypt data
-        final EncryptionContext encryptionContext = this.encryptionContext;
-        if (encryptionContext != null) { // Encryption support
-            try (var hold = ObjectPool.PACKET_POOL.hold()) {
-                ByteBuffer output = hold.get();
-                try {
-                    length = encryptionContext.encrypt().update(buffer.slice(index, length), output);
-                    writeBufferSync0(output, 0, length);
-                } catch (ShortBufferException e) {
-                    MinecraftServer.getExceptionManager().handleException(e);
-                }
-                return;
-            }
-        }
-        writeBufferSync0(buffer, index, length);
+        writeBufferSync(buffer, index, length, false);
     }
 
-    private void writeBufferSync0(@NotNull ByteBuffer buffer, int index, int length) {
+    /**
+     * Appends data to the outbound buffers.
+     *
+     * @param shared true if the buffer is immutable and can be referenced until sent instead of being copied
+     */
+    private void writeBufferSync(@NotNull ByteBuffer buffer, int index, int length, boolean shared) {
+        // Check the budget before encrypting, dropped packets must not advance the cipher
+        final long buffered = this.bufferedBytes + length;
+        if (buffered > outboundLimits.maxSize()) {
+            handleOverflow(buffered);
+            return;
+        }
         BinaryBuffer localBuffer = tickBuffer.getPlain();
         if (localBuffer == null)
             return; // Socket is closed
-        final int capacity = localBuffer.capacity();
-        if (length <= capacity) {
-            if (!localBuffer.canWrite(length)) localBuffer = updateLocalBuffer();
-            localBuffer.write(buffer, index, length);
-        } else {
-            final int bufferCount = length / capacity + 1;
-            for (int i = 0; i < bufferCount; i++) {
-                final int sliceStart = i * capacity;
-                final int sliceLength = Math.min(length, sliceStart + capacity) - sliceStart;
-                if (!localBuffer.canWrite(sliceLength)) localBuffer = updateLocalBuffer();
-                localBuffer.write(buffer, sliceStart, sliceLength);
+        this.bufferedBytes = buffered;
+        if (writable && buffered >= outboundLimits.highWatermark()) this.writable = false;
+        if (!dirty) {
+            this.dirty = true;
+            this.worker.markDirty(this);
+        }
+        final EncryptionContext encryptionContext = this.encryptionContext;
+        final Cipher cipher = encryptionContext != null ? encryptionContext.encrypt() : null;
+        if (shared && cipher == null && length >= SHARED_WRITE_THRESHOLD) {
+            // Reference the buffer directly, it is sent by the gathering write without any copy
+            final BinaryBuffer view = BinaryBuffer.view(buffer, index, length);
+            if (localBuffer.readableBytes() == 0) {
+                // Nothing pending in the tick buffer, the view can be sent before it
+                this.waitingBuffers.add(view);
+            } else {
+                this.waitingBuffers.add(localBuffer);
+                this.waitingBuffers.add(view);
+                this.tickBuffer.setPlain(POOL.get());
             }
+            return;
+        }
+        int offset = 0;
+        while (offset < length) {
+            if (!localBuffer.canWrite(1)) localBuffer = updateLocalBuffer();
+            // Fill the tick buffer as much as possible
+            final int sliceLength = Math.min(length - offset, localBuffer.capacity() - localBuffer.writerOffset() - 1);
+            if (cipher == null) {
+                localBuffer.write(buffer, index + offset, sliceLength);
+            } else {
+                // Encrypt straight into the tick buffer (stream cipher, same output length)
+                final int writerOffset = localBuffer.writerOffset();
+                try {
+                    cipher.update(buffer.slice(index + offset, sliceLength), localBuffer.asByteBuffer(writerOffset, sliceLength));
+                } catch (ShortBufferException e) {
+                    MinecraftServer.getExceptionManager().handleException(e);
+                    return;
+                }
+                localBuffer.writerOffset(writerOffset + sliceLength);
+            }
+            offset += sliceLength;
         }
     }
 
-    public void flushSync() throws IOException {
+    /**
+     * Writes as much pending data as possible to the socket.
+     *
+     * @return true if all the pending data has been written, false if the socket could not accept more
+     * @throws IOException if the socket is closed
+     */
+    public boolean flushSync() throws IOException {
         final SocketChannel channel = this.channel;
         final List<BinaryBuffer> waitingBuffers = this.waitingBuffers;
         if (!channel.isConnected()) throw new ClosedChannelException();
-        if (waitingBuffers.isEmpty()) {
-            BinaryBuffer localBuffer = tickBuffer.getPlain();
-            if (localBuffer == null)
-                return; // Socket is closed
-            localBuffer.writeChannel(channel);
-        } else {
-            // Write as much as possible from the waiting list
-            Iterator<BinaryBuffer> iterator = waitingBuffers.iterator();
-            while (iterator.hasNext()) {
-                BinaryBuffer waitingBuffer = iterator.next();
-                if (!waitingBuffer.writeChannel(channel)) break;
-                iterator.remove();
-                POOL.add(waitingBuffer);
+        this.dirty = false;
+        final BinaryBuffer localBuffer = tickBuffer.getPlain();
+        if (localBuffer == null)
+            return true; // Socket is closed
+        // Gather the waiting buffers followed by the tick buffer
+        final int waitingCount = waitingBuffers.size();
+        final int bufferCount = waitingCount + 1;
+        ByteBuffer[] slices = this.gatherBuffers;
+        if (slices.length < bufferCount) {
+            slices = new ByteBuffer[Math.max(bufferCount, slices.length * 2)];
+            this.gatherBuffers = slices;
+        }
+        long length = 0;
+        for (int i = 0; i < bufferCount; i++) {
+            final BinaryBuffer buffer = i < waitingCount ? waitingBuffers.get(i) : localBuffer;
+            final int readable = buffer.readableBytes();
+            slices[i] = buffer.asByteBuffer(buffer.readerOffset(), readable);
+            length += readable;
+        }
+        if (length == 0) {
+            Arrays.fill(slices, 0, bufferCount, null);
+            return true; // Nothing to write
+        }
+        // Write as much as possible, usually in a single call
+        this.flushCount++;
+        long written = 0;
+        int offset = 0;
+        while (true) {
+            final long count = channel.write(slices, offset, bufferCount - offset);
+            this.writeCallCount++;
+            if (count == -1) {
+                // EOS
+                throw new IOException("Disconnected");
+            }
+            written += count;
+            while (offset < bufferCount && !slices[offset].hasRemaining()) offset++;
+            // Stopping on a buffer boundary means the call was limited by the buffer count (IOV_MAX)
+            // rather than by the socket send buffer
+            if (count == 0 || offset == bufferCount || slices[offset].position() != 0) break;
+        }
+        int released = 0;
+        for (int i = 0; i < bufferCount; i++) {
+            final BinaryBuffer buffer = i < waitingCount ? waitingBuffers.get(i) : localBuffer;
+            buffer.readerOffset(buffer.readerOffset() + slices[i].position());
+            slices[i] = null;
+            if (i < waitingCount && buffer.readableBytes() == 0) {
+                if (!buffer.isView()) POOL.add(buffer);
+                released++;
             }
         }
+        final long buffered = this.bufferedBytes - written;
+        this.bufferedBytes = buffered;
+        if (!writable && buffered < outboundLimits.lowWatermark()) this.writable = true;
+        if (released == waitingCount) {
+            waitingBuffers.clear();
+            // Reuse the tick buffer from the start once everything has been sent
+            if (localBuffer.readableBytes() == 0) localBuffer.clear();
+        } else if (released > 0) {
+            waitingBuffers.subList(0, released).clear();
+        }
+        return written == length;
+    }
+
+    private void handleOverflow(long buffered) {
+        if (outboundLimits.dropOnOverflow()) return; // Discard the whole packet, the stream stays valid
+        if (!isOnline()) return;
+        LOGGER.warn("Disconnecting {}, outbound buffer exceeded {} bytes ({} bytes)",
+                getIdentifier(), outboundLimits.maxSize(), buffered);
+        disconnect();
+    }
+
+    @Override
+    public boolean isWritable() {
+        return writable;
+    }
+
+    @Override
+    public long getBufferedBytes() {
+        return bufferedBytes;
+    }
+
+    /**
+     * Gets the number of flushes which had data to send.
+     * <p>
+     * Updated by the worker thread, the value may be slightly outdated.
+     *
+     * @return the number of non-empty flushes
+     */
+    public long getFlushCount() {
+        return flushCount;
+    }
+
+    /**
+     * Gets the number of socket write calls.
+     * <p>
+     * Flushes use gathering writes, so this should stay close to {@link #getFlushCount()}.
+     * <p>
+     * Updated by the worker thread, the value may be slightly outdated.
+     *
+     * @return the number of write calls
+     */
+    public long getWriteCallCount() {
+        return writeCallCount;
     }
 
     private BinaryBuffer updateLocalBuffer() {
@@ -397,4 +547,18 @@ public class PlayerSocketConnection extends PlayerConnection {
 
     record EncryptionContext(Cipher encrypt, Cipher decrypt) {
     }
+
+    /**
+     * Limits of the data buffered for the client, the defaults are read from the {@link ServerFlag} properties.
+     *
+     * @param lowWatermark   the buffered bytes below which the connection becomes writable again
+     * @param highWatermark  the buffered bytes from which the connection stops being writable
+     * @param maxSize        the buffered bytes above which packets overflow
+     * @param dropOnOverflow true to drop the overflowing packets, false to disconnect the client
+     */
+    public record OutboundLimits(long lowWatermark, long highWatermark, long maxSize, boolean dropOnOverflow) {
+        public static final OutboundLimits DEFAULT = new OutboundLimits(
+                ServerFlag.OUTBOUND_BUFFER_LOW_WATERMARK, ServerFlag.OUTBOUND_BUFFER_HIGH_WATERMARK,
+                ServerFlag.OUTBOUND_BUFFER_MAX_SIZE, ServerFlag.OUTBOUND_BUFFER_OVERFLOW_POLICY.equalsIgnoreCase("drop"));
+    }
 }
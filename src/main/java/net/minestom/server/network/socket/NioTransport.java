@@ -0,0 +1,27 @@
+package net.minestom.server.network.socket;
+
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.channels.spi.SelectorProvider;
+
+record NioTransport() implements Transport {
+    static final Transport INSTANCE = new NioTransport();
+    static final Logger LOGGER = LoggerFactory.getLogger(Transport.class);
+
+    @Override
+    public @NotNull String name() {
+        return "nio";
+    }
+
+    @Override
+    public boolean isAvailable() {
+        return true;
+    }
+
+    @Override
+    public @NotNull SelectorProvider selectorProvider() {
+        return SelectorProvider.provider();
+    }
+}
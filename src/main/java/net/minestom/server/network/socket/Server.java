@@ -26,7 +26,8 @@ public final class Server {
 
     private volatile boolean stop;
 
-    private final Selector selector = Selector.open();
+    private final Transport transport;
+    private final Selector selector;
     private final PacketProcessor packetProcessor;
     private final List<Worker> workers;
     private int index;
@@ -37,7 +38,13 @@ public final class Server {
     private int port;
 
     public Server(PacketProcessor packetProcessor) throws IOException {
+        this(packetProcessor, Transport.load(ServerFlag.SOCKET_TRANSPORT));
+    }
+
+    public Server(PacketProcessor packetProcessor, Transport transport) throws IOException {
         this.packetProcessor = packetProcessor;
+        this.transport = transport;
+        this.selector = transport.selectorProvider().openSelector();
         Worker[] workers = new Worker[ServerFlag.WORKER_COUNT];
         Arrays.setAll(workers, value -> new Worker(this));
         this.workers = List.of(workers);
@@ -58,7 +65,7 @@ public final class Server {
             throw new IllegalArgumentException("Address must be an InetSocketAddress or a UnixDomainSocketAddress");
         }
 
-        ServerSocketChannel server = ServerSocketChannel.open(family);
+        ServerSocketChannel server = transport.selectorProvider().openServerSocketChannel(family);
         server.bind(address);
         server.configureBlocking(false);
         server.register(selector, SelectionKey.OP_ACCEPT);
@@ -126,6 +133,10 @@ public final class Server {
         this.workers.forEach(Worker::close);
     }
 
+    public @NotNull Transport transport() {
+        return transport;
+    }
+
     @ApiStatus.Internal
     public @NotNull PacketProcessor packetProcessor() {
         return packetProcessor;
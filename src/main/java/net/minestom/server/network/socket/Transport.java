@@ -0,0 +1,74 @@
+package net.minestom.server.network.socket;
+
+import org.jetbrains.annotations.ApiStatus;
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.channels.spi.SelectorProvider;
+import java.util.ServiceLoader;
+
+/**
+ * Represents the I/O backend used by {@link Server} and its {@link Worker}s to accept, read and write connections.
+ * <p>
+ * The default transport ({@link #nio()}) relies on the JDK {@link SelectorProvider},
+ * which is backed by epoll on Linux and kqueue on macOS and does not require any native library.
+ * <p>
+ * Additional transports (e.g. io_uring) can be registered using {@link ServiceLoader}
+ * and selected at startup with the {@code minestom.transport} property.
+ */
+@ApiStatus.Experimental
+public interface Transport {
+
+    /**
+     * Gets the default transport, using the JDK selector provider.
+     *
+     * @return the default transport
+     */
+    static @NotNull Transport nio() {
+        return NioTransport.INSTANCE;
+    }
+
+    /**
+     * Finds the transport with the given name.
+     * <p>
+     * Falls back to {@link #nio()} if no available transport is registered under this name.
+     *
+     * @param name the transport name
+     * @return the transport to use
+     */
+    static @NotNull Transport load(@NotNull String name) {
+        final Transport nio = nio();
+        if (nio.name().equalsIgnoreCase(name)) return nio;
+        for (Transport transport : ServiceLoader.load(Transport.class)) {
+            if (!transport.name().equalsIgnoreCase(name)) continue;
+            if (transport.isAvailable()) return transport;
+            NioTransport.LOGGER.warn("Transport {} is not available on this platform, falling back to {}", name, nio.name());
+            return nio;
+        }
+        NioTransport.LOGGER.warn("Unknown transport {}, falling back to {}", name, nio.name());
+        return nio;
+    }
+
+    /**
+     * Gets the name of this transport, used for the {@code minestom.transport} property.
+     *
+     * @return the transport name
+     */
+    @NotNull String name();
+
+    /**
+     * Gets if this transport can be used on the current platform (e.g. native library loaded).
+     *
+     * @return true if the transport can be used
+     */
+    boolean isAvailable();
+
+    /**
+     * Gets the provider used to open the server socket, the client channels and the worker selectors.
+     * <p>
+     * Readiness is reported using the {@link java.nio.channels.SelectionKey} operations,
+     * workers only register write interest while a connection has pending data.
+     *
+     * @return the selector provider of this transport
+     */
+    @NotNull SelectorProvider selectorProvider();
+}
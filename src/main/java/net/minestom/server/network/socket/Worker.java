@@ -32,19 +32,21 @@ public final class Worker extends MinestomThread {
     private final Map<SocketChannel, PlayerSocketConnection> connectionMap = new ConcurrentHashMap<>();
     private final Server server;
     private final MpscUnboundedXaddArrayQueue<Runnable> queue = new MpscUnboundedXaddArrayQueue<>(1024);
+    private final MpscUnboundedXaddArrayQueue<PlayerSocketConnection> dirtyQueue = new MpscUnboundedXaddArrayQueue<>(1024);
 
     Worker(Server server) {
         super("Ms-worker-" + COUNTER.getAndIncrement());
         this.server = server;
         try {
-            this.selector = Selector.open();
+            this.selector = server.transport().selectorProvider().openSelector();
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
     public void tick() {
-        this.selector.wakeup();
+        // Nothing to write or flush otherwise, incoming data already wakes up the selector
+        if (!queue.isEmpty() || !dirtyQueue.isEmpty()) this.selector.wakeup();
     }
 
     public void close() {
@@ -71,19 +73,19 @@ public final class Worker extends MinestomThread {
                 } catch (Exception e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 }
-                // Flush all connections if needed
-                for (PlayerSocketConnection connection : connectionMap.values()) {
-                    try {
-                        connection.flushSync();
-                    } catch (Exception e) {
-                        connection.disconnect();
-                    }
-                }
+                // Flush connections written to since the last loop
+                this.dirtyQueue.drain(connection -> {
+                    final SocketChannel channel = connection.getChannel();
+                    if (!channel.isOpen()) return;
+                    final SelectionKey key = channel.keyFor(selector);
+                    // Backlogged connections are flushed once the channel becomes writable
+                    if (key != null && key.isValid() && (key.interestOps() & SelectionKey.OP_WRITE) != 0) return;
+                    flush(connection, key);
+                });
                 // Wait for an event
                 this.selector.select(key -> {
                     final SocketChannel channel = (SocketChannel) key.channel();
                     if (!channel.isOpen()) return;
-                    if (!key.isReadable()) return;
                     final PlayerSocketConnection connection = connectionMap.get(channel);
                     if (connection == null) {
                         try {
@@ -93,6 +95,8 @@ public final class Worker extends MinestomThread {
                         }
                         return;
                     }
+                    if (key.isWritable()) flush(connection, key);
+                    if (!key.isValid() || !key.isReadable()) return;
                     try {
                         try (var holder = ObjectPool.PACKET_POOL.hold()) {
                             BinaryBuffer readBuffer = BinaryBuffer.wrap(holder.get());
@@ -116,6 +120,20 @@ public final class Worker extends MinestomThread {
         }
     }
 
+    private void flush(PlayerSocketConnection connection, SelectionKey key) {
+        final boolean drained;
+        try {
+            drained = connection.flushSync();
+        } catch (Exception e) {
+            connection.disconnect();
+            return;
+        }
+        if (key == null || !key.isValid()) return;
+        // Only wait for writability while data is pending, the socket is otherwise always writable
+        final int interest = drained ? SelectionKey.OP_READ : SelectionKey.OP_READ | SelectionKey.OP_WRITE;
+        if (key.interestOps() != interest) key.interestOps(interest);
+    }
+
     public void disconnect(PlayerSocketConnection connection, SocketChannel channel) {
         assert !connection.isOnline();
         assert Thread.currentThread() == this;
@@ -130,6 +148,17 @@ public final class Worker extends MinestomThread {
         }
     }
 
+    /**
+     * Schedules a connection to be flushed during the next worker loop.
+     * <p>
+     * Called by the connection the first time data is written since its last flush.
+     *
+     * @param connection the connection to flush
+     */
+    public void markDirty(PlayerSocketConnection connection) {
+        this.dirtyQueue.relaxedOffer(connection);
+    }
+
     void receiveConnection(SocketChannel channel) throws IOException {
         this.connectionMap.put(channel, new PlayerSocketConnection(this, channel, channel.getRemoteAddress()));
         channel.configureBlocking(false);
@@ -1,5 +1,6 @@
 package net.minestom.server.thread;
 
+import net.minestom.server.ServerFlag;
 import net.minestom.server.Tickable;
 import org.jctools.queues.MessagePassingQueue;
 import org.jctools.queues.MpscUnboundedArrayQueue;
@@ -38,6 +39,8 @@ public final class ThreadDispatcher<P> {
 
     // Requests consumed at the end of each tick
     private final MessagePassingQueue<DispatchUpdate<P>> updates = new MpscUnboundedArrayQueue<>(1024);
+    // Ticks since the last partition rebalancing
+    private int balanceCounter;
 
     private ThreadDispatcher(ThreadProvider<P> provider, int threadCount,
                              @NotNull IntFunction<? extends TickThread> threadGenerator) {
@@ -45,6 +48,9 @@ public final class ThreadDispatcher<P> {
         TickThread[] threads = new TickThread[threadCount];
         Arrays.setAll(threads, threadGenerator);
         this.threads = List.of(threads);
+        if (provider.refreshType() == ThreadProvider.RefreshType.BALANCED) {
+            for (TickThread thread : threads) thread.measurePartitions = true;
+        }
         this.threads.forEach(Thread::start);
     }
 
@@ -151,9 +157,9 @@ public final class ThreadDispatcher<P> {
                     final TickThread previous = partitionEntry.thread;
                     final TickThread next = retrieveThread(partition);
                     if (next != previous) {
-                        partitionEntry.thread = next;
                         previous.entries().remove(partitionEntry);
                         next.entries().add(partitionEntry);
+                        updatePartitionThread(partitionEntry, next);
                     }
                     this.partitionUpdateQueue.addLast(partition);
                     if (--counter <= 0 || System.nanoTime() - currentTime >= nanoTimeout) {
@@ -161,6 +167,12 @@ public final class ThreadDispatcher<P> {
                     }
                 }
             }
+            case BALANCED -> {
+                if (++balanceCounter >= ServerFlag.DISPATCHER_BALANCE_INTERVAL) {
+                    this.balanceCounter = 0;
+                    balancePartitions();
+                }
+            }
         }
     }
 
@@ -218,6 +230,43 @@ public final class ThreadDispatcher<P> {
         this.threads.forEach(TickThread::shutdown);
     }
 
+    /**
+     * Redistributes the partitions across the threads using their tick time since the last call,
+     * heaviest first, each going to the least loaded thread (ties favor the current thread).
+     */
+    private void balancePartitions() {
+        final int threadCount = threads.size();
+        final List<Partition> sorted = new ArrayList<>(partitions.values());
+        for (Partition partition : sorted) {
+            partition.lastTickNanos = partition.tickNanos;
+            partition.tickNanos = 0;
+        }
+        if (threadCount == 1) return;
+        sorted.sort(Comparator.comparingLong((Partition partition) -> partition.lastTickNanos).reversed());
+        for (TickThread thread : threads) thread.entries().clear();
+        long[] loads = new long[threadCount];
+        for (Partition partition : sorted) {
+            int target = threads.indexOf(partition.thread);
+            for (int i = 0; i < threadCount; i++) {
+                if (loads[i] < loads[target]) target = i;
+            }
+            // Count at least 1ns so that idle partitions are spread too
+            loads[target] += Math.max(partition.lastTickNanos, 1);
+            final TickThread next = threads.get(target);
+            next.entries().add(partition);
+            if (next != partition.thread) updatePartitionThread(partition, next);
+        }
+    }
+
+    private void updatePartitionThread(Partition partition, TickThread thread) {
+        partition.thread = thread;
+        for (Tickable tickable : partition.elements) {
+            if (tickable instanceof AcquirableSource<?> acquirableSource) {
+                ((AcquirableImpl<?>) acquirableSource.acquirable()).updateThread(thread);
+            }
+        }
+    }
+
     private TickThread retrieveThread(P partition) {
         final int threadId = provider.findThread(partition);
         final int index = Math.abs(threadId) % threads.size();
@@ -231,7 +280,7 @@ public final class ThreadDispatcher<P> {
     private void processLoadedPartition(P partition) {
         if (partitions.containsKey(partition)) return;
         final TickThread thread = retrieveThread(partition);
-        final Partition partitionEntry = new Partition(thread);
+        final Partition partitionEntry = new Partition(thread, partition);
         thread.entries().add(partitionEntry);
         this.partitions.put(partition, partitionEntry);
         this.partitionUpdateQueue.add(partition);
@@ -283,10 +332,15 @@ public final class ThreadDispatcher<P> {
      */
     public static final class Partition {
         private TickThread thread;
+        private final Object partition;
         private final List<Tickable> elements = new ArrayList<>();
+        // Tick time since the last rebalancing, only measured with RefreshType.BALANCED
+        long tickNanos;
+        private long lastTickNanos;
 
-        private Partition(TickThread thread) {
+        private Partition(TickThread thread, Object partition) {
             this.thread = thread;
+            this.partition = partition;
         }
 
         /**
@@ -301,6 +355,15 @@ public final class ThreadDispatcher<P> {
             return thread;
         }
 
+        /**
+         * The object this partition has been created for, generally a {@link net.minestom.server.instance.Chunk}.
+         *
+         * @return the partition object
+         */
+        public @NotNull Object partition() {
+            return partition;
+        }
+
         /**
          * The {@link Tickable}s assigned to this partition.
          *
@@ -309,6 +372,17 @@ public final class ThreadDispatcher<P> {
         public @NotNull List<Tickable> elements() {
             return elements;
         }
+
+        /**
+         * The time spent ticking this partition during the last balancing interval.
+         * <p>
+         * Only measured when using {@link ThreadProvider.RefreshType#BALANCED}.
+         *
+         * @return the tick time in nanoseconds
+         */
+        public long lastTickNanos() {
+            return lastTickNanos;
+        }
     }
 
     @ApiStatus.Internal
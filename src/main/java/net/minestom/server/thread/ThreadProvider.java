@@ -19,6 +19,28 @@ public interface ThreadProvider<T> {
         };
     }
 
+    /**
+     * Creates a provider spreading new partitions like {@link #counter()},
+     * then periodically rebalancing them based on their measured tick time.
+     *
+     * @return a new balanced provider
+     * @see RefreshType#BALANCED
+     */
+    static <T> @NotNull ThreadProvider<T> balanced() {
+        final ThreadProvider<T> counter = counter();
+        return new ThreadProvider<>() {
+            @Override
+            public int findThread(@NotNull T partition) {
+                return counter.findThread(partition);
+            }
+
+            @Override
+            public @NotNull RefreshType refreshType() {
+                return RefreshType.BALANCED;
+            }
+        };
+    }
+
     /**
      * Performs a server tick for all chunks based on their linked thread.
      *
@@ -50,6 +72,14 @@ public interface ThreadProvider<T> {
          * <p>
          * Means that {@link #findThread(Object)} may be called multiple time for each partition.
          */
-        ALWAYS
+        ALWAYS,
+        /**
+         * Thread is initially defined by {@link #findThread(Object)}, then partitions are redistributed
+         * every {@code minestom.dispatcher.balance-interval} ticks so that each thread gets a similar tick time.
+         * <p>
+         * Tick time is measured for each partition, heavy partitions (e.g. chunks with many entities)
+         * end up sharing their thread with fewer others.
+         */
+        BALANCED
     }
 }
@@ -4,6 +4,7 @@ import net.minestom.server.MinecraftServer;
 import net.minestom.server.Tickable;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.instance.Chunk;
+import net.minestom.server.monitoring.TickProfiler;
 import org.jetbrains.annotations.ApiStatus;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -29,6 +30,8 @@ public final class TickThread extends MinestomThread {
     private long tickTime;
     private long tickNum = 0;
     private final List<ThreadDispatcher.Partition> entries = new ArrayList<>();
+    // Whether the tick time of each partition should be measured
+    boolean measurePartitions;
 
     public TickThread(int number) {
         super(MinecraftServer.THREAD_NAME_TICK + "-" + number);
@@ -64,21 +67,33 @@ public final class TickThread extends MinestomThread {
     private void tick() {
         final ReentrantLock lock = this.lock;
         final long tickTime = this.tickTime;
+        final boolean profile = TickProfiler.isSampling();
+        final boolean measure = this.measurePartitions || profile;
         for (ThreadDispatcher.Partition entry : entries) {
             assert entry.thread() == this;
             final List<Tickable> elements = entry.elements();
             if (elements.isEmpty()) continue;
+            final long start = measure ? System.nanoTime() : 0;
             for (Tickable element : elements) {
                 if (lock.hasQueuedThreads()) {
                     lock.unlock();
                     // #acquire() callbacks should be called here
                     lock.lock();
                 }
+                final long elementStart = profile ? System.nanoTime() : 0;
                 try {
                     element.tick(tickTime);
                 } catch (Throwable e) {
                     MinecraftServer.getExceptionManager().handleException(e);
                 }
+                if (profile && element instanceof Entity entity) {
+                    TickProfiler.recordEntity(entity.getEntityType(), System.nanoTime() - elementStart);
+                }
+            }
+            if (measure) {
+                final long nanos = System.nanoTime() - start;
+                if (measurePartitions) entry.tickNanos += nanos;
+                if (profile && entry.partition() instanceof Chunk chunk) TickProfiler.recordChunk(chunk, nanos);
             }
         }
     }
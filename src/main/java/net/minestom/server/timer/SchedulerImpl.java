@@ -1,34 +1,28 @@
 package net.minestom.server.timer;
 
-import it.unimi.dsi.fastutil.ints.Int2ObjectAVLTreeMap;
 import net.minestom.server.MinecraftServer;
 import org.jctools.queues.MpscUnboundedArrayQueue;
 import org.jetbrains.annotations.NotNull;
 
 import java.time.Duration;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
 
 final class SchedulerImpl implements Scheduler {
     private static final AtomicInteger TASK_COUNTER = new AtomicInteger();
-    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(r -> {
-        Thread thread = new Thread(r);
-        thread.setDaemon(true);
-        return thread;
-    });
 
     private final MpscUnboundedArrayQueue<TaskImpl> tasksToExecute = new MpscUnboundedArrayQueue<>(64);
     private final MpscUnboundedArrayQueue<TaskImpl> tickEndTasksToExecute = new MpscUnboundedArrayQueue<>(64);
-    // Tasks scheduled on a certain tick/tick end
-    private final Int2ObjectAVLTreeMap<List<TaskImpl>> tickStartTaskQueue = new Int2ObjectAVLTreeMap<>();
-    private final Int2ObjectAVLTreeMap<List<TaskImpl>> tickEndTaskQueue = new Int2ObjectAVLTreeMap<>();
+    // Delayed tasks waiting to be added to the wheels, allows scheduling from any thread without locking
+    private final MpscUnboundedArrayQueue<TaskImpl> delayedTasks = new MpscUnboundedArrayQueue<>(64);
+    // Tasks scheduled on a certain tick/tick end, or after a duration in milliseconds. Created on first use
+    private TimingWheel tickStartWheel, tickEndWheel, durationWheel;
+    private final Consumer<TaskImpl> expiredTask = this::safeExecute;
+    // Origin of the duration wheel time
+    private final long startTime = System.nanoTime();
 
-    private int tickState;
+    private volatile int tickState;
 
     @Override
     public void process() {
@@ -41,24 +35,50 @@ final class SchedulerImpl implements Scheduler {
     }
 
     private void processTick(int tickDelta) {
-        processTickTasks(tickStartTaskQueue, tasksToExecute, tickDelta);
+        synchronized (this) {
+            processDelayedTasks();
+            final int tickState = this.tickState + tickDelta;
+            this.tickState = tickState;
+            final TimingWheel wheel = this.tickStartWheel;
+            if (wheel != null) wheel.advance(tickState, expiredTask);
+        }
+        runTasks(tasksToExecute);
     }
 
     @Override
     public void processTickEnd() {
-        processTickTasks(tickEndTaskQueue, tickEndTasksToExecute, 0);
+        synchronized (this) {
+            processDelayedTasks();
+            final TimingWheel wheel = this.tickEndWheel;
+            if (wheel != null) wheel.advance(tickState, expiredTask);
+        }
+        runTasks(tickEndTasksToExecute);
     }
 
-    private void processTickTasks(Int2ObjectAVLTreeMap<List<TaskImpl>> targetTaskQueue, MpscUnboundedArrayQueue<TaskImpl> targetTasksToExecute, int tickDelta) {
-        synchronized (this) {
-            this.tickState += tickDelta;
-            int tickToProcess;
-            while (!targetTaskQueue.isEmpty() && (tickToProcess = targetTaskQueue.firstIntKey()) <= tickState) {
-                final List<TaskImpl> tickScheduledTasks = targetTaskQueue.remove(tickToProcess);
-                if (tickScheduledTasks != null) tickScheduledTasks.forEach(targetTasksToExecute::relaxedOffer);
-            }
+    private void processDelayedTasks() {
+        if (!delayedTasks.isEmpty()) {
+            delayedTasks.drain(task -> {
+                final TimingWheel wheel;
+                if (task.durationDelay) {
+                    TimingWheel durationWheel = this.durationWheel;
+                    if (durationWheel == null) this.durationWheel = durationWheel = new TimingWheel(currentMillis());
+                    wheel = durationWheel;
+                } else if (task.executionType() == ExecutionType.TICK_START) {
+                    TimingWheel tickStartWheel = this.tickStartWheel;
+                    if (tickStartWheel == null) this.tickStartWheel = tickStartWheel = new TimingWheel(tickState);
+                    wheel = tickStartWheel;
+                } else {
+                    TimingWheel tickEndWheel = this.tickEndWheel;
+                    if (tickEndWheel == null) this.tickEndWheel = tickEndWheel = new TimingWheel(tickState);
+                    wheel = tickEndWheel;
+                }
+                if (!wheel.add(task)) safeExecute(task);
+            });
+        }
+        final TimingWheel durationWheel = this.durationWheel;
+        if (durationWheel != null && !durationWheel.isEmpty()) {
+            durationWheel.advance(currentMillis(), expiredTask);
         }
-        runTasks(targetTasksToExecute);
     }
 
     private void runTasks(MpscUnboundedArrayQueue<TaskImpl> targetQueue) {
@@ -94,6 +114,10 @@ final class SchedulerImpl implements Scheduler {
         }
     }
 
+    private long currentMillis() {
+        return (System.nanoTime() - startTime) / 1_000_000;
+    }
+
     private void handleTask(TaskImpl task) {
         TaskSchedule schedule;
         try {
@@ -105,16 +129,15 @@ final class SchedulerImpl implements Scheduler {
 
         if (schedule instanceof TaskScheduleImpl.DurationSchedule durationSchedule) {
             final Duration duration = durationSchedule.duration();
-            SCHEDULER.schedule(() -> safeExecute(task), duration.toMillis(), TimeUnit.MILLISECONDS);
+            // Round up so that the task never runs before the end of the duration
+            final long target = currentMillis() + 1 + duration.toMillis();
+            task.wheelTarget = target < 0 ? Long.MAX_VALUE : target;
+            task.durationDelay = true;
+            delayedTasks.offer(task);
         } else if (schedule instanceof TaskScheduleImpl.TickSchedule tickSchedule) {
-            synchronized (this) {
-                final int target = tickState + tickSchedule.tick();
-                var targetTaskQueue = switch (task.executionType()) {
-                    case TICK_START -> tickStartTaskQueue;
-                    case TICK_END -> tickEndTaskQueue;
-                };
-                targetTaskQueue.computeIfAbsent(target, i -> new ArrayList<>()).add(task);
-            }
+            task.wheelTarget = (long) tickState + tickSchedule.tick();
+            task.durationDelay = false;
+            delayedTasks.offer(task);
         } else if (schedule instanceof TaskScheduleImpl.FutureSchedule futureSchedule) {
             futureSchedule.future().thenRun(() -> safeExecute(task));
         } else if (schedule instanceof TaskScheduleImpl.Park) {
@@ -26,6 +26,10 @@ final class TaskImpl implements Task {
     volatile boolean alive;
     volatile boolean parked;
 
+    // Tick or millisecond at which the task expires in the owner timing wheels, published through its delayed queue
+    long wheelTarget;
+    boolean durationDelay;
+
     TaskImpl(int id,
              @NotNull Supplier<TaskSchedule> task,
              @NotNull ExecutionType executionType,
@@ -0,0 +1,133 @@
+package net.minestom.server.timer;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Hierarchical timing wheel of tasks waiting for a point in time, either a tick or a millisecond.
+ * <p>
+ * Each level has 64 slots, a slot of level {@code n} covering {@code 64^n} time units.
+ * A task is added to the lowest level able to hold it and moves down one level each time the start of its slot is reached,
+ * making insertion and expiry O(1). Advancing skips directly to the next occupied slot using one bitmap per level,
+ * tasks further than the last level are kept aside until the last level wraps around.
+ * <p>
+ * The time of a task is read from {@link TaskImpl#wheelTarget}. This class is not thread-safe.
+ */
+final class TimingWheel {
+    private static final int SLOT_BITS = 6;
+    private static final int SLOT_MASK = (1 << SLOT_BITS) - 1;
+    private static final int LEVELS = 4;
+
+    // Slots of each level, created on first use
+    @SuppressWarnings("unchecked")
+    private final ArrayList<TaskImpl>[][] slots = new ArrayList[LEVELS][];
+    // One bit per non-empty slot of each level
+    private final long[] occupied = new long[LEVELS];
+    // Tasks too far in the future for the last level
+    private ArrayList<TaskImpl> overflow;
+    private long time;
+    private int size;
+
+    TimingWheel(long time) {
+        this.time = time;
+    }
+
+    long time() {
+        return time;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Adds a task expiring at its {@link TaskImpl#wheelTarget}.
+     *
+     * @param task the task to add
+     * @return false if the target time is already reached, in which case the task is not added
+     */
+    boolean add(@NotNull TaskImpl task) {
+        final long target = task.wheelTarget;
+        final long time = this.time;
+        if (target <= time) return false;
+        // Highest group of bits differing from the current time, the slot index in this level is always after the current one
+        final int level = (Long.SIZE - 1 - Long.numberOfLeadingZeros(target ^ time)) / SLOT_BITS;
+        if (level >= LEVELS) {
+            ArrayList<TaskImpl> overflow = this.overflow;
+            if (overflow == null) this.overflow = overflow = new ArrayList<>();
+            overflow.add(task);
+        } else {
+            ArrayList<TaskImpl>[] levelSlots = slots[level];
+            if (levelSlots == null) slots[level] = levelSlots = new ArrayList[SLOT_MASK + 1];
+            final int slot = (int) (target >>> (level * SLOT_BITS)) & SLOT_MASK;
+            ArrayList<TaskImpl> tasks = levelSlots[slot];
+            if (tasks == null) levelSlots[slot] = tasks = new ArrayList<>();
+            tasks.add(task);
+            occupied[level] |= 1L << slot;
+        }
+        this.size++;
+        return true;
+    }
+
+    /**
+     * Advances the wheel up to {@code now}.
+     *
+     * @param now     the new time, cannot be before the current one
+     * @param expired consumer of the tasks whose target is reached
+     */
+    void advance(long now, @NotNull Consumer<TaskImpl> expired) {
+        while (size > 0) {
+            final long next = nextSlotStart();
+            if (next > now) break;
+            this.time = next;
+            // Move down the tasks of every slot starting now, from the highest level
+            if ((next & lowerBitsMask(LEVELS)) == 0 && overflow != null && !overflow.isEmpty()) {
+                final ArrayList<TaskImpl> tasks = overflow;
+                this.overflow = null;
+                cascade(tasks, expired);
+            }
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((next & lowerBitsMask(level)) != 0) continue;
+                final int slot = (int) (next >>> (level * SLOT_BITS)) & SLOT_MASK;
+                if ((occupied[level] & (1L << slot)) == 0) continue;
+                occupied[level] &= ~(1L << slot);
+                cascade(slots[level][slot], expired);
+            }
+            final int slot = (int) next & SLOT_MASK;
+            if ((occupied[0] & (1L << slot)) != 0) {
+                occupied[0] &= ~(1L << slot);
+                final ArrayList<TaskImpl> tasks = slots[0][slot];
+                this.size -= tasks.size();
+                for (TaskImpl task : tasks) expired.accept(task);
+                tasks.clear();
+            }
+        }
+        if (now > time) this.time = now;
+    }
+
+    private void cascade(ArrayList<TaskImpl> tasks, Consumer<TaskImpl> expired) {
+        this.size -= tasks.size();
+        for (TaskImpl task : tasks) {
+            if (!add(task)) expired.accept(task);
+        }
+        tasks.clear();
+    }
+
+    private long nextSlotStart() {
+        // Occupied slots of a level always start before the ones of the levels above
+        for (int level = 0; level < LEVELS; level++) {
+            final long bits = occupied[level];
+            if (bits == 0) continue;
+            final int shift = level * SLOT_BITS;
+            return (time & ~lowerBitsMask(level + 1)) | ((long) Long.numberOfTrailingZeros(bits) << shift);
+        }
+        // Only overflowing tasks, wait for the last level to wrap around
+        return (time & ~lowerBitsMask(LEVELS)) + (1L << (LEVELS * SLOT_BITS));
+    }
+
+    private static long lowerBitsMask(int level) {
+        return (1L << (level * SLOT_BITS)) - 1;
+    }
+}
@@ -2,10 +2,6 @@ package net.minestom.server.utils;
 
 import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
-import it.unimi.dsi.fastutil.ints.Int2ObjectMap;
-import it.unimi.dsi.fastutil.ints.Int2ObjectOpenHashMap;
-import it.unimi.dsi.fastutil.longs.LongArrayList;
-import it.unimi.dsi.fastutil.longs.LongList;
 import net.kyori.adventure.audience.Audience;
 import net.kyori.adventure.audience.ForwardingAudience;
 import net.kyori.adventure.text.Component;
@@ -18,13 +14,15 @@ import net.minestom.server.adventure.MinestomAdventure;
 import net.minestom.server.adventure.audience.PacketGroupingAudience;
 import net.minestom.server.entity.Entity;
 import net.minestom.server.entity.Player;
+import net.minestom.server.monitoring.TickProfiler;
 import net.minestom.server.network.ConnectionState;
 import net.minestom.server.network.NetworkBuffer;
+import net.minestom.server.network.compression.CompressionSettings;
+import net.minestom.server.network.compression.PacketCompression;
 import net.minestom.server.network.packet.server.CachedPacket;
 import net.minestom.server.network.packet.server.FramedPacket;
 import net.minestom.server.network.packet.server.SendablePacket;
 import net.minestom.server.network.packet.server.ServerPacket;
-import net.minestom.server.network.player.PlayerConnection;
 import net.minestom.server.network.player.PlayerSocketConnection;
 import net.minestom.server.utils.binary.BinaryBuffer;
 import org.jetbrains.annotations.ApiStatus;
@@ -35,11 +33,10 @@ import java.nio.BufferUnderflowException;
 import java.nio.ByteBuffer;
 import java.util.Collection;
 import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.zip.DataFormatException;
-import java.util.zip.Deflater;
-import java.util.zip.Inflater;
 
 /**
  * Utils class for packets. Including writing a {@link ServerPacket} into a {@link ByteBuffer}
@@ -50,10 +47,9 @@ import java.util.zip.Inflater;
  * Be sure to check the implementation code.
  */
 public final class PacketUtils {
-    private static final ThreadLocal<Deflater> LOCAL_DEFLATER = ThreadLocal.withInitial(Deflater::new);
-
     // Viewable packets
     private static final Cache<Viewable, ViewableStorage> VIEWABLE_STORAGE_MAP = Caffeine.newBuilder().weakKeys().build();
+    private static final ForkJoinPool FLUSH_POOL = new ForkJoinPool(ServerFlag.VIEWABLE_PACKET_FLUSH_THREADS);
 
     private PacketUtils() {
     }
@@ -171,7 +167,7 @@ public final class PacketUtils {
         }
         final Player exception = entity instanceof Player ? (Player) entity : null;
         ViewableStorage storage = VIEWABLE_STORAGE_MAP.get(viewable, (unused) -> new ViewableStorage());
-        storage.append(viewable, serverPacket, exception);
+        storage.append(serverPacket, exception);
     }
 
     @ApiStatus.Experimental
@@ -182,8 +178,13 @@ public final class PacketUtils {
     @ApiStatus.Internal
     public static void flush() {
         if (ServerFlag.VIEWABLE_PACKET) {
-            VIEWABLE_STORAGE_MAP.asMap().entrySet().parallelStream().forEach(entry ->
-                    entry.getValue().process(entry.getKey()));
+            final boolean profile = TickProfiler.isSampling();
+            final long start = profile ? System.nanoTime() : 0;
+            final var storages = VIEWABLE_STORAGE_MAP.asMap().entrySet();
+            // Parallel streams run in the pool of the task starting them
+            FLUSH_POOL.submit(() -> storages.parallelStream().forEach(entry ->
+                    entry.getValue().flush(entry.getKey()))).join();
+            if (profile) TickProfiler.recordPacketFlush(System.nanoTime() - start);
         }
     }
 
@@ -218,10 +219,8 @@ public final class PacketUtils {
                         // Decompress to content buffer
                         content = BinaryBuffer.wrap(pool);
                         decompressedSize = dataLength;
-                        Inflater inflater = new Inflater(); // TODO: Pool?
-                        inflater.setInput(readBuffer.asByteBuffer(readBuffer.readerOffset(), payloadLength));
-                        inflater.inflate(content.asByteBuffer(0, dataLength));
-                        inflater.reset();
+                        PacketCompression.decompress(readBuffer.asByteBuffer(readBuffer.readerOffset(), payloadLength),
+                                content.asByteBuffer(0, dataLength));
                     }
                 }
                 // Slice packet
@@ -256,6 +255,15 @@ public final class PacketUtils {
                                          int id,
                                          @NotNull NetworkBuffer.Writer writer,
                                          int compressionThreshold) {
+        writeFramedPacket(buffer, id, writer, compressionThreshold,
+                PacketCompression.getSettings(writer.getClass(), false));
+    }
+
+    public static void writeFramedPacket(@NotNull ByteBuffer buffer,
+                                         int id,
+                                         @NotNull NetworkBuffer.Writer writer,
+                                         int compressionThreshold,
+                                         @NotNull CompressionSettings compressionSettings) {
         NetworkBuffer networkBuffer = new NetworkBuffer(buffer, false);
         if (compressionThreshold <= 0) {
             // Uncompressed format https://wiki.vg/Protocol#Without_compression
@@ -280,11 +288,8 @@ public final class PacketUtils {
             // Packet large enough, compress it
             try (var hold = ObjectPool.PACKET_POOL.hold()) {
                 final ByteBuffer input = hold.get().put(0, buffer, contentStart, packetSize);
-                Deflater deflater = LOCAL_DEFLATER.get();
-                deflater.setInput(input.limit(packetSize));
-                deflater.finish();
-                deflater.deflate(buffer.position(contentStart));
-                deflater.reset();
+                PacketCompression.compress(writer.getClass(), input.limit(packetSize),
+                        buffer.position(contentStart), compressionSettings);
 
                 networkBuffer.skipWrite(buffer.position() - contentStart);
             }
@@ -310,83 +315,17 @@ public final class PacketUtils {
     @ApiStatus.Internal
     public static FramedPacket allocateTrimmedPacket(@NotNull ConnectionState state, @NotNull ServerPacket packet) {
         try (var hold = ObjectPool.PACKET_POOL.hold()) {
-            final ByteBuffer temp = PacketUtils.createFramedPacket(state, hold.get(), packet);
+            // Compressed once for all receivers
+            final ByteBuffer temp = hold.get();
+            writeFramedPacket(temp, packet.getId(state), packet, MinecraftServer.getCompressionThreshold(),
+                    PacketCompression.getSettings(packet.getClass(), true));
+            temp.flip();
             final int size = temp.remaining();
             final ByteBuffer buffer = ByteBuffer.allocateDirect(size).put(0, temp, 0, size);
             return new FramedPacket(packet, buffer);
         }
     }
 
-    private static final class ViewableStorage {
-        // Player id -> list of offsets to ignore (32:32 bits)
-        private final Int2ObjectMap<LongArrayList> entityIdMap = new Int2ObjectOpenHashMap<>();
-        private final BinaryBuffer buffer = ObjectPool.BUFFER_POOL.getAndRegister(this);
-
-        private synchronized void append(Viewable viewable, ServerPacket serverPacket, @Nullable Player exception) {
-            try (var hold = ObjectPool.PACKET_POOL.hold()) {
-                // Viewable storage is only used for play packets, so fine to assume this.
-                final ByteBuffer framedPacket = createFramedPacket(ConnectionState.PLAY, hold.get(), serverPacket);
-                final int packetSize = framedPacket.limit();
-                if (packetSize >= buffer.capacity()) {
-                    process(viewable);
-                    for (Player viewer : viewable.getViewers()) {
-                        if (!Objects.equals(exception, viewer)) {
-                            writeTo(viewer.getPlayerConnection(), framedPacket, 0, packetSize);
-                        }
-                    }
-                    return;
-                }
-                if (!buffer.canWrite(packetSize)) process(viewable);
-                final int start = buffer.writerOffset();
-                this.buffer.write(framedPacket);
-                final int end = buffer.writerOffset();
-                if (exception != null) {
-                    final long offsets = (long) start << 32 | end & 0xFFFFFFFFL;
-                    LongList list = entityIdMap.computeIfAbsent(exception.getEntityId(), id -> new LongArrayList());
-                    list.add(offsets);
-                }
-            }
-        }
-
-        private synchronized void process(Viewable viewable) {
-            if (buffer.writerOffset() == 0) return;
-            ByteBuffer copy = ByteBuffer.allocateDirect(buffer.writerOffset());
-            copy.put(buffer.asByteBuffer(0, copy.capacity()));
-            viewable.getViewers().forEach(player -> processPlayer(player, copy));
-            this.buffer.clear();
-            this.entityIdMap.clear();
-        }
-
-        private void processPlayer(Player player, ByteBuffer buffer) {
-            final int size = buffer.limit();
-            final PlayerConnection connection = player.getPlayerConnection();
-            final LongArrayList pairs = entityIdMap.get(player.getEntityId());
-            if (pairs != null) {
-                // Ensure that we skip the specified parts of the buffer
-                int lastWrite = 0;
-                final long[] elements = pairs.elements();
-                for (int i = 0; i < pairs.size(); ++i) {
-                    final long offsets = elements[i];
-                    final int start = (int) (offsets >> 32);
-                    if (start != lastWrite) writeTo(connection, buffer, lastWrite, start - lastWrite);
-                    lastWrite = (int) offsets; // End = last 32 bits
-                }
-                if (size != lastWrite) writeTo(connection, buffer, lastWrite, size - lastWrite);
-            } else {
-                // Write all
-                writeTo(connection, buffer, 0, size);
-            }
-        }
-
-        private static void writeTo(PlayerConnection connection, ByteBuffer buffer, int offset, int length) {
-            if (connection instanceof PlayerSocketConnection socketConnection) {
-                socketConnection.write(buffer, offset, length);
-                return;
-            }
-            // TODO for non-socket connection
-        }
-    }
-
     @ApiStatus.Internal
     public static int invalidPacketState(@NotNull Class<?> packetClass, @NotNull ConnectionState state, @NotNull ConnectionState... expected) {
         assert expected.length > 0 : "Expected states cannot be empty: " + packetClass;
@@ -0,0 +1,254 @@
+package net.minestom.server.utils;
+
+import net.minestom.server.Viewable;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.ConnectionState;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.player.PlayerSocketConnection;
+import net.minestom.server.utils.binary.BinaryBuffer;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Packets waiting to be sent to the viewers of a {@link Viewable}, see {@link PacketUtils#prepareViewablePacket(Viewable, ServerPacket, net.minestom.server.entity.Entity)}.
+ * <p>
+ * Each thread appends to its own arena without locking. A flush takes the content of the arenas while their threads
+ * keep appending to a new one, then writes it to the viewers straight from its pooled blocks.
+ * A block goes back to the pool once every connection copied it.
+ */
+final class ViewableStorage {
+    private static final VarHandle ARENAS;
+    private static final VarHandle CONTENT;
+    // Content of the arenas removed by a flush, their thread must create a new one
+    private static final Content CLOSED = new Content();
+
+    private static final int BLOCK_SIZE = 32_768;
+    private static final ObjectPool<Block> BLOCK_POOL = new ObjectPool<>(() -> new Block(BLOCK_SIZE, true), Block::clear);
+    private static final Runnable NO_RELEASE = () -> {
+    };
+
+    static {
+        try {
+            ARENAS = MethodHandles.lookup().findVarHandle(ViewableStorage.class, "arenas", Arena[].class);
+            CONTENT = MethodHandles.lookup().findVarHandle(Arena.class, "content", Content.class);
+        } catch (NoSuchFieldException | IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Destination of the flushed packets.
+     */
+    interface Target {
+        /**
+         * Writes a region of a flushed block to a viewer.
+         *
+         * @param written run once the region is copied
+         */
+        void write(@NotNull Player viewer, @NotNull ByteBuffer buffer, int index, int length, @NotNull Runnable written);
+    }
+
+    static final Target SOCKET_TARGET = (viewer, buffer, index, length, written) -> {
+        if (viewer.getPlayerConnection() instanceof PlayerSocketConnection connection) {
+            connection.write(buffer, index, length, written);
+        } else {
+            // TODO for non-socket connection
+            written.run();
+        }
+    };
+
+    private volatile Arena[] arenas = new Arena[0];
+
+    void append(@NotNull ServerPacket serverPacket, @Nullable Player exception) {
+        try (var hold = ObjectPool.PACKET_POOL.hold()) {
+            // Viewable storage is only used for play packets, so fine to assume this.
+            final ByteBuffer framedPacket = PacketUtils.createFramedPacket(ConnectionState.PLAY, hold.get(), serverPacket);
+            final Thread thread = Thread.currentThread();
+            while (true) {
+                final Arena arena = arena(thread);
+                arena.writing = true;
+                try {
+                    Content content = arena.content;
+                    if (content == CLOSED) continue;
+                    if (content == null) {
+                        content = new Content();
+                        // Fails if the arena has been closed in the meantime
+                        if (!CONTENT.compareAndSet(arena, null, content)) continue;
+                    }
+                    content.append(framedPacket, exception);
+                    return;
+                } finally {
+                    arena.writing = false;
+                }
+            }
+        }
+    }
+
+    void flush(@NotNull Viewable viewable) {
+        flush(viewable, SOCKET_TARGET);
+    }
+
+    void flush(@NotNull Viewable viewable, @NotNull Target target) {
+        for (Arena arena : arenas) {
+            final Content content = (Content) CONTENT.getAndSet(arena, null);
+            if (content == null) {
+                // Nothing appended since the last flush, the thread may not use this storage anymore
+                if (CONTENT.compareAndSet(arena, null, CLOSED)) removeArena(arena);
+                continue;
+            }
+            // Wait for the thread to finish writing into the content
+            while (arena.writing) Thread.onSpinWait();
+            content.flush(viewable, target);
+        }
+    }
+
+    private Arena arena(Thread thread) {
+        for (Arena arena : arenas) {
+            if (arena.owner == thread && arena.content != CLOSED) return arena;
+        }
+        final Arena arena = new Arena(thread);
+        Arena[] current, updated;
+        do {
+            current = this.arenas;
+            updated = Arrays.copyOf(current, current.length + 1);
+            updated[current.length] = arena;
+        } while (!ARENAS.compareAndSet(this, current, updated));
+        return arena;
+    }
+
+    private void removeArena(Arena arena) {
+        Arena[] current, updated;
+        do {
+            current = this.arenas;
+            int index = 0;
+            while (index < current.length && current[index] != arena) index++;
+            if (index == current.length) return;
+            updated = new Arena[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, updated.length - index);
+        } while (!ARENAS.compareAndSet(this, current, updated));
+    }
+
+    private static final class Arena {
+        private final Thread owner;
+        // Set by the owner thread while appending
+        private volatile boolean writing;
+        // Null if nothing has been appended since the last flush
+        private volatile Content content;
+
+        Arena(Thread owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Packets appended by a thread between two flushes.
+     */
+    private static final class Content {
+        private final List<Block> blocks = new ArrayList<>(1);
+
+        void append(ByteBuffer framedPacket, @Nullable Player exception) {
+            final int packetSize = framedPacket.remaining();
+            Block block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+            if (block == null || !block.buffer.canWrite(packetSize)) {
+                block = packetSize < BLOCK_SIZE ? BLOCK_POOL.get() : new Block(packetSize, false);
+                blocks.add(block);
+            }
+            block.append(framedPacket, exception);
+        }
+
+        void flush(Viewable viewable, Target target) {
+            for (Block block : blocks) block.flush(viewable, target);
+        }
+    }
+
+    private static final class Block {
+        private final BinaryBuffer buffer;
+        private final boolean pooled;
+        // Viewers to skip, sorted by viewer on flush (32 bits viewer id, 32 bits exclusion index)
+        private long[] exclusionKeys = new long[0];
+        // Skipped regions (32 bits start, 32 bits end)
+        private long[] exclusionOffsets = new long[0];
+        private int exclusionCount;
+
+        private final AtomicInteger references = new AtomicInteger();
+        private final Runnable release = this::release;
+
+        Block(int size, boolean pooled) {
+            this.buffer = BinaryBuffer.ofSize(size);
+            this.pooled = pooled;
+        }
+
+        void append(ByteBuffer framedPacket, @Nullable Player exception) {
+            final int start = buffer.writerOffset();
+            buffer.write(framedPacket);
+            if (exception == null) return;
+            final int index = exclusionCount++;
+            if (index == exclusionKeys.length) {
+                final int length = Math.max(8, index * 2);
+                this.exclusionKeys = Arrays.copyOf(exclusionKeys, length);
+                this.exclusionOffsets = Arrays.copyOf(exclusionOffsets, length);
+            }
+            exclusionKeys[index] = (long) exception.getEntityId() << 32 | index;
+            exclusionOffsets[index] = (long) start << 32 | buffer.writerOffset() & 0xFFFFFFFFL;
+        }
+
+        void flush(Viewable viewable, Target target) {
+            final int size = buffer.writerOffset();
+            final ByteBuffer data = buffer.asByteBuffer(0, size);
+            final long[] keys = this.exclusionKeys;
+            final int count = this.exclusionCount;
+            Arrays.sort(keys, 0, count);
+            // Keep the block until the end of the loop
+            references.set(1);
+            for (Player viewer : viewable.getViewers()) {
+                final int viewerId = viewer.getEntityId();
+                int exclusion = Arrays.binarySearch(keys, 0, count, (long) viewerId << 32);
+                if (exclusion < 0) exclusion = -exclusion - 1;
+                // Only the last write of the viewer releases the block
+                int start = 0, pendingStart = 0, pendingLength = 0;
+                for (; exclusion < count && (int) (keys[exclusion] >>> 32) == viewerId; exclusion++) {
+                    final long offsets = exclusionOffsets[(int) keys[exclusion]];
+                    final int end = (int) (offsets >>> 32);
+                    if (end != start) {
+                        if (pendingLength != 0) write(target, viewer, data, pendingStart, pendingLength, false);
+                        pendingStart = start;
+                        pendingLength = end - start;
+                    }
+                    start = (int) offsets;
+                }
+                if (size != start) {
+                    if (pendingLength != 0) write(target, viewer, data, pendingStart, pendingLength, false);
+                    pendingStart = start;
+                    pendingLength = size - start;
+                }
+                if (pendingLength != 0) write(target, viewer, data, pendingStart, pendingLength, true);
+            }
+            release();
+        }
+
+        private void write(Target target, Player viewer, ByteBuffer data, int index, int length, boolean last) {
+            if (last) references.incrementAndGet();
+            target.write(viewer, data, index, length, last ? release : NO_RELEASE);
+        }
+
+        private void release() {
+            if (references.decrementAndGet() == 0 && pooled) BLOCK_POOL.add(this);
+        }
+
+        Block clear() {
+            this.buffer.clear();
+            this.exclusionCount = 0;
+            return this;
+        }
+    }
+
+}
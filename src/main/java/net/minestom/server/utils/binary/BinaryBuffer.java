@@ -17,11 +17,17 @@ public final class BinaryBuffer {
     private ByteBuffer nioBuffer; // To become a `MemorySegment` once released
 
     private final int capacity;
+    private final boolean view;
     private int readerOffset, writerOffset;
 
-    private BinaryBuffer(ByteBuffer buffer) {
+    private BinaryBuffer(ByteBuffer buffer, boolean view) {
         this.nioBuffer = buffer;
         this.capacity = buffer.capacity();
+        this.view = view;
+    }
+
+    private BinaryBuffer(ByteBuffer buffer) {
+        this(buffer, false);
     }
 
     @ApiStatus.Internal
@@ -35,6 +41,24 @@ public final class BinaryBuffer {
         return new BinaryBuffer(buffer);
     }
 
+    /**
+     * Creates a read-only buffer referencing a region of {@code buffer}, with all its content readable.
+     * <p>
+     * The underlying memory is shared and must not be modified while the view is in use.
+     * Views are not meant to be returned to a pool.
+     *
+     * @param buffer the buffer to reference
+     * @param index  the region start
+     * @param length the region length
+     * @return a view of the region
+     */
+    @ApiStatus.Internal
+    public static BinaryBuffer view(ByteBuffer buffer, int index, int length) {
+        assert buffer.isDirect();
+        BinaryBuffer view = new BinaryBuffer(buffer.slice(index, length).asReadOnlyBuffer(), true);
+        view.writerOffset = length;
+        return view;
+    }
 
     public static BinaryBuffer copy(BinaryBuffer buffer) {
         final int size = buffer.readableBytes();
@@ -97,6 +121,10 @@ public final class BinaryBuffer {
         return capacity;
     }
 
+    public boolean isView() {
+        return view;
+    }
+
     public int readerOffset() {
         return readerOffset;
     }
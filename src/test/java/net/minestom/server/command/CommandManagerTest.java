@@ -1,18 +1,28 @@
 package net.minestom.server.command;
 
+import net.minestom.server.MinecraftServer;
 import net.minestom.server.command.builder.Command;
 import net.minestom.server.command.builder.CommandResult;
 import net.minestom.server.command.builder.arguments.ArgumentType;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.packet.server.SendablePacket;
 import net.minestom.server.network.packet.server.play.DeclareCommandsPacket;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
+import java.util.List;
+import java.util.UUID;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class CommandManagerTest {
 
+    static {
+        MinecraftServer.init();
+    }
+
     @Test
     public void testCommandRegistration() {
         var manager = new CommandManager();
@@ -104,6 +114,112 @@ public class CommandManagerTest {
         assertTrue(checkAB.get());
     }
 
+    @Test
+    public void graphUpdatedAfterChange() {
+        var manager = new CommandManager();
+        var cmd = new Command("cmd");
+        manager.register(cmd);
+        assertEquals(CommandResult.Type.INVALID_SYNTAX, manager.executeServerCommand("cmd a").getType());
+
+        // Changed after registration
+        cmd.addSyntax((sender, context) -> {}, ArgumentType.Literal("a"));
+        assertEquals(CommandResult.Type.SUCCESS, manager.executeServerCommand("cmd a").getType());
+
+        manager.unregister(cmd);
+        assertEquals(CommandResult.Type.UNKNOWN, manager.executeServerCommand("cmd a").getType());
+    }
+
+    @Test
+    public void literalDispatch() {
+        var manager = new CommandManager();
+        var executed = new AtomicReference<String>();
+        var cmd = new Command("cmd");
+        for (String literal : List.of("set", "add", "remove", "reset")) {
+            cmd.addSyntax((sender, context) -> executed.set(literal + context.get("value")),
+                    ArgumentType.Literal(literal), ArgumentType.Integer("value"));
+        }
+        cmd.addSyntax((sender, context) -> executed.set("word"), ArgumentType.Word("word").from("list", "clear"));
+        manager.register(cmd);
+        for (int i = 0; i < 20; i++) manager.register(new Command("other" + i));
+
+        assertEquals(CommandResult.Type.SUCCESS, manager.executeServerCommand("cmd remove 5").getType());
+        assertEquals("remove5", executed.get());
+        assertEquals(CommandResult.Type.SUCCESS, manager.executeServerCommand("cmd clear").getType());
+        assertEquals("word", executed.get());
+        assertEquals(CommandResult.Type.INVALID_SYNTAX, manager.executeServerCommand("cmd unknown 5").getType());
+        assertEquals(CommandResult.Type.INVALID_SYNTAX, manager.executeServerCommand("cmd set").getType());
+        assertEquals(CommandResult.Type.UNKNOWN, manager.executeServerCommand("unknown").getType());
+    }
+
+    @Test
+    public void declareCommandsPacketShared() {
+        var manager = new CommandManager();
+        var cmd = new Command("cmd");
+        cmd.setCondition((sender, commandString) -> sender instanceof Player player && player.getUsername().startsWith("admin"));
+        manager.register(cmd);
+        manager.register(new Command("public"));
+
+        var admin1 = new Player(UUID.randomUUID(), "admin1", null);
+        var admin2 = new Player(UUID.randomUUID(), "admin2", null);
+        var user = new Player(UUID.randomUUID(), "user", null);
+        final SendablePacket adminPacket = manager.getDeclareCommandsPacket(admin1);
+        assertSame(adminPacket, manager.getDeclareCommandsPacket(admin2));
+        final SendablePacket userPacket = manager.getDeclareCommandsPacket(user);
+        assertNotSame(adminPacket, userPacket);
+        assertEquals(3, manager.createDeclareCommandsPacket(admin1).nodes().size());
+        assertEquals(2, manager.createDeclareCommandsPacket(user).nodes().size());
+
+        manager.register(new Command("new"));
+        assertNotSame(adminPacket, manager.getDeclareCommandsPacket(admin1));
+        assertEquals(4, manager.createDeclareCommandsPacket(admin1).nodes().size());
+    }
+
+    @Test
+    public void createdDeclareCommandsPacketNotShared() {
+        var manager = new CommandManager();
+        manager.register(new Command("cmd"));
+
+        var player1 = new Player(UUID.randomUUID(), "player1", null);
+        var player2 = new Player(UUID.randomUUID(), "player2", null);
+        final DeclareCommandsPacket packet = manager.createDeclareCommandsPacket(player1);
+        assertNotSame(packet, manager.createDeclareCommandsPacket(player1));
+        final int[] rootChildren = packet.nodes().get(packet.rootIndex()).children;
+        packet.nodes().get(packet.rootIndex()).children = new int[0];
+
+        final DeclareCommandsPacket other = manager.createDeclareCommandsPacket(player2);
+        assertArrayEquals(rootChildren, other.nodes().get(other.rootIndex()).children);
+    }
+
+    @Test
+    public void argumentChangeUpdatesPacket() {
+        var manager = new CommandManager();
+        var cmd = new Command("cmd");
+        var argument = ArgumentType.String("arg");
+        cmd.addSyntax((sender, context) -> {}, argument);
+        manager.register(cmd);
+
+        var player = new Player(UUID.randomUUID(), "player", null);
+        final SendablePacket packet = manager.getDeclareCommandsPacket(player);
+        assertEquals("", argumentNode(manager.createDeclareCommandsPacket(player)).suggestionsType);
+
+        // Changed after registration
+        argument.setSuggestionCallback((sender, context, suggestion) -> {});
+        assertNotSame(packet, manager.getDeclareCommandsPacket(player));
+        assertEquals("minecraft:ask_server", argumentNode(manager.createDeclareCommandsPacket(player)).suggestionsType);
+
+        // The command can now be run without argument
+        assertEquals(CommandResult.Type.INVALID_SYNTAX, manager.executeServerCommand("cmd").getType());
+        argument.setDefaultValue("value");
+        assertEquals(CommandResult.Type.SUCCESS, manager.executeServerCommand("cmd").getType());
+    }
+
+    private static DeclareCommandsPacket.Node argumentNode(DeclareCommandsPacket packet) {
+        for (DeclareCommandsPacket.Node node : packet.nodes()) {
+            if ("arg".equals(node.name)) return node;
+        }
+        throw new AssertionError("Argument node not found");
+    }
+
     private static void assertNodeEquals(DeclareCommandsPacket.Node node, byte flags, int[] children, int redirectedNode,
                                          String name, String parser, byte[] properties, String suggestionsType) {
         assertEquals(flags, node.flags);
@@ -0,0 +1,114 @@
+package net.minestom.server.entity;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.play.EntityPositionAndRotationPacket;
+import net.minestom.server.network.packet.server.play.EntityPositionPacket;
+import net.minestom.server.network.packet.server.play.EntityTeleportPacket;
+import net.minestom.testing.Collector;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class EntitySynchronizationTiersIntegrationTest {
+
+    @Test
+    public void nearAndFarViewers(Env env) {
+        var instance = env.createFlatInstance();
+        var nearConnection = env.createConnection();
+        var farConnection = env.createConnection();
+        nearConnection.connect(instance, new Pos(2, 42, 0)).join();
+        farConnection.connect(instance, new Pos(40, 42, 0)).join();
+
+        var entity = new Entity(EntityTypes.ZOMBIE);
+        entity.setNoGravity(true);
+        entity.setSynchronizationTiers(SynchronizationTiers.parse("32:4"));
+        entity.setInstance(instance, new Pos(0, 42, 0)).join();
+        assertEquals(2, entity.getViewers().size());
+        // Keep the periodic teleport out of the test
+        entity.setSynchronizationTicks(1000);
+        entity.synchronizeNextTick();
+        env.tick();
+
+        double nearX = 0, farX = 0;
+        int farUpdates = 0;
+        // Moving
+        for (int i = 0; i < 8; i++) {
+            entity.refreshPosition(entity.getPosition().add(0.5, 0, 0));
+            var nearTracker = nearConnection.trackIncoming(ServerPacket.class);
+            var farTracker = farConnection.trackIncoming(ServerPacket.class);
+            env.tick();
+            final double nearMove = movement(entity, nearTracker);
+            assertEquals(0.5, nearMove, 1e-6, "Near viewers receive every movement");
+            nearX += nearMove;
+            final double farMove = movement(entity, farTracker);
+            if (farMove != 0) farUpdates++;
+            farX += farMove;
+        }
+        assertEquals(2, farUpdates, "Far viewers receive the movements every 4 ticks");
+
+        // Stopped, the far viewer must still receive the last position
+        farUpdates = 0;
+        for (int i = 0; i < 8; i++) {
+            var nearTracker = nearConnection.trackIncoming(ServerPacket.class);
+            var farTracker = farConnection.trackIncoming(ServerPacket.class);
+            env.tick();
+            assertEquals(0, movement(entity, nearTracker));
+            final double farMove = movement(entity, farTracker);
+            if (farMove != 0) farUpdates++;
+            farX += farMove;
+        }
+        assertTrue(farUpdates <= 1);
+        assertEquals(4, nearX, 1e-6);
+        assertEquals(4, farX, 1e-6, "Far viewers must end up on the final position");
+    }
+
+    @Test
+    public void readdedViewer(Env env) {
+        var instance = env.createFlatInstance();
+        var farConnection = env.createConnection();
+        var far = farConnection.connect(instance, new Pos(40, 42, 0)).join();
+
+        var entity = new Entity(EntityTypes.ZOMBIE);
+        entity.setNoGravity(true);
+        entity.setAutoViewable(false);
+        entity.setSynchronizationTiers(SynchronizationTiers.parse("32:8"));
+        entity.setInstance(instance, new Pos(0, 42, 0)).join();
+        entity.setSynchronizationTicks(1000);
+        entity.synchronizeNextTick();
+        env.tick();
+        entity.addViewer(far);
+
+        // Skipped by the far viewer
+        entity.refreshPosition(entity.getPosition().add(1, 0, 0));
+        env.tick();
+        // Spawned again at the current position
+        entity.removeViewer(far);
+        entity.addViewer(far);
+
+        var farTracker = farConnection.trackIncoming(ServerPacket.class);
+        entity.refreshPosition(entity.getPosition().add(1, 0, 0));
+        for (int i = 0; i < 16; i++) env.tick();
+        assertEquals(1, movement(entity, farTracker), 1e-6, "Moves must start from the spawn position");
+    }
+
+    private static double movement(Entity entity, Collector<ServerPacket> tracker) {
+        List<ServerPacket> packets = tracker.collect();
+        double x = 0;
+        for (ServerPacket packet : packets) {
+            if (packet instanceof EntityPositionPacket position && position.entityId() == entity.getEntityId()) {
+                x += position.deltaX() / 4096d;
+            } else if (packet instanceof EntityPositionAndRotationPacket position && position.entityId() == entity.getEntityId()) {
+                x += position.deltaX() / 4096d;
+            } else if (packet instanceof EntityTeleportPacket teleport && teleport.entityId() == entity.getEntityId()) {
+                fail("Unexpected teleport " + teleport);
+            }
+        }
+        return x;
+    }
+}
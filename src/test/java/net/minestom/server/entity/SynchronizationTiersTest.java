@@ -0,0 +1,34 @@
+package net.minestom.server.entity;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SynchronizationTiersTest {
+    @Test
+    public void empty() {
+        var tiers = SynchronizationTiers.parse("");
+        assertTrue(tiers.isEmpty());
+        assertEquals(1, tiers.interval(1_000_000));
+    }
+
+    @Test
+    public void intervals() {
+        // Unordered on purpose
+        var tiers = SynchronizationTiers.parse("64:4, 32:2");
+        assertFalse(tiers.isEmpty());
+        assertEquals(1, tiers.interval(0));
+        assertEquals(1, tiers.interval(32 * 32));
+        assertEquals(2, tiers.interval(33 * 33));
+        assertEquals(2, tiers.interval(64 * 64));
+        assertEquals(4, tiers.interval(65 * 65));
+    }
+
+    @Test
+    public void invalid() {
+        assertThrows(IllegalArgumentException.class, () -> SynchronizationTiers.parse("32"));
+        assertThrows(IllegalArgumentException.class, () -> SynchronizationTiers.parse("32:0"));
+        assertThrows(IllegalArgumentException.class, () -> SynchronizationTiers.parse("-1:2"));
+        assertThrows(IllegalArgumentException.class, () -> SynchronizationTiers.parse("a:2"));
+    }
+}
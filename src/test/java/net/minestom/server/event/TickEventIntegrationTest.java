@@ -0,0 +1,70 @@
+package net.minestom.server.event;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.event.entity.EntityTickEvent;
+import net.minestom.server.event.instance.InstanceTickEvent;
+import net.minestom.server.event.player.PlayerTickEvent;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class TickEventIntegrationTest {
+
+    @Test
+    public void entityTickMapped(Env env) {
+        var instance = env.createFlatInstance();
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setInstance(instance, new Pos(0, 42, 0)).join();
+        assertFalse(EventDispatcher.hasListener(EntityTickEvent.class));
+        env.tick();
+
+        // Listened from the node of the instance
+        List<EntityTickEvent> events = new ArrayList<>();
+        instance.eventNode().addListener(EntityTickEvent.class, events::add);
+        assertTrue(EventDispatcher.hasListener(EntityTickEvent.class));
+        env.tick();
+        env.tick();
+        assertEquals(2, events.size());
+        assertSame(entity, events.get(0).getEntity());
+        assertSame(events.get(0), events.get(1));
+    }
+
+    @Test
+    public void playerTick(Env env) {
+        var instance = env.createFlatInstance();
+        var player = env.createPlayer(instance, new Pos(0, 42, 0));
+        List<PlayerTickEvent> events = new ArrayList<>();
+        env.process().eventHandler().addListener(PlayerTickEvent.class, events::add);
+        env.tick();
+        env.tick();
+        assertEquals(2, events.size());
+        assertSame(player, events.get(0).getPlayer());
+        assertSame(events.get(0), events.get(1));
+    }
+
+    @Test
+    public void instanceTick(Env env) {
+        var instance = env.createFlatInstance();
+        AtomicInteger count = new AtomicInteger();
+        var listener = EventListener.of(InstanceTickEvent.class, event -> {
+            if (event.getInstance() == instance) count.incrementAndGet();
+        });
+        env.process().eventHandler().addListener(listener);
+        env.tick();
+        assertEquals(1, count.get());
+
+        env.process().eventHandler().removeListener(listener);
+        assertFalse(EventDispatcher.hasListener(InstanceTickEvent.class));
+        env.tick();
+        assertEquals(1, count.get());
+    }
+}
@@ -0,0 +1,146 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.server.utils.chunk.ChunkUtils;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class ChunkLoadCancelIntegrationTest {
+
+    @Test
+    public void cancelledByOneCaller(Env env) {
+        var loader = new GatedLoader();
+        var instance = env.createFlatInstance(loader);
+        var first = instance.loadChunk(5, 5);
+        var second = instance.loadChunk(5, 5);
+        assertNotSame(first, second);
+        assertEquals(1, loader.loadCount.get());
+
+        first.cancel(false);
+        final CompletableFuture<Chunk> load = loader.load(5, 5);
+        assertFalse(load.isCancelled(), "Another caller still waits for the chunk");
+        load.complete(null);
+        final Chunk chunk = second.join();
+        assertSame(chunk, instance.getChunk(5, 5));
+    }
+
+    @Test
+    public void cancelledByAllCallers(Env env) {
+        var loader = new GatedLoader();
+        var instance = env.createFlatInstance(loader);
+        var first = instance.loadChunk(5, 5);
+        var second = instance.loadChunk(5, 5);
+        first.cancel(false);
+        second.cancel(false);
+        assertTrue(loader.load(5, 5).isCancelled());
+        assertNull(instance.getChunk(5, 5));
+
+        // Loaded again by the next caller
+        var third = instance.loadChunk(5, 5);
+        assertEquals(2, loader.loadCount.get());
+        loader.load(5, 5).complete(null);
+        assertSame(third.join(), instance.getChunk(5, 5));
+    }
+
+    @Test
+    public void cancelledDuringGeneration(Env env) throws InterruptedException {
+        var loader = new GatedLoader();
+        var instance = env.createFlatInstance(loader);
+        CountDownLatch generating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        instance.setGenerator(unit -> {
+            generating.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            unit.modifier().fillHeight(0, 40, Block.STONE);
+        });
+
+        var future = instance.loadChunk(5, 5);
+        // Not found by the loader, generated instead
+        loader.load(5, 5).complete(null);
+        assertTrue(generating.await(5, TimeUnit.SECONDS));
+        future.cancel(false);
+        release.countDown();
+
+        // Thrown away once generated
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (loader.unloaded.isEmpty() && System.nanoTime() < deadline) Thread.onSpinWait();
+        assertEquals(1, loader.unloaded.size());
+        assertEquals(5, loader.unloaded.get(0).getChunkX());
+        assertNull(instance.getChunk(5, 5));
+    }
+
+    @Test
+    public void playerLeavingRange(Env env) {
+        var loader = new GatedLoader();
+        // Chunks far away are not loaded, except the one the player is teleported to
+        loader.immediate = (chunkX, chunkZ) -> chunkX < 50 || (chunkX == 100 && chunkZ == 0);
+        var instance = env.createFlatInstance(loader);
+        var player = env.createPlayer(instance, new Pos(0, 40, 0));
+        assertTrue(loader.loads.isEmpty());
+
+        player.teleport(new Pos(1600, 40, 0)).join();
+        assertFalse(loader.loads.isEmpty());
+        for (CompletableFuture<Chunk> load : loader.loads.values()) assertFalse(load.isDone());
+
+        player.teleport(new Pos(0, 40, 0)).join();
+        for (CompletableFuture<Chunk> load : loader.loads.values()) {
+            assertTrue(load.isCancelled(), "Load of a chunk out of range must be cancelled");
+        }
+    }
+
+    private static final class GatedLoader implements IChunkLoader {
+        final Map<Long, CompletableFuture<Chunk>> loads = new ConcurrentHashMap<>();
+        final AtomicInteger loadCount = new AtomicInteger();
+        final List<Chunk> unloaded = new CopyOnWriteArrayList<>();
+        volatile ChunkFilter immediate = (chunkX, chunkZ) -> false;
+
+        CompletableFuture<Chunk> load(int chunkX, int chunkZ) {
+            return loads.get(ChunkUtils.getChunkIndex(chunkX, chunkZ));
+        }
+
+        @Override
+        public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+            loadCount.incrementAndGet();
+            if (immediate.test(chunkX, chunkZ)) return CompletableFuture.completedFuture(null);
+            CompletableFuture<Chunk> future = new CompletableFuture<>();
+            loads.put(ChunkUtils.getChunkIndex(chunkX, chunkZ), future);
+            return future;
+        }
+
+        @Override
+        public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+            return AsyncUtils.VOID_FUTURE;
+        }
+
+        @Override
+        public void unloadChunk(Chunk chunk) {
+            unloaded.add(chunk);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ChunkFilter {
+        boolean test(int chunkX, int chunkZ);
+    }
+}
@@ -0,0 +1,126 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.tag.Tag;
+import net.minestom.server.utils.async.AsyncUtils;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class ChunkSaveQueueIntegrationTest {
+
+    @Test
+    public void dirtyTracking(Env env) {
+        var instance = env.createFlatInstance();
+        Chunk chunk = instance.loadChunk(0, 0).join();
+        assertTrue(chunk.isDirty(), "Generated chunks have never been saved");
+
+        chunk.markClean();
+        instance.setBlock(0, 42, 0, Block.STONE);
+        assertTrue(chunk.isDirty());
+
+        chunk.markClean();
+        chunk.setTag(Tag.Integer("value"), 5);
+        assertTrue(chunk.isDirty());
+    }
+
+    @Test
+    public void saveOnlyDirty(Env env) {
+        var loader = new RecordingLoader();
+        var instance = (InstanceContainer) env.createFlatInstance(loader);
+        Chunk first = instance.loadChunk(0, 0).join();
+        Chunk second = instance.loadChunk(1, 0).join();
+
+        instance.saveChunksToStorage().join();
+        assertEquals(2, loader.saved.size());
+        assertFalse(first.isDirty());
+        assertFalse(second.isDirty());
+
+        loader.saved.clear();
+        instance.setBlock(16, 42, 0, Block.STONE);
+        instance.saveChunksToStorage().join();
+        assertEquals(List.of(second), loader.saved);
+    }
+
+    @Test
+    public void failedSaveKeepsDirty(Env env) {
+        var loader = new RecordingLoader();
+        var instance = (InstanceContainer) env.createFlatInstance(loader);
+        Chunk first = instance.loadChunk(0, 0).join();
+        Chunk second = instance.loadChunk(1, 0).join();
+
+        loader.failing = true;
+        assertThrows(CompletionException.class, () -> instance.saveChunkToStorage(first).join());
+        assertTrue(first.isDirty(), "Failed saves must be retried");
+        assertThrows(CompletionException.class, () -> instance.saveChunksToStorage().join());
+        assertTrue(first.isDirty());
+        assertTrue(second.isDirty());
+
+        loader.failing = false;
+        instance.saveChunksToStorage().join();
+        assertEquals(2, loader.saved.size());
+        assertFalse(first.isDirty());
+        assertFalse(second.isDirty());
+    }
+
+    @Test
+    public void writeBehind(Env env) {
+        var loader = new RecordingLoader();
+        var instance = (InstanceContainer) env.createFlatInstance(loader);
+        var queue = instance.getChunkSaveQueue();
+        Chunk chunk = instance.loadChunk(0, 0).join();
+
+        assertTrue(queue.submit(chunk));
+        assertFalse(queue.submit(chunk), "Chunk is not dirty anymore");
+        // Changes after the submission are not part of the queued copy
+        instance.setBlock(0, 42, 0, Block.STONE);
+
+        queue.flush().join();
+        assertEquals(0, queue.getQueueSize());
+        assertEquals(1, queue.getSavedChunks());
+        assertEquals(1, loader.saved.size());
+        Chunk copy = loader.saved.get(0);
+        assertNotSame(chunk, copy);
+        assertEquals(Block.AIR, copy.getBlock(0, 42, 0));
+
+        // The change is saved with the next submission
+        assertEquals(1, queue.submitDirty());
+        queue.flush().join();
+        assertEquals(Block.STONE, loader.saved.get(1).getBlock(0, 42, 0));
+
+        // Tag-only changes are saved with the tags
+        var tag = Tag.Integer("value");
+        chunk.setTag(tag, 5);
+        assertTrue(queue.submit(chunk));
+        queue.flush().join();
+        assertEquals(5, loader.saved.get(2).getTag(tag));
+    }
+
+    private static final class RecordingLoader implements IChunkLoader {
+        final List<Chunk> saved = new CopyOnWriteArrayList<>();
+        volatile boolean failing;
+
+        @Override
+        public @NotNull CompletableFuture<@Nullable Chunk> loadChunk(@NotNull Instance instance, int chunkX, int chunkZ) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        @Override
+        public @NotNull CompletableFuture<Void> saveChunk(@NotNull Chunk chunk) {
+            if (failing) return CompletableFuture.failedFuture(new IOException("Storage unavailable"));
+            saved.add(chunk);
+            return AsyncUtils.VOID_FUTURE;
+        }
+    }
+}
@@ -10,7 +10,10 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
 
 @EnvTest
 public class ChunkViewerIntegrationTest {
@@ -60,4 +63,24 @@ public class ChunkViewerIntegrationTest {
             assertEquals(count, tracker.collect().size());
         }
     }
+
+    @Test
+    public void viewsPrunedOnUnload(Env env) {
+        var instance = env.createFlatInstance();
+        var index = ChunkView.Index.of(instance.getEntityTracker());
+        final int views = index.viewCount();
+        final int subscribedChunks = index.subscribedChunkCount();
+
+        var chunk = instance.loadChunk(100, 100).join();
+        var player = env.createPlayer(instance, new Pos(1600, 40, 1600));
+        assertEquals(Set.of(player), chunk.getViewers());
+        assertTrue(index.viewCount() > views);
+        assertTrue(index.subscribedChunkCount() > subscribedChunks);
+
+        player.remove();
+        for (Chunk loaded : List.copyOf(instance.getChunks())) instance.unloadChunk(loaded);
+        assertEquals(0, index.viewCount());
+        assertEquals(0, index.subscribedChunkCount());
+        assertTrue(chunk.getViewers().isEmpty());
+    }
 }
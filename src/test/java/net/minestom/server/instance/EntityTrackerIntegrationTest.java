@@ -14,11 +14,13 @@ import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
 
 import java.net.SocketAddress;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @EnvTest
 public class EntityTrackerIntegrationTest {
@@ -124,4 +126,25 @@ public class EntityTrackerIntegrationTest {
         player.setInstance(shared2, spawnPos).join();
         assertEquals(1, viewable.getViewers().size());
     }
+
+    @Test
+    public void viewableIncremental(Env env) {
+        final Instance instance = env.createFlatInstance();
+        final Pos spawnPos = new Pos(0, 41, 0);
+        var viewable = instance.getEntityTracker().viewable(spawnPos.chunkX(), spawnPos.chunkZ());
+        var viewers = viewable.getViewers();
+        assertSame(viewers, viewable.getViewers());
+
+        final Player player = env.createPlayer(instance, spawnPos);
+        assertEquals(Set.of(player), viewers);
+
+        // Walk out of the chunk view distance, one chunk at a time
+        final int viewDistance = ServerFlag.CHUNK_VIEW_DISTANCE;
+        for (int i = 1; i <= viewDistance; i++) {
+            player.teleport(new Pos(i * 16, 41, 0)).join();
+            assertEquals(Set.of(player), viewers);
+        }
+        player.teleport(new Pos((viewDistance + 1) * 16, 41, 0)).join();
+        assertTrue(viewers.isEmpty());
+    }
 }
@@ -0,0 +1,189 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.coordinate.Vec;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GridEntityTrackerTest {
+    private static final EntityTracker.Update<Entity> UPDATER = new EntityTracker.Update<>() {
+        @Override
+        public void add(@NotNull Entity entity) {
+            // Empty
+        }
+
+        @Override
+        public void remove(@NotNull Entity entity) {
+            // Empty
+        }
+    };
+
+    @Test
+    public void register() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newGridTracker();
+        var chunkEntities = tracker.chunkEntities(Vec.ZERO, EntityTracker.Target.ENTITIES);
+        assertTrue(chunkEntities.isEmpty());
+
+        tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, UPDATER);
+        assertEquals(1, chunkEntities.size());
+        assertSame(ent1, tracker.getEntityById(ent1.getEntityId()));
+        assertSame(ent1, tracker.getEntityByUuid(ent1.getUuid()));
+        assertThrows(IllegalStateException.class, () -> tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, UPDATER));
+
+        tracker.unregister(ent1, EntityTracker.Target.ENTITIES, UPDATER);
+        assertEquals(0, chunkEntities.size());
+        assertNull(tracker.getEntityById(ent1.getEntityId()));
+        assertNull(tracker.getEntityByUuid(ent1.getUuid()));
+    }
+
+    @Test
+    public void move() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newGridTracker();
+        tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, UPDATER);
+        tracker.register(ent2, new Vec(1, 0, 1), EntityTracker.Target.ENTITIES, UPDATER);
+
+        tracker.move(ent1, new Vec(32, 0, 32), EntityTracker.Target.ENTITIES, UPDATER);
+        assertEquals(Set.of(ent2), Set.copyOf(tracker.chunkEntities(Vec.ZERO, EntityTracker.Target.ENTITIES)));
+        assertEquals(Set.of(ent1), Set.copyOf(tracker.chunkEntities(new Vec(32, 0, 32), EntityTracker.Target.ENTITIES)));
+
+        // Removing the first slot of a cell must keep the others reachable
+        tracker.move(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, UPDATER);
+        tracker.unregister(ent2, EntityTracker.Target.ENTITIES, UPDATER);
+        assertEquals(Set.of(ent1), Set.copyOf(tracker.chunkEntities(Vec.ZERO, EntityTracker.Target.ENTITIES)));
+    }
+
+    @Test
+    public void difference() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newGridTracker();
+        tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, UPDATER);
+        tracker.register(ent2, Vec.ZERO, EntityTracker.Target.ENTITIES, UPDATER);
+
+        Set<Entity> removed = new HashSet<>();
+        tracker.move(ent1, new Vec(Integer.MAX_VALUE, 0, 0), EntityTracker.Target.ENTITIES, new EntityTracker.Update<>() {
+            @Override
+            public void add(@NotNull Entity entity) {
+                fail("No other entity should be added");
+            }
+
+            @Override
+            public void remove(@NotNull Entity entity) {
+                removed.add(entity);
+            }
+        });
+        assertEquals(Set.of(ent2), removed);
+
+        Set<Entity> added = new HashSet<>();
+        tracker.move(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, new EntityTracker.Update<>() {
+            @Override
+            public void add(@NotNull Entity entity) {
+                added.add(entity);
+            }
+
+            @Override
+            public void remove(@NotNull Entity entity) {
+                fail("no entity to remove");
+            }
+        });
+        assertEquals(Set.of(ent2), added);
+    }
+
+    @Test
+    public void nearby() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        var ent3 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newGridTracker();
+        tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, UPDATER);
+        tracker.register(ent2, new Vec(5, 0, 0), EntityTracker.Target.ENTITIES, UPDATER);
+        tracker.register(ent3, new Vec(50, 0, 0), EntityTracker.Target.ENTITIES, UPDATER);
+
+        Set<Entity> entities = new HashSet<>();
+        tracker.nearbyEntities(Vec.ZERO, 4.99, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1), entities);
+        entities.clear();
+
+        tracker.nearbyEntities(Vec.ZERO, 5, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1, ent2), entities);
+        entities.clear();
+
+        tracker.nearbyEntities(new Vec(-50, 0, 0), 100, EntityTracker.Target.ENTITIES, entities::add);
+        assertEquals(Set.of(ent1, ent2, ent3), entities);
+
+        Set<Integer> ids = new HashSet<>();
+        tracker.nearbyEntityIds(Vec.ZERO, 5, EntityTracker.Target.ENTITIES, ids::add);
+        assertEquals(Set.of(ent1.getEntityId(), ent2.getEntityId()), ids);
+
+        tracker.nearbyEntities(Vec.ZERO, 50, EntityTracker.Target.PLAYERS, player -> fail("No player should be tracked"));
+    }
+
+    @Test
+    public void modifyDuringQuery() {
+        var ent1 = new Entity(EntityType.ZOMBIE);
+        var ent2 = new Entity(EntityType.ZOMBIE);
+        EntityTracker tracker = EntityTracker.newGridTracker();
+        tracker.register(ent1, Vec.ZERO, EntityTracker.Target.ENTITIES, UPDATER);
+        tracker.register(ent2, new Vec(1, 0, 0), EntityTracker.Target.ENTITIES, UPDATER);
+
+        Set<Entity> nested = new HashSet<>();
+        tracker.nearbyEntities(Vec.ZERO, 5, EntityTracker.Target.ENTITIES, entity -> {
+            tracker.nearbyEntities(Vec.ZERO, 5, EntityTracker.Target.ENTITIES, nested::add);
+            tracker.unregister(entity, EntityTracker.Target.ENTITIES, UPDATER);
+        });
+        assertEquals(Set.of(ent1, ent2), nested);
+        assertTrue(tracker.entities().isEmpty());
+        assertTrue(tracker.chunkEntities(Vec.ZERO, EntityTracker.Target.ENTITIES).isEmpty());
+    }
+
+    @Test
+    public void concurrentMovesInCell() throws InterruptedException {
+        EntityTracker tracker = EntityTracker.newGridTracker();
+        List<Entity> entities = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            var entity = new Entity(EntityType.ZOMBIE);
+            tracker.register(entity, new Vec(2, 0, 2), EntityTracker.Target.ENTITIES, UPDATER);
+            entities.add(entity);
+        }
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Thread> threads = new ArrayList<>();
+        for (Entity entity : entities) {
+            Thread thread = new Thread(() -> {
+                // Opposite corners of the cell, a torn position would be on one of the two others
+                final Vec[] corners = {new Vec(2, 0, 2), new Vec(14, 0, 14)};
+                int i = 0;
+                while (running.get()) {
+                    tracker.move(entity, corners[i++ & 1], EntityTracker.Target.ENTITIES, UPDATER);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        try {
+            for (int i = 0; i < 10_000; i++) {
+                Set<Entity> all = new HashSet<>();
+                tracker.nearbyEntities(new Vec(8, 0, 8), 9, EntityTracker.Target.ENTITIES, all::add);
+                assertEquals(Set.copyOf(entities), all);
+                tracker.nearbyEntities(new Vec(2, 0, 14), 1, EntityTracker.Target.ENTITIES,
+                        entity -> fail("Torn position read"));
+                tracker.nearbyEntities(new Vec(14, 0, 2), 1, EntityTracker.Target.ENTITIES,
+                        entity -> fail("Torn position read"));
+            }
+        } finally {
+            running.set(false);
+            for (Thread thread : threads) thread.join();
+        }
+    }
+}
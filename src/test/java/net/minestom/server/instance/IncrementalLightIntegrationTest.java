@@ -0,0 +1,128 @@
+package net.minestom.server.instance;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.network.packet.server.play.data.LightData;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class IncrementalLightIntegrationTest {
+
+    @Test
+    public void matchesFullRelight(Env env) {
+        Instance instance = createInstance(env);
+        final Block[] blocks = {Block.TORCH, Block.GLOWSTONE, Block.STONE, Block.AIR, Block.OAK_SLAB, Block.GLASS};
+        Random random = new Random(42);
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < 4; i++) {
+                instance.setBlock(random.nextInt(40) - 20, 32 + random.nextInt(36), random.nextInt(40) - 20,
+                        blocks[random.nextInt(blocks.length)]);
+            }
+            applyUpdates(instance);
+            final int[] incremental = snapshot(instance);
+            fullRelight(instance);
+            assertArrayEquals(snapshot(instance), incremental, "round " + round);
+        }
+    }
+
+    @Test
+    public void appliedOnTick(Env env) {
+        Instance instance = createInstance(env);
+        LightingChunk chunk = (LightingChunk) instance.getChunk(0, 0);
+        assertNotNull(chunk);
+        instance.setBlock(8, 45, 8, Block.GLOWSTONE);
+        assertEquals(0, chunk.getSection(2).blockLight().getLevel(8, 13, 8));
+
+        chunk.tick(0);
+        assertEquals(15, chunk.getSection(2).blockLight().getLevel(8, 13, 8));
+        assertEquals(14, chunk.getSection(2).blockLight().getLevel(9, 13, 8));
+        // Crosses the chunk border
+        assertEquals(6, instance.getBlockLight(-1, 45, 8));
+
+        instance.setBlock(8, 45, 8, Block.AIR);
+        chunk.tick(0);
+        assertEquals(0, chunk.getSection(2).blockLight().getLevel(8, 13, 8));
+        assertEquals(0, instance.getBlockLight(-1, 45, 8));
+    }
+
+    @Test
+    public void skyColumn(Env env) {
+        Instance instance = createInstance(env);
+        // Roof at y=60, open column at x=0 z=0
+        instance.setBlock(0, 60, 0, Block.AIR);
+        applyUpdates(instance);
+        assertEquals(15, instance.getSkyLight(0, 50, 0));
+        assertEquals(14, instance.getSkyLight(1, 50, 0));
+
+        instance.setBlock(0, 55, 0, Block.STONE);
+        applyUpdates(instance);
+        assertEquals(15, instance.getSkyLight(0, 56, 0));
+        // Only lit from the side, through the column above the stone
+        assertEquals(11, instance.getSkyLight(0, 54, 0));
+        assertEquals(7, instance.getSkyLight(0, 50, 0));
+    }
+
+    @Test
+    public void onlyChangedSectionsSent(Env env) {
+        Instance instance = createInstance(env);
+        LightingChunk chunk = (LightingChunk) instance.getChunk(0, 0);
+        assertNotNull(chunk);
+        chunk.createLightData(false);
+
+        // Middle of section 2, the light does not reach other sections
+        instance.setBlock(8, 40, 8, Block.REDSTONE_TORCH);
+        applyUpdates(instance);
+        final LightData lightData = chunk.createLightData(false);
+        final int sectionIndex = 2 - chunk.getMinSection() + 1;
+        assertEquals(1, lightData.blockMask().cardinality());
+        assertTrue(lightData.blockMask().get(sectionIndex));
+        assertTrue(lightData.skyMask().isEmpty());
+        assertTrue(lightData.emptyBlockMask().isEmpty());
+    }
+
+    private static Instance createInstance(Env env) {
+        Instance instance = env.createFlatInstance();
+        instance.setChunkSupplier(LightingChunk::new);
+        instance.setGenerator(unit -> {
+            unit.modifier().fillHeight(-64, 32, Block.STONE);
+            unit.modifier().fillHeight(60, 61, Block.STONE);
+        });
+        for (int x = -3; x <= 3; x++) {
+            for (int z = -3; z <= 3; z++) {
+                instance.loadChunk(x, z).join();
+            }
+        }
+        fullRelight(instance);
+        return instance;
+    }
+
+    private static void fullRelight(Instance instance) {
+        LightingChunk.relight(instance, instance.getChunks());
+        // Computes the sections skipped by the relight
+        for (Chunk chunk : instance.getChunks()) ((LightingChunk) chunk).createLightData(true);
+    }
+
+    private static void applyUpdates(Instance instance) {
+        for (Chunk chunk : instance.getChunks()) ((LightingChunk) chunk).applyLightUpdates();
+    }
+
+    private static int[] snapshot(Instance instance) {
+        int[] levels = new int[2 * 48 * 48 * 48];
+        int i = 0;
+        for (int x = -24; x < 24; x++) {
+            for (int y = 24; y < 72; y++) {
+                for (int z = -24; z < 24; z++) {
+                    final Section section = instance.getChunkAt(x, z).getSectionAt(y);
+                    levels[i++] = section.blockLight().getLevel(x & 15, y & 15, z & 15);
+                    levels[i++] = section.skyLight().getLevel(x & 15, y & 15, z & 15);
+                }
+            }
+        }
+        return levels;
+    }
+}
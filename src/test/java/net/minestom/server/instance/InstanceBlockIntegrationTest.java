@@ -1,20 +1,23 @@
 package net.minestom.server.instance;
 
+import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.instance.block.SuspiciousGravelBlockHandler;
 import net.minestom.server.instance.block.rule.BlockPlacementRule;
 import net.minestom.server.tag.Tag;
+import net.minestom.server.utils.NamespaceID;
 import net.minestom.testing.Env;
 import net.minestom.testing.EnvTest;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.junit.jupiter.api.Test;
 
+import java.time.Duration;
 import java.util.concurrent.atomic.AtomicReference;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 @EnvTest
 public class InstanceBlockIntegrationTest {
@@ -105,4 +108,65 @@ public class InstanceBlockIntegrationTest {
 
         assertEquals(theBlock, currentBlock.get());
     }
+
+    @Test
+    public void handlerChangingOtherChunk(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.loadChunk(1, 0).join();
+        var handler = new BlockHandler() {
+            @Override
+            public void onDestroy(@NotNull Destroy destroy) {
+                // Next to the block, in chunk 1
+                destroy.getInstance().setBlock(16, 50, 0, Block.GOLD_BLOCK);
+                assertEquals(Block.GOLD_BLOCK, destroy.getInstance().getBlock(16, 50, 0));
+            }
+
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:test");
+            }
+        };
+        instance.setBlock(15, 50, 0, Block.STONE.withHandler(handler));
+        instance.setBlock(15, 50, 0, Block.DIRT);
+        assertEquals(Block.DIRT, instance.getBlock(15, 50, 0));
+        assertEquals(Block.GOLD_BLOCK, instance.getBlock(16, 50, 0));
+    }
+
+    @Test
+    public void handlersChangingOtherChunkConcurrently(Env env) {
+        var instance = env.createFlatInstance();
+        instance.loadChunk(0, 0).join();
+        instance.loadChunk(1, 0).join();
+        // Each handler changes the chunk of the other one
+        var handler0 = neighbourHandler(1);
+        var handler1 = neighbourHandler(-1);
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            var thread = new Thread(() -> {
+                for (int y = 0; y < 200; y++) instance.setBlock(15, y, 0, Block.STONE.withHandler(handler0));
+            });
+            thread.start();
+            for (int y = 0; y < 200; y++) instance.setBlock(16, y, 1, Block.STONE.withHandler(handler1));
+            thread.join();
+        });
+        for (int y = 0; y < 200; y++) {
+            assertEquals(Block.GOLD_BLOCK, instance.getBlock(16, y, 0));
+            assertEquals(Block.GOLD_BLOCK, instance.getBlock(15, y, 1));
+        }
+    }
+
+    private static BlockHandler neighbourHandler(int offsetX) {
+        return new BlockHandler() {
+            @Override
+            public void onPlace(@NotNull Placement placement) {
+                final Point position = placement.getBlockPosition();
+                placement.getInstance().setBlock(position.add(offsetX, 0, 0), Block.GOLD_BLOCK);
+            }
+
+            @Override
+            public @NotNull NamespaceID getNamespaceId() {
+                return NamespaceID.from("minestom:test");
+            }
+        };
+    }
 }
@@ -2,12 +2,15 @@ package net.minestom.server.instance;
 
 import net.kyori.adventure.nbt.CompoundBinaryTag;
 import net.kyori.adventure.nbt.TagStringIOExt;
+import net.minestom.server.ServerFlag;
 import net.minestom.server.coordinate.Pos;
 import net.minestom.server.coordinate.Vec;
 import net.minestom.server.instance.block.Block;
 import net.minestom.server.instance.block.BlockHandler;
 import net.minestom.server.network.packet.server.play.BlockChangePacket;
 import net.minestom.server.network.packet.server.play.BlockEntityDataPacket;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import net.minestom.server.network.packet.server.play.MultiBlockChangePacket;
 import net.minestom.server.tag.Tag;
 import net.minestom.server.utils.NamespaceID;
 import net.minestom.testing.Env;
@@ -33,9 +36,11 @@ public class InstanceBlockPacketIntegrationTest {
 
         assertEquals(Block.AIR, instance.getBlock(blockPoint));
 
-        var tracker = connection.trackIncoming();
+        var tracker = connection.trackIncoming(BlockChangePacket.class);
         instance.setBlock(blockPoint, Block.STONE);
-        tracker.assertSingle(BlockChangePacket.class, packet -> {
+        // Sent at the end of the tick
+        env.tick();
+        tracker.assertSingle(packet -> {
             assertEquals(blockPoint, packet.blockPosition());
             assertEquals(Block.STONE.stateId(), packet.blockStateId());
         });
@@ -83,6 +88,7 @@ public class InstanceBlockPacketIntegrationTest {
         var blockChangeTracker = connection.trackIncoming(BlockChangePacket.class);
         var blockEntityTracker = connection.trackIncoming(BlockEntityDataPacket.class);
         instance.setBlock(blockPoint, block);
+        env.tick();
         blockChangeTracker.assertSingle(packet -> {
             assertEquals(blockPoint, packet.blockPosition());
             assertEquals(block.stateId(), packet.blockStateId());
@@ -95,4 +101,74 @@ public class InstanceBlockPacketIntegrationTest {
 
         assertEquals(block, instance.getBlock(blockPoint));
     }
+
+    @Test
+    public void sameBlockCoalesced(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        var blockPoint = new Vec(5, 41, 0);
+        var tracker = connection.trackIncoming(BlockChangePacket.class);
+        instance.setBlock(blockPoint, Block.STONE);
+        instance.setBlock(blockPoint, Block.DIRT);
+        env.tick();
+        tracker.assertSingle(packet -> {
+            assertEquals(blockPoint, packet.blockPosition());
+            assertEquals(Block.DIRT.stateId(), packet.blockStateId());
+        });
+    }
+
+    @Test
+    public void multiBlockChange(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        var singleTracker = connection.trackIncoming(BlockChangePacket.class);
+        var multiTracker = connection.trackIncoming(MultiBlockChangePacket.class);
+        for (int x = 0; x < 4; x++) {
+            instance.setBlock(x, 41, 2, Block.STONE);
+        }
+        // Another section
+        instance.setBlock(1, 60, 3, Block.GLASS);
+        env.tick();
+        singleTracker.assertSingle(packet -> {
+            assertEquals(new Vec(1, 60, 3), packet.blockPosition());
+            assertEquals(Block.GLASS.stateId(), packet.blockStateId());
+        });
+        multiTracker.assertSingle(packet -> {
+            assertEquals(new MultiBlockChangePacket(0, 2, 0, new long[0]).chunkSectionPosition(), packet.chunkSectionPosition());
+            assertEquals(4, packet.blocks().length);
+            for (long entry : packet.blocks()) {
+                assertEquals(Block.STONE.stateId(), entry >>> 12);
+                // Local y is 41 & 15, local z is 2
+                assertEquals(9 | 2 << 4, entry & 0xFF);
+            }
+        });
+    }
+
+    @Test
+    public void heavilyChangedSectionResent(Env env) {
+        var instance = env.createFlatInstance();
+        var connection = env.createConnection();
+        connection.connect(instance, new Pos(0, 40, 0)).join();
+
+        var singleTracker = connection.trackIncoming(BlockChangePacket.class);
+        var multiTracker = connection.trackIncoming(MultiBlockChangePacket.class);
+        var chunkTracker = connection.trackIncoming(ChunkDataPacket.class);
+        final int count = ServerFlag.BLOCK_CHANGE_RESEND_THRESHOLD + 1;
+        for (int i = 0; i < count; i++) {
+            instance.setBlock(i & 15, 48 + (i >> 8 & 15), i >> 4 & 15, Block.STONE);
+        }
+        env.tick();
+        // The chunk is sent again instead
+        singleTracker.assertEmpty();
+        multiTracker.assertEmpty();
+        chunkTracker.assertSingle(packet -> {
+            assertEquals(0, packet.chunkX());
+            assertEquals(0, packet.chunkZ());
+        });
+        assertEquals(Block.STONE, instance.getBlock(0, 48, 0));
+    }
 }
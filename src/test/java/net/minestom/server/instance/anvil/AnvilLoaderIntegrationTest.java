@@ -54,6 +54,51 @@ public class AnvilLoaderIntegrationTest {
         }
     }
 
+    @Test
+    public void parallelLoadMatchesSequential(Env env) throws IOException {
+        var worldFolder = extractWorld("anvil_vanilla_sample");
+        AnvilLoader sequentialLoader = new AnvilLoader(worldFolder) {
+            @Override
+            public boolean supportsParallelLoading() {
+                return false;
+            }
+        };
+        AnvilLoader parallelLoader = new AnvilLoader(worldFolder);
+        Instance instance = env.createFlatInstance();
+
+        for (int chunkX = -4; chunkX < 0; chunkX++) {
+            for (int chunkZ = -4; chunkZ < 4; chunkZ++) {
+                Chunk expected = sequentialLoader.loadChunk(instance, chunkX, chunkZ).join();
+                Chunk actual = parallelLoader.loadChunk(instance, chunkX, chunkZ).join();
+                Assertions.assertNotNull(expected);
+                Assertions.assertNotNull(actual);
+                final int minY = expected.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+                final int maxY = expected.getMaxSection() * Chunk.CHUNK_SECTION_SIZE;
+                for (int y = minY; y < maxY; y++) {
+                    for (int x = 0; x < 16; x++) {
+                        for (int z = 0; z < 16; z++) {
+                            assertEquals(expected.getBiome(x, y, z), actual.getBiome(x, y, z));
+                            assertEquals(expected.getBlock(x, y, z), actual.getBlock(x, y, z));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void cancelledLoad(Env env) throws IOException {
+        var worldFolder = extractWorld("anvil_vanilla_sample");
+        AnvilLoader chunkLoader = new AnvilLoader(worldFolder);
+        Instance instance = env.createFlatInstance();
+
+        var future = chunkLoader.loadChunk(instance, -1, -1);
+        future.cancel(false);
+        Assertions.assertTrue(future.isCancelled());
+        // The loader is still usable
+        Assertions.assertNotNull(chunkLoader.loadChunk(instance, -1, -1).join());
+    }
+
     @Test
     public void parallelSaveNonexistentFiles(Env env) throws Exception {
         var worldFolder = Files.createTempDirectory("minestom-test-world-parallel-save");
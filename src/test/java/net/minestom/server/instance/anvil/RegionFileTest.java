@@ -0,0 +1,102 @@
+package net.minestom.server.instance.anvil;
+
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RegionFileTest {
+
+    @Test
+    public void writeRead(@TempDir Path directory) throws IOException {
+        final Path path = directory.resolve(RegionFile.getFileName(0, 0));
+        try (RegionFile regionFile = new RegionFile(path)) {
+            assertFalse(regionFile.hasChunkData(0, 0));
+            assertNull(regionFile.readChunkData(0, 0));
+
+            regionFile.writeChunkData(0, 0, chunkData(0, 0, 16));
+            regionFile.writeChunkData(31, 31, chunkData(31, 31, 16));
+            assertTrue(regionFile.hasChunkData(0, 0));
+            assertEquals(chunkData(0, 0, 16), regionFile.readChunkData(0, 0));
+            assertEquals(chunkData(31, 31, 16), regionFile.readChunkData(31, 31));
+        }
+        assertEquals(0, Files.size(path) % 4096, "Region file must be sector aligned");
+
+        // Header must be persisted
+        try (RegionFile regionFile = new RegionFile(path)) {
+            assertEquals(chunkData(0, 0, 16), regionFile.readChunkData(0, 0));
+            assertEquals(chunkData(31, 31, 16), regionFile.readChunkData(31, 31));
+            assertFalse(regionFile.hasChunkData(1, 0));
+        }
+    }
+
+    @Test
+    public void rewriteReusesSectors(@TempDir Path directory) throws IOException {
+        final Path path = directory.resolve(RegionFile.getFileName(0, 0));
+        try (RegionFile regionFile = new RegionFile(path)) {
+            for (int i = 0; i < 16; i++) {
+                regionFile.writeChunkData(0, 0, chunkData(0, 0, i));
+                regionFile.flush();
+            }
+            assertEquals(chunkData(0, 0, 15), regionFile.readChunkData(0, 0));
+        }
+        // 2 header sectors, the current allocation and the freed one
+        assertTrue(Files.size(path) <= 4 * 4096, "Freed sectors should be reused");
+    }
+
+    @Test
+    public void concurrentReads(@TempDir Path directory) throws Exception {
+        final Path path = directory.resolve(RegionFile.getFileName(0, 0));
+        try (RegionFile regionFile = new RegionFile(path)) {
+            for (int x = 0; x < 32; x++) regionFile.writeChunkData(x, 0, chunkData(x, 0, 64));
+            regionFile.flush();
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<?>> futures = new ArrayList<>();
+                // Readers
+                for (int t = 0; t < 3; t++) {
+                    futures.add(executor.submit(() -> {
+                        for (int i = 0; i < 200; i++) {
+                            final int x = i % 32;
+                            final CompoundBinaryTag data = regionFile.readChunkData(x, 0);
+                            assertNotNull(data);
+                            assertEquals(x, data.getInt("xPos"));
+                        }
+                        return null;
+                    }));
+                }
+                // Writer moving the chunks around
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        final int x = i % 32;
+                        regionFile.writeChunkData(x, 0, chunkData(x, 0, 64 + i));
+                    }
+                    regionFile.flush();
+                    return null;
+                }));
+                for (Future<?> future : futures) future.get(30, TimeUnit.SECONDS);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    private static CompoundBinaryTag chunkData(int chunkX, int chunkZ, int size) {
+        final long[] data = new long[size * 64];
+        for (int i = 0; i < data.length; i++) data[i] = i * 31L + size;
+        return CompoundBinaryTag.builder()
+                .putInt("xPos", chunkX)
+                .putInt("zPos", chunkZ)
+                .putLongArray("data", data)
+                .build();
+    }
+}
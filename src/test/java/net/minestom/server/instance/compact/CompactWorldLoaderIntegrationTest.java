@@ -0,0 +1,115 @@
+package net.minestom.server.instance.compact;
+
+import net.kyori.adventure.nbt.CompoundBinaryTag;
+import net.minestom.server.instance.Chunk;
+import net.minestom.server.instance.Instance;
+import net.minestom.server.instance.anvil.AnvilLoader;
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.world.DimensionType;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class CompactWorldLoaderIntegrationTest {
+
+    private static final Path testRoot = Path.of("src", "test", "resources", "net", "minestom", "server", "instance");
+
+    @Test
+    public void convertMatchesAnvil(Env env) throws IOException {
+        var worldFolder = copyWorld("anvil_vanilla_sample");
+        var file = Files.createTempFile("minestom-compact-world", ".msw");
+        final int converted = CompactWorldWriter.convertAnvil(worldFolder, file, DimensionType.OVERWORLD);
+
+        var compactLoader = new CompactWorldLoader(file);
+        assertEquals(converted, compactLoader.chunkCount());
+        var anvilLoader = new AnvilLoader(worldFolder);
+        Instance instance = env.createFlatInstance();
+
+        for (int chunkX = -4; chunkX < 0; chunkX++) {
+            for (int chunkZ = -4; chunkZ < 4; chunkZ++) {
+                Chunk expected = anvilLoader.loadChunk(instance, chunkX, chunkZ).join();
+                Chunk actual = compactLoader.loadChunk(instance, chunkX, chunkZ).join();
+                assertNotNull(expected);
+                assertNotNull(actual);
+                final int minY = expected.getMinSection() * Chunk.CHUNK_SECTION_SIZE;
+                final int maxY = expected.getMaxSection() * Chunk.CHUNK_SECTION_SIZE;
+                for (int y = minY; y < maxY; y++) {
+                    for (int x = 0; x < 16; x++) {
+                        for (int z = 0; z < 16; z++) {
+                            assertEquals(expected.getBiome(x, y, z), actual.getBiome(x, y, z));
+                            assertEquals(expected.getBlock(x, y, z), actual.getBlock(x, y, z));
+                        }
+                    }
+                }
+                for (int section = expected.getMinSection(); section < expected.getMaxSection(); section++) {
+                    assertArrayEquals(expected.getSection(section).skyLight().array(), actual.getSection(section).skyLight().array());
+                    assertArrayEquals(expected.getSection(section).blockLight().array(), actual.getSection(section).blockLight().array());
+                }
+            }
+        }
+        assertNull(compactLoader.loadChunk(instance, 100, 100).join());
+    }
+
+    @Test
+    public void blockEntities(Env env) throws IOException {
+        Instance source = env.createFlatInstance();
+        Chunk chunk = source.loadChunk(0, 0).join();
+        final Block chest = Block.CHEST.withNbt(CompoundBinaryTag.builder().putString("CustomName", "test").build());
+        source.setBlock(1, 42, 2, chest);
+        source.setBlock(3, -10, 4, Block.STONE.withNbt(CompoundBinaryTag.builder().putInt("value", 5).build()));
+
+        var file = Files.createTempFile("minestom-compact-world", ".msw");
+        CompactWorldWriter.write(file, List.of(chunk));
+
+        Instance instance = env.createFlatInstance(new CompactWorldLoader(file));
+        instance.loadChunk(0, 0).join();
+        assertEquals(chest, instance.getBlock(1, 42, 2));
+        assertEquals(5, instance.getBlock(3, -10, 4).nbt().getInt("value"));
+        assertEquals(Block.STONE, instance.getBlock(0, 39, 0));
+        assertEquals(Block.AIR, instance.getBlock(0, 40, 0));
+    }
+
+    @Test
+    public void sharedAcrossInstances(Env env) throws IOException {
+        Instance source = env.createFlatInstance();
+        Chunk chunk = source.loadChunk(0, 0).join();
+        source.setBlock(0, 42, 0, Block.DIAMOND_BLOCK);
+        var file = Files.createTempFile("minestom-compact-world", ".msw");
+        CompactWorldWriter.write(file, List.of(chunk));
+
+        var loader = new CompactWorldLoader(file);
+        Instance first = env.createFlatInstance(loader);
+        Instance second = env.createFlatInstance(loader);
+        first.loadChunk(0, 0).join();
+        first.setBlock(0, 42, 0, Block.GOLD_BLOCK);
+        first.setBlock(1, 20, 1, Block.AIR);
+
+        // Modifying a chunk must not leak to the other instances
+        second.loadChunk(0, 0).join();
+        assertEquals(Block.DIAMOND_BLOCK, second.getBlock(0, 42, 0));
+        assertEquals(Block.STONE, second.getBlock(1, 20, 1));
+        assertEquals(Block.GOLD_BLOCK, first.getBlock(0, 42, 0));
+    }
+
+    private static Path copyWorld(String name) throws IOException {
+        final Path source = testRoot.resolve(name);
+        final Path target = Files.createTempDirectory("minestom-test-world-" + name);
+        try (Stream<Path> files = Files.walk(source)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                final Path destination = target.resolve(source.relativize(file).toString());
+                if (Files.isDirectory(file)) Files.createDirectories(destination);
+                else Files.copy(file, destination);
+            }
+        }
+        return target;
+    }
+}
@@ -0,0 +1,70 @@
+package net.minestom.server.instance.light;
+
+import net.minestom.server.instance.block.Block;
+import net.minestom.server.instance.block.BlockFace;
+import net.minestom.server.instance.palette.Palette;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OcclusionTableTest {
+    @Test
+    public void matchesShapes() {
+        final Block[] blocks = {Block.AIR, Block.CAVE_AIR, Block.STONE, Block.GLASS, Block.GLOWSTONE, Block.TORCH,
+                Block.OAK_SLAB, Block.OAK_STAIRS, Block.SNOW, Block.LANTERN, Block.IRON_BARS, Block.DIRT_PATH};
+        List<Block> states = new ArrayList<>();
+        for (Block block : blocks) states.addAll(block.possibleStates());
+        for (Block from : states) {
+            for (Block to : states) {
+                for (BlockFace face : BlockFace.values()) {
+                    final boolean expected = !(from.isAir() && to.isAir()) &&
+                            from.registry().collisionShape().isOccluded(to.registry().collisionShape(), face);
+                    assertEquals(expected, OcclusionTable.isOccluded(from.stateId(), to.stateId(), face.ordinal()),
+                            from + " -> " + to + " " + face);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void lightEmission() {
+        assertEquals(15, OcclusionTable.lightEmission(Block.GLOWSTONE.stateId()));
+        assertEquals(14, OcclusionTable.lightEmission(Block.TORCH.stateId()));
+        assertEquals(0, OcclusionTable.lightEmission(Block.STONE.stateId()));
+        // Unknown states are air
+        assertEquals(0, OcclusionTable.lightEmission(Integer.MAX_VALUE));
+        assertFalse(OcclusionTable.isOccluded(Integer.MAX_VALUE, Block.AIR.stateId(), BlockFace.TOP.ordinal()));
+    }
+
+    @Test
+    public void uniformSections() {
+        assertTrue(OcclusionTable.isOpaque(Block.STONE.stateId()));
+        assertTrue(OcclusionTable.isTransparent(Block.AIR.stateId()));
+        assertFalse(OcclusionTable.isOpaque(Block.OAK_SLAB.stateId()));
+        assertFalse(OcclusionTable.isTransparent(Block.OAK_SLAB.stateId()));
+
+        // Sources are lit but the light stays inside them
+        var palette = Palette.blocks();
+        palette.fill(Block.STONE.stateId());
+        LightQueue queue = LightCompute.sourceQueue();
+        queue.enqueue(8 | (8 << 4) | (8 << 8) | (12 << 12));
+        var result = LightCompute.compute(palette, queue);
+        assertEquals(12, result.getLight(8, 8, 8));
+        assertEquals(0, result.getLight(8, 9, 8));
+    }
+
+    @Test
+    public void queueGrows() {
+        LightQueue queue = new LightQueue();
+        for (int i = 0; i < 3; i++) queue.enqueue(i);
+        assertEquals(0, queue.dequeue());
+        // Wraps around then grows
+        for (int i = 3; i < 10_000; i++) queue.enqueue(i & 0xFFFF);
+        assertEquals(9_999, queue.size());
+        for (int i = 1; i < 10_000; i++) assertEquals(i, queue.dequeue());
+        assertTrue(queue.isEmpty());
+    }
+}
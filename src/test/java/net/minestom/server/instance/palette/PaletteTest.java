@@ -2,12 +2,16 @@ package net.minestom.server.instance.palette;
 
 import net.minestom.server.coordinate.Point;
 import net.minestom.server.coordinate.Vec;
+import net.minestom.server.utils.ArrayUtils;
+import net.minestom.server.utils.MathUtils;
 import org.junit.jupiter.api.Test;
 
 import java.util.HashSet;
 import java.util.List;
+import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -285,6 +289,90 @@ public class PaletteTest {
         assertDoesNotThrow(() -> Palette.newPalette(16, 5, 3));
     }
 
+    @Test
+    public void load() {
+        // Air first, air missing, duplicated entries and more entries than the maximum bits per entry
+        final int[][] paletteCases = {
+                {0, 5, 9},
+                {5, 9, 12, 40},
+                {7, 0, 7, 3},
+                IntStream.range(0, 48).map(i -> i * 3).toArray()
+        };
+        for (int[] values : paletteCases) {
+            for (Palette palette : testPalettes()) {
+                final int size = palette.maxSize();
+                final int bitsPerEntry = MathUtils.bitsToRepresent(values.length - 1);
+                int[] indices = new int[size];
+                Random random = new Random(values.length);
+                int count = 0;
+                for (int i = 0; i < size; i++) {
+                    indices[i] = random.nextInt(values.length);
+                    if (values[indices[i]] != 0) count++;
+                }
+                palette.load(values, ArrayUtils.pack(indices, bitsPerEntry), bitsPerEntry);
+
+                assertEquals(count, palette.count());
+                final int dimension = palette.dimension();
+                for (int y = 0; y < dimension; y++) {
+                    for (int z = 0; z < dimension; z++) {
+                        for (int x = 0; x < dimension; x++) {
+                            final int index = y * dimension * dimension + z * dimension + x;
+                            assertEquals(values[indices[index]], palette.get(x, y, z));
+                        }
+                    }
+                }
+                // Still writable
+                palette.set(0, 0, 0, 1000);
+                assertEquals(1000, palette.get(0, 0, 0));
+            }
+        }
+    }
+
+    @Test
+    public void cloneCopyOnWrite() {
+        for (Palette palette : testPalettes()) {
+            palette.set(0, 0, 0, 1);
+            palette.set(1, 0, 0, 2);
+            Palette first = palette.clone();
+            Palette second = palette.clone();
+
+            first.set(0, 0, 0, 3);
+            assertEquals(3, first.get(0, 0, 0));
+            assertEquals(1, palette.get(0, 0, 0), "Template must not be modified");
+            assertEquals(1, second.get(0, 0, 0));
+
+            palette.set(1, 0, 0, 4);
+            assertEquals(2, first.get(1, 0, 0));
+            assertEquals(2, second.get(1, 0, 0));
+
+            second.fill(5);
+            assertEquals(5, second.get(1, 0, 0));
+            assertEquals(4, palette.get(1, 0, 0));
+            assertEquals(2, first.count());
+        }
+    }
+
+    @Test
+    public void copyFrom() {
+        for (Palette palette : testPalettes()) {
+            palette.set(0, 1, 0, 7);
+            Palette copy = Palette.newPalette(palette.dimension(), 5, 3);
+            copy.copyFrom(palette);
+            assertEquals(7, copy.get(0, 1, 0));
+            assertEquals(1, copy.count());
+
+            copy.set(0, 1, 0, 8);
+            assertEquals(7, palette.get(0, 1, 0));
+
+            // Different kind of palette
+            Palette biomes = Palette.biomes();
+            biomes.set(1, 1, 1, 3);
+            Palette other = Palette.newPalette(4, 5, 3);
+            other.copyFrom(biomes);
+            assertEquals(3, other.get(1, 1, 1));
+        }
+    }
+
     private static List<Palette> testPalettes() {
         return List.of(
                 Palette.newPalette(2, 5, 3),
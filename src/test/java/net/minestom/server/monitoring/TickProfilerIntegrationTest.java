@@ -0,0 +1,115 @@
+package net.minestom.server.monitoring;
+
+import net.minestom.server.coordinate.Pos;
+import net.minestom.server.entity.Entity;
+import net.minestom.server.entity.EntityType;
+import net.minestom.server.event.server.ServerTickMonitorEvent;
+import net.minestom.testing.Env;
+import net.minestom.testing.EnvTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnvTest
+public class TickProfilerIntegrationTest {
+
+    @AfterEach
+    public void reset() {
+        TickProfiler.setInterval(0);
+    }
+
+    @Test
+    public void disabled(Env env) {
+        TickProfiler.setInterval(0);
+        AtomicReference<ServerTickMonitorEvent> ref = new AtomicReference<>();
+        env.process().eventHandler().addListener(ServerTickMonitorEvent.class, ref::set);
+        env.tick();
+        assertNotNull(ref.get());
+        assertNull(ref.get().getTickProfile());
+    }
+
+    @Test
+    public void profile(Env env) {
+        var instance = env.createFlatInstance();
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setInstance(instance, new Pos(0, 40, 0)).join();
+
+        TickProfiler.setInterval(1);
+        AtomicReference<TickProfile> ref = new AtomicReference<>();
+        env.process().eventHandler().addListener(ServerTickMonitorEvent.class, event -> ref.set(event.getTickProfile()));
+        env.tick();
+
+        final TickProfile profile = ref.get();
+        assertNotNull(profile);
+        assertEquals(1, profile.entityTypes().get(EntityType.ZOMBIE).count());
+        assertEquals(1, profile.instances().get(instance).count());
+
+        final List<TickProfile.ChunkTime> hotChunks = profile.hotChunks(1);
+        assertEquals(1, hotChunks.size());
+        assertSame(instance, hotChunks.get(0).instance());
+        assertEquals(0, profile.hotChunks(0).size());
+    }
+
+    @Test
+    public void schedulerTime(Env env) {
+        final long sleepNanos = TimeUnit.MILLISECONDS.toNanos(20);
+        var instance = env.createFlatInstance();
+        var entity = new Entity(EntityType.ZOMBIE);
+        entity.setInstance(instance, new Pos(0, 40, 0)).join();
+
+        TickProfiler.setInterval(1);
+        AtomicReference<TickProfile> ref = new AtomicReference<>();
+        env.process().eventHandler().addListener(ServerTickMonitorEvent.class, event -> ref.set(event.getTickProfile()));
+
+        // Part of the entity tick time
+        entity.scheduler().scheduleNextTick(() -> sleep(sleepNanos));
+        env.tick();
+        TickProfile profile = ref.get();
+        assertTrue(profile.entityTypes().get(EntityType.ZOMBIE).totalNanos() >= sleepNanos);
+        assertTrue(profile.schedulerNanos() < sleepNanos, "Entity tasks counted twice");
+
+        env.process().scheduler().scheduleNextTick(() -> sleep(sleepNanos));
+        env.tick();
+        profile = ref.get();
+        assertTrue(profile.schedulerNanos() >= sleepNanos);
+    }
+
+    @Test
+    public void interval(Env env) {
+        TickProfiler.setInterval(3);
+        AtomicReference<Integer> count = new AtomicReference<>(0);
+        env.process().eventHandler().addListener(ServerTickMonitorEvent.class, event -> {
+            if (event.getTickProfile() != null) count.set(count.get() + 1);
+        });
+        for (int i = 0; i < 9; i++) env.tick();
+        assertEquals(3, count.get());
+    }
+
+    @Test
+    public void histogramPercentile() {
+        TickHistogram.Recorder recorder = new TickHistogram.Recorder();
+        for (int i = 1; i <= 100; i++) recorder.record(i * 1000L);
+        final TickHistogram histogram = recorder.snapshot();
+        assertEquals(100, histogram.count());
+        assertEquals(100_000, histogram.maxNanos());
+        assertEquals(5_050_000, histogram.totalNanos());
+        assertEquals(50_500, histogram.meanNanos());
+        final long p50 = histogram.percentileNanos(0.5);
+        assertTrue(p50 >= 50_000 && p50 < 100_000, "p50: " + p50);
+        assertEquals(100_000, histogram.percentileNanos(1));
+        assertThrows(IllegalArgumentException.class, () -> histogram.percentileNanos(2));
+    }
+
+    private static void sleep(long nanos) {
+        try {
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(nanos));
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
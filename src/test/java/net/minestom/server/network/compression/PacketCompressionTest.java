@@ -0,0 +1,72 @@
+package net.minestom.server.network.compression;
+
+import net.minestom.server.network.NetworkBuffer;
+import net.minestom.server.network.packet.server.play.ChunkDataPacket;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PacketCompressionTest {
+
+    @Test
+    public void roundTrip() throws DataFormatException {
+        final byte[] data = new byte[4096];
+        for (int i = 0; i < data.length; i++) data[i] = (byte) (i % 16);
+        for (CompressionSettings settings : new CompressionSettings[]{CompressionSettings.DEFAULT,
+                CompressionSettings.FASTEST, CompressionSettings.SMALLEST,
+                new CompressionSettings(Deflater.BEST_SPEED, Deflater.HUFFMAN_ONLY)}) {
+            ByteBuffer compressed = ByteBuffer.allocateDirect(8192);
+            final int count = PacketCompression.compress(NetworkBuffer.Writer.class, ByteBuffer.wrap(data), compressed, settings);
+            assertTrue(count > 0 && count < data.length, settings.toString());
+
+            ByteBuffer decompressed = ByteBuffer.allocateDirect(data.length);
+            assertEquals(data.length, PacketCompression.decompress(compressed.flip(), decompressed));
+            byte[] result = new byte[data.length];
+            decompressed.flip().get(result);
+            assertArrayEquals(data, result);
+        }
+    }
+
+    @Test
+    public void typeSettings() {
+        assertEquals(PacketCompression.getDefaultSettings(), PacketCompression.getSettings(ChunkDataPacket.class, false));
+        assertEquals(PacketCompression.getCachedSettings(), PacketCompression.getSettings(ChunkDataPacket.class, true));
+        PacketCompression.setSettings(ChunkDataPacket.class, CompressionSettings.FASTEST);
+        try {
+            assertEquals(CompressionSettings.FASTEST, PacketCompression.getSettings(ChunkDataPacket.class, false));
+            assertEquals(CompressionSettings.FASTEST, PacketCompression.getSettings(ChunkDataPacket.class, true));
+        } finally {
+            PacketCompression.setSettings(ChunkDataPacket.class, null);
+        }
+        assertEquals(PacketCompression.getDefaultSettings(), PacketCompression.getSettings(ChunkDataPacket.class, false));
+    }
+
+    @Test
+    public void invalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new CompressionSettings(10));
+        assertThrows(IllegalArgumentException.class, () -> new CompressionSettings(1, 5));
+    }
+
+    @Test
+    public void metrics() throws DataFormatException {
+        var metrics = CompressionMetrics.accumulator();
+        PacketCompression.setMetrics(metrics);
+        try {
+            final byte[] data = new byte[1024];
+            ByteBuffer compressed = ByteBuffer.allocateDirect(2048);
+            final int count = PacketCompression.compress(NetworkBuffer.Writer.class, ByteBuffer.wrap(data), compressed, CompressionSettings.DEFAULT);
+            PacketCompression.decompress(compressed.flip(), ByteBuffer.allocateDirect(data.length));
+
+            assertEquals(data.length, metrics.uncompressedBytes());
+            assertEquals(count, metrics.compressedBytes());
+            assertEquals(data.length, metrics.decompressedBytes());
+            assertEquals((double) count / data.length, metrics.compressionRatio());
+        } finally {
+            PacketCompression.setMetrics(null);
+        }
+    }
+}
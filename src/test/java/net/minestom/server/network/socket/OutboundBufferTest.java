@@ -0,0 +1,242 @@
+package net.minestom.server.network.socket;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.network.player.PlayerSocketConnection;
+import net.minestom.server.network.player.PlayerSocketConnection.OutboundLimits;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.spi.SelectorProvider;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OutboundBufferTest {
+    private static final int PACKET_SIZE = 1000;
+    private static final Server SERVER;
+
+    static {
+        MinecraftServer.init();
+        try {
+            SERVER = new Server(MinecraftServer.getPacketProcessor());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    public void watermarks() throws IOException {
+        var channel = new TestChannel();
+        var connection = connection(channel, false);
+
+        write(connection, 3);
+        assertTrue(connection.isWritable());
+        write(connection, 1);
+        assertEquals(4000, connection.getBufferedBytes());
+        assertFalse(connection.isWritable(), "High watermark reached");
+
+        // Still above the low watermark
+        channel.accept(1000);
+        assertFalse(connection.flushSync());
+        assertEquals(3000, connection.getBufferedBytes());
+        assertFalse(connection.isWritable());
+
+        channel.accept(1500);
+        assertFalse(connection.flushSync());
+        assertEquals(1500, connection.getBufferedBytes());
+        assertTrue(connection.isWritable(), "Below the low watermark");
+
+        // Between both watermarks while writable
+        write(connection, 1);
+        assertTrue(connection.isWritable());
+        write(connection, 2);
+        assertFalse(connection.isWritable());
+
+        channel.accept(Long.MAX_VALUE);
+        assertTrue(connection.flushSync());
+        assertEquals(0, connection.getBufferedBytes());
+        assertTrue(connection.isWritable());
+        assertEquals(7000, channel.written);
+    }
+
+    @Test
+    public void dropOnOverflow() throws IOException {
+        var channel = new TestChannel();
+        var connection = connection(channel, true);
+
+        write(connection, 8);
+        assertEquals(8000, connection.getBufferedBytes());
+        // Dropped whole
+        write(connection, 2);
+        assertEquals(8000, connection.getBufferedBytes());
+        assertTrue(connection.isOnline());
+
+        channel.accept(Long.MAX_VALUE);
+        assertTrue(connection.flushSync());
+        assertEquals(8000, channel.written);
+        assertTrue(connection.isWritable());
+
+        // Accepted again once drained
+        write(connection, 1);
+        assertEquals(1000, connection.getBufferedBytes());
+    }
+
+    @Test
+    public void kickOnOverflow() {
+        var channel = new TestChannel();
+        var connection = connection(channel, false);
+
+        write(connection, 8);
+        assertTrue(connection.isOnline());
+        write(connection, 1);
+        assertFalse(connection.isOnline());
+        // Not written
+        assertEquals(8000, connection.getBufferedBytes());
+    }
+
+    private static PlayerSocketConnection connection(TestChannel channel, boolean dropOnOverflow) {
+        // Not started, the tasks are run by the test thread
+        final Worker worker = new Worker(SERVER);
+        return new PlayerSocketConnection(worker, channel, new InetSocketAddress(0),
+                new OutboundLimits(2000, 4000, 8000, dropOnOverflow)) {
+            @Override
+            public void write(ByteBuffer buffer, int index, int length) {
+                super.write(buffer, index, length);
+                // Only run the write, the disconnection must happen on the worker thread
+                worker.queue().relaxedPoll().run();
+            }
+        };
+    }
+
+    private static void write(PlayerSocketConnection connection, int count) {
+        for (int i = 0; i < count; i++) {
+            connection.write(ByteBuffer.allocate(PACKET_SIZE), 0, PACKET_SIZE);
+        }
+    }
+
+    /**
+     * Connected channel accepting a limited number of bytes.
+     */
+    private static final class TestChannel extends SocketChannel {
+        private long acceptable;
+        private long written;
+
+        TestChannel() {
+            super(SelectorProvider.provider());
+        }
+
+        void accept(long bytes) {
+            this.acceptable = bytes;
+        }
+
+        @Override
+        public long write(ByteBuffer[] srcs, int offset, int length) {
+            long count = 0;
+            for (int i = offset; i < offset + length && acceptable > 0; i++) {
+                final ByteBuffer src = srcs[i];
+                final int slice = (int) Math.min(src.remaining(), acceptable);
+                src.position(src.position() + slice);
+                this.acceptable -= slice;
+                count += slice;
+            }
+            this.written += count;
+            return count;
+        }
+
+        @Override
+        public int write(ByteBuffer src) {
+            return (int) write(new ByteBuffer[]{src}, 0, 1);
+        }
+
+        @Override
+        public boolean isConnected() {
+            return true;
+        }
+
+        @Override
+        public SocketChannel bind(SocketAddress local) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> SocketChannel setOption(SocketOption<T> name, T value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T getOption(SocketOption<T> name) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Set<SocketOption<?>> supportedOptions() {
+            return Set.of();
+        }
+
+        @Override
+        public SocketChannel shutdownInput() {
+            return this;
+        }
+
+        @Override
+        public SocketChannel shutdownOutput() {
+            return this;
+        }
+
+        @Override
+        public Socket socket() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isConnectionPending() {
+            return false;
+        }
+
+        @Override
+        public boolean connect(SocketAddress remote) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean finishConnect() {
+            return true;
+        }
+
+        @Override
+        public SocketAddress getRemoteAddress() {
+            return new InetSocketAddress(0);
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            return 0;
+        }
+
+        @Override
+        public long read(ByteBuffer[] dsts, int offset, int length) {
+            return 0;
+        }
+
+        @Override
+        public SocketAddress getLocalAddress() {
+            return new InetSocketAddress(0);
+        }
+
+        @Override
+        protected void implCloseSelectableChannel() {
+            // Empty
+        }
+
+        @Override
+        protected void implConfigureBlocking(boolean block) {
+            // Empty
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package net.minestom.server.network.socket;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.channels.spi.SelectorProvider;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TransportTest {
+
+    @Test
+    public void defaultTransport() {
+        var transport = Transport.load("nio");
+        assertSame(Transport.nio(), transport);
+        assertSame(SelectorProvider.provider(), transport.selectorProvider());
+    }
+
+    @Test
+    public void unknownTransport() {
+        assertSame(Transport.nio(), Transport.load("unknown"));
+    }
+}
@@ -1,5 +1,6 @@
 package net.minestom.server.thread;
 
+import net.minestom.server.ServerFlag;
 import net.minestom.server.Tickable;
 import org.jetbrains.annotations.NotNull;
 import org.junit.jupiter.api.Test;
@@ -167,4 +168,39 @@ public class ThreadDispatcherTest {
 
         dispatcher.shutdown();
     }
+
+    @Test
+    public void balancedUpdate() {
+        // Ensure that heavy partitions are spread across threads when RefreshType.BALANCED is used
+        ThreadDispatcher<Tickable> dispatcher = ThreadDispatcher.of(ThreadProvider.balanced(), 2);
+        Map<Tickable, Thread> heavyThreads = new ConcurrentHashMap<>();
+        // The counter provider puts the heavy partitions on the same thread
+        for (int i = 0; i < 4; i++) {
+            final boolean heavy = i % 2 == 0;
+            dispatcher.createPartition(new Tickable() {
+                @Override
+                public void tick(long time) {
+                    if (!heavy) return;
+                    heavyThreads.put(this, Thread.currentThread());
+                    final long start = System.nanoTime();
+                    while (System.nanoTime() - start < 500_000) Thread.onSpinWait();
+                }
+            });
+        }
+
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(2, heavyThreads.size());
+        assertEquals(1, Set.copyOf(heavyThreads.values()).size());
+
+        for (int i = 0; i < ServerFlag.DISPATCHER_BALANCE_INTERVAL; i++) {
+            dispatcher.updateAndAwait(System.currentTimeMillis());
+            dispatcher.refreshThreads();
+        }
+        heavyThreads.clear();
+        dispatcher.updateAndAwait(System.currentTimeMillis());
+        assertEquals(2, heavyThreads.size());
+        assertEquals(2, Set.copyOf(heavyThreads.values()).size(), "Heavy partitions should be on different threads");
+
+        dispatcher.shutdown();
+    }
 }
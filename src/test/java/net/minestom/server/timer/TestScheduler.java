@@ -28,6 +28,44 @@ public class TestScheduler {
         assertFalse(task.isAlive(), "Tick task should be cancelled after execution");
     }
 
+    @Test
+    public void longTickDelays() {
+        Scheduler scheduler = Scheduler.newScheduler();
+        // Delays around the boundaries of the timing wheel levels
+        final int[] delays = {1, 2, 63, 64, 65, 127, 128, 4095, 4096, 4097, 262_143, 262_144, 262_145, 16_777_216, 16_777_217};
+        final int maxDelay = delays[delays.length - 1];
+        int[] executions = new int[delays.length];
+        for (int i = 0; i < delays.length; i++) {
+            final int index = i;
+            scheduler.buildTask(() -> executions[index]++).delay(TaskSchedule.tick(delays[i])).schedule();
+        }
+        int next = 0;
+        for (int tick = 1; tick <= maxDelay; tick++) {
+            scheduler.processTick();
+            while (next < delays.length && delays[next] == tick) {
+                assertEquals(1, executions[next], "Task delayed by " + delays[next] + " ticks must be executed on time");
+                next++;
+            }
+            if (next < delays.length) {
+                assertEquals(0, executions[next], "Task delayed by " + delays[next] + " ticks executed too early");
+            }
+        }
+        assertEquals(delays.length, next);
+    }
+
+    @Test
+    public void repeatingTickDelays() {
+        Scheduler scheduler = Scheduler.newScheduler();
+        AtomicInteger result = new AtomicInteger(0);
+        // Scheduled after some ticks to start from a different position in the wheel
+        for (int i = 0; i < 100; i++) scheduler.processTick();
+        scheduler.buildTask(result::incrementAndGet).delay(TaskSchedule.tick(70)).repeat(TaskSchedule.tick(70)).schedule();
+        for (int i = 1; i <= 70 * 100; i++) {
+            scheduler.processTick();
+            assertEquals(i / 70, result.get());
+        }
+    }
+
     @Test
     public void durationTask() throws InterruptedException {
         Scheduler scheduler = Scheduler.newScheduler();
@@ -0,0 +1,149 @@
+package net.minestom.server.utils;
+
+import net.minestom.server.MinecraftServer;
+import net.minestom.server.Viewable;
+import net.minestom.server.entity.Player;
+import net.minestom.server.network.ConnectionState;
+import net.minestom.server.network.packet.server.ServerPacket;
+import net.minestom.server.network.packet.server.play.EntityHeadLookPacket;
+import org.jetbrains.annotations.NotNull;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ViewableStorageTest {
+    static {
+        MinecraftServer.init();
+    }
+
+    @Test
+    public void exclusions() {
+        var first = new Player(UUID.randomUUID(), "first", null);
+        var second = new Player(UUID.randomUUID(), "second", null);
+        var third = new Player(UUID.randomUUID(), "third", null);
+        var viewable = new TestViewable(Set.of(first, second, third));
+        var storage = new ViewableStorage();
+
+        List<ServerPacket> packets = new ArrayList<>();
+        List<Player> exceptions = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final ServerPacket packet = new EntityHeadLookPacket(i, i);
+            final Player exception = switch (i % 4) {
+                case 0 -> first;
+                case 1 -> second;
+                default -> i < 50 ? null : first;
+            };
+            packets.add(packet);
+            exceptions.add(exception);
+            storage.append(packet, exception);
+        }
+
+        var target = new RecordingTarget();
+        storage.flush(viewable, target);
+        for (Player viewer : viewable.getViewers()) {
+            var expected = new ByteArrayOutputStream();
+            for (int i = 0; i < packets.size(); i++) {
+                if (exceptions.get(i) != viewer) expected.writeBytes(framed(packets.get(i)));
+            }
+            assertArrayEquals(expected.toByteArray(), target.received(viewer), viewer.getUsername());
+        }
+
+        // Flushed content is not sent again
+        target = new RecordingTarget();
+        storage.flush(viewable, target);
+        assertTrue(target.received.isEmpty());
+    }
+
+    @Test
+    public void largePackets() {
+        var viewer = new Player(UUID.randomUUID(), "viewer", null);
+        var viewable = new TestViewable(Set.of(viewer));
+        var storage = new ViewableStorage();
+
+        var expected = new ByteArrayOutputStream();
+        // Spread over multiple blocks
+        for (int i = 0; i < 10_000; i++) {
+            final ServerPacket packet = new EntityHeadLookPacket(i, i);
+            expected.writeBytes(framed(packet));
+            storage.append(packet, null);
+        }
+        var target = new RecordingTarget();
+        storage.flush(viewable, target);
+        assertArrayEquals(expected.toByteArray(), target.received(viewer));
+    }
+
+    @Test
+    public void threads() {
+        var viewer = new Player(UUID.randomUUID(), "viewer", null);
+        var viewable = new TestViewable(Set.of(viewer));
+        var storage = new ViewableStorage();
+
+        final int threadCount = 4, packetCount = 1_000;
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            final int threadId = t;
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < packetCount; i++) {
+                    storage.append(new EntityHeadLookPacket(threadId, i), null);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        // Flush while appending
+        var target = new RecordingTarget();
+        for (Thread thread : threads) {
+            while (thread.isAlive()) storage.flush(viewable, target);
+        }
+        storage.flush(viewable, target);
+        storage.flush(viewable, target);
+
+        final int packetSize = framed(new EntityHeadLookPacket(0, 0)).length;
+        assertEquals(threadCount * packetCount * packetSize, target.received(viewer).length);
+    }
+
+    private static byte[] framed(ServerPacket packet) {
+        final ByteBuffer buffer = PacketUtils.createFramedPacket(ConnectionState.PLAY, ByteBuffer.allocate(1024), packet);
+        final byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+
+    private record TestViewable(Set<Player> viewers) implements Viewable {
+        @Override
+        public boolean addViewer(@NotNull Player player) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean removeViewer(@NotNull Player player) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @NotNull Set<@NotNull Player> getViewers() {
+            return viewers;
+        }
+    }
+
+    private static final class RecordingTarget implements ViewableStorage.Target {
+        final Map<Player, ByteArrayOutputStream> received = new HashMap<>();
+
+        @Override
+        public void write(@NotNull Player viewer, @NotNull ByteBuffer buffer, int index, int length, @NotNull Runnable written) {
+            final byte[] bytes = new byte[length];
+            buffer.get(index, bytes);
+            received.computeIfAbsent(viewer, p -> new ByteArrayOutputStream()).writeBytes(bytes);
+            written.run();
+        }
+
+        byte[] received(Player viewer) {
+            final ByteArrayOutputStream stream = received.get(viewer);
+            return stream != null ? stream.toByteArray() : new byte[0];
+        }
+    }
+}